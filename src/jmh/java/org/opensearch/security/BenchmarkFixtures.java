@@ -0,0 +1,253 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.transport.TransportAddress;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.securityconf.impl.v7.ActionGroupsV7;
+import org.opensearch.security.securityconf.impl.v7.ConfigV7;
+import org.opensearch.security.securityconf.impl.v7.RoleMappingsV7;
+import org.opensearch.security.securityconf.impl.v7.RoleV7;
+import org.opensearch.security.securityconf.impl.v7.TenantV7;
+import org.opensearch.security.user.User;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Synthetic configuration, cluster state and documents shared by the benchmarks.
+ *
+ * Indices are named index_[group]_[n] and are spread over {@link #INDEX_GROUPS} groups; all indices of a group
+ * are members of the alias alias_[group]. Role role_[n] grants read access to the indices and the alias of group
+ * n % {@link #INDEX_GROUPS} and is mapped to the backend role backend_role_[n]. Some roles additionally grant write
+ * access, use DLS, FLS, field masking or index patterns with user attributes, like real world configurations do.
+ */
+public final class BenchmarkFixtures {
+
+    public static final int INDEX_GROUPS = 100;
+    public static final String PASSWORD = "benchmark-password";
+
+    private BenchmarkFixtures() {}
+
+    public static ThreadPool threadPool() {
+        return new ThreadPool(Settings.builder().put("node.name", "benchmark").build());
+    }
+
+    public static ClusterService clusterService(final ThreadPool threadPool, final ClusterState state) {
+        final Settings settings = Settings.builder().put("node.name", "benchmark").build();
+        final ClusterService clusterService = new ClusterService(
+            settings,
+            new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+            threadPool
+        );
+        clusterService.getClusterApplierService().setInitialState(state);
+        return clusterService;
+    }
+
+    public static ClusterState clusterState(final int indices) {
+        final Metadata.Builder metadata = Metadata.builder().version(1);
+
+        for (int i = 0; i < indices; i++) {
+            final int group = i % INDEX_GROUPS;
+            metadata.put(
+                IndexMetadata.builder("index_" + group + "_" + i)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+                    .putAlias(AliasMetadata.builder("alias_" + group))
+            );
+        }
+
+        final DiscoveryNode localNode = new DiscoveryNode(
+            "benchmark",
+            new TransportAddress(InetAddress.getLoopbackAddress(), 9300),
+            Version.CURRENT
+        );
+        return ClusterState.builder(ClusterName.DEFAULT)
+            .metadata(metadata)
+            .nodes(DiscoveryNodes.builder().add(localNode).localNodeId(localNode.getId()).clusterManagerNodeId(localNode.getId()))
+            .build();
+    }
+
+    public static SecurityDynamicConfiguration<RoleV7> roles(final int roles) throws IOException {
+        final Map<String, Object> entries = new LinkedHashMap<>();
+
+        for (int i = 0; i < roles; i++) {
+            final int group = i % INDEX_GROUPS;
+            final List<Object> indexPermissions = new ArrayList<>();
+
+            final Map<String, Object> read = new LinkedHashMap<>();
+            read.put("index_patterns", List.of("index_" + group + "_*", "alias_" + group));
+            read.put("allowed_actions", List.of("read"));
+            if (i % 4 == 0) {
+                read.put("dls", "{\"term\": {\"owner\": \"${user.name}\"}}");
+            }
+            if (i % 5 == 0) {
+                read.put("fls", List.of("~secret_*"));
+            }
+            if (i % 7 == 0) {
+                read.put("masked_fields", List.of("field_1"));
+            }
+            indexPermissions.add(read);
+
+            if (i % 3 == 0) {
+                indexPermissions.add(
+                    Map.of(
+                        "index_patterns",
+                        List.of("index_" + ((group + 1) % INDEX_GROUPS) + "_*"),
+                        "allowed_actions",
+                        List.of("write", "indices:admin/create")
+                    )
+                );
+            }
+            if (i % 10 == 0) {
+                indexPermissions.add(
+                    Map.of("index_patterns", List.of("index_${attr.internal.group}_*"), "allowed_actions", List.of("read"))
+                );
+            }
+
+            entries.put(
+                "role_" + i,
+                Map.of("cluster_permissions", List.of("cluster_monitor", "cluster_composite_ops"), "index_permissions", indexPermissions)
+            );
+        }
+
+        return configuration(entries, CType.ROLES);
+    }
+
+    public static SecurityDynamicConfiguration<RoleMappingsV7> roleMappings(final int roles) throws IOException {
+        final Map<String, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < roles; i++) {
+            entries.put("role_" + i, Map.of("backend_roles", List.of("backend_role_" + i)));
+        }
+        return configuration(entries, CType.ROLESMAPPING);
+    }
+
+    public static SecurityDynamicConfiguration<ActionGroupsV7> actionGroups() throws IOException {
+        final Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put(
+            "read",
+            Map.of(
+                "type",
+                "index",
+                "allowed_actions",
+                List.of("indices:data/read/*", "indices:admin/mappings/fields/get*", "indices:admin/resolve/index")
+            )
+        );
+        entries.put("write", Map.of("type", "index", "allowed_actions", List.of("indices:data/write*", "indices:admin/mapping/put")));
+        entries.put("cluster_monitor", Map.of("type", "cluster", "allowed_actions", List.of("cluster:monitor/*")));
+        entries.put(
+            "cluster_composite_ops",
+            Map.of(
+                "type",
+                "cluster",
+                "allowed_actions",
+                List.of(
+                    "indices:data/write/bulk",
+                    "indices:admin/aliases*",
+                    "indices:data/read/mget",
+                    "indices:data/read/msearch",
+                    "indices:data/read/mtv",
+                    "indices:data/read/scroll*"
+                )
+            )
+        );
+        return configuration(entries, CType.ACTIONGROUPS);
+    }
+
+    public static SecurityDynamicConfiguration<TenantV7> tenants() throws IOException {
+        return configuration(Map.of("benchmark_tenant", Map.of("description", "Benchmark tenant")), CType.TENANTS);
+    }
+
+    /**
+     * HTTP basic authentication against the internal users database.
+     */
+    public static ConfigV7 config() throws IOException {
+        final Map<String, Object> basic = Map.of(
+            "http_enabled",
+            true,
+            "transport_enabled",
+            true,
+            "order",
+            0,
+            "http_authenticator",
+            Map.of("type", "basic", "challenge", true),
+            "authentication_backend",
+            Map.of("type", "intern")
+        );
+        final Map<String, Object> dynamic = Map.of("authc", Map.of("basic_internal_auth_domain", basic));
+        return configuration(Map.of("config", Map.of("dynamic", dynamic)), CType.CONFIG).getCEntry("config");
+    }
+
+    /**
+     * A user which is mapped to the given number of roles, evenly spread over all roles.
+     */
+    public static User user(final String name, final int roles, final int mappedRoles) {
+        final List<String> backendRoles = new ArrayList<>(mappedRoles);
+        for (int i = 0; i < mappedRoles; i++) {
+            backendRoles.add("backend_role_" + (long) i * roles / mappedRoles);
+        }
+        final User user = new User(name, backendRoles, null);
+        user.addAttributes(Map.of("attr.internal.group", "7", "attr.internal.department", "engineering"));
+        return user;
+    }
+
+    /**
+     * A document with the given number of top level fields; every tenth field is an object with nested fields and an
+     * array of objects.
+     */
+    public static Map<String, Object> document(final int fields) {
+        final Map<String, Object> document = new LinkedHashMap<>();
+
+        for (int i = 1; i <= fields; i++) {
+            if (i % 10 == 0) {
+                final Map<String, Object> object = new LinkedHashMap<>();
+                for (int n = 1; n <= 5; n++) {
+                    object.put("nested_" + n, "nested value " + n + " of object " + i);
+                }
+                object.put("items", List.of(Map.of("name", "a", "secret", 1), Map.of("name", "b", "secret", 2)));
+                document.put("object_" + i, object);
+            } else if (i % 3 == 0) {
+                document.put("field_" + i, i * 1.5d);
+            } else {
+                document.put("field_" + i, "The quick brown fox jumps over the lazy dog " + i);
+            }
+        }
+
+        return document;
+    }
+
+    private static <T> SecurityDynamicConfiguration<T> configuration(final Map<String, Object> entries, final CType<T> ctype)
+        throws IOException {
+        final Map<String, Object> json = new LinkedHashMap<>();
+        json.put("_meta", Map.of("type", ctype.toLCString(), "config_version", 2));
+        json.putAll(entries);
+        return SecurityDynamicConfiguration.fromJson(DefaultObjectMapper.writeValueAsString(json, false), ctype, 2, 0, 0);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auth;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.rest.RestRequest.Method;
+import org.opensearch.security.BenchmarkFixtures;
+import org.opensearch.security.auditlog.NullAuditLog;
+import org.opensearch.security.auth.internal.InternalAuthenticationBackend;
+import org.opensearch.security.configuration.AdminDNs;
+import org.opensearch.security.configuration.ClusterInfoHolder;
+import org.opensearch.security.filter.SecurityRequestChannel;
+import org.opensearch.security.filter.SecurityResponse;
+import org.opensearch.security.hasher.PasswordHasher;
+import org.opensearch.security.hasher.PasswordHasherFactory;
+import org.opensearch.security.http.XFFResolver;
+import org.opensearch.security.securityconf.DynamicConfigModelV7;
+import org.opensearch.security.securityconf.InternalUsersModel;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Measures the authentication of REST requests with HTTP basic authentication against the internal users database.
+ * The user cache is populated during the setup, so this measures the steady state in which credentials are found in
+ * the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BackendRegistryBenchmark {
+
+    /**
+     * Number of distinct users sending requests.
+     */
+    @Param({ "1", "1000" })
+    public int users;
+
+    /**
+     * Number of backend roles of every user.
+     */
+    @Param({ "5", "50" })
+    public int backendRoles;
+
+    private ThreadPool threadPool;
+    private ThreadContext threadContext;
+    private BackendRegistry backendRegistry;
+    private BenchmarkRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        // the cheapest allowed cost, as every user is authenticated once during the setup
+        final Settings settings = Settings.builder().put(ConfigConstants.SECURITY_PASSWORD_HASHING_BCRYPT_ROUNDS, 4).build();
+        threadPool = BenchmarkFixtures.threadPool();
+        threadContext = threadPool.getThreadContext();
+
+        final PasswordHasher passwordHasher = PasswordHasherFactory.createPasswordHasher(settings);
+        final InternalAuthenticationBackend iab = new InternalAuthenticationBackend(passwordHasher);
+        iab.onInternalUsersModelChanged(internalUsers(passwordHasher.hash(BenchmarkFixtures.PASSWORD.toCharArray())));
+
+        final DynamicConfigModelV7 dcm = new DynamicConfigModelV7(
+            BenchmarkFixtures.config(),
+            settings,
+            null,
+            iab,
+            new ClusterInfoHolder("benchmark")
+        );
+
+        final XFFResolver xffResolver = new XFFResolver(threadPool);
+        xffResolver.onDynamicConfigModelChanged(dcm);
+        backendRegistry = new BackendRegistry(settings, new AdminDNs(settings), xffResolver, new NullAuditLog(), threadPool);
+        backendRegistry.onDynamicConfigModelChanged(dcm);
+
+        requests = new BenchmarkRequest[users];
+        for (int i = 0; i < users; i++) {
+            requests[i] = new BenchmarkRequest("user_" + i, BenchmarkFixtures.PASSWORD);
+            if (!authenticate(requests[i])) {
+                throw new IllegalStateException("Could not authenticate " + "user_" + i);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public boolean authenticate() {
+        return authenticate(requests[next++ % requests.length]);
+    }
+
+    private boolean authenticate(final BenchmarkRequest request) {
+        // every request starts with a fresh thread context, like a new request would
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            return backendRegistry.authenticate(request);
+        }
+    }
+
+    private InternalUsersModel internalUsers(final String hash) {
+        final List<String> roles = new ArrayList<>(backendRoles);
+        for (int i = 0; i < backendRoles; i++) {
+            roles.add("backend_role_" + i);
+        }
+
+        return new InternalUsersModel() {
+            @Override
+            public boolean exists(String user) {
+                return user.startsWith("user_");
+            }
+
+            @Override
+            public List<String> getBackenRoles(String user) {
+                return roles;
+            }
+
+            @Override
+            public Map<String, String> getAttributes(String user) {
+                return Map.of("group", "7", "department", "engineering");
+            }
+
+            @Override
+            public String getDescription(String user) {
+                return null;
+            }
+
+            @Override
+            public String getHash(String user) {
+                return hash;
+            }
+
+            @Override
+            public List<String> getSecurityRoles(String user) {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    private static class BenchmarkRequest implements SecurityRequestChannel {
+        private final Map<String, List<String>> headers;
+        private final InetSocketAddress remoteAddress = new InetSocketAddress("10.0.0.1", 45678);
+        private SecurityResponse response;
+
+        BenchmarkRequest(final String user, final String password) {
+            final String credentials = Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+            this.headers = Map.of("Authorization", List.of("Basic " + credentials), "Content-Type", List.of("application/json"));
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public SSLEngine getSSLEngine() {
+            return null;
+        }
+
+        @Override
+        public String path() {
+            return "/logs/_search";
+        }
+
+        @Override
+        public Method method() {
+            return Method.GET;
+        }
+
+        @Override
+        public Optional<InetSocketAddress> getRemoteAddress() {
+            return Optional.of(remoteAddress);
+        }
+
+        @Override
+        public String uri() {
+            return "/logs/_search";
+        }
+
+        @Override
+        public Map<String, String> params() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Set<String> getUnconsumedParams() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public void queueForSending(final SecurityResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public Optional<SecurityResponse> getQueuedResponse() {
+            return Optional.ofNullable(response);
+        }
+    }
+}
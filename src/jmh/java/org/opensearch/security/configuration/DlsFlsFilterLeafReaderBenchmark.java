@@ -0,0 +1,208 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.security.BenchmarkFixtures;
+import org.opensearch.security.auditlog.NullAuditLog;
+import org.opensearch.security.dlic.rest.support.Utils;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Measures opening a DLS/FLS restricted reader, which evaluates the DLS query per segment, and fetching documents
+ * with large _source fields through it, like a get or multi get request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DlsFlsFilterLeafReaderBenchmark {
+
+    private static final int FETCHED_DOCUMENTS = 100;
+
+    @Param({ "10000", "100000" })
+    public int documents;
+
+    /**
+     * Number of top level fields of the _source.
+     */
+    @Param({ "100" })
+    public int fields;
+
+    /**
+     * none: no FLS; top_level_include: plain field names; path_exclude: dotted paths and wildcards.
+     */
+    @Param({ "none", "top_level_include", "path_exclude" })
+    public String fls;
+
+    @Param({ "false", "true" })
+    public boolean masked;
+
+    @Param({ "false", "true" })
+    public boolean dlsBitsetCache;
+
+    private final Query dlsQuery = new TermQuery(new Term("owner", "user_1"));
+
+    private ThreadPool threadPool;
+    private ThreadContext threadContext;
+    private ClusterService clusterService;
+    private Directory directory;
+    private DirectoryReader reader;
+    private DirectoryReader restrictedReader;
+    private Set<String> flsFields;
+    private Set<String> maskedFields;
+    private Salt salt;
+    private DlsBitsetCache cache;
+    private DlsFlsRestrictionResolver restrictionResolver;
+    private ShardId shardId;
+
+    @Setup
+    public void setUp() throws IOException {
+        threadPool = BenchmarkFixtures.threadPool();
+        threadContext = threadPool.getThreadContext();
+        clusterService = BenchmarkFixtures.clusterService(threadPool, BenchmarkFixtures.clusterState(1));
+
+        directory = new ByteBuffersDirectory();
+        final byte[] source = Utils.jsonMapToByteArray(BenchmarkFixtures.document(fields));
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < documents; i++) {
+                final Document document = new Document();
+                document.add(new StringField("owner", "user_" + (i % 100), Field.Store.NO));
+                document.add(new StoredField("_source", source));
+                writer.addDocument(document);
+            }
+        }
+        reader = DirectoryReader.open(directory);
+
+        switch (fls) {
+            case "none":
+                flsFields = null;
+                break;
+            case "top_level_include":
+                flsFields = Set.of("owner", "_source", "field_1", "field_2", "field_3", "object_10");
+                break;
+            case "path_exclude":
+                flsFields = Set.of("~field_2*", "~object_*.nested_2", "~object_*.items.secret");
+                break;
+            default:
+                throw new IllegalArgumentException(fls);
+        }
+        maskedFields = masked ? Set.of("field_1") : null;
+        salt = Salt.from(Settings.EMPTY);
+        cache = new DlsBitsetCache(
+            Settings.builder().put(ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE, dlsBitsetCache ? "64mb" : "0b").build()
+        );
+        restrictionResolver = new DlsFlsRestrictionResolver(Settings.EMPTY, clusterService, new IndexNameExpressionResolver(threadContext));
+        shardId = new ShardId("index_0_0", "_na_", 0);
+        restrictedReader = restrict();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        restrictedReader.close();
+        reader.close();
+        directory.close();
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public int open() throws IOException {
+        final DirectoryReader restricted = restrict();
+        try {
+            return restricted.numDocs();
+        } finally {
+            restricted.close();
+        }
+    }
+
+    @Benchmark
+    public void fetch(Blackhole blackhole) throws IOException {
+        int fetched = 0;
+        for (final LeafReaderContext leaf : restrictedReader.leaves()) {
+            final LeafReader leafReader = leaf.reader();
+            final Bits liveDocs = leafReader.getLiveDocs();
+            final StoredFields storedFields = leafReader.storedFields();
+            for (int doc = 0; doc < leafReader.maxDoc() && fetched < FETCHED_DOCUMENTS; doc++) {
+                if (liveDocs == null || liveDocs.get(doc)) {
+                    blackhole.consume(storedFields.document(doc));
+                    fetched++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a reader restricted to the documents of user_1, which closes the shared reader when it is closed.
+     */
+    private DirectoryReader restrict() throws IOException {
+        // the action decides whether DLS is applied by the reader
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_ACTION_NAME, "indices:data/read/get");
+            reader.incRef();
+            return new DlsFlsFilterLeafReader.DlsFlsDirectoryReader(
+                reader,
+                flsFields,
+                dlsQuery,
+                null,
+                threadContext,
+                clusterService,
+                new NullAuditLog(),
+                maskedFields,
+                shardId,
+                salt,
+                cache,
+                restrictionResolver
+            );
+        }
+    }
+}
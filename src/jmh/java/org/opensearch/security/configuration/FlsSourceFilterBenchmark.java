@@ -0,0 +1,118 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.security.BenchmarkFixtures;
+import org.opensearch.security.dlic.rest.support.Utils;
+
+/**
+ * Compares the streaming FLS _source filter with the map based filtering it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlsSourceFilterBenchmark {
+
+    /**
+     * Number of top level fields; every tenth field is an object with nested fields and an array of objects.
+     */
+    @Param({ "10", "100", "1000" })
+    public int fields;
+
+    /**
+     * top_level_include / top_level_exclude use plain field names, path_include / path_exclude use dotted paths
+     * and wildcards.
+     */
+    @Param({ "top_level_include", "top_level_exclude", "path_include", "path_exclude" })
+    public String rules;
+
+    private byte[] source;
+    private FlsSourceFilter streamingFilter;
+    private Function<Map<String, ?>, Map<String, Object>> mapFilter;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = Utils.jsonMapToByteArray(BenchmarkFixtures.document(fields));
+
+        switch (rules) {
+            case "top_level_include": {
+                final Set<String> includes = Set.of("field_1", "field_2", "field_3", "object_10");
+                streamingFilter = FlsSourceFilter.forTopLevelFields(includes, Set.of());
+                mapFilter = map -> {
+                    final Map<String, Object> filtered = new LinkedHashMap<>(map);
+                    filtered.keySet().retainAll(includes);
+                    return filtered;
+                };
+                break;
+            }
+            case "top_level_exclude": {
+                final Set<String> excludes = new HashSet<>(List.of("field_1", "field_2", "object_10"));
+                streamingFilter = FlsSourceFilter.forTopLevelFields(Set.of(), excludes);
+                mapFilter = map -> {
+                    final Map<String, Object> filtered = new LinkedHashMap<>(map);
+                    filtered.keySet().removeAll(excludes);
+                    return filtered;
+                };
+                break;
+            }
+            case "path_include": {
+                final String[] includes = { "field_1*", "object_*.nested_1", "object_*.items.name" };
+                streamingFilter = FlsSourceFilter.forPaths(includes, null);
+                mapFilter = XContentMapValues.filter(includes, null);
+                break;
+            }
+            case "path_exclude": {
+                final String[] excludes = { "field_2*", "object_*.nested_2", "object_*.items.secret" };
+                streamingFilter = FlsSourceFilter.forPaths(null, excludes);
+                mapFilter = XContentMapValues.filter(null, excludes);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException(rules);
+        }
+    }
+
+    @Benchmark
+    public byte[] streaming() throws IOException {
+        return streamingFilter.filter(source);
+    }
+
+    @Benchmark
+    public byte[] map() throws IOException {
+        return Utils.jsonMapToByteArray(mapFilter.apply(Utils.byteArrayToMutableJsonMap(source)));
+    }
+}
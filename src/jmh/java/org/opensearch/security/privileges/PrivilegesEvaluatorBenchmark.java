@@ -0,0 +1,173 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.security.BenchmarkFixtures;
+import org.opensearch.security.auditlog.NullAuditLog;
+import org.opensearch.security.auth.internal.InternalAuthenticationBackend;
+import org.opensearch.security.configuration.ClusterInfoHolder;
+import org.opensearch.security.hasher.PasswordHasherFactory;
+import org.opensearch.security.resolver.IndexResolverReplacer;
+import org.opensearch.security.securityconf.ConfigModelV7;
+import org.opensearch.security.securityconf.DynamicConfigModelV7;
+import org.opensearch.security.securityconf.IndexPatternResolutionCache;
+import org.opensearch.security.user.User;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Measures mapping the roles of a user and evaluating the privileges for a single request, like SecurityFilter does
+ * for every action, against a large role configuration and cluster state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrivilegesEvaluatorBenchmark {
+
+    @Param({ "100", "1000" })
+    public int roles;
+
+    @Param({ "1000", "10000" })
+    public int indices;
+
+    /**
+     * Number of roles the user is mapped to.
+     */
+    @Param({ "5", "50" })
+    public int mappedRoles;
+
+    /**
+     * cluster: cluster health; search_pattern / search_alias: search on the indices of a single group by pattern or
+     * by alias; search_denied: search on all indices, which is not allowed; index: index a document.
+     */
+    @Param({ "cluster", "search_pattern", "search_alias", "search_denied", "index" })
+    public String request;
+
+    private ThreadPool threadPool;
+    private ThreadContext threadContext;
+    private PrivilegesEvaluator evaluator;
+    private User user;
+    private String action;
+    private ActionRequest actionRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Settings settings = Settings.EMPTY;
+        threadPool = BenchmarkFixtures.threadPool();
+        threadContext = threadPool.getThreadContext();
+
+        final ClusterService clusterService = BenchmarkFixtures.clusterService(threadPool, BenchmarkFixtures.clusterState(indices));
+        final IndexNameExpressionResolver resolver = new IndexNameExpressionResolver(threadContext);
+        final ClusterInfoHolder clusterInfoHolder = new ClusterInfoHolder(clusterService.getClusterName().value());
+        final IndexResolverReplacer irr = new IndexResolverReplacer(resolver, clusterService, clusterInfoHolder);
+
+        final DynamicConfigModelV7 dcm = new DynamicConfigModelV7(
+            BenchmarkFixtures.config(),
+            settings,
+            null,
+            new InternalAuthenticationBackend(PasswordHasherFactory.createPasswordHasher(settings)),
+            clusterInfoHolder
+        );
+        final ConfigModelV7 configModel = new ConfigModelV7(
+            BenchmarkFixtures.roles(roles),
+            BenchmarkFixtures.roleMappings(roles),
+            BenchmarkFixtures.actionGroups(),
+            BenchmarkFixtures.tenants(),
+            dcm,
+            settings,
+            new IndexPatternResolutionCache(settings)
+        );
+
+        evaluator = new PrivilegesEvaluator(
+            clusterService,
+            threadPool,
+            null,
+            resolver,
+            new NullAuditLog(),
+            settings,
+            new PrivilegesInterceptor(resolver, clusterService, null, threadPool),
+            clusterInfoHolder,
+            irr,
+            NamedXContentRegistry.EMPTY
+        );
+        evaluator.onConfigModelChanged(configModel);
+        evaluator.onDynamicConfigModelChanged(dcm);
+
+        user = BenchmarkFixtures.user("benchmark_user", roles, mappedRoles);
+
+        switch (request) {
+            case "cluster":
+                action = "cluster:monitor/health";
+                actionRequest = new ClusterHealthRequest();
+                break;
+            case "search_pattern":
+                action = "indices:data/read/search";
+                actionRequest = new SearchRequest("index_0_*");
+                break;
+            case "search_alias":
+                action = "indices:data/read/search";
+                actionRequest = new SearchRequest("alias_0");
+                break;
+            case "search_denied":
+                action = "indices:data/read/search";
+                actionRequest = new SearchRequest("index_*");
+                break;
+            case "index":
+                action = "indices:data/write/index";
+                actionRequest = new IndexRequest("index_1_1").id("1").source("{\"field\": \"value\"}", XContentType.JSON);
+                break;
+            default:
+                throw new IllegalArgumentException(request);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public PrivilegesEvaluatorResponse evaluate() {
+        // every request starts with a fresh thread context, like a new request would
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            return evaluator.evaluate(evaluator.createContext(user, action, actionRequest, null, null));
+        }
+    }
+}
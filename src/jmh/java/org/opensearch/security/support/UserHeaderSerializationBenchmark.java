@@ -0,0 +1,126 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.transport.TransportAddress;
+import org.opensearch.security.user.User;
+
+/**
+ * Compares the serialization formats of the user transport header: Base64 encoded JDK serialization, Base64 encoded
+ * custom serialization (Base64CustomHelper) and the compact header. The compact header caches its encodings, so the
+ * compact benchmarks measure the repeated serialization of the same user, as for the shard requests of a search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserHeaderSerializationBenchmark {
+
+    /**
+     * Number of backend roles and security roles of the user.
+     */
+    @Param({ "5", "50", "500" })
+    public int roles;
+
+    private User user;
+    private DiscoveryNode target;
+    private String jdkHeader;
+    private String customHeader;
+    private String compactHeader;
+
+    @Setup
+    public void setUp() {
+        final List<String> backendRoles = new ArrayList<>(roles);
+        final List<String> securityRoles = new ArrayList<>(roles);
+        for (int i = 0; i < roles; i++) {
+            backendRoles.add("CN=group_" + i + ",OU=groups,DC=example,DC=com");
+            securityRoles.add("role_" + i);
+        }
+
+        final Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            attributes.put("attr.internal.attribute_" + i, "value_" + i);
+        }
+
+        user = new User("benchmark_user", backendRoles, null);
+        user.addSecurityRoles(securityRoles);
+        user.addAttributes(attributes);
+        user.setRequestedTenant("benchmark_tenant");
+
+        target = new DiscoveryNode(
+            "target",
+            new TransportAddress(InetAddress.getLoopbackAddress(), 9300),
+            Map.of(NodeCapabilities.COMPACT_USER_HEADER, "true"),
+            Set.of(),
+            Version.CURRENT
+        );
+
+        jdkHeader = Base64Helper.serializeObject(user, true);
+        customHeader = Base64CustomHelper.serializeObject(user);
+        compactHeader = CompactUserHeader.serialize(user, target, false);
+    }
+
+    @Benchmark
+    public String serializeJdk() {
+        return Base64Helper.serializeObject(user, true);
+    }
+
+    @Benchmark
+    public String serializeCustom() {
+        return Base64CustomHelper.serializeObject(user);
+    }
+
+    @Benchmark
+    public String serializeCompact() {
+        return CompactUserHeader.serialize(user, target, false);
+    }
+
+    @Benchmark
+    public Serializable deserializeJdk() {
+        return Base64Helper.deserializeObject(jdkHeader, true);
+    }
+
+    @Benchmark
+    public Serializable deserializeCustom() {
+        return Base64CustomHelper.deserializeObject(customHeader);
+    }
+
+    @Benchmark
+    public User deserializeCompact() {
+        return CompactUserHeader.deserialize(compactHeader, false);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the combined WildcardMatcher with testing the individual pattern matchers one after the other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WildcardMatcherBenchmark {
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int patterns;
+
+    @Param({ "true", "false" })
+    public boolean caseSensitive;
+
+    private WildcardMatcher combined;
+    private List<WildcardMatcher> individual;
+    private String[] candidates;
+
+    @Setup
+    public void setUp() {
+        final List<String> patternList = new ArrayList<>(patterns);
+        for (int i = 0; i < patterns; i++) {
+            switch (i % 4) {
+                case 0:
+                    patternList.add("indices:data/read/action_" + i + "*");
+                    break;
+                case 1:
+                    patternList.add("cluster:admin/plugin_" + i + "/*");
+                    break;
+                case 2:
+                    patternList.add("indices:admin/mapping_" + i + "/get");
+                    break;
+                default:
+                    patternList.add("indices:*/op_" + i + "/?et");
+            }
+        }
+
+        combined = WildcardMatcher.from(patternList, caseSensitive);
+        individual = new ArrayList<>(patterns);
+        for (String pattern : patternList) {
+            individual.add(WildcardMatcher.from(pattern, caseSensitive));
+        }
+
+        candidates = new String[] {
+            "indices:data/read/action_0/search",
+            "cluster:admin/plugin_" + (patterns - 3) + "/update",
+            "indices:admin/mapping_" + (patterns - 2) + "/get",
+            "indices:data/op_" + (patterns - 1) + "/set",
+            "indices:data/write/bulk",
+            "cluster:monitor/health" };
+    }
+
+    @Benchmark
+    public void combined(Blackhole blackhole) {
+        for (String candidate : candidates) {
+            blackhole.consume(combined.test(candidate));
+        }
+    }
+
+    @Benchmark
+    public void individual(Blackhole blackhole) {
+        for (String candidate : candidates) {
+            blackhole.consume(individual.stream().anyMatch(m -> m.test(candidate)));
+        }
+    }
+}
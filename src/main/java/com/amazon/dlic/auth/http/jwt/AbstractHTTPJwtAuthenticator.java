@@ -38,6 +38,7 @@ import org.opensearch.security.auth.HTTPAuthenticator;
 import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.filter.SecurityResponse;
 import org.opensearch.security.user.AuthCredentials;
+import org.opensearch.security.util.VerifiedJwtCache;
 
 import com.amazon.dlic.auth.http.jwt.keybyoidc.AuthenticatorUnavailableException;
 import com.amazon.dlic.auth.http.jwt.keybyoidc.BadCredentialsException;
@@ -48,7 +49,7 @@ import com.nimbusds.jwt.SignedJWT;
 
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 
-public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator {
+public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator, VerifiedJwtCache.Provider {
     private final static Logger log = LogManager.getLogger(AbstractHTTPJwtAuthenticator.class);
     private final static DeprecationLogger deprecationLog = DeprecationLogger.getLogger(AbstractHTTPJwtAuthenticator.class);
 
@@ -57,6 +58,7 @@ public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator
 
     private KeyProvider keyProvider;
     private JwtVerifier jwtVerifier;
+    private final VerifiedJwtCache<JWTClaimsSet> verifiedJwtCache;
     private final String jwtHeaderName;
     private final boolean isDefaultAuthHeader;
     private final String jwtUrlParameter;
@@ -77,6 +79,7 @@ public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator
         clockSkewToleranceSeconds = settings.getAsInt("jwt_clock_skew_tolerance_seconds", DEFAULT_CLOCK_SKEW_TOLERANCE_SECONDS);
         requiredAudience = settings.getAsList("required_audience");
         requiredIssuer = settings.get("required_issuer");
+        verifiedJwtCache = new VerifiedJwtCache<>(settings, JWTClaimsSet::getExpirationTime);
 
         if (!jwtHeaderName.equals(AUTHORIZATION)) {
             deprecationLog.deprecate(
@@ -123,16 +126,14 @@ public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator
             return null;
         }
 
-        SignedJWT jwt;
         JWTClaimsSet claimsSet;
 
         try {
-            jwt = jwtVerifier.getVerifiedJwtToken(jwtString);
-            claimsSet = jwt.getJWTClaimsSet();
+            claimsSet = verifiedJwtCache.verify(jwtString, this::getVerifiedClaims);
         } catch (AuthenticatorUnavailableException e) {
             log.info(e.toString());
             throw new OpenSearchSecurityException(e.getMessage(), RestStatus.SERVICE_UNAVAILABLE);
-        } catch (BadCredentialsException | ParseException e) {
+        } catch (BadCredentialsException e) {
             if (log.isTraceEnabled()) {
                 log.trace("Extracting JWT token from {} failed", jwtString, e);
             }
@@ -155,6 +156,15 @@ public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator
         return ac;
     }
 
+    private JWTClaimsSet getVerifiedClaims(final String jwtString) throws BadCredentialsException {
+        final SignedJWT jwt = jwtVerifier.getVerifiedJwtToken(jwtString);
+        try {
+            return jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            throw new BadCredentialsException(e.getMessage(), e);
+        }
+    }
+
     protected String getJwtTokenString(SecurityRequest request) {
         String jwtToken = request.header(jwtHeaderName);
         if (isDefaultAuthHeader && jwtToken != null && BASIC.matcher(jwtToken).matches()) {
@@ -264,4 +274,8 @@ public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator
         return requiredIssuer;
     }
 
+    @Override
+    public VerifiedJwtCache<?> getVerifiedJwtCache() {
+        return verifiedJwtCache;
+    }
 }
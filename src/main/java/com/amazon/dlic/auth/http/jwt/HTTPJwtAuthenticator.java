@@ -11,12 +11,15 @@
 
 package com.amazon.dlic.auth.http.jwt;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -24,6 +27,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,21 +37,24 @@ import org.opensearch.SpecialPermission;
 import org.opensearch.common.logging.DeprecationLogger;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.security.DefaultObjectMapper;
 import org.opensearch.security.auth.HTTPAuthenticator;
 import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.filter.SecurityResponse;
 import org.opensearch.security.user.AuthCredentials;
 import org.opensearch.security.util.KeyUtils;
+import org.opensearch.security.util.VerifiedJwtCache;
 
 import com.nimbusds.jwt.proc.BadJWTException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.JwtParserBuilder;
 import io.jsonwebtoken.security.WeakKeyException;
 
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 
-public class HTTPJwtAuthenticator implements HTTPAuthenticator {
+public class HTTPJwtAuthenticator implements HTTPAuthenticator, VerifiedJwtCache.Provider {
 
     protected final Logger log = LogManager.getLogger(this.getClass());
     protected final DeprecationLogger deprecationLog = DeprecationLogger.getLogger(this.getClass());
@@ -56,6 +63,9 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
     private static final String BEARER = "bearer ";
 
     private final List<JwtParser> jwtParsers = new ArrayList<>();
+    // the parsers by the type of their signing key, see KeyUtils.getSigningKeyType()
+    private final Map<String, List<JwtParser>> jwtParsersByKeyType = new HashMap<>();
+    private final VerifiedJwtCache<Claims> verifiedJwtCache;
     private final String jwtHeaderName;
     private final boolean isDefaultAuthHeader;
     private final String jwtUrlParameter;
@@ -102,7 +112,14 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
                 jwtParser = AccessController.doPrivileged((PrivilegedAction<JwtParser>) jwtParserBuilder::build);
             }
             jwtParsers.add(jwtParser);
+
+            final String keyType = KeyUtils.getSigningKeyType(key);
+            if (jwtParser != null && keyType != null) {
+                jwtParsersByKeyType.computeIfAbsent(keyType, k -> new ArrayList<>()).add(jwtParser);
+            }
         }
+
+        verifiedJwtCache = new VerifiedJwtCache<>(settings, Claims::getExpiration);
     }
 
     @Override
@@ -164,42 +181,94 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
             }
         }
 
-        for (JwtParser jwtParser : jwtParsers) {
-            try {
+        try {
 
-                final Claims claims = jwtParser.parseClaimsJws(jwtToken).getBody();
+            final Claims claims = verifiedJwtCache.verify(jwtToken, this::parseClaims);
 
-                if (!requiredAudience.isEmpty()) {
-                    assertValidAudienceClaim(claims);
-                }
+            if (!requiredAudience.isEmpty()) {
+                assertValidAudienceClaim(claims);
+            }
 
-                final String subject = extractSubject(claims, request);
+            final String subject = extractSubject(claims, request);
 
-                if (subject == null) {
-                    log.error("No subject found in JWT token");
-                    return null;
-                }
+            if (subject == null) {
+                log.error("No subject found in JWT token");
+                return null;
+            }
 
-                final String[] roles = extractRoles(claims, request);
+            final String[] roles = extractRoles(claims, request);
 
-                final AuthCredentials ac = new AuthCredentials(subject, roles).markComplete();
+            final AuthCredentials ac = new AuthCredentials(subject, roles).markComplete();
 
-                for (Entry<String, Object> claim : claims.entrySet()) {
-                    ac.addAttribute("attr.jwt." + claim.getKey(), String.valueOf(claim.getValue()));
-                }
+            for (Entry<String, Object> claim : claims.entrySet()) {
+                ac.addAttribute("attr.jwt." + claim.getKey(), String.valueOf(claim.getValue()));
+            }
 
-                return ac;
+            return ac;
 
+        } catch (WeakKeyException e) {
+            log.error("Cannot authenticate user with JWT because of ", e);
+            return null;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Invalid or expired JWT token.", e);
+            }
+        }
+        log.error("Failed to parse JWT token using any of the available parsers");
+        return null;
+    }
+
+    /**
+     * Verifies the token with the parsers whose signing key matches the algorithm of the token. A token may be
+     * verified by more than one parser if several keys of the same type are configured.
+     */
+    private Claims parseClaims(final String jwtToken) {
+        RuntimeException failure = null;
+        for (JwtParser jwtParser : getJwtParsers(jwtToken)) {
+            try {
+                return jwtParser.parseClaimsJws(jwtToken).getBody();
             } catch (WeakKeyException e) {
-                log.error("Cannot authenticate user with JWT because of ", e);
-                return null;
-            } catch (Exception e) {
+                throw e;
+            } catch (RuntimeException e) {
                 if (log.isDebugEnabled()) {
                     log.debug("Invalid or expired JWT token.", e);
                 }
+                failure = e;
             }
         }
-        log.error("Failed to parse JWT token using any of the available parsers");
+        throw failure != null ? failure : new JwtException("No parser for JWT token");
+    }
+
+    private List<JwtParser> getJwtParsers(final String jwtToken) {
+        final String keyType = getSigningKeyType(jwtToken);
+        final List<JwtParser> parsers = keyType == null ? null : jwtParsersByKeyType.get(keyType);
+        // fall back to trying all parsers, which reports the same errors as before
+        return parsers != null ? parsers : jwtParsers;
+    }
+
+    /**
+     * Returns the type of the signing key the algorithm in the header of the token requires, or null if the header
+     * cannot be read or the algorithm is unknown.
+     */
+    private static String getSigningKeyType(final String jwtToken) {
+        final int end = jwtToken.indexOf('.');
+        if (end <= 0) {
+            return null;
+        }
+        final String algorithm;
+        try {
+            final JsonNode header = DefaultObjectMapper.objectMapper.readTree(Base64.getUrlDecoder().decode(jwtToken.substring(0, end)));
+            algorithm = header.path("alg").asText("");
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        if (algorithm.startsWith("HS")) {
+            return "HMAC";
+        } else if (algorithm.startsWith("RS") || algorithm.startsWith("PS")) {
+            return "RSA";
+        } else if (algorithm.startsWith("ES")) {
+            return "EC";
+        }
         return null;
     }
 
@@ -293,4 +362,8 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
         return roles;
     }
 
+    @Override
+    public VerifiedJwtCache<?> getVerifiedJwtCache() {
+        return verifiedJwtCache;
+    }
 }
@@ -16,4 +16,12 @@ import com.nimbusds.jose.jwk.JWKSet;
 @FunctionalInterface
 public interface KeySetProvider {
     JWKSet get() throws AuthenticatorUnavailableException;
+
+    /**
+     * @return how long the key set returned by the last call of {@link #get()} may be cached in milliseconds, or -1 if
+     * the provider does not know
+     */
+    default long getMaxAgeMs() {
+        return -1;
+    }
 }
@@ -13,6 +13,7 @@ package com.amazon.dlic.auth.http.jwt.keybyoidc;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.hc.client5.http.cache.HttpCacheContext;
@@ -28,7 +29,10 @@ import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -55,6 +59,7 @@ public class KeySetRetriever implements KeySetProvider {
     private long oidcRequests = 0;
     private long lastCacheStatusLog = 0;
     private String jwksUri;
+    private volatile long maxAgeMs = -1;
 
     KeySetRetriever(String openIdConnectEndpoint, SSLConfig sslConfig, boolean useCacheForOidConnectEndpoint) {
         this.openIdConnectEndpoint = openIdConnectEndpoint;
@@ -95,6 +100,7 @@ public class KeySetRetriever implements KeySetProvider {
                     throw new AuthenticatorUnavailableException("Error while getting " + uri + ": Empty response entity");
                 }
                 JWKSet keySet = JWKSet.load(httpEntity.getContent());
+                maxAgeMs = getMaxAgeMs(response);
 
                 return keySet;
             } catch (ParseException e) {
@@ -106,6 +112,39 @@ public class KeySetRetriever implements KeySetProvider {
 
     }
 
+    @Override
+    public long getMaxAgeMs() {
+        return maxAgeMs;
+    }
+
+    /**
+     * Returns the max-age of the Cache-Control header of the response in milliseconds, or -1 if the response must not
+     * be cached or has no max-age.
+     */
+    static long getMaxAgeMs(HttpResponse response) {
+        Header cacheControl = response.getFirstHeader(HttpHeaders.CACHE_CONTROL);
+
+        if (cacheControl == null) {
+            return -1;
+        }
+
+        for (String directive : cacheControl.getValue().split(",")) {
+            directive = directive.trim().toLowerCase(Locale.ROOT);
+
+            if (directive.equals("no-cache") || directive.equals("no-store")) {
+                return -1;
+            } else if (directive.startsWith("max-age=")) {
+                try {
+                    return TimeUnit.SECONDS.toMillis(Long.parseLong(directive.substring("max-age=".length()).trim()));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+
+        return -1;
+    }
+
     String getJwksUri() throws AuthenticatorUnavailableException {
 
         if (!Strings.isNullOrEmpty(jwksUri)) {
@@ -11,12 +11,15 @@
 
 package com.amazon.dlic.auth.http.jwt.keybyoidc;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.google.common.base.Strings;
 import org.apache.logging.log4j.LogManager;
@@ -25,6 +28,14 @@ import org.apache.logging.log4j.Logger;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 
+/**
+ * Provides the keys of the IdP and refreshes them when a JWT refers to an unknown key.
+ *
+ * Lookups read an immutable snapshot of the keys and do not lock. If the key set provider reports how long the keys
+ * may be cached, the keys are fetched again in the background shortly before they expire, triggered by the first
+ * lookup after the refresh time; lookups keep using the current keys meanwhile. Only lookups of keys which are not
+ * in the snapshot wait for a refresh.
+ */
 public class SelfRefreshingKeySet implements KeyProvider {
     private static final Logger log = LogManager.getLogger(SelfRefreshingKeySet.class);
 
@@ -36,7 +47,8 @@ public class SelfRefreshingKeySet implements KeyProvider {
         TimeUnit.MILLISECONDS,
         new LinkedBlockingQueue<Runnable>()
     );
-    private volatile JWKSet jsonWebKeys = new JWKSet();
+    private volatile KeySnapshot keys = new KeySnapshot(new JWKSet(), Long.MAX_VALUE);
+    private final AtomicBoolean backgroundRefreshInProgress = new AtomicBoolean();
     private boolean refreshInProgress = false;
     private long refreshCount = 0;
     private long queuedGetCount = 0;
@@ -53,6 +65,8 @@ public class SelfRefreshingKeySet implements KeyProvider {
     }
 
     public JWK getKey(String kid) throws AuthenticatorUnavailableException, BadCredentialsException {
+        refreshInBackgroundIfDue();
+
         if (Strings.isNullOrEmpty(kid)) {
             return getKeyWithoutKeyId();
         } else {
@@ -60,12 +74,12 @@ public class SelfRefreshingKeySet implements KeyProvider {
         }
     }
 
-    public synchronized JWK getKeyAfterRefresh(String kid) throws AuthenticatorUnavailableException, BadCredentialsException {
+    public JWK getKeyAfterRefresh(String kid) throws AuthenticatorUnavailableException, BadCredentialsException {
         JWK result = getKeyAfterRefreshInternal(kid);
 
         if (result != null) {
             return result;
-        } else if (jsonWebKeys.getKeys().size() == 0) {
+        } else if (keys.list.size() == 0) {
             throw new AuthenticatorUnavailableException("No JWK are available from IdP");
         } else {
             throw new BadCredentialsException("JWT did not contain KID which is required if IdP provides multiple JWK");
@@ -81,9 +95,9 @@ public class SelfRefreshingKeySet implements KeyProvider {
     }
 
     private JWK getKeyWithoutKeyId() throws AuthenticatorUnavailableException, BadCredentialsException {
-        List<JWK> keys = jsonWebKeys.getKeys();
+        List<JWK> keys = this.keys.list;
 
-        if (keys == null || keys.size() == 0) {
+        if (keys.size() == 0) {
             JWK result = getKeyWithRefresh(null);
 
             if (result != null) {
@@ -105,7 +119,7 @@ public class SelfRefreshingKeySet implements KeyProvider {
     }
 
     private JWK getKeyWithKeyId(String kid) throws AuthenticatorUnavailableException, BadCredentialsException {
-        JWK result = jsonWebKeys.getKeyByKeyId(kid);
+        JWK result = keys.byKeyId.get(kid);
 
         if (result != null) {
             return result;
@@ -120,9 +134,23 @@ public class SelfRefreshingKeySet implements KeyProvider {
         return result;
     }
 
-    private synchronized JWK getKeyWithRefresh(String kid) throws AuthenticatorUnavailableException {
+    private JWK getKeyWithRefresh(String kid) throws AuthenticatorUnavailableException {
+
+        // Always re-check to handle any races with a refresh that finished in the meantime
+
+        JWK result = getKeySimple(kid);
+
+        if (result != null) {
+            return result;
+        }
+
+        return getKeyWithRefreshInternal(kid);
+    }
+
+    private synchronized JWK getKeyWithRefreshInternal(String kid) throws AuthenticatorUnavailableException {
 
-        // Always re-check within synchronized to handle any races
+        // Re-check within synchronized, as a refresh of a concurrent lookup of the same kid might have finished while
+        // this thread was waiting for the lock; refreshing again would only count against the rate limit
 
         JWK result = getKeySimple(kid);
 
@@ -134,17 +162,17 @@ public class SelfRefreshingKeySet implements KeyProvider {
     }
 
     private JWK getKeySimple(String kid) {
-        if (Strings.isNullOrEmpty(kid)) {
-            List<JWK> keys = jsonWebKeys.getKeys();
+        final KeySnapshot keys = this.keys;
 
-            if (keys != null && keys.size() == 1) {
-                return keys.get(0);
+        if (Strings.isNullOrEmpty(kid)) {
+            if (keys.list.size() == 1) {
+                return keys.list.get(0);
             } else {
                 return null;
             }
 
         } else {
-            return jsonWebKeys.getKeyByKeyId(kid);
+            return keys.byKeyId.get(kid);
         }
     }
 
@@ -219,7 +247,7 @@ public class SelfRefreshingKeySet implements KeyProvider {
                         log.info("KeySetProvider finished");
 
                         synchronized (SelfRefreshingKeySet.this) {
-                            jsonWebKeys = newKeys;
+                            keys = new KeySnapshot(newKeys, getRefreshTime());
                             refreshInProgress = false;
                             lastRefreshFailure = null;
                             SelfRefreshingKeySet.this.notifyAll();
@@ -283,6 +311,57 @@ public class SelfRefreshingKeySet implements KeyProvider {
         }
     }
 
+    /**
+     * Fetches the keys in the background if the snapshot is due to be refreshed. At most one background refresh is in
+     * progress at a time; if it fails, the current keys are kept and the refresh is retried after the rate limit window.
+     */
+    private void refreshInBackgroundIfDue() {
+        final KeySnapshot current = keys;
+
+        if (current.refreshTime > System.currentTimeMillis() || !backgroundRefreshInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            threadPoolExecutor.execute(() -> {
+                try {
+                    JWKSet newKeys = keySetProvider.get();
+
+                    if (newKeys == null) {
+                        throw new RuntimeException("Refresh function " + keySetProvider + " yielded null");
+                    }
+
+                    keys = new KeySnapshot(newKeys, getRefreshTime());
+                    log.debug("Refreshed keys in the background");
+                } catch (Throwable e) {
+                    if (keys == current) {
+                        keys = new KeySnapshot(current.keySet, System.currentTimeMillis() + refreshRateLimitTimeWindowMs);
+                    }
+                    log.warn("KeySetProvider threw error during background refresh", e);
+                } finally {
+                    backgroundRefreshInProgress.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            backgroundRefreshInProgress.set(false);
+            log.debug("Could not schedule background refresh of keys", e);
+        }
+    }
+
+    /**
+     * Returns the time at which keys which have just been fetched should be fetched again: a fifth of their max age
+     * before they expire, but not earlier than the refresh rate limit allows.
+     */
+    private long getRefreshTime() {
+        final long maxAgeMs = keySetProvider.getMaxAgeMs();
+
+        if (maxAgeMs <= 0) {
+            return Long.MAX_VALUE;
+        }
+
+        return System.currentTimeMillis() + Math.max(maxAgeMs - maxAgeMs / 5, refreshRateLimitTimeWindowMs);
+    }
+
     public int getRequestTimeoutMs() {
         return requestTimeoutMs;
     }
@@ -322,4 +401,24 @@ public class SelfRefreshingKeySet implements KeyProvider {
     public void setRefreshRateLimitCount(int refreshRateLimitCount) {
         this.refreshRateLimitCount = refreshRateLimitCount;
     }
+
+    private static final class KeySnapshot {
+        private final JWKSet keySet;
+        private final List<JWK> list;
+        private final Map<String, JWK> byKeyId;
+        private final long refreshTime;
+
+        private KeySnapshot(final JWKSet keySet, final long refreshTime) {
+            this.keySet = keySet;
+            this.list = keySet.getKeys() != null ? keySet.getKeys() : List.of();
+            this.byKeyId = new HashMap<>();
+            for (final JWK key : list) {
+                if (key.getKeyID() != null) {
+                    // same as JWKSet.getKeyByKeyId(), which returns the first key with the id
+                    byKeyId.putIfAbsent(key.getKeyID(), key);
+                }
+            }
+            this.refreshTime = refreshTime;
+        }
+    }
 }
@@ -47,6 +47,7 @@ import org.opensearch.security.opensaml.integration.SecurityXMLObjectProviderIni
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.PemKeyReader;
 import org.opensearch.security.user.AuthCredentials;
+import org.opensearch.security.util.VerifiedJwtCache;
 
 import com.amazon.dlic.auth.http.jwt.AbstractHTTPJwtAuthenticator;
 import com.amazon.dlic.auth.http.jwt.keybyoidc.AuthenticatorUnavailableException;
@@ -75,7 +76,7 @@ import org.xml.sax.SAXException;
 import static org.opensearch.security.OpenSearchSecurityPlugin.LEGACY_OPENDISTRO_PREFIX;
 import static org.opensearch.security.OpenSearchSecurityPlugin.PLUGINS_PREFIX;
 
-public class HTTPSamlAuthenticator implements HTTPAuthenticator, Destroyable {
+public class HTTPSamlAuthenticator implements HTTPAuthenticator, Destroyable, VerifiedJwtCache.Provider {
     protected final static Logger log = LogManager.getLogger(HTTPSamlAuthenticator.class);
 
     public static final String IDP_METADATA_URL = "idp.metadata_url";
@@ -179,6 +180,11 @@ public class HTTPSamlAuthenticator implements HTTPAuthenticator, Destroyable {
         return SAML_TYPE;
     }
 
+    @Override
+    public VerifiedJwtCache<?> getVerifiedJwtCache() {
+        return httpJwtAuthenticator != null ? httpJwtAuthenticator.getVerifiedJwtCache() : null;
+    }
+
     @Override
     public Optional<SecurityResponse> reRequestAuthentication(final SecurityRequest request, final AuthCredentials authCredentials) {
         try {
@@ -35,7 +35,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import javax.naming.InvalidNameException;
 import javax.naming.ldap.LdapName;
 
 import com.google.common.collect.HashMultimap;
@@ -56,6 +55,7 @@ import org.opensearch.security.user.User;
 import com.amazon.dlic.auth.ldap.LdapUser;
 import com.amazon.dlic.auth.ldap.util.ConfigConstants;
 import com.amazon.dlic.auth.ldap.util.LdapHelper;
+import com.amazon.dlic.auth.ldap.util.NestedRoleResolver;
 import com.amazon.dlic.auth.ldap.util.Utils;
 import io.netty.util.internal.PlatformDependent;
 import org.ldaptive.BindConnectionInitializer;
@@ -109,6 +109,7 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
 
     private final String[] returnAttributes;
     private final boolean shouldFollowReferrals;
+    private final NestedRoleResolver nestedRoleResolver;
 
     public LDAPAuthorizationBackend(final Settings settings, final Path configPath) {
         this.settings = settings;
@@ -123,6 +124,17 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
         this.returnAttributes = settings.getAsList(ConfigConstants.LDAP_RETURN_ATTRIBUTES, Arrays.asList(ReturnAttributes.ALL.value()))
             .toArray(new String[0]);
         this.shouldFollowReferrals = settings.getAsBoolean(ConfigConstants.FOLLOW_REFERRALS, ConfigConstants.FOLLOW_REFERRALS_DEFAULT);
+        this.nestedRoleResolver = nestedRoleMatcher != null
+            ? new NestedRoleResolver(
+                settings,
+                nestedRoleMatcher,
+                roleBaseSettings,
+                DEFAULT_ROLEBASE,
+                DEFAULT_ROLESEARCH,
+                returnAttributes,
+                shouldFollowReferrals
+            )
+            : null;
 
     }
 
@@ -936,31 +948,20 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
                 }
 
                 final Set<LdapName> nestedReturn = new HashSet<>(ldapRoles);
+                final Set<LdapName> nestedRoles = nestedRoleResolver.resolve(
+                    connection,
+                    ldapRoles,
+                    resultRoleSearchBaseKeys,
+                    userRoleNames,
+                    rolesearchEnabled
+                );
 
-                for (final LdapName roleLdapName : ldapRoles) {
-                    Set<Map.Entry<String, Settings>> nameRoleSearchBaseKeys = resultRoleSearchBaseKeys.get(roleLdapName);
-
-                    if (nameRoleSearchBaseKeys == null) {
-                        log.error("Could not find roleSearchBaseKeys for " + roleLdapName + "; existing: " + resultRoleSearchBaseKeys);
-                        continue;
-                    }
-
-                    final Set<LdapName> nestedRoles = resolveNestedRoles(
-                        roleLdapName,
-                        connection,
-                        userRoleNames,
-                        0,
-                        rolesearchEnabled,
-                        nameRoleSearchBaseKeys
-                    );
-
-                    if (isTraceEnabled) {
-                        log.trace("{} nested roles for {}", nestedRoles.size(), roleLdapName);
-                    }
-
-                    nestedReturn.addAll(nestedRoles);
+                if (isTraceEnabled) {
+                    log.trace("{} nested roles for {}", nestedRoles.size(), ldapRoles);
                 }
 
+                nestedReturn.addAll(nestedRoles);
+
                 for (final LdapName roleLdapName : nestedReturn) {
                     final String role = getRoleFromEntry(connection, roleLdapName, roleName);
 
@@ -1013,140 +1014,6 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
 
     }
 
-    protected Set<LdapName> resolveNestedRoles(
-        final LdapName roleDn,
-        final Connection ldapConnection,
-        String userRoleName,
-        int depth,
-        final boolean rolesearchEnabled,
-        Set<Map.Entry<String, Settings>> roleSearchBaseSettingsSet
-    ) throws OpenSearchSecurityException, LdapException {
-
-        if (nestedRoleMatcher.test(roleDn.toString())) {
-
-            if (log.isTraceEnabled()) {
-                log.trace("Filter nested role {}", roleDn);
-            }
-
-            return Collections.emptySet();
-        }
-
-        depth++;
-
-        final boolean isDebugEnabled = log.isDebugEnabled();
-        final Set<LdapName> result = new HashSet<>(20);
-        final HashMultimap<LdapName, Map.Entry<String, Settings>> resultRoleSearchBaseKeys = HashMultimap.create();
-
-        final LdapEntry e0 = LdapHelper.lookup(ldapConnection, roleDn.toString(), this.returnAttributes, this.shouldFollowReferrals);
-
-        if (e0.getAttribute(userRoleName) != null) {
-            final Collection<String> userRoles = e0.getAttribute(userRoleName).getStringValues();
-
-            for (final String possibleRoleDN : userRoles) {
-
-                if (isDebugEnabled) {
-                    log.debug("DBGTRACE (10): possibleRoleDN" + possibleRoleDN);
-                }
-
-                if (isValidDn(possibleRoleDN)) {
-                    try {
-                        LdapName ldapName = new LdapName(possibleRoleDN);
-                        result.add(ldapName);
-                        resultRoleSearchBaseKeys.putAll(ldapName, this.roleBaseSettings);
-                    } catch (InvalidNameException e) {
-                        // ignore
-                    }
-                } else {
-                    if (isDebugEnabled) {
-                        log.debug("Cannot add {} as a role because its not a valid dn", possibleRoleDN);
-                    }
-                }
-            }
-        }
-
-        final boolean isTraceEnabled = log.isTraceEnabled();
-        if (isTraceEnabled) {
-            log.trace("result nested attr count for depth {} : {}", depth, result.size());
-        }
-
-        if (rolesearchEnabled) {
-            String escapedDn = roleDn.toString();
-
-            if (isDebugEnabled) {
-                log.debug("DBGTRACE (10): escapedDn {}", escapedDn);
-            }
-
-            for (Map.Entry<String, Settings> roleSearchBaseSettingsEntry : Utils.getOrderedBaseSettings(roleSearchBaseSettingsSet)) {
-                Settings roleSearchSettings = roleSearchBaseSettingsEntry.getValue();
-
-                SearchFilter f = new SearchFilter();
-                f.setFilter(roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_SEARCH, DEFAULT_ROLESEARCH));
-                f.setParameter(LDAPAuthenticationBackend.ZERO_PLACEHOLDER, escapedDn);
-                f.setParameter(ONE_PLACEHOLDER, escapedDn);
-
-                List<LdapEntry> foundEntries = LdapHelper.search(
-                    ldapConnection,
-                    roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_BASE, DEFAULT_ROLEBASE),
-                    f,
-                    SearchScope.SUBTREE,
-                    this.returnAttributes,
-                    this.shouldFollowReferrals
-                );
-
-                if (isTraceEnabled) {
-                    log.trace(
-                        "Results for LDAP group search for {} in base {}:\n{}",
-                        escapedDn,
-                        roleSearchBaseSettingsEntry.getKey(),
-                        foundEntries
-                    );
-                }
-
-                if (foundEntries != null) {
-                    for (final LdapEntry entry : foundEntries) {
-                        try {
-                            final LdapName dn = new LdapName(entry.getDn());
-                            result.add(dn);
-                            resultRoleSearchBaseKeys.put(dn, roleSearchBaseSettingsEntry);
-                        } catch (final InvalidNameException e) {
-                            throw new LdapException(e);
-                        }
-                    }
-                }
-            }
-        }
-
-        int maxDepth = ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT;
-        try {
-            maxDepth = settings.getAsInt(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT);
-        } catch (Exception e) {
-            log.error(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH + " is not parseable: " + e, e);
-        }
-
-        if (depth < maxDepth) {
-            for (final LdapName nm : new HashSet<LdapName>(result)) {
-                Set<Map.Entry<String, Settings>> nameRoleSearchBaseKeys = resultRoleSearchBaseKeys.get(nm);
-
-                if (nameRoleSearchBaseKeys == null) {
-                    log.error("Could not find roleSearchBaseKeys for " + nm + "; existing: " + resultRoleSearchBaseKeys);
-                    continue;
-                }
-
-                final Set<LdapName> in = resolveNestedRoles(
-                    nm,
-                    ldapConnection,
-                    userRoleName,
-                    depth,
-                    rolesearchEnabled,
-                    nameRoleSearchBaseKeys
-                );
-                result.addAll(in);
-            }
-        }
-
-        return result;
-    }
-
     @Override
     public String getType() {
         return "ldap";
@@ -1178,12 +1045,9 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
         }
 
         try {
-            final LdapEntry roleEntry = LdapHelper.lookup(
-                ldapConnection,
-                ldapName.toString(),
-                this.returnAttributes,
-                this.shouldFollowReferrals
-            );
+            final LdapEntry roleEntry = nestedRoleResolver != null
+                ? nestedRoleResolver.lookupGroup(ldapConnection, ldapName)
+                : LdapHelper.lookup(ldapConnection, ldapName.toString(), this.returnAttributes, this.shouldFollowReferrals);
 
             if (roleEntry != null) {
                 final LdapAttribute roleAttribute = roleEntry.getAttribute(role);
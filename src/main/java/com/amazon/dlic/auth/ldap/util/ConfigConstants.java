@@ -34,6 +34,10 @@ public final class ConfigConstants {
     public static final String LDAP_AUTHZ_NESTEDROLEFILTER = "nested_role_filter";
     public static final String LDAP_AUTHZ_MAX_NESTED_DEPTH = "max_nested_depth";
     public static final int LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT = 30;
+    public static final String LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL = "nested_role_cache_ttl_ms";
+    public static final long LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL_DEFAULT = 5 * 60 * 1000;
+    public static final String LDAP_AUTHZ_NESTED_ROLE_CACHE_MAX_SIZE = "nested_role_cache_max_size";
+    public static final int LDAP_AUTHZ_NESTED_ROLE_CACHE_MAX_SIZE_DEFAULT = 10000;
 
     public static final String FOLLOW_REFERRALS = "follow_referrals";
     public static final boolean FOLLOW_REFERRALS_DEFAULT = true;
@@ -0,0 +1,474 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package com.amazon.dlic.auth.ldap.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.WildcardMatcher;
+
+import org.ldaptive.Connection;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.LdapException;
+import org.ldaptive.SearchFilter;
+import org.ldaptive.SearchScope;
+
+/**
+ * Resolves the nested roles of LDAP groups for the LDAP authorization backends.
+ *
+ * The groups are resolved level by level: the role searches of all groups of a level which use the same role base are
+ * combined into a single OR filter, if the search filter is a simple equality like the default {@code (member={0})}.
+ * The parent groups found by a combined search are attributed to the child groups by the membership attribute of the
+ * parents; if a parent does not return the complete attribute, e.g. because the server uses range retrieval for
+ * large groups, the groups of the batch are searched one by one.
+ *
+ * The group entries and the role search results of every group are cached for all users of the backend, so that the
+ * group graph does not have to be walked again for every user. Concurrent authorizations which need the same groups
+ * wait for the search of the first one.
+ */
+public class NestedRoleResolver {
+
+    private static final Logger log = LogManager.getLogger(NestedRoleResolver.class);
+
+    private static final Pattern SIMPLE_EQUALITY_FILTER = Pattern.compile("\\(([\\w.;-]+)=\\{0\\}\\)");
+    static final int MAX_BATCH_SIZE = 50;
+
+    private final WildcardMatcher nestedRoleMatcher;
+    private final List<Map.Entry<String, Settings>> roleBaseSettings;
+    private final String defaultRoleBase;
+    private final String defaultRoleSearch;
+    private final String[] returnAttributes;
+    private final boolean shouldFollowReferrals;
+    private final int maxDepth;
+
+    // null if caching is disabled
+    private final Cache<LdapName, Optional<LdapEntry>> groupEntries;
+    private final Cache<SearchKey, Set<LdapName>> groupSearches;
+    private final Map<SearchKey, CompletableFuture<Set<LdapName>>> pendingSearches = new ConcurrentHashMap<>();
+
+    public NestedRoleResolver(
+        final Settings settings,
+        final WildcardMatcher nestedRoleMatcher,
+        final List<Map.Entry<String, Settings>> roleBaseSettings,
+        final String defaultRoleBase,
+        final String defaultRoleSearch,
+        final String[] returnAttributes,
+        final boolean shouldFollowReferrals
+    ) {
+        this.nestedRoleMatcher = nestedRoleMatcher;
+        this.roleBaseSettings = roleBaseSettings;
+        this.defaultRoleBase = defaultRoleBase;
+        this.defaultRoleSearch = defaultRoleSearch;
+        this.returnAttributes = returnAttributes;
+        this.shouldFollowReferrals = shouldFollowReferrals;
+
+        int maxDepth = ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT;
+        try {
+            maxDepth = settings.getAsInt(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT);
+        } catch (Exception e) {
+            log.error(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH + " is not parseable: " + e, e);
+        }
+        this.maxDepth = maxDepth;
+
+        final long ttlMs = settings.getAsLong(
+            ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL,
+            ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL_DEFAULT
+        );
+        final int maxSize = settings.getAsInt(
+            ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_MAX_SIZE,
+            ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_MAX_SIZE_DEFAULT
+        );
+
+        if (ttlMs > 0 && maxSize > 0) {
+            this.groupEntries = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS).build();
+            this.groupSearches = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS).build();
+        } else {
+            this.groupEntries = null;
+            this.groupSearches = null;
+        }
+    }
+
+    /**
+     * Returns the roles the given roles are nested in, up to the configured max depth.
+     *
+     * @param roleSearchBaseKeys the role bases in which each of the roles was found
+     * @param userRoleName the attribute of a group entry which contains the DNs of its parent groups
+     */
+    public Set<LdapName> resolve(
+        final Connection connection,
+        final Collection<LdapName> roles,
+        final SetMultimap<LdapName, Map.Entry<String, Settings>> roleSearchBaseKeys,
+        final String userRoleName,
+        final boolean rolesearchEnabled
+    ) throws LdapException {
+        final boolean isTraceEnabled = log.isTraceEnabled();
+        final Set<LdapName> result = new HashSet<>();
+        final Set<LdapName> lookedUp = new HashSet<>();
+        final Set<SearchKey> searched = new HashSet<>();
+
+        SetMultimap<LdapName, Map.Entry<String, Settings>> level = HashMultimap.create();
+        for (final LdapName role : roles) {
+            level.putAll(role, roleSearchBaseKeys.get(role));
+        }
+
+        for (int depth = 1; depth <= maxDepth && !level.isEmpty(); depth++) {
+            final SetMultimap<LdapName, Map.Entry<String, Settings>> nextLevel = HashMultimap.create();
+            final Map<Map.Entry<String, Settings>, List<LdapName>> searchesByBase = new LinkedHashMap<>();
+
+            for (final LdapName group : level.keySet()) {
+                if (nestedRoleMatcher.test(group.toString())) {
+                    if (isTraceEnabled) {
+                        log.trace("Filter nested role {}", group);
+                    }
+                    continue;
+                }
+
+                if (lookedUp.add(group)) {
+                    for (final LdapName parent : getParentsFromAttribute(connection, group, userRoleName)) {
+                        result.add(parent);
+                        nextLevel.putAll(parent, roleBaseSettings);
+                    }
+                }
+
+                if (rolesearchEnabled) {
+                    for (final Map.Entry<String, Settings> roleBase : Utils.getOrderedBaseSettings(level.get(group))) {
+                        if (searched.add(new SearchKey(group, roleBase.getKey()))) {
+                            searchesByBase.computeIfAbsent(roleBase, k -> new ArrayList<>()).add(group);
+                        }
+                    }
+                }
+            }
+
+            for (final Map.Entry<Map.Entry<String, Settings>, List<LdapName>> searches : searchesByBase.entrySet()) {
+                final Map.Entry<String, Settings> roleBase = searches.getKey();
+                for (final Set<LdapName> parents : searchParents(connection, roleBase, searches.getValue()).values()) {
+                    for (final LdapName parent : parents) {
+                        result.add(parent);
+                        nextLevel.put(parent, roleBase);
+                    }
+                }
+            }
+
+            if (isTraceEnabled) {
+                log.trace("result nested roles count for depth {} : {}", depth, result.size());
+            }
+            level = nextLevel;
+        }
+
+        return result;
+    }
+
+    /**
+     * Looks up the entry of a group, which is cached like the group graph.
+     */
+    public LdapEntry lookupGroup(final Connection connection, final LdapName group) throws LdapException {
+        if (groupEntries == null) {
+            return LdapHelper.lookup(connection, group.toString(), returnAttributes, shouldFollowReferrals);
+        }
+        try {
+            return groupEntries.get(
+                group,
+                () -> Optional.ofNullable(LdapHelper.lookup(connection, group.toString(), returnAttributes, shouldFollowReferrals))
+            ).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw asLdapException(e.getCause());
+        }
+    }
+
+    private Set<LdapName> getParentsFromAttribute(final Connection connection, final LdapName group, final String userRoleName)
+        throws LdapException {
+        final LdapEntry entry = lookupGroup(connection, group);
+        final LdapAttribute attribute = entry == null ? null : entry.getAttribute(userRoleName);
+
+        if (attribute == null) {
+            return Collections.emptySet();
+        }
+
+        final Set<LdapName> parents = new HashSet<>();
+        for (final String possibleRoleDN : attribute.getStringValues()) {
+            final LdapName parent = toLdapName(possibleRoleDN);
+            if (parent != null) {
+                parents.add(parent);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Cannot add {} as a role because its not a valid dn", possibleRoleDN);
+            }
+        }
+        return parents;
+    }
+
+    /**
+     * Returns the groups found by the role search of the role base for each of the groups. Groups which are searched by
+     * a concurrent authorization are not searched again.
+     */
+    private Map<LdapName, Set<LdapName>> searchParents(
+        final Connection connection,
+        final Map.Entry<String, Settings> roleBase,
+        final List<LdapName> groups
+    ) throws LdapException {
+        final Map<LdapName, Set<LdapName>> result = new HashMap<>();
+        final Map<SearchKey, CompletableFuture<Set<LdapName>>> ownSearches = new LinkedHashMap<>();
+        final Map<LdapName, CompletableFuture<Set<LdapName>>> otherSearches = new HashMap<>();
+
+        for (final LdapName group : groups) {
+            final SearchKey key = new SearchKey(group, roleBase.getKey());
+            final Set<LdapName> cached = groupSearches == null ? null : groupSearches.getIfPresent(key);
+            if (cached != null) {
+                result.put(group, cached);
+                continue;
+            }
+            final CompletableFuture<Set<LdapName>> search = new CompletableFuture<>();
+            final CompletableFuture<Set<LdapName>> pending = pendingSearches.putIfAbsent(key, search);
+            if (pending == null) {
+                ownSearches.put(key, search);
+            } else {
+                otherSearches.put(group, pending);
+            }
+        }
+
+        if (!ownSearches.isEmpty()) {
+            try {
+                final List<LdapName> toSearch = new ArrayList<>(ownSearches.size());
+                ownSearches.keySet().forEach(key -> toSearch.add(key.group));
+                final Map<LdapName, Set<LdapName>> found = searchParentsUncached(connection, roleBase, toSearch);
+
+                for (final Map.Entry<SearchKey, CompletableFuture<Set<LdapName>>> search : ownSearches.entrySet()) {
+                    final Set<LdapName> parents = found.getOrDefault(search.getKey().group, Collections.emptySet());
+                    if (groupSearches != null) {
+                        groupSearches.put(search.getKey(), parents);
+                    }
+                    search.getValue().complete(parents);
+                    result.put(search.getKey().group, parents);
+                }
+            } catch (LdapException | RuntimeException e) {
+                ownSearches.values().forEach(search -> search.completeExceptionally(e));
+                throw e;
+            } finally {
+                ownSearches.forEach(pendingSearches::remove);
+            }
+        }
+
+        for (final Map.Entry<LdapName, CompletableFuture<Set<LdapName>>> search : otherSearches.entrySet()) {
+            try {
+                result.put(search.getKey(), search.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LdapException(e);
+            } catch (ExecutionException e) {
+                throw asLdapException(e.getCause());
+            }
+        }
+
+        return result;
+    }
+
+    private Map<LdapName, Set<LdapName>> searchParentsUncached(
+        final Connection connection,
+        final Map.Entry<String, Settings> roleBase,
+        final List<LdapName> groups
+    ) throws LdapException {
+        final Settings roleSearchSettings = roleBase.getValue();
+        final String base = roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_BASE, defaultRoleBase);
+        final String filter = roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_SEARCH, defaultRoleSearch);
+        final Matcher simpleEquality = SIMPLE_EQUALITY_FILTER.matcher(filter);
+        final Map<LdapName, Set<LdapName>> result = new HashMap<>();
+
+        if (groups.size() > 1 && simpleEquality.matches()) {
+            for (final List<LdapName> batch : Lists.partition(groups, MAX_BATCH_SIZE)) {
+                if (!searchParentsBatch(connection, base, simpleEquality.group(1), batch, result)) {
+                    for (final LdapName group : batch) {
+                        result.put(group, searchParentsSingle(connection, base, filter, group));
+                    }
+                }
+            }
+        } else {
+            for (final LdapName group : groups) {
+                result.put(group, searchParentsSingle(connection, base, filter, group));
+            }
+        }
+
+        if (log.isTraceEnabled()) {
+            log.trace("Results for LDAP group search for {} in base {}:\n{}", groups, roleBase.getKey(), result);
+        }
+        return result;
+    }
+
+    private Set<LdapName> searchParentsSingle(final Connection connection, final String base, final String filter, final LdapName group)
+        throws LdapException {
+        final String escapedDn = group.toString();
+
+        final SearchFilter f = new SearchFilter();
+        f.setFilter(filter);
+        f.setParameter(0, escapedDn);
+        f.setParameter(1, escapedDn);
+
+        final List<LdapEntry> foundEntries = LdapHelper.search(
+            connection,
+            base,
+            f,
+            SearchScope.SUBTREE,
+            returnAttributes,
+            shouldFollowReferrals
+        );
+
+        final Set<LdapName> parents = new HashSet<>();
+        if (foundEntries != null) {
+            for (final LdapEntry entry : foundEntries) {
+                try {
+                    parents.add(new LdapName(entry.getDn()));
+                } catch (final InvalidNameException e) {
+                    throw new LdapException(e);
+                }
+            }
+        }
+        return parents;
+    }
+
+    /**
+     * Searches the parents of all groups of the batch with a single OR filter and attributes them to the groups by the
+     * membership attribute. Returns false if a parent cannot be attributed, e.g. because its membership attribute is not complete.
+     */
+    private boolean searchParentsBatch(
+        final Connection connection,
+        final String base,
+        final String membershipAttribute,
+        final List<LdapName> batch,
+        final Map<LdapName, Set<LdapName>> result
+    ) throws LdapException {
+        final StringBuilder filter = new StringBuilder("(|");
+        for (int i = 0; i < batch.size(); i++) {
+            filter.append('(').append(membershipAttribute).append("={").append(i).append("})");
+        }
+        filter.append(')');
+
+        final SearchFilter f = new SearchFilter();
+        f.setFilter(filter.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            f.setParameter(i, batch.get(i).toString());
+        }
+
+        final List<LdapEntry> foundEntries = LdapHelper.search(
+            connection,
+            base,
+            f,
+            SearchScope.SUBTREE,
+            new String[] { membershipAttribute },
+            shouldFollowReferrals
+        );
+
+        final Set<LdapName> children = new HashSet<>(batch);
+        final Map<LdapName, Set<LdapName>> parentsByChild = new HashMap<>();
+        if (foundEntries != null) {
+            for (final LdapEntry entry : foundEntries) {
+                final LdapAttribute members = entry.getAttribute(membershipAttribute);
+                if (members == null) {
+                    // e.g. a ranged attribute, the members cannot be attributed
+                    return false;
+                }
+                final LdapName parent;
+                try {
+                    parent = new LdapName(entry.getDn());
+                } catch (final InvalidNameException e) {
+                    throw new LdapException(e);
+                }
+                boolean attributed = false;
+                for (final String member : members.getStringValues()) {
+                    final LdapName child = toLdapName(member);
+                    if (child != null && children.contains(child)) {
+                        parentsByChild.computeIfAbsent(child, k -> new HashSet<>()).add(parent);
+                        attributed = true;
+                    }
+                }
+                if (!attributed) {
+                    // the server matched a member value which is not equal to any of the DNs as parsed here
+                    return false;
+                }
+            }
+        }
+
+        for (final LdapName group : batch) {
+            result.put(group, parentsByChild.getOrDefault(group, Collections.emptySet()));
+        }
+        return true;
+    }
+
+    private static LdapName toLdapName(final String dn) {
+        if (dn == null || dn.isEmpty()) {
+            return null;
+        }
+        try {
+            return new LdapName(dn);
+        } catch (final InvalidNameException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static LdapException asLdapException(final Throwable cause) {
+        if (cause instanceof LdapException) {
+            return (LdapException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else {
+            return new LdapException(cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+        }
+    }
+
+    private static final class SearchKey {
+        private final LdapName group;
+        private final String roleBase;
+
+        private SearchKey(final LdapName group, final String roleBase) {
+            this.group = group;
+            this.roleBase = roleBase;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey)) return false;
+            final SearchKey other = (SearchKey) o;
+            return group.equals(other.group) && roleBase.equals(other.roleBase);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(group, roleBase);
+        }
+    }
+}
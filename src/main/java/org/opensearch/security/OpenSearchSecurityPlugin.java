@@ -135,6 +135,9 @@ import org.opensearch.search.query.QuerySearchResult;
 import org.opensearch.security.action.configupdate.ConfigUpdateAction;
 import org.opensearch.security.action.configupdate.TransportConfigUpdateAction;
 import org.opensearch.security.action.onbehalf.CreateOnBehalfOfTokenAction;
+import org.opensearch.security.action.stats.SecurityStats;
+import org.opensearch.security.action.stats.StatsAction;
+import org.opensearch.security.action.stats.TransportStatsAction;
 import org.opensearch.security.action.whoami.TransportWhoAmIAction;
 import org.opensearch.security.action.whoami.WhoAmIAction;
 import org.opensearch.security.auditlog.AuditLog;
@@ -150,7 +153,10 @@ import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.configuration.ClusterInfoHolder;
 import org.opensearch.security.configuration.CompatConfig;
 import org.opensearch.security.configuration.ConfigurationRepository;
+import org.opensearch.security.configuration.DlsBitsetCache;
 import org.opensearch.security.configuration.DlsFlsRequestValve;
+import org.opensearch.security.configuration.DlsFlsRestrictionResolver;
+import org.opensearch.security.configuration.DlsFlsRuleCache;
 import org.opensearch.security.configuration.DlsFlsValveImpl;
 import org.opensearch.security.configuration.PrivilegesInterceptorImpl;
 import org.opensearch.security.configuration.Salt;
@@ -168,6 +174,7 @@ import org.opensearch.security.http.NonSslHttpServerTransport;
 import org.opensearch.security.http.XFFResolver;
 import org.opensearch.security.identity.NoopPluginSubject;
 import org.opensearch.security.identity.SecurityTokenManager;
+import org.opensearch.security.privileges.ClusterPermissionDecisionCache;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.privileges.PrivilegesInterceptor;
 import org.opensearch.security.privileges.RestLayerPrivilegesEvaluator;
@@ -176,11 +183,15 @@ import org.opensearch.security.rest.DashboardsInfoAction;
 import org.opensearch.security.rest.SecurityConfigUpdateAction;
 import org.opensearch.security.rest.SecurityHealthAction;
 import org.opensearch.security.rest.SecurityInfoAction;
+import org.opensearch.security.rest.SecurityStatsAction;
 import org.opensearch.security.rest.SecurityWhoAmIAction;
 import org.opensearch.security.rest.TenantInfoAction;
 import org.opensearch.security.securityconf.DynamicConfigFactory;
+import org.opensearch.security.securityconf.IndexPatternResolutionCache;
+import org.opensearch.security.securityconf.ReverseDnsResolver;
 import org.opensearch.security.setting.OpensearchDynamicSetting;
 import org.opensearch.security.setting.TransportPassiveAuthSetting;
+import org.opensearch.security.ssl.DefaultSecurityKeyStore;
 import org.opensearch.security.ssl.ExternalSecurityKeyStore;
 import org.opensearch.security.ssl.OpenSearchSecureSettingsFactory;
 import org.opensearch.security.ssl.OpenSearchSecuritySSLPlugin;
@@ -188,11 +199,13 @@ import org.opensearch.security.ssl.SslExceptionHandler;
 import org.opensearch.security.ssl.http.netty.ValidatingDispatcher;
 import org.opensearch.security.ssl.transport.DefaultPrincipalExtractor;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
+import org.opensearch.security.ssl.util.TlsSessionStats;
 import org.opensearch.security.state.SecurityMetadata;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.GuardedSearchOperationWrapper;
 import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.ModuleInfo;
+import org.opensearch.security.support.NodeCapabilities;
 import org.opensearch.security.support.ReflectionHelper;
 import org.opensearch.security.support.SecuritySettings;
 import org.opensearch.security.support.SecurityUtils;
@@ -202,6 +215,7 @@ import org.opensearch.security.transport.InterClusterRequestEvaluator;
 import org.opensearch.security.transport.SecurityInterceptor;
 import org.opensearch.security.user.User;
 import org.opensearch.security.user.UserService;
+import org.opensearch.security.util.VerifiedJwtCache;
 import org.opensearch.tasks.Task;
 import org.opensearch.telemetry.tracing.Tracer;
 import org.opensearch.threadpool.ThreadPool;
@@ -260,12 +274,17 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
     private final boolean disabled;
     private volatile SecurityTokenManager tokenManager;
     private volatile DynamicConfigFactory dcf;
+    private volatile ReverseDnsResolver reverseDnsResolver;
+    private volatile SecurityStats securityStats;
     private final List<String> demoCertHashes = new ArrayList<String>(3);
     private volatile SecurityFilter sf;
     private volatile IndexResolverReplacer irr;
     private final AtomicReference<NamedXContentRegistry> namedXContentRegistry = new AtomicReference<>(NamedXContentRegistry.EMPTY);;
     private volatile DlsFlsRequestValve dlsFlsValve = null;
     private volatile Salt salt;
+    private volatile DlsBitsetCache dlsBitsetCache;
+    private volatile DlsFlsRuleCache dlsFlsRuleCache;
+    private volatile DlsFlsRestrictionResolver dlsFlsRestrictionResolver;
     private volatile OpensearchDynamicSetting<Boolean> transportPassiveAuthSetting;
     private volatile PasswordHasher passwordHasher;
 
@@ -288,6 +307,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         if (auditLog != null) {
             auditLog.close();
         }
+        if (reverseDnsResolver != null) {
+            reverseDnsResolver.close();
+        }
     }
 
     private final SslExceptionHandler evaluateSslExceptionHandler() {
@@ -595,6 +617,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     new SecurityInfoAction(settings, restController, Objects.requireNonNull(evaluator), Objects.requireNonNull(threadPool))
                 );
                 handlers.add(new SecurityHealthAction(settings, restController, Objects.requireNonNull(backendRegistry)));
+                handlers.add(new SecurityStatsAction());
                 handlers.add(
                     new DashboardsInfoAction(
                         settings,
@@ -620,7 +643,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                         restController,
                         Objects.requireNonNull(threadPool),
                         adminDns,
-                        configPath,
+                        certificateRevocationService,
                         principalExtractor
                     )
                 );
@@ -630,7 +653,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                         restController,
                         Objects.requireNonNull(threadPool),
                         adminDns,
-                        configPath,
+                        certificateRevocationService,
                         principalExtractor
                     )
                 );
@@ -638,7 +661,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 handlers.addAll(
                     SecurityRestApiActions.getHandler(
                         settings,
-                        configPath,
+                        certificateRevocationService,
                         restController,
                         localClient,
                         adminDns,
@@ -681,6 +704,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 actions.add(new ActionHandler<>(CertificatesActionType.INSTANCE, TransportCertificatesInfoNodesAction.class));
             }
             actions.add(new ActionHandler<>(WhoAmIAction.INSTANCE, TransportWhoAmIAction.class));
+            actions.add(new ActionHandler<>(StatsAction.INSTANCE, TransportStatsAction.class));
         }
         return actions;
     }
@@ -704,7 +728,10 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     auditLog,
                     ciol,
                     evaluator,
-                    salt
+                    salt,
+                    dlsBitsetCache,
+                    dlsFlsRestrictionResolver,
+                    dlsFlsRuleCache
                 )
             );
             indexModule.forceQueryCacheProvider((indexSettings, nodeCache) -> new QueryCache() {
@@ -726,19 +753,19 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
 
                 @Override
                 public Weight doCache(Weight weight, QueryCachingPolicy policy) {
-                    @SuppressWarnings("unchecked")
-                    final Map<String, Set<String>> allowedFlsFields = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
+                    final Map<String, Set<String>> allowedFlsFields = dlsFlsRestrictionResolver.getRestrictions(
                         threadPool.getThreadContext(),
-                        ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER
+                        ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER,
+                        index().getName()
                     );
 
                     if (SecurityUtils.evalMap(allowedFlsFields, index().getName()) != null) {
                         return weight;
                     } else {
-                        @SuppressWarnings("unchecked")
-                        final Map<String, Set<String>> maskedFieldsMap = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
+                        final Map<String, Set<String>> maskedFieldsMap = dlsFlsRestrictionResolver.getRestrictions(
                             threadPool.getThreadContext(),
-                            ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER
+                            ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER,
+                            index().getName()
                         );
 
                         if (SecurityUtils.evalMap(maskedFieldsMap, index().getName()) != null) {
@@ -820,10 +847,10 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                         return;
                     }
 
-                    @SuppressWarnings("unchecked")
-                    final Map<String, Set<String>> maskedFieldsMap = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
+                    final Map<String, Set<String>> maskedFieldsMap = dlsFlsRestrictionResolver.getRestrictions(
                         threadPool.getThreadContext(),
-                        ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER
+                        ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER,
+                        indexModule.getIndex().getName()
                     );
                     final String maskedEval = SecurityUtils.evalMap(maskedFieldsMap, indexModule.getIndex().getName());
                     if (maskedEval != null) {
@@ -978,7 +1005,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     threadPool.getThreadContext(),
                     dispatcher,
                     settings,
-                    configPath,
+                    certificateRevocationService,
                     evaluateSslExceptionHandler()
                 );
                 // TODO close odshst
@@ -1065,8 +1092,11 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         final ClusterInfoHolder cih = new ClusterInfoHolder(this.cs.getClusterName().value());
         this.cs.addListener(cih);
         this.salt = Salt.from(settings);
+        this.dlsBitsetCache = new DlsBitsetCache(settings);
+        this.dlsFlsRuleCache = new DlsFlsRuleCache(settings);
 
         final IndexNameExpressionResolver resolver = new IndexNameExpressionResolver(threadPool.getThreadContext());
+        this.dlsFlsRestrictionResolver = new DlsFlsRestrictionResolver(settings, clusterService, resolver);
         irr = new IndexResolverReplacer(resolver, clusterService, cih);
 
         final String DEFAULT_INTERCLUSTER_REQUEST_EVALUATOR_CLASS = DefaultInterClusterRequestEvaluator.class.getName();
@@ -1095,7 +1125,8 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 clusterService,
                 resolver,
                 xContentRegistry,
-                threadPool.getThreadContext()
+                threadPool.getThreadContext(),
+                dlsFlsRestrictionResolver
             );
             auditLog = new AuditLogImpl(settings, configPath, localClient, threadPool, resolver, clusterService, environment);
             privilegesInterceptor = new PrivilegesInterceptorImpl(resolver, clusterService, localClient, threadPool);
@@ -1149,10 +1180,23 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
             threadPool,
             principalExtractor,
             settings,
-            configPath,
+            certificateRevocationService,
             compatConfig
         );
-        dcf = new DynamicConfigFactory(cr, settings, configPath, localClient, threadPool, cih, passwordHasher);
+        final IndexPatternResolutionCache indexPatternResolutionCache = new IndexPatternResolutionCache(settings);
+        clusterService.addListener(indexPatternResolutionCache);
+        reverseDnsResolver = new ReverseDnsResolver(settings);
+        dcf = new DynamicConfigFactory(
+            cr,
+            settings,
+            configPath,
+            localClient,
+            threadPool,
+            cih,
+            passwordHasher,
+            indexPatternResolutionCache,
+            reverseDnsResolver
+        );
         dcf.registerDCFListener(backendRegistry);
         dcf.registerDCFListener(compatConfig);
         dcf.registerDCFListener(irr);
@@ -1167,6 +1211,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         }
         if (dlsFlsValve instanceof DlsFlsValveImpl) {
             dcf.registerDCFListener(dlsFlsValve);
+            dcf.registerDCFListener(dlsFlsRestrictionResolver);
         }
 
         cr.setDynamicConfigFactory(dcf);
@@ -1186,6 +1231,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         );
         components.add(principalExtractor);
 
+        securityStats = new SecurityStats();
+        registerStats(securityStats);
+
         // NOTE: We need to create DefaultInterClusterRequestEvaluator before creating ConfigurationRepository since the latter requires
         // security index to be accessible which means
         // communciation with other nodes is already up. However for the communication to be up, there needs to be trusted nodes_dn. Hence
@@ -1206,6 +1254,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         components.add(dcf);
         components.add(userService);
         components.add(passwordHasher);
+        components.add(dlsBitsetCache);
+        components.add(dlsFlsRuleCache);
+        components.add(securityStats);
 
         if (!ExternalSecurityKeyStore.hasExternalSslContext(settings)) {
             components.add(sks);
@@ -1218,6 +1269,111 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         return components;
     }
 
+    private void registerStats(final SecurityStats securityStats) {
+        final ClusterPermissionDecisionCache clusterPermissionDecisionCache = evaluator.getClusterPermissionDecisionCache();
+        securityStats.register(
+            "cluster_permission_cache",
+            () -> Map.of(
+                "hits",
+                clusterPermissionDecisionCache.getHits(),
+                "misses",
+                clusterPermissionDecisionCache.getMisses(),
+                "role_sets",
+                (long) clusterPermissionDecisionCache.size()
+            )
+        );
+        securityStats.register(
+            "dls_bitset_cache",
+            () -> Map.of(
+                "hits",
+                dlsBitsetCache.getHits(),
+                "misses",
+                dlsBitsetCache.getMisses(),
+                "evictions",
+                dlsBitsetCache.getEvictions(),
+                "count",
+                dlsBitsetCache.getCount(),
+                "ram_bytes_used",
+                dlsBitsetCache.getRamBytesUsed()
+            )
+        );
+        securityStats.register(
+            "dls_fls_rule_cache",
+            () -> Map.of(
+                "hits",
+                dlsFlsRuleCache.getHits(),
+                "misses",
+                dlsFlsRuleCache.getMisses(),
+                "evictions",
+                dlsFlsRuleCache.getEvictions(),
+                "count",
+                dlsFlsRuleCache.getCount(),
+                "ram_bytes_used",
+                dlsFlsRuleCache.getRamBytesUsed()
+            )
+        );
+        securityStats.register("jwt_cache", () -> {
+            long hits = 0;
+            long misses = 0;
+            long count = 0;
+            for (final VerifiedJwtCache<?> cache : backendRegistry.getVerifiedJwtCaches()) {
+                hits += cache.getHits();
+                misses += cache.getMisses();
+                count += cache.getCount();
+            }
+            return Map.of("hits", hits, "misses", misses, "count", count);
+        });
+        securityStats.register(
+            "reverse_dns",
+            () -> Map.of(
+                "hits",
+                reverseDnsResolver.getHits(),
+                "misses",
+                reverseDnsResolver.getMisses(),
+                "pending",
+                reverseDnsResolver.getPending(),
+                "lookups",
+                reverseDnsResolver.getLookups(),
+                "failed_lookups",
+                reverseDnsResolver.getFailedLookups(),
+                "rejected_lookups",
+                reverseDnsResolver.getRejectedLookups(),
+                "lookup_time_in_nanos",
+                reverseDnsResolver.getLookupTimeNanos(),
+                "count",
+                reverseDnsResolver.getCount()
+            )
+        );
+        if (sks instanceof DefaultSecurityKeyStore) {
+            final DefaultSecurityKeyStore keyStore = (DefaultSecurityKeyStore) sks;
+            securityStats.register("tls_http_sessions", () -> toMap(keyStore.getHttpSessionStats()));
+            securityStats.register("tls_transport_server_sessions", () -> toMap(keyStore.getTransportServerSessionStats()));
+            securityStats.register("tls_transport_client_sessions", () -> toMap(keyStore.getTransportClientSessionStats()));
+        }
+    }
+
+    private static Map<String, Long> toMap(final TlsSessionStats stats) {
+        if (stats == null) {
+            return Map.of();
+        }
+        return Map.of(
+            "session_cache_size",
+            stats.getSessionCacheSize(),
+            "session_timeout_seconds",
+            stats.getSessionTimeout(),
+            "cached_sessions",
+            stats.getCachedSessions(),
+            "hits",
+            stats.getHits(),
+            "misses",
+            stats.getMisses(),
+            "timeouts",
+            stats.getTimeouts(),
+            "ticket_resumes",
+            stats.getTicketResumes()
+        );
+    }
+
     @Override
     public List<NamedWriteableRegistry.Entry> getNamedWriteables() {
         return List.of(
@@ -1240,6 +1396,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         if (!SSLConfig.isSslOnlyMode()) {
             builder.put(NetworkModule.TRANSPORT_TYPE_KEY, "org.opensearch.security.ssl.http.netty.SecuritySSLNettyTransport");
             builder.put(NetworkModule.HTTP_TYPE_KEY, "org.opensearch.security.http.SecurityHttpServerTransport");
+            builder.put(NodeCapabilities.nodeAttributes());
         }
         return builder.build();
     }
@@ -1433,6 +1590,107 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
             settings.add(
                 Setting.boolSetting(ConfigConstants.SECURITY_DFM_EMPTY_OVERRIDES_ALL, false, Property.NodeScope, Property.Filtered)
             );
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_PRIVILEGES_PRECOMPUTED_INDEX_MATRIX_ENABLED,
+                    ConfigConstants.SECURITY_PRIVILEGES_PRECOMPUTED_INDEX_MATRIX_ENABLED_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.memorySizeSetting(
+                    ConfigConstants.SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE,
+                    ConfigConstants.SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS,
+                    ConfigConstants.SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS_DEFAULT,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.memorySizeSetting(
+                    ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE,
+                    ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED,
+                    ConfigConstants.SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE,
+                    ConfigConstants.SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE_DEFAULT,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_MAX_SIZE,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_MAX_SIZE_DEFAULT,
+                    1,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.positiveTimeSetting(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.positiveTimeSetting(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_THREADS,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_THREADS_DEFAULT,
+                    1,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_QUEUE_SIZE,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_QUEUE_SIZE_DEFAULT,
+                    1,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.positiveTimeSetting(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_PENDING_WAIT,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_PENDING_WAIT_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
             settings.add(Setting.groupSetting(ConfigConstants.SECURITY_AUTHCZ_REST_IMPERSONATION_USERS + ".", Property.NodeScope)); // not
                                                                                                                                     // filtered
                                                                                                                                     // here
@@ -1955,6 +2213,14 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     Property.Filtered
                 )
             );
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_COMPLIANCE_HISTORY_READ_AGGREGATE_DOCUMENTS,
+                    ConfigConstants.SECURITY_COMPLIANCE_HISTORY_READ_AGGREGATE_DOCUMENTS_DEFAULT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
             settings.add(transportPassiveAuthSetting.getDynamicSetting());
 
             settings.add(
@@ -2091,13 +2357,13 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
     @Override
     public Function<String, Predicate<String>> getFieldFilter() {
         return index -> {
-            if (threadPool == null) {
+            if (threadPool == null || dlsFlsRestrictionResolver == null) {
                 return field -> true;
             }
-            @SuppressWarnings("unchecked")
-            final Map<String, Set<String>> allowedFlsFields = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
+            final Map<String, Set<String>> allowedFlsFields = dlsFlsRestrictionResolver.getRestrictions(
                 threadPool.getThreadContext(),
-                ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER
+                ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER,
+                index
             );
 
             final String eval = SecurityUtils.evalMap(allowedFlsFields, index);
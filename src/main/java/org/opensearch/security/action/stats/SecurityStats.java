@@ -0,0 +1,45 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects the statistics of the caches and other components of the security plugin on this node.
+ *
+ * Components register a section with a supplier of their current counters; the suppliers are called every time the
+ * statistics are requested through {@link StatsAction}.
+ */
+public class SecurityStats {
+
+    private final Map<String, Supplier<Map<String, Long>>> sections = new ConcurrentHashMap<>();
+
+    /**
+     * @param section the name of the section, like {@code dls_bitset_cache}
+     * @param stats returns the current counters of the section
+     */
+    public void register(final String section, final Supplier<Map<String, Long>> stats) {
+        sections.put(section, stats);
+    }
+
+    /**
+     * @return the current counters of all sections, sorted by section name
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        final Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        sections.forEach((section, stats) -> snapshot.put(section, stats.get()));
+        return snapshot;
+    }
+}
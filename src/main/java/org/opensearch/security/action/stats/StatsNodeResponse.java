@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+public class StatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private final Map<String, Map<String, Long>> stats;
+
+    public StatsNodeResponse(final DiscoveryNode node, final Map<String, Map<String, Long>> stats) {
+        super(node);
+        this.stats = stats;
+    }
+
+    public StatsNodeResponse(final StreamInput in) throws IOException {
+        super(in);
+        this.stats = in.readMap(StreamInput::readString, sectionIn -> sectionIn.readMap(StreamInput::readString, StreamInput::readLong));
+    }
+
+    public Map<String, Map<String, Long>> getStats() {
+        return stats;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeMap(
+            stats,
+            StreamOutput::writeString,
+            (sectionOut, section) -> sectionOut.writeMap(section, StreamOutput::writeString, StreamOutput::writeLong)
+        );
+    }
+
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.field("name", getNode().getName());
+        for (final Map.Entry<String, Map<String, Long>> section : new TreeMap<>(stats).entrySet()) {
+            builder.field(section.getKey(), new TreeMap<>(section.getValue()));
+        }
+        return builder;
+    }
+}
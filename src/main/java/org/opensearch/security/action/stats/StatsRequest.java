@@ -0,0 +1,28 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+public class StatsRequest extends BaseNodesRequest<StatsRequest> {
+
+    public StatsRequest(final String... nodesIds) {
+        super(nodesIds);
+    }
+
+    public StatsRequest(final StreamInput in) throws IOException {
+        super(in);
+    }
+}
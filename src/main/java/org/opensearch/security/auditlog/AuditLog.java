@@ -73,6 +73,9 @@ public interface AuditLog extends Closeable {
 
     void logDocumentRead(String index, String id, ShardId shardId, Map<String, String> fieldNameValues);
 
+    // documents read from a shard by a single request, by document id
+    void logDocumentsRead(String index, ShardId shardId, Map<String, Map<String, String>> fieldNameValuesById);
+
     void logDocumentWritten(ShardId shardId, GetResult originalIndex, Index currentIndex, IndexResult result);
 
     void logDocumentDeleted(ShardId shardId, Delete delete, DeleteResult result);
@@ -22,8 +22,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.SortedSet;
@@ -32,7 +34,6 @@ import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.BaseEncoding;
-import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -63,7 +64,6 @@ import org.opensearch.index.engine.Engine.DeleteResult;
 import org.opensearch.index.engine.Engine.Index;
 import org.opensearch.index.engine.Engine.IndexResult;
 import org.opensearch.index.get.GetResult;
-import org.opensearch.security.DefaultObjectMapper;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.auditlog.config.AuditConfig;
 import org.opensearch.security.auth.AuthDomain;
@@ -72,13 +72,13 @@ import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.securityconf.DynamicConfigModel;
 import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.CompactUserHeader;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportRequest;
 
-import com.flipkart.zjsonpatch.JsonDiff;
 import org.greenrobot.eventbus.Subscribe;
 
 import static org.opensearch.core.xcontent.DeprecationHandler.THROW_UNSUPPORTED_OPERATION;
@@ -537,6 +537,66 @@ public abstract class AbstractAuditLog implements AuditLog {
 
     }
 
+    @Override
+    public void logDocumentsRead(String index, ShardId shardId, Map<String, Map<String, String>> fieldNameValuesById) {
+        if (securityIndex.equals(index)) {
+            // configuration documents are logged with their decoded content, which is done per document
+            fieldNameValuesById.forEach((id, fieldNameValues) -> logDocumentRead(index, id, shardId, fieldNameValues));
+            return;
+        }
+
+        final ComplianceConfig complianceConfig = getComplianceConfig();
+        if (complianceConfig == null || !complianceConfig.readHistoryEnabledForIndex(index)) {
+            return;
+        }
+
+        final String initiatingRequestClass = threadPool.getThreadContext()
+            .getHeader(ConfigConstants.OPENDISTRO_SECURITY_INITIAL_ACTION_CLASS_HEADER);
+
+        if (initiatingRequestClass != null && writeClasses.contains(initiatingRequestClass)) {
+            return;
+        }
+
+        String effectiveUser = getUser();
+        if (!checkComplianceFilter(AuditCategory.COMPLIANCE_DOC_READ, effectiveUser, getOrigin(), complianceConfig)) {
+            return;
+        }
+
+        final Map<String, Object> documents = new LinkedHashMap<>(fieldNameValuesById.size());
+        for (Map.Entry<String, Map<String, String>> entry : fieldNameValuesById.entrySet()) {
+            final Map<String, String> fieldNameValues = entry.getValue();
+            if (fieldNameValues != null && !fieldNameValues.isEmpty()) {
+                documents.put(
+                    Objects.toString(entry.getKey(), "_na_"),
+                    complianceConfig.shouldLogReadMetadataOnly()
+                        ? Collections.singletonMap("field_names", fieldNameValues.keySet())
+                        : fieldNameValues
+                );
+            }
+        }
+
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        AuditMessage msg = new AuditMessage(AuditCategory.COMPLIANCE_DOC_READ, clusterService, getOrigin(), null);
+        TransportAddress remoteAddress = getRemoteAddress();
+        msg.addRemoteAddress(remoteAddress);
+        msg.addEffectiveUser(effectiveUser);
+        msg.addIndices(new String[] { index });
+        msg.addResolvedIndices(new String[] { index });
+        msg.addShardId(shardId);
+        msg.addIds(documents.keySet().toArray(new String[0]));
+
+        try {
+            msg.addMapToRequestBody(documents);
+        } catch (Exception e) {
+            log.error("Unable to generate request body for {} and {}", msg.toPrettyString(), documents.keySet(), e);
+        }
+
+        save(msg);
+    }
+
     @Override
     public void logDocumentWritten(ShardId shardId, GetResult originalResult, Index currentIndex, IndexResult result) {
         final ComplianceConfig complianceConfig = getComplianceConfig();
@@ -609,19 +669,9 @@ public abstract class AbstractAuditLog implements AuditLog {
                     } catch (Exception e) {
                         log.error(e.toString());
                     }
-                    final JsonNode diffnode = JsonDiff.asJson(
-                        DefaultObjectMapper.objectMapper.readTree(originalSource),
-                        DefaultObjectMapper.objectMapper.readTree(currentSource)
-                    );
-                    msg.addSecurityConfigWriteDiffSource(diffnode.size() == 0 ? "" : diffnode.toString(), id);
+                    msg.addSecurityConfigWriteDiffSource(StreamingJsonDiff.diff(originalSource, currentSource), id);
                 } else {
-                    originalSource = XContentHelper.convertToJson(originalResult.internalSourceRef(), false, XContentType.JSON);
-                    currentSource = XContentHelper.convertToJson(currentIndex.source(), false, XContentType.JSON);
-                    final JsonNode diffnode = JsonDiff.asJson(
-                        DefaultObjectMapper.objectMapper.readTree(originalSource),
-                        DefaultObjectMapper.objectMapper.readTree(currentSource)
-                    );
-                    msg.addComplianceWriteDiffSource(diffnode.size() == 0 ? "" : diffnode.toString());
+                    msg.addComplianceWriteDiffSource(StreamingJsonDiff.diff(originalResult.internalSourceRef(), currentIndex.source()));
                 }
             } catch (Exception e) {
                 log.error("Unable to generate diff for {}", msg.toPrettyString(), e);
@@ -781,7 +831,7 @@ public abstract class AbstractAuditLog implements AuditLog {
     private String getUser() {
         User user = threadPool.getThreadContext().getTransient(ConfigConstants.OPENDISTRO_SECURITY_USER);
         if (user == null && threadPool.getThreadContext().getHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER) != null) {
-            user = (User) Base64Helper.deserializeObject(
+            user = CompactUserHeader.deserialize(
                 threadPool.getThreadContext().getHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER),
                 threadPool.getThreadContext().getTransient(ConfigConstants.USE_JDK_SERIALIZATION)
             );
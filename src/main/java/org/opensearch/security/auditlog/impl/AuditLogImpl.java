@@ -221,6 +221,13 @@ public final class AuditLogImpl extends AbstractAuditLog {
         }
     }
 
+    @Override
+    public void logDocumentsRead(String index, ShardId shardId, Map<String, Map<String, String>> fieldNameValuesById) {
+        if (enabled) {
+            super.logDocumentsRead(index, shardId, fieldNameValuesById);
+        }
+    }
+
     @Override
     public void logDocumentWritten(ShardId shardId, GetResult originalResult, Index currentIndex, IndexResult result) {
         if (enabled) {
@@ -104,6 +104,7 @@ public final class AuditMessage {
     public static final String TRANSPORT_REQUEST_HEADERS = "audit_transport_headers";
 
     public static final String ID = "audit_trace_doc_id";
+    public static final String IDS = "audit_trace_doc_ids";
     // public static final String TYPES = "audit_trace_doc_types";
     // public static final String SOURCE = "audit_trace_doc_source";
     public static final String INDICES = "audit_trace_indices";
@@ -285,6 +286,12 @@ public final class AuditMessage {
         }
     }
 
+    public void addIds(String[] ids) {
+        if (ids != null && ids.length > 0) {
+            auditInfo.put(IDS, ids);
+        }
+    }
+
     /*public void addTypes(String[] types) {
         if (types != null && types.length > 0) {
             auditInfo.put(TYPES, types);
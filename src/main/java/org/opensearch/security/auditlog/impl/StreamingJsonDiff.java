@@ -0,0 +1,256 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.MediaType;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
+import org.opensearch.security.DefaultObjectMapper;
+
+/**
+ * Computes the JSON patch (RFC 6902) which turns one JSON document into another by comparing the token streams of
+ * both documents, without building a tree of either.
+ *
+ * Object fields are compared in lock step as long as both documents have the same field order, which is the common
+ * case for documents written by the same client; only the remaining fields of an object whose order differs are
+ * buffered. Array elements are compared by position, so inserting an element in the middle of an array results in
+ * a replace operation for every following element instead of a single add operation.
+ */
+final class StreamingJsonDiff {
+
+    private static final JsonFactory JSON_FACTORY = DefaultObjectMapper.objectMapper.getFactory();
+
+    private final JsonGenerator patch;
+    private boolean empty = true;
+
+    private StreamingJsonDiff(final JsonGenerator patch) {
+        this.patch = patch;
+    }
+
+    /**
+     * Compares two sources, which can have any content type OpenSearch accepts for documents. Sources which are not
+     * JSON are converted to JSON first.
+     *
+     * @return the JSON patch or an empty string if the documents are equal
+     */
+    static String diff(final BytesReference original, final BytesReference current) throws IOException {
+        if (original.equals(current)) {
+            return "";
+        }
+        try (InputStream originalStream = toJson(original).streamInput(); InputStream currentStream = toJson(current).streamInput()) {
+            return diff(JSON_FACTORY.createParser(originalStream), JSON_FACTORY.createParser(currentStream));
+        }
+    }
+
+    /**
+     * @return the JSON patch or an empty string if the documents are equal
+     */
+    static String diff(final String original, final String current) throws IOException {
+        if (original.equals(current)) {
+            return "";
+        }
+        return diff(JSON_FACTORY.createParser(original), JSON_FACTORY.createParser(current));
+    }
+
+    private static BytesReference toJson(final BytesReference source) throws IOException {
+        final MediaType mediaType = MediaTypeRegistry.xContentType(source);
+        if (mediaType == null || mediaType == XContentType.JSON) {
+            return source;
+        }
+        return new BytesArray(XContentHelper.convertToJson(source, false, mediaType));
+    }
+
+    private static String diff(final JsonParser original, final JsonParser current) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try (JsonParser o = original; JsonParser c = current; JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            final StreamingJsonDiff diff = new StreamingJsonDiff(generator);
+            o.nextToken();
+            c.nextToken();
+            diff.diffValues(o, c, "");
+            if (diff.empty) {
+                return "";
+            }
+            generator.writeEndArray();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Compares the values the parsers are positioned on and advances both parsers to the last token of their value.
+     */
+    private void diffValues(final JsonParser original, final JsonParser current, final String path) throws IOException {
+        final JsonToken originalToken = original.currentToken();
+        final JsonToken currentToken = current.currentToken();
+
+        if (originalToken == JsonToken.START_OBJECT && currentToken == JsonToken.START_OBJECT) {
+            diffObjects(original, current, path);
+        } else if (originalToken == JsonToken.START_ARRAY && currentToken == JsonToken.START_ARRAY) {
+            diffArrays(original, current, path);
+        } else if (originalToken.isStructStart() || currentToken.isStructStart() || !equalScalars(original, current)) {
+            original.skipChildren();
+            writeOperation("replace", path, current);
+        }
+    }
+
+    private void diffObjects(final JsonParser original, final JsonParser current, final String path) throws IOException {
+        while (true) {
+            final JsonToken originalToken = original.nextToken();
+            final JsonToken currentToken = current.nextToken();
+
+            if (originalToken == JsonToken.END_OBJECT && currentToken == JsonToken.END_OBJECT) {
+                return;
+            }
+            if (originalToken == JsonToken.FIELD_NAME
+                && currentToken == JsonToken.FIELD_NAME
+                && original.currentName().equals(current.currentName())) {
+                final String fieldPath = path + "/" + escape(original.currentName());
+                original.nextToken();
+                current.nextToken();
+                diffValues(original, current, fieldPath);
+            } else {
+                // the field order differs, so the remaining fields of both objects are matched by name
+                diffRemainingFields(bufferRemainingFields(original), bufferRemainingFields(current), path);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Buffers the remaining fields of the object, starting at the current token, which is either a field name or the
+     * end of the object.
+     */
+    private static Map<String, TokenBuffer> bufferRemainingFields(final JsonParser parser) throws IOException {
+        final Map<String, TokenBuffer> fields = new LinkedHashMap<>();
+        while (parser.currentToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            final TokenBuffer value = new TokenBuffer(parser);
+            value.copyCurrentStructure(parser);
+            fields.put(name, value);
+            parser.nextToken();
+        }
+        return fields;
+    }
+
+    private void diffRemainingFields(
+        final Map<String, TokenBuffer> originalFields,
+        final Map<String, TokenBuffer> currentFields,
+        final String path
+    ) throws IOException {
+        for (final String name : originalFields.keySet()) {
+            if (!currentFields.containsKey(name)) {
+                writeOperation("remove", path + "/" + escape(name), null);
+            }
+        }
+        for (final Map.Entry<String, TokenBuffer> field : currentFields.entrySet()) {
+            final String fieldPath = path + "/" + escape(field.getKey());
+            final TokenBuffer originalValue = originalFields.get(field.getKey());
+            try (JsonParser current = field.getValue().asParser()) {
+                current.nextToken();
+                if (originalValue == null) {
+                    writeOperation("add", fieldPath, current);
+                } else {
+                    try (JsonParser original = originalValue.asParser()) {
+                        original.nextToken();
+                        diffValues(original, current, fieldPath);
+                    }
+                }
+            }
+        }
+    }
+
+    private void diffArrays(final JsonParser original, final JsonParser current, final String path) throws IOException {
+        int index = 0;
+        while (true) {
+            final JsonToken originalToken = original.nextToken();
+            final JsonToken currentToken = current.nextToken();
+
+            if (originalToken == JsonToken.END_ARRAY && currentToken == JsonToken.END_ARRAY) {
+                return;
+            } else if (originalToken == JsonToken.END_ARRAY) {
+                // the remaining elements were appended
+                do {
+                    writeOperation("add", path + "/" + index++, current);
+                } while (current.nextToken() != JsonToken.END_ARRAY);
+                return;
+            } else if (currentToken == JsonToken.END_ARRAY) {
+                // the remaining elements were removed; every removal shifts the following elements to the same index
+                do {
+                    original.skipChildren();
+                    writeOperation("remove", path + "/" + index, null);
+                } while (original.nextToken() != JsonToken.END_ARRAY);
+                return;
+            } else {
+                diffValues(original, current, path + "/" + index++);
+            }
+        }
+    }
+
+    private static boolean equalScalars(final JsonParser original, final JsonParser current) throws IOException {
+        final JsonToken token = original.currentToken();
+        if (token != current.currentToken()) {
+            return false;
+        }
+        switch (token) {
+            case VALUE_STRING:
+                return original.getText().equals(current.getText());
+            case VALUE_NUMBER_INT:
+                return original.getBigIntegerValue().equals(current.getBigIntegerValue());
+            case VALUE_NUMBER_FLOAT:
+                return Double.compare(original.getDoubleValue(), current.getDoubleValue()) == 0;
+            default:
+                // true, false and null
+                return true;
+        }
+    }
+
+    /**
+     * Writes an operation; if value is not null, the value the parser is positioned on is copied to the operation.
+     */
+    private void writeOperation(final String op, final String path, final JsonParser value) throws IOException {
+        if (empty) {
+            patch.writeStartArray();
+            empty = false;
+        }
+        patch.writeStartObject();
+        patch.writeStringField("op", op);
+        patch.writeStringField("path", path);
+        if (value != null) {
+            patch.writeFieldName("value");
+            patch.copyCurrentStructure(value);
+        }
+        patch.writeEndObject();
+    }
+
+    // JSON pointer escaping, see RFC 6901
+    private static String escape(final String name) {
+        if (name.indexOf('~') < 0 && name.indexOf('/') < 0) {
+            return name;
+        }
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -11,26 +11,68 @@
 
 package org.opensearch.security.auditlog.routing;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.opensearch.security.auditlog.config.ThreadPoolConfig;
+import org.opensearch.security.auditlog.impl.AuditCategory;
 import org.opensearch.security.auditlog.impl.AuditMessage;
 import org.opensearch.security.auditlog.sink.AuditLogSink;
 
+/**
+ * Stores audit messages asynchronously.
+ *
+ * Every sink has its own bounded queue of at most {@link ThreadPoolConfig#getThreadPoolMaxQueueLen()} messages which
+ * is drained in batches by the threads of the pool, so a slow sink does not hold back the other sinks. Submitting a
+ * message never blocks and never stores on the calling thread. If the queue of a sink is full, the message is dropped
+ * and counted per category (see {@link #getDroppedMessages()}).
+ *
+ * Security critical categories take precedence: they are stored before other queued messages and the last
+ * {@link #RESERVED_CAPACITY_PERCENT} percent of the queue is reserved for them, so a flood of e.g. document read
+ * events cannot cause failed logins to be dropped.
+ */
 public class AsyncStoragePool {
     private static final Logger log = LogManager.getLogger(AsyncStoragePool.class);
+
+    static final Set<AuditCategory> PRIORITY_CATEGORIES = Sets.immutableEnumSet(
+        AuditCategory.BAD_HEADERS,
+        AuditCategory.FAILED_LOGIN,
+        AuditCategory.MISSING_PRIVILEGES,
+        AuditCategory.OPENDISTRO_SECURITY_INDEX_ATTEMPT,
+        AuditCategory.SSL_EXCEPTION
+    );
+    static final int RESERVED_CAPACITY_PERCENT = 10;
+    static final int BATCH_SIZE = 256;
+    private static final long DROP_LOG_INTERVAL = 10_000;
+
     private final ExecutorService pool;
     private final ThreadPoolConfig threadPoolConfig;
+    private final Map<AuditLogSink, SinkQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong[] droppedMessages = new AtomicLong[AuditCategory.values().length];
+    private volatile boolean closed;
 
     public AsyncStoragePool(final ThreadPoolConfig threadPoolConfig) {
         this.threadPoolConfig = threadPoolConfig;
         this.pool = createExecutor(threadPoolConfig);
+        for (int i = 0; i < droppedMessages.length; i++) {
+            droppedMessages[i] = new AtomicLong();
+        }
     }
 
     public ThreadPoolConfig getConfig() {
@@ -38,24 +80,44 @@ public class AsyncStoragePool {
     }
 
     public void submit(AuditMessage message, AuditLogSink sink) {
-        try {
-            pool.submit(() -> {
-                sink.store(message);
-                if (log.isTraceEnabled()) {
-                    log.trace("stored on delegate {} asynchronously", sink.getClass().getSimpleName());
-                }
-            });
-        } catch (Exception ex) {
-            log.error(
-                "Could not submit audit message {} to thread pool for delegate '{}' due to '{}'",
-                message,
-                sink.getClass().getSimpleName(),
-                ex.getMessage()
-            );
-            if (sink.getFallbackSink() != null) {
-                sink.getFallbackSink().store(message);
+        SinkQueue queue = queues.get(sink);
+        if (queue == null) {
+            queue = queues.computeIfAbsent(sink, SinkQueue::new);
+        }
+        if (closed || !queue.offer(message)) {
+            drop(message, sink);
+        }
+    }
+
+    /**
+     * @return the number of messages which were dropped because the queue of their sink was full, per category
+     */
+    public Map<AuditCategory, Long> getDroppedMessages() {
+        final Map<AuditCategory, Long> result = new EnumMap<>(AuditCategory.class);
+        for (final AuditCategory category : AuditCategory.values()) {
+            final long dropped = droppedMessages[category.ordinal()].get();
+            if (dropped > 0) {
+                result.put(category, dropped);
             }
         }
+        return result;
+    }
+
+    int getQueuedMessages(final AuditLogSink sink) {
+        final SinkQueue queue = queues.get(sink);
+        return queue == null ? 0 : queue.size.get();
+    }
+
+    private void drop(final AuditMessage message, final AuditLogSink sink) {
+        final long dropped = droppedMessages[message.getCategory().ordinal()].incrementAndGet();
+        if (dropped == 1 || dropped % DROP_LOG_INTERVAL == 0) {
+            log.warn(
+                "Audit message queue for delegate '{}' is full, dropped {} messages of category {} so far",
+                sink.getName(),
+                dropped,
+                message.getCategory()
+            );
+        }
     }
 
     private static ThreadPoolExecutor createExecutor(final ThreadPoolConfig config) {
@@ -66,16 +128,18 @@ public class AsyncStoragePool {
                 config.getThreadPoolMaxQueueLen()
             );
         }
+        // there is at most one pending task per sink, the messages are queued by the sinks
         return new ThreadPoolExecutor(
             config.getThreadPoolSize(),
             config.getThreadPoolSize(),
             0L,
             TimeUnit.MILLISECONDS,
-            new LinkedBlockingQueue<>(config.getThreadPoolMaxQueueLen())
+            new LinkedBlockingQueue<>()
         );
     }
 
     public void close() {
+        closed = true;
 
         if (pool != null) {
             pool.shutdown(); // Disable new tasks from being submitted
@@ -94,5 +158,93 @@ public class AsyncStoragePool {
                 Thread.currentThread().interrupt();
             }
         }
+
+        final Map<AuditCategory, Long> dropped = getDroppedMessages();
+        if (!dropped.isEmpty()) {
+            log.warn("Dropped audit messages because of full queues: {}", dropped);
+        }
+    }
+
+    private final class SinkQueue implements Runnable {
+        private final AuditLogSink sink;
+        private final Queue<AuditMessage> priorityMessages = new ConcurrentLinkedQueue<>();
+        private final Queue<AuditMessage> messages = new ConcurrentLinkedQueue<>();
+        // counts the reserved slots, a slot is reserved before the message is added to its queue
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final int capacity;
+        private final int normalCapacity;
+
+        private SinkQueue(final AuditLogSink sink) {
+            this.sink = sink;
+            this.capacity = threadPoolConfig.getThreadPoolMaxQueueLen();
+            this.normalCapacity = Math.max(1, (int) (capacity - (long) capacity * RESERVED_CAPACITY_PERCENT / 100));
+        }
+
+        private boolean offer(final AuditMessage message) {
+            final boolean priority = PRIORITY_CATEGORIES.contains(message.getCategory());
+            final int limit = priority ? capacity : normalCapacity;
+            int current;
+            do {
+                current = size.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!size.compareAndSet(current, current + 1));
+
+            (priority ? priorityMessages : messages).add(message);
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    pool.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    // the pool has been shut down, drain on this thread so that no queued message is lost
+                    drain(Integer.MAX_VALUE);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            // while closing, the queue is drained completely because no further task can be scheduled
+            drain(closed ? Integer.MAX_VALUE : BATCH_SIZE);
+            scheduled.set(false);
+            // messages added after the batch was taken or while the flag was set need another run
+            if (size.get() > 0) {
+                schedule();
+            }
+        }
+
+        private void drain(final int maxMessages) {
+            int stored = 0;
+            AuditMessage message;
+            while (stored < maxMessages && (message = poll()) != null) {
+                try {
+                    sink.store(message);
+                } catch (Exception e) {
+                    log.error("Could not store audit message {} on delegate '{}'", message, sink.getName(), e);
+                }
+                stored++;
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("stored {} messages on delegate {} asynchronously", stored, sink.getClass().getSimpleName());
+            }
+        }
+
+        private AuditMessage poll() {
+            AuditMessage message = priorityMessages.poll();
+            if (message == null) {
+                message = messages.poll();
+            }
+            if (message != null) {
+                size.decrementAndGet();
+            }
+            return message;
+        }
     }
 }
@@ -30,6 +30,7 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
     protected final Client clientProvider;
     private final ThreadPool threadPool;
     private final DocWriteRequest.OpType storeOpType;
+    private final BulkAuditWriter bulkWriter;
 
     public AbstractInternalOpenSearchSink(
         final String name,
@@ -44,11 +45,20 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
         this.clientProvider = clientProvider;
         this.threadPool = threadPool;
         this.storeOpType = storeOpType;
+
+        final Settings sinkSettings = getSinkSettings(settingsPrefix);
+        if (sinkSettings.getAsBoolean(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_ENABLED, false)) {
+            this.bulkWriter = new BulkAuditWriter(sinkSettings, clientProvider, threadPool, storeOpType, fallbackSink);
+        } else {
+            this.bulkWriter = null;
+        }
     }
 
     @Override
     public void close() throws IOException {
-
+        if (bulkWriter != null) {
+            bulkWriter.close();
+        }
     }
 
     public boolean doStore(final AuditMessage msg, String indexName) {
@@ -62,6 +72,10 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
             return true;
         }
 
+        if (bulkWriter != null) {
+            return bulkWriter.add(indexName, msg);
+        }
+
         try (StoredContext ctx = threadPool.getThreadContext().stashContext()) {
             try {
                 final IndexRequestBuilder irb = clientProvider.prepareIndex(indexName)
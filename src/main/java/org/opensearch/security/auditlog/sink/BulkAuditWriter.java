@@ -0,0 +1,314 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext.StoredContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Buffers audit messages of the internal OpenSearch sinks and writes them with asynchronous bulk requests.
+ *
+ * A bulk request is sent as soon as the buffer reaches the configured number of actions or bytes, or when the flush
+ * interval elapses. Only one bulk request is in flight at a time; while it is, new messages keep being buffered. If the
+ * number of buffered and in-flight messages exceeds the configured maximum, {@link #add(String, AuditMessage)} rejects
+ * new messages, which makes the sink apply its usual retry and fallback handling.
+ *
+ * Items which were rejected by the cluster because of overload are retried with the next bulk request. All other
+ * failed items are written to the fallback sink.
+ */
+final class BulkAuditWriter implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(BulkAuditWriter.class);
+
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+
+    private final Client client;
+    private final ThreadPool threadPool;
+    private final DocWriteRequest.OpType opType;
+    private final AuditLogSink fallbackSink;
+    private final int maxActions;
+    private final long maxBytes;
+    private final int maxPendingActions;
+    private final int maxRetries;
+    private final Scheduler.Cancellable scheduledFlush;
+
+    private final Object bufferLock = new Object();
+    private List<PendingMessage> buffer = new ArrayList<>();
+    private long bufferBytes = 0;
+
+    private final AtomicInteger pendingActions = new AtomicInteger();
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private volatile boolean closed = false;
+
+    BulkAuditWriter(
+        final Settings sinkSettings,
+        final Client client,
+        final ThreadPool threadPool,
+        final DocWriteRequest.OpType opType,
+        final AuditLogSink fallbackSink
+    ) {
+        this.client = client;
+        this.threadPool = threadPool;
+        this.opType = opType;
+        this.fallbackSink = fallbackSink;
+        this.maxActions = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS, 500);
+        this.maxBytes = sinkSettings.getAsBytesSize(
+            ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_SIZE,
+            new ByteSizeValue(5, ByteSizeUnit.MB)
+        ).getBytes();
+        this.maxPendingActions = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_PENDING_ACTIONS, 10_000);
+        this.maxRetries = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_RETRIES, 3);
+
+        final TimeValue flushInterval = sinkSettings.getAsTime(
+            ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_FLUSH_INTERVAL,
+            TimeValue.timeValueSeconds(1)
+        );
+        this.scheduledFlush = threadPool.scheduleWithFixedDelay(this::flush, flushInterval, ThreadPool.Names.GENERIC);
+
+        if (log.isDebugEnabled()) {
+            log.debug(
+                "Bulk audit writer with max_actions: {}, max_size: {} bytes, flush_interval: {}, max_pending_actions: {}",
+                maxActions,
+                maxBytes,
+                flushInterval,
+                maxPendingActions
+            );
+        }
+    }
+
+    /**
+     * Adds the message to the buffer.
+     *
+     * @return false if the writer is closed or too many messages are already pending
+     */
+    boolean add(final String indexName, final AuditMessage msg) {
+        if (closed) {
+            return false;
+        }
+
+        if (pendingActions.incrementAndGet() > maxPendingActions) {
+            pendingActions.decrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Too many pending audit messages ({}), rejecting {}", maxPendingActions, msg);
+            }
+            return false;
+        }
+
+        if (enqueue(new PendingMessage(indexName, msg, 0))) {
+            flush();
+        }
+        return true;
+    }
+
+    int getPendingActions() {
+        return pendingActions.get();
+    }
+
+    /**
+     * Sends the buffered messages unless a bulk request is already in flight
+     */
+    void flush() {
+        if (!inFlight.compareAndSet(false, true)) {
+            return;
+        }
+
+        final List<PendingMessage> batch;
+        synchronized (bufferLock) {
+            batch = buffer;
+            buffer = new ArrayList<>();
+            bufferBytes = 0;
+        }
+
+        if (batch.isEmpty()) {
+            inFlight.set(false);
+            return;
+        }
+
+        final BulkRequest bulkRequest = new BulkRequest();
+        for (PendingMessage pendingMessage : batch) {
+            bulkRequest.add(pendingMessage.request);
+        }
+
+        try (StoredContext ctx = threadPool.getThreadContext().stashContext()) {
+            threadPool.getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_CONF_REQUEST_HEADER, "true");
+            client.bulk(bulkRequest, ActionListener.wrap(response -> onResponse(batch, response), e -> onFailure(batch, e)));
+        } catch (final Exception e) {
+            onFailure(batch, e);
+        }
+    }
+
+    private void onResponse(final List<PendingMessage> batch, final BulkResponse response) {
+        try {
+            if (!response.hasFailures()) {
+                pendingActions.addAndGet(-batch.size());
+                return;
+            }
+
+            final BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < batch.size(); i++) {
+                final PendingMessage pendingMessage = batch.get(i);
+                final BulkItemResponse item = i < items.length ? items[i] : null;
+
+                if (item != null && !item.isFailed()) {
+                    pendingActions.decrementAndGet();
+                } else if (item != null && item.status() == RestStatus.TOO_MANY_REQUESTS) {
+                    retryOrFallback(pendingMessage, item.getFailureMessage());
+                } else {
+                    log.error(
+                        "Unable to index audit log {} due to {}",
+                        pendingMessage.msg,
+                        item != null ? item.getFailureMessage() : "missing bulk item response"
+                    );
+                    fallback(pendingMessage);
+                }
+            }
+        } finally {
+            completeFlush();
+        }
+    }
+
+    private void onFailure(final List<PendingMessage> batch, final Exception e) {
+        try {
+            log.warn("Unable to send {} audit messages with bulk request", batch.size(), e);
+            for (PendingMessage pendingMessage : batch) {
+                retryOrFallback(pendingMessage, e.getMessage());
+            }
+        } finally {
+            completeFlush();
+        }
+    }
+
+    private void completeFlush() {
+        inFlight.set(false);
+
+        final boolean flushAgain;
+        synchronized (bufferLock) {
+            flushAgain = isFull();
+        }
+
+        if (flushAgain) {
+            flush();
+        }
+    }
+
+    private void retryOrFallback(final PendingMessage pendingMessage, final String reason) {
+        if (!closed && pendingMessage.attempt < maxRetries) {
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "Retry attempt {}/{} for audit log {} due to {}",
+                    pendingMessage.attempt + 1,
+                    maxRetries,
+                    pendingMessage.msg,
+                    reason
+                );
+            }
+            // retried messages are sent with the next bulk request; the scheduled flush acts as back off
+            enqueue(pendingMessage.retry());
+        } else {
+            log.error("Unable to index audit log {} due to {}", pendingMessage.msg, reason);
+            fallback(pendingMessage);
+        }
+    }
+
+    private void fallback(final PendingMessage pendingMessage) {
+        pendingActions.decrementAndGet();
+        if (fallbackSink != null) {
+            fallbackSink.store(pendingMessage.msg);
+        }
+    }
+
+    /**
+     * @return true if the buffer reached its size limits and should be flushed
+     */
+    private boolean enqueue(final PendingMessage pendingMessage) {
+        synchronized (bufferLock) {
+            buffer.add(pendingMessage);
+            bufferBytes += pendingMessage.request.source().length();
+            return isFull();
+        }
+    }
+
+    private boolean isFull() {
+        return buffer.size() >= maxActions || bufferBytes >= maxBytes;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduledFlush.cancel();
+
+        final long stop = System.currentTimeMillis() + CLOSE_TIMEOUT_MS;
+        while (pendingActions.get() > 0 && System.currentTimeMillis() < stop) {
+            flush();
+            Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        }
+
+        final List<PendingMessage> remaining;
+        synchronized (bufferLock) {
+            remaining = buffer;
+            buffer = new ArrayList<>();
+            bufferBytes = 0;
+        }
+
+        for (PendingMessage pendingMessage : remaining) {
+            fallback(pendingMessage);
+        }
+    }
+
+    private final class PendingMessage {
+        private final String indexName;
+        private final AuditMessage msg;
+        private final int attempt;
+        private final IndexRequest request;
+
+        private PendingMessage(final String indexName, final AuditMessage msg, final int attempt) {
+            this.indexName = indexName;
+            this.msg = msg;
+            this.attempt = attempt;
+            // no forced refresh; the audit index is refreshed according to its refresh interval
+            this.request = new IndexRequest(indexName).source(msg.getAsMap());
+            if (opType != null) {
+                this.request.opType(opType);
+            }
+        }
+
+        private PendingMessage retry() {
+            return new PendingMessage(indexName, msg, attempt + 1);
+        }
+    }
+}
@@ -12,7 +12,6 @@
 package org.opensearch.security.auditlog.sink;
 
 // CS-SUPPRESS-SINGLE: RegexpSingleline https://github.com/opensearch-project/OpenSearch/issues/3663
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -132,11 +131,6 @@ public final class InternalOpenSearchDataStreamSink extends AbstractInternalOpen
         return this.dataStreamInitialized;
     }
 
-    @Override
-    public void close() throws IOException {
-
-    }
-
     public boolean doStore(final AuditMessage msg) {
 
         if (!this.initDataStream()) {
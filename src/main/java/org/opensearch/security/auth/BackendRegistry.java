@@ -68,6 +68,7 @@ import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.security.user.AuthCredentials;
 import org.opensearch.security.user.User;
+import org.opensearch.security.util.VerifiedJwtCache;
 import org.opensearch.threadpool.ThreadPool;
 
 import org.greenrobot.eventbus.Subscribe;
@@ -166,6 +167,23 @@ public class BackendRegistry {
         return initialized;
     }
 
+    /**
+     * @return the caches of verified JWTs of the configured authenticators, which are replaced along with the
+     * authenticators when the configuration changes
+     */
+    public List<VerifiedJwtCache<?>> getVerifiedJwtCaches() {
+        final List<VerifiedJwtCache<?>> caches = new ArrayList<>();
+        for (final AuthDomain authDomain : restAuthDomains) {
+            if (authDomain.getHttpAuthenticator() instanceof VerifiedJwtCache.Provider) {
+                final VerifiedJwtCache<?> cache = ((VerifiedJwtCache.Provider) authDomain.getHttpAuthenticator()).getVerifiedJwtCache();
+                if (cache != null) {
+                    caches.add(cache);
+                }
+            }
+        }
+        return caches;
+    }
+
     public void invalidateCache() {
         userCache.invalidateAll();
         restImpersonationCache.invalidateAll();
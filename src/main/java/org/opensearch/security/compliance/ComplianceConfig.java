@@ -102,7 +102,7 @@ public class ComplianceConfig {
     private final String securityIndex;
 
     private final Map<WildcardMatcher, Set<String>> readEnabledFields;
-    private final LoadingCache<String, WildcardMatcher> readEnabledFieldsCache;
+    private final LoadingCache<String, WatchedReadFields> readEnabledFieldsCache;
     private final DateTimeFormatter auditLogPattern;
     private final String auditLogIndex;
     private final boolean enabled;
@@ -166,10 +166,10 @@ public class ComplianceConfig {
         this.auditLogPattern = auditLogPattern;
         this.auditLogIndex = auditLogIndex;
 
-        this.readEnabledFieldsCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build(new CacheLoader<String, WildcardMatcher>() {
+        this.readEnabledFieldsCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build(new CacheLoader<String, WatchedReadFields>() {
             @Override
-            public WildcardMatcher load(String index) throws Exception {
-                return WildcardMatcher.from(getFieldsForIndex(index));
+            public WatchedReadFields load(String index) throws Exception {
+                return WatchedReadFields.from(getFieldsForIndex(index));
             }
         });
 
@@ -540,7 +540,7 @@ public class ComplianceConfig {
             return logInternalConfig;
         }
         try {
-            return readEnabledFieldsCache.get(index) != WildcardMatcher.NONE;
+            return !readEnabledFieldsCache.get(index).isEmpty();
         } catch (ExecutionException e) {
             log.warn("Failed to get index {} fields enabled for read from cache. Bypassing cache.", index, e);
             return getFieldsForIndex(index).isEmpty();
@@ -554,20 +554,28 @@ public class ComplianceConfig {
      * @return true/false
      */
     public boolean readHistoryEnabledForField(String index, String field) {
+        return getReadHistoryWatchedFields(index).test(field);
+    }
+
+    /**
+     * Get the fields watched by the read compliance history for given index
+     * Checks if compliance is enabled
+     * @param index index
+     * @return the watched fields, which are empty if read history is not enabled for the index
+     */
+    public WatchedReadFields getReadHistoryWatchedFields(String index) {
         if (index == null || !this.isEnabled()) {
-            return false;
+            return WatchedReadFields.NONE;
         }
         // if security index (internal index) check if internal config logging is enabled
         if (securityIndex.equals(index)) {
-            return logInternalConfig;
+            return logInternalConfig ? WatchedReadFields.ALL : WatchedReadFields.NONE;
         }
-        WildcardMatcher matcher;
         try {
-            matcher = readEnabledFieldsCache.get(index);
+            return readEnabledFieldsCache.get(index);
         } catch (ExecutionException e) {
             log.warn("Failed to get index {} fields enabled for read from cache. Bypassing cache.", index, e);
-            matcher = WildcardMatcher.from(getFieldsForIndex(index));
+            return WatchedReadFields.from(getFieldsForIndex(index));
         }
-        return matcher.test(field);
     }
 }
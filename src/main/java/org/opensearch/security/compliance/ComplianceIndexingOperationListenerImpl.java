@@ -17,6 +17,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.opensearch.OpenSearchException;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.common.lucene.uid.Versions;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.index.IndexService;
 import org.opensearch.index.engine.Engine.Delete;
@@ -89,6 +91,12 @@ public final class ComplianceIndexingOperationListenerImpl extends ComplianceInd
                 return index;
             }
 
+            if (cannotOverwrite(index)) {
+                // the document is new, so there is nothing to diff against
+                threadContext.set(new Context(null));
+                return index;
+            }
+
             if (shard.isReadAllowed()) {
                 try {
 
@@ -171,6 +179,15 @@ public final class ComplianceIndexingOperationListenerImpl extends ComplianceInd
         }
     }
 
+    /**
+     * Returns true if the operation either creates a new document or fails, like an append-only operation with an
+     * auto generated id or an operation with op_type create.
+     */
+    private static boolean cannotOverwrite(final Index index) {
+        final boolean appendOnly = index.getAutoGeneratedIdTimestamp() != IndexRequest.UNSET_AUTO_GENERATED_TIMESTAMP && !index.isRetry();
+        return appendOnly || index.version() == Versions.MATCH_DELETED;
+    }
+
     private static boolean isLoggingWriteEnabled(final ComplianceConfig complianceConfig, final String indexName) {
         return complianceConfig != null && complianceConfig.writeHistoryEnabledForIndex(indexName);
     }
@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.compliance;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.security.auditlog.AuditLog;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.user.User;
+
+/**
+ * Collects the documents a request reads from a shard, so that they are logged as a single compliance read event
+ * instead of one event per document.
+ *
+ * An instance belongs to the reader a request acquired for a shard. The documents are logged when the reader is closed,
+ * when {@link #MAX_DOCUMENTS} documents have been collected, or when a different user reads through the same reader.
+ * They are logged with the thread context of the first document, as the reader may be closed on another thread.
+ */
+public final class DocumentReadAggregator {
+
+    static final int MAX_DOCUMENTS = 1000;
+
+    private static final Logger log = LogManager.getLogger(DocumentReadAggregator.class);
+
+    private final AuditLog auditLog;
+    private final ThreadContext threadContext;
+    private final String index;
+    private final ShardId shardId;
+    private Map<String, Map<String, String>> documents = new LinkedHashMap<>();
+    private ThreadContext.StoredContext context;
+    private String userName;
+
+    public DocumentReadAggregator(final AuditLog auditLog, final ThreadContext threadContext, final ShardId shardId) {
+        this.auditLog = auditLog;
+        this.threadContext = threadContext;
+        this.index = shardId.getIndexName();
+        this.shardId = shardId;
+    }
+
+    public synchronized void add(final String id, final Map<String, String> fieldNameValues) {
+        final User user = threadContext.getTransient(ConfigConstants.OPENDISTRO_SECURITY_USER);
+        final String currentUserName = user == null ? null : user.getName();
+
+        if (!documents.isEmpty() && !Objects.equals(userName, currentUserName)) {
+            flush();
+        }
+        if (documents.isEmpty()) {
+            context = threadContext.newStoredContext(false);
+            userName = currentUserName;
+        }
+
+        documents.put(id, fieldNameValues);
+        if (documents.size() >= MAX_DOCUMENTS) {
+            flush();
+        }
+    }
+
+    public synchronized void flush() {
+        if (documents.isEmpty()) {
+            return;
+        }
+        final Map<String, Map<String, String>> logged = documents;
+        documents = new LinkedHashMap<>();
+
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            context.restore();
+            auditLog.logDocumentsRead(index, shardId, logged);
+        } catch (Exception e) {
+            log.error("Unexpected error logging {} compliance read entries in index '{}'", logged.size(), index, e);
+        } finally {
+            context = null;
+            userName = null;
+        }
+    }
+}
@@ -33,7 +33,6 @@ import org.opensearch.index.mapper.Uid;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.support.HeaderHelper;
-import org.opensearch.security.support.JsonFlattener;
 import org.opensearch.security.support.SourceFieldsContext;
 import org.opensearch.security.support.WildcardMatcher;
 
@@ -51,6 +50,8 @@ public final class FieldReadCallback {
     private final Index index;
     private final WildcardMatcher maskedFieldsMatcher;
     private final AuditLog auditLog;
+    private final WatchedReadFields watchedFields;
+    private final DocumentReadAggregator documentReadAggregator;
     private Function<Map<String, ?>, Map<String, Object>> filterFunction;
     private SourceFieldsContext sfc;
     private Doc doc;
@@ -62,7 +63,8 @@ public final class FieldReadCallback {
         final ClusterService clusterService,
         final AuditLog auditLog,
         final WildcardMatcher maskedFieldsMatcher,
-        ShardId shardId
+        ShardId shardId,
+        final DocumentReadAggregator documentReadAggregator
     ) {
         super();
         // this.threadContext = Objects.requireNonNull(threadContext);
@@ -71,6 +73,11 @@ public final class FieldReadCallback {
         this.auditLog = auditLog;
         this.maskedFieldsMatcher = maskedFieldsMatcher;
         this.shardId = shardId;
+        this.documentReadAggregator = documentReadAggregator;
+        final ComplianceConfig complianceConfig = auditLog.getComplianceConfig();
+        this.watchedFields = complianceConfig != null
+            ? complianceConfig.getReadHistoryWatchedFields(index.getName())
+            : WatchedReadFields.NONE;
         try {
             sfc = (SourceFieldsContext) HeaderHelper.deserializeSafeFromHeader(threadContext, "_opendistro_security_source_field_context");
             if (sfc != null && sfc.hasIncludesOrExcludes()) {
@@ -88,8 +95,7 @@ public final class FieldReadCallback {
     }
 
     private boolean recordField(final String fieldName, boolean isStringField) {
-        return !(isStringField && maskedFieldsMatcher.test(fieldName))
-            && auditLog.getComplianceConfig().readHistoryEnabledForField(index.getName(), fieldName);
+        return !(isStringField && maskedFieldsMatcher.test(fieldName)) && watchedFields.test(fieldName);
     }
 
     public void binaryFieldRead(final FieldInfo fieldInfo, byte[] fieldValue) {
@@ -100,18 +106,20 @@ public final class FieldReadCallback {
 
             if (fieldInfo.name.equals("_source")) {
 
+                if (watchedFields.isEmpty()) {
+                    return;
+                }
+
                 if (filterFunction != null) {
                     final Map<String, Object> filteredSource = filterFunction.apply(Utils.byteArrayToMutableJsonMap(fieldValue));
                     fieldValue = Utils.jsonMapToByteArray(filteredSource);
                 }
 
-                final Map<String, Object> filteredSource = JsonFlattener.flattenAsMap(new String(fieldValue, StandardCharsets.UTF_8));
-                for (String k : filteredSource.keySet()) {
-                    if (!recordField(k, filteredSource.get(k) instanceof String)) {
-                        continue;
+                watchedFields.extract(fieldValue, (k, v) -> {
+                    if (!(v instanceof String && maskedFieldsMatcher.test(k))) {
+                        fieldRead0(k, v);
                     }
-                    fieldRead0(k, filteredSource.get(k));
-                }
+                });
             } else if (fieldInfo.name.equals("_id")) {
                 fieldRead0(fieldInfo.name, Uid.decodeId(fieldValue));
             } else {
@@ -171,7 +179,11 @@ public final class FieldReadCallback {
             for (Field fi : doc.fields) {
                 f.put(fi.fieldName, String.valueOf(fi.fieldValue));
             }
-            auditLog.logDocumentRead(doc.indexName, doc.id, shardId, f);
+            if (documentReadAggregator != null) {
+                documentReadAggregator.add(doc.id, f);
+            } else {
+                auditLog.logDocumentRead(doc.indexName, doc.id, shardId, f);
+            }
         } catch (Exception e) {
             log.error("Unexpected error finished compliance read entry {} in index '{}': {}", doc.id, index.getName(), e.toString(), e);
         } finally {
@@ -0,0 +1,174 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.compliance;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.google.common.collect.ImmutableList;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.support.JsonFlattener;
+import org.opensearch.security.support.WildcardMatcher;
+
+/**
+ * The fields of an index which are watched by the compliance read history, compiled once per index.
+ *
+ * Besides matching field names, it extracts the watched fields of a _source document in a single pass over its JSON
+ * tokens. Objects and arrays are only materialized if they are watched themselves; subtrees which cannot contain a
+ * watched field are skipped. The paths and values are the same as the ones of {@link JsonFlattener#flattenAsMap(String)}.
+ */
+public final class WatchedReadFields {
+
+    public static final WatchedReadFields NONE = new WatchedReadFields(WildcardMatcher.NONE, ImmutableList.of());
+    public static final WatchedReadFields ALL = new WatchedReadFields(WildcardMatcher.ANY, ImmutableList.of("*"));
+
+    private static final JsonFactory JSON_FACTORY = DefaultObjectMapper.objectMapper.getFactory();
+
+    private final WildcardMatcher matcher;
+    private final List<String> patterns;
+
+    private WatchedReadFields(final WildcardMatcher matcher, final List<String> patterns) {
+        this.matcher = matcher;
+        this.patterns = patterns;
+    }
+
+    public static WatchedReadFields from(final Collection<String> patterns) {
+        if (patterns.isEmpty()) {
+            return NONE;
+        }
+        return new WatchedReadFields(WildcardMatcher.from(patterns), ImmutableList.copyOf(patterns));
+    }
+
+    public boolean isEmpty() {
+        return matcher == WildcardMatcher.NONE;
+    }
+
+    public boolean test(final String field) {
+        return matcher.test(field);
+    }
+
+    /**
+     * Calls the consumer with the path and value of every watched field of the JSON object.
+     */
+    public void extract(final byte[] source, final BiConsumer<String, Object> consumer) throws IOException {
+        if (isEmpty()) {
+            return;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(source)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Unparseable json");
+            }
+            extractObject(parser, "", consumer);
+        }
+    }
+
+    private void extractObject(final JsonParser parser, final String prefix, final BiConsumer<String, Object> consumer) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String path = prefix.isEmpty() ? parser.currentName() : prefix + "." + parser.currentName();
+            parser.nextToken();
+            extractValue(parser, path, consumer);
+        }
+    }
+
+    private void extractValue(final JsonParser parser, final String path, final BiConsumer<String, Object> consumer) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token.isStructStart()) {
+            if (matcher.test(path)) {
+                // the value of the container is recorded as well, so it has to be materialized
+                final Object value = DefaultObjectMapper.objectMapper.readValue(parser, Object.class);
+                for (final Map.Entry<String, Object> field : JsonFlattener.flattenAsMap(path, value).entrySet()) {
+                    if (matcher.test(field.getKey())) {
+                        consumer.accept(field.getKey(), field.getValue());
+                    }
+                }
+            } else if (!mayMatchBelow(path)) {
+                parser.skipChildren();
+            } else if (token == JsonToken.START_OBJECT) {
+                extractObject(parser, path, consumer);
+            } else {
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    extractValue(parser, path + "[" + index++ + "]", consumer);
+                }
+            }
+        } else if (matcher.test(path)) {
+            consumer.accept(path, scalarValue(parser));
+        }
+    }
+
+    private static Object scalarValue(final JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns false if none of the patterns can match a field below the path, i.e. a path which starts with the path
+     * followed by '.' or '['.
+     */
+    boolean mayMatchBelow(final String path) {
+        for (final String pattern : patterns) {
+            if (pattern.startsWith("/") && pattern.endsWith("/")) {
+                // regular expression
+                return true;
+            }
+            int wildcard = -1;
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = pattern.charAt(i);
+                if (c == '*' || c == '?') {
+                    wildcard = i;
+                    break;
+                }
+            }
+            final String literal = wildcard < 0 ? pattern : pattern.substring(0, wildcard);
+
+            if (wildcard >= 0 && path.startsWith(literal)) {
+                return true;
+            }
+            if (literal.startsWith(path)) {
+                if (literal.length() == path.length()) {
+                    if (wildcard >= 0) {
+                        return true;
+                    }
+                } else {
+                    final char next = literal.charAt(path.length());
+                    if (next == '.' || next == '[') {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return matcher.toString();
+    }
+}
@@ -36,6 +36,8 @@ import java.util.function.Function;
 import javax.naming.InvalidNameException;
 import javax.naming.ldap.LdapName;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -47,6 +49,8 @@ import org.opensearch.security.user.User;
 
 public class AdminDNs {
 
+    static final int MAX_CACHED_VERDICTS = 1000;
+
     protected final Logger log = LogManager.getLogger(AdminDNs.class);
     private final Set<LdapName> adminDn = new HashSet<LdapName>();
     private final Set<String> adminUsernames = new HashSet<String>();
@@ -54,6 +58,8 @@ public class AdminDNs {
     private final Map<String, WildcardMatcher> allowedRestImpersonations;
     private boolean injectUserEnabled;
     private boolean injectAdminUserEnabled;
+    // the same principals and user names are checked for every request, so parsing them as LDAP name is only done once
+    private final Cache<String, Boolean> adminDnVerdicts = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_VERDICTS).build();
 
     public AdminDNs(final Settings settings) {
 
@@ -135,11 +141,19 @@ public class AdminDNs {
 
         if (dn == null) return false;
 
+        final Boolean cached = adminDnVerdicts.getIfPresent(dn);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean isAdmin;
         try {
-            return isAdminDN(new LdapName(dn));
+            isAdmin = isAdminDN(new LdapName(dn));
         } catch (InvalidNameException e) {
-            return false;
+            isAdmin = false;
         }
+        adminDnVerdicts.put(dn, isAdmin);
+        return isAdmin;
     }
 
     private boolean isAdminDN(LdapName dn) {
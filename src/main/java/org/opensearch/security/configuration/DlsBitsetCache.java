@@ -0,0 +1,206 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Node wide cache of the documents of a segment which match a DLS query.
+ *
+ * Many users usually share a small number of distinct DLS queries. Without the cache, the DLS query would be executed
+ * for every segment of every searcher a request acquires. Entries are keyed by the core cache key of the segment and
+ * the parsed DLS query, i.e. the query after the user attributes have been substituted. As the query is executed
+ * against the FLS filtered and masked segment, the FLS and masked fields are part of the key as well. The cached bits
+ * do not reflect deletions; these are applied by the reader.
+ *
+ * Entries are removed when the segment core is closed, for example after it has been merged away. The cache is bounded
+ * by the heap used by the bitsets.
+ */
+public class DlsBitsetCache {
+
+    private static final Logger log = LogManager.getLogger(DlsBitsetCache.class);
+
+    // same as LRUQueryCache.QUERY_DEFAULT_RAM_BYTES_USED
+    private static final long QUERY_DEFAULT_RAM_BYTES_USED = 1024;
+
+    private final Cache<Key, FixedBitSet> cache;
+    private final Set<IndexReader.CacheKey> registeredCores = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong ramBytesUsed = new AtomicLong();
+
+    public DlsBitsetCache(final Settings settings) {
+        final long maxSize = settings.getAsMemory(
+            ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE,
+            ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE_DEFAULT
+        ).getBytes();
+
+        if (maxSize > 0) {
+            this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((Key key, FixedBitSet bits) -> (int) Math.min(weigh(key, bits), Integer.MAX_VALUE))
+                .removalListener(this::onRemoval)
+                .build();
+        } else {
+            this.cache = null;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("DLS bitset cache max size: {} bytes", maxSize);
+        }
+    }
+
+    /**
+     * Returns the key for the given segment and DLS configuration or null if the segment cannot be cached.
+     */
+    Key key(final LeafReader segment, final Query dlsQuery, final Set<String> flsFields, final Set<String> maskedFields) {
+        if (cache == null) {
+            return null;
+        }
+        final IndexReader.CacheHelper coreCacheHelper = segment.getCoreCacheHelper();
+        if (coreCacheHelper == null) {
+            return null;
+        }
+        return new Key(coreCacheHelper, dlsQuery, flsFields, maskedFields);
+    }
+
+    /**
+     * @return the cached bits, which must not be modified, or null
+     */
+    FixedBitSet get(final Key key) {
+        final FixedBitSet bits = cache.getIfPresent(key);
+        if (bits != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return bits;
+    }
+
+    /**
+     * Caches the bits, which must not be modified afterwards.
+     */
+    void put(final Key key, final FixedBitSet bits) {
+        if (registeredCores.add(key.coreKey)) {
+            try {
+                key.coreCacheHelper.addClosedListener(this::onCoreClosed);
+            } catch (AlreadyClosedException e) {
+                registeredCores.remove(key.coreKey);
+                return;
+            }
+        }
+        cache.put(key, bits);
+        ramBytesUsed.addAndGet(weigh(key, bits));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getRamBytesUsed() {
+        return ramBytesUsed.get();
+    }
+
+    public long getCount() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private void onCoreClosed(final IndexReader.CacheKey coreKey) {
+        registeredCores.remove(coreKey);
+        cache.asMap().keySet().removeIf(key -> key.coreKey == coreKey);
+    }
+
+    private void onRemoval(final RemovalNotification<Key, FixedBitSet> notification) {
+        ramBytesUsed.addAndGet(-weigh(notification.getKey(), notification.getValue()));
+        if (notification.getCause() == RemovalCause.SIZE) {
+            evictions.increment();
+        }
+    }
+
+    private static long weigh(final Key key, final FixedBitSet bits) {
+        return bits.ramBytesUsed() + RamUsageEstimator.sizeOf(key.dlsQuery, QUERY_DEFAULT_RAM_BYTES_USED);
+    }
+
+    static final class Key {
+        private final IndexReader.CacheHelper coreCacheHelper;
+        private final IndexReader.CacheKey coreKey;
+        private final Query dlsQuery;
+        private final Set<String> flsFields;
+        private final Set<String> maskedFields;
+        private final int hashCode;
+
+        private Key(
+            final IndexReader.CacheHelper coreCacheHelper,
+            final Query dlsQuery,
+            final Set<String> flsFields,
+            final Set<String> maskedFields
+        ) {
+            this.coreCacheHelper = coreCacheHelper;
+            this.coreKey = coreCacheHelper.getKey();
+            this.dlsQuery = dlsQuery;
+            this.flsFields = flsFields;
+            this.maskedFields = maskedFields;
+            this.hashCode = Objects.hash(coreKey, dlsQuery, flsFields, maskedFields);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            return coreKey == other.coreKey
+                && dlsQuery.equals(other.dlsQuery)
+                && Objects.equals(flsFields, other.flsFields)
+                && Objects.equals(maskedFields, other.maskedFields);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
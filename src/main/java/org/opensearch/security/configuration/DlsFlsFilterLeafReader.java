@@ -25,6 +25,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import com.google.common.base.Joiner;
@@ -70,7 +71,6 @@ import org.opensearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentType;
-import org.opensearch.common.xcontent.support.XContentMapValues;
 import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.index.shard.ShardId;
@@ -78,10 +78,9 @@ import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.IndexService;
 import org.opensearch.security.auditlog.AuditLog;
 import org.opensearch.security.compliance.ComplianceConfig;
+import org.opensearch.security.compliance.DocumentReadAggregator;
 import org.opensearch.security.compliance.FieldReadCallback;
-import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.support.ConfigConstants;
-import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.MapUtils;
 import org.opensearch.security.support.SecurityUtils;
 import org.opensearch.security.support.WildcardMatcher;
@@ -97,7 +96,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
     private String[] includes;
     private String[] excludes;
     private boolean canOptimize = true;
-    private Function<Map<String, ?>, Map<String, Object>> filterFunction;
+    private FlsSourceFilter sourceFilter;
     private final IndexService indexService;
     private final ThreadContext threadContext;
     private final ClusterService clusterService;
@@ -107,6 +106,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
     private final boolean maskFields;
     private final Salt salt;
     private final String maskingAlgorithmDefault;
+    private final DlsFlsRestrictionResolver restrictionResolver;
+    private final DocumentReadAggregator documentReadAggregator;
+    private final Map<String, MaskedOrdinals> maskedOrdinals = new ConcurrentHashMap<>();
 
     private DlsGetEvaluator dge = null;
 
@@ -120,7 +122,10 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         final AuditLog auditlog,
         final Set<String> maskedFields,
         final ShardId shardId,
-        final Salt salt
+        final Salt salt,
+        final DlsBitsetCache dlsBitsetCache,
+        final DlsFlsRestrictionResolver restrictionResolver,
+        final DocumentReadAggregator documentReadAggregator
     ) {
         super(delegate);
 
@@ -131,6 +136,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         this.clusterService = clusterService;
         this.auditlog = auditlog;
         this.salt = salt;
+        this.restrictionResolver = restrictionResolver;
+        this.documentReadAggregator = documentReadAggregator;
         this.maskingAlgorithmDefault = clusterService.getSettings().get(ConfigConstants.SECURITY_MASKED_FIELDS_ALGORITHM_DEFAULT);
         this.maskedFieldsMap = MaskedFieldsMap.extractMaskedFields(maskFields, maskedFields, salt, maskingAlgorithmDefault);
 
@@ -176,6 +183,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                         }
                     }
                 }
+
+                sourceFilter = FlsSourceFilter.forTopLevelFields(includesSet, excludesSet);
             } else {
                 if (!excludesSet.isEmpty()) {
                     WildcardMatcher matcher = WildcardMatcher.from(excludesSet);
@@ -198,11 +207,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                     this.includes = includesSet.toArray(EMPTY_STRING_ARRAY);
                 }
 
-                if (!excludesSet.isEmpty()) {
-                    filterFunction = XContentMapValues.filter(null, excludes);
-                } else {
-                    filterFunction = XContentMapValues.filter(includes, null);
-                }
+                sourceFilter = FlsSourceFilter.forPaths(includes, excludes);
             }
 
             final FieldInfo[] tmp = new FieldInfo[i];
@@ -216,7 +221,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         }
 
         try {
-            dge = new DlsGetEvaluator(dlsQuery, in, applyDlsHere());
+            dge = new DlsGetEvaluator(dlsQuery, in, applyDlsHere(), dlsBitsetCache, includesExcludes, maskedFields);
         } catch (IOException e) {
             throw ExceptionsHelper.convertToOpenSearchException(e);
         }
@@ -228,25 +233,49 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final CacheHelper readerCacheHelper;
         private final boolean hasDeletions;
 
-        public DlsGetEvaluator(final Query dlsQuery, final LeafReader in, boolean applyDlsHere) throws IOException {
+        public DlsGetEvaluator(
+            final Query dlsQuery,
+            final LeafReader in,
+            boolean applyDlsHere,
+            final DlsBitsetCache dlsBitsetCache,
+            final Set<String> flsFields,
+            final Set<String> maskedFields
+        ) throws IOException {
             if (dlsQuery != null && applyDlsHere) {
-                // borrowed from Apache Lucene (Copyright Apache Software Foundation (ASF))
-                // https://github.com/apache/lucene-solr/blob/branch_6_3/lucene/misc/src/java/org/apache/lucene/index/PKIndexSplitter.java
-                final IndexSearcher searcher = new IndexSearcher(DlsFlsFilterLeafReader.this);
-                searcher.setQueryCache(null);
-                final Weight preserveWeight = searcher.rewrite(dlsQuery).createWeight(searcher, ScoreMode.COMPLETE_NO_SCORES, 1f);
-
-                final int maxDoc = in.maxDoc();
-                final FixedBitSet bits = new FixedBitSet(maxDoc);
-                final Scorer preserveScorer = preserveWeight.scorer(DlsFlsFilterLeafReader.this.getContext());
-
-                if (preserveScorer != null) {
-                    bits.or(preserveScorer.iterator());
+                final DlsBitsetCache.Key cacheKey = dlsBitsetCache != null
+                    ? dlsBitsetCache.key(in, dlsQuery, flsFields, maskedFields)
+                    : null;
+                FixedBitSet bits = cacheKey != null ? dlsBitsetCache.get(cacheKey) : null;
+                // cached bits are shared with other readers of the same segment and must not be modified
+                boolean shared = bits != null;
+
+                if (bits == null) {
+                    // borrowed from Apache Lucene (Copyright Apache Software Foundation (ASF))
+                    // https://github.com/apache/lucene-solr/blob/branch_6_3/lucene/misc/src/java/org/apache/lucene/index/PKIndexSplitter.java
+                    final IndexSearcher searcher = new IndexSearcher(DlsFlsFilterLeafReader.this);
+                    searcher.setQueryCache(null);
+                    final Weight preserveWeight = searcher.rewrite(dlsQuery).createWeight(searcher, ScoreMode.COMPLETE_NO_SCORES, 1f);
+
+                    final int maxDoc = in.maxDoc();
+                    bits = new FixedBitSet(maxDoc);
+                    final Scorer preserveScorer = preserveWeight.scorer(DlsFlsFilterLeafReader.this.getContext());
+
+                    if (preserveScorer != null) {
+                        bits.or(preserveScorer.iterator());
+                    }
+
+                    if (cacheKey != null && preserveWeight.isCacheable(DlsFlsFilterLeafReader.this.getContext())) {
+                        dlsBitsetCache.put(cacheKey, bits);
+                        shared = true;
+                    }
                 }
 
                 if (in.hasDeletions()) {
                     final Bits oldLiveDocs = in.getLiveDocs();
                     assert oldLiveDocs != null;
+                    if (shared) {
+                        bits = bits.clone();
+                    }
                     final DocIdSetIterator it = new BitSetIterator(bits, 0L);
                     for (int i = it.nextDoc(); i != DocIdSetIterator.NO_MORE_DOCS; i = it.nextDoc()) {
                         if (!oldLiveDocs.get(i)) {
@@ -336,6 +365,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final Set<String> maskedFields;
         private final ShardId shardId;
         private final Salt salt;
+        private final DlsBitsetCache dlsBitsetCache;
+        private final DlsFlsRestrictionResolver restrictionResolver;
+        private final DocumentReadAggregator documentReadAggregator;
 
         public DlsFlsSubReaderWrapper(
             final Set<String> includes,
@@ -346,7 +378,10 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final AuditLog auditlog,
             final Set<String> maskedFields,
             ShardId shardId,
-            final Salt salt
+            final Salt salt,
+            final DlsBitsetCache dlsBitsetCache,
+            final DlsFlsRestrictionResolver restrictionResolver,
+            final DocumentReadAggregator documentReadAggregator
         ) {
             this.includes = includes;
             this.dlsQuery = dlsQuery;
@@ -357,6 +392,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.maskedFields = maskedFields;
             this.shardId = shardId;
             this.salt = salt;
+            this.dlsBitsetCache = dlsBitsetCache;
+            this.restrictionResolver = restrictionResolver;
+            this.documentReadAggregator = documentReadAggregator;
         }
 
         @Override
@@ -371,7 +409,10 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                 auditlog,
                 maskedFields,
                 shardId,
-                salt
+                salt,
+                dlsBitsetCache,
+                restrictionResolver,
+                documentReadAggregator
             );
         }
 
@@ -388,6 +429,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final Set<String> maskedFields;
         private final ShardId shardId;
         private final Salt salt;
+        private final DlsBitsetCache dlsBitsetCache;
+        private final DlsFlsRestrictionResolver restrictionResolver;
+        private final DocumentReadAggregator documentReadAggregator;
 
         public DlsFlsDirectoryReader(
             final DirectoryReader in,
@@ -399,7 +443,41 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final AuditLog auditlog,
             final Set<String> maskedFields,
             ShardId shardId,
-            final Salt salt
+            final Salt salt,
+            final DlsBitsetCache dlsBitsetCache,
+            final DlsFlsRestrictionResolver restrictionResolver
+        ) throws IOException {
+            this(
+                in,
+                includes,
+                dlsQuery,
+                indexService,
+                threadContext,
+                clusterService,
+                auditlog,
+                maskedFields,
+                shardId,
+                salt,
+                dlsBitsetCache,
+                restrictionResolver,
+                newDocumentReadAggregator(clusterService, auditlog, threadContext, shardId)
+            );
+        }
+
+        private DlsFlsDirectoryReader(
+            final DirectoryReader in,
+            final Set<String> includes,
+            final Query dlsQuery,
+            final IndexService indexService,
+            final ThreadContext threadContext,
+            final ClusterService clusterService,
+            final AuditLog auditlog,
+            final Set<String> maskedFields,
+            ShardId shardId,
+            final Salt salt,
+            final DlsBitsetCache dlsBitsetCache,
+            final DlsFlsRestrictionResolver restrictionResolver,
+            final DocumentReadAggregator documentReadAggregator
         ) throws IOException {
             super(
                 in,
@@ -412,7 +490,10 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                     auditlog,
                     maskedFields,
                     shardId,
-                    salt
+                    salt,
+                    dlsBitsetCache,
+                    restrictionResolver,
+                    documentReadAggregator
                 )
             );
             this.includes = includes;
@@ -424,6 +505,23 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.maskedFields = maskedFields;
             this.shardId = shardId;
             this.salt = salt;
+            this.dlsBitsetCache = dlsBitsetCache;
+            this.restrictionResolver = restrictionResolver;
+            this.documentReadAggregator = documentReadAggregator;
+        }
+
+        private static DocumentReadAggregator newDocumentReadAggregator(
+            final ClusterService clusterService,
+            final AuditLog auditlog,
+            final ThreadContext threadContext,
+            final ShardId shardId
+        ) {
+            final boolean aggregate = clusterService.getSettings()
+                .getAsBoolean(
+                    ConfigConstants.SECURITY_COMPLIANCE_HISTORY_READ_AGGREGATE_DOCUMENTS,
+                    ConfigConstants.SECURITY_COMPLIANCE_HISTORY_READ_AGGREGATE_DOCUMENTS_DEFAULT
+                );
+            return aggregate && shardId != null ? new DocumentReadAggregator(auditlog, threadContext, shardId) : null;
         }
 
         @Override
@@ -438,10 +536,25 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                 auditlog,
                 maskedFields,
                 shardId,
-                salt
+                salt,
+                dlsBitsetCache,
+                restrictionResolver,
+                documentReadAggregator
             );
         }
 
+        @Override
+        protected void doClose() throws IOException {
+            try {
+                if (documentReadAggregator != null) {
+                    // the request is done with the shard
+                    documentReadAggregator.flush();
+                }
+            } finally {
+                super.doClose();
+            }
+        }
+
         @Override
         public CacheHelper getReaderCacheHelper() {
             return in.getReaderCacheHelper();
@@ -572,7 +685,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             clusterService,
             auditlog,
             maskedFieldsMap.getMatcher(),
-            shardId
+            shardId,
+            documentReadAggregator
         );
 
         public ComplianceAwareStoredFieldVisitor(final StoredFieldVisitor delegate) {
@@ -650,19 +764,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         public void binaryField(final FieldInfo fieldInfo, final byte[] value) throws IOException {
 
             if (fieldInfo.name.equals("_source")) {
-                Map<String, Object> filteredSource = Utils.byteArrayToMutableJsonMap(value);
-
-                if (!canOptimize) {
-                    filteredSource = filterFunction.apply(filteredSource);
-                } else {
-                    if (!excludesSet.isEmpty()) {
-                        filteredSource.keySet().removeAll(excludesSet);
-                    } else {
-                        filteredSource.keySet().retainAll(includesSet);
-                    }
-                }
-
-                delegate.binaryField(fieldInfo, Utils.jsonMapToByteArray(filteredSource));
+                delegate.binaryField(fieldInfo, sourceFilter.filter(value));
             } else {
                 delegate.binaryField(fieldInfo, value);
             }
@@ -921,6 +1023,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final MaskedField mf = maskedFieldsMap.getMaskedField(handleKeyword(field)).orElse(null);
 
             if (mf != null) {
+                final MaskedOrdinals ordinals = getMaskedOrdinals(field, mf, sortedDocValues.getValueCount());
                 return new SortedDocValues() {
 
                     @Override
@@ -930,12 +1033,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public TermsEnum termsEnum() throws IOException {
-                        return new MaskedTermsEnum(sortedDocValues.termsEnum(), mf);
+                        return new MaskedTermsEnum(sortedDocValues.termsEnum(), ordinals);
                     }
 
                     @Override
                     public TermsEnum intersect(CompiledAutomaton automaton) throws IOException {
-                        return new MaskedTermsEnum(sortedDocValues.intersect(automaton), mf);
+                        return new MaskedTermsEnum(sortedDocValues.intersect(automaton), ordinals);
                     }
 
                     @Override
@@ -970,7 +1073,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public BytesRef lookupOrd(int ord) throws IOException {
-                        return mf.mask(sortedDocValues.lookupOrd(ord));
+                        return ordinals.lookupOrd(ord, () -> sortedDocValues.lookupOrd(ord));
                     }
 
                     @Override
@@ -1001,6 +1104,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             MaskedField mf = maskedFieldsMap.getMaskedField(handleKeyword(field)).orElse(null);
 
             if (mf != null) {
+                final MaskedOrdinals ordinals = getMaskedOrdinals(field, mf, sortedSetDocValues.getValueCount());
                 return new SortedSetDocValues() {
 
                     @Override
@@ -1010,12 +1114,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public TermsEnum termsEnum() throws IOException {
-                        return new MaskedTermsEnum(sortedSetDocValues.termsEnum(), mf);
+                        return new MaskedTermsEnum(sortedSetDocValues.termsEnum(), ordinals);
                     }
 
                     @Override
                     public TermsEnum intersect(CompiledAutomaton automaton) throws IOException {
-                        return new MaskedTermsEnum(sortedSetDocValues.intersect(automaton), mf);
+                        return new MaskedTermsEnum(sortedSetDocValues.intersect(automaton), ordinals);
                     }
 
                     @Override
@@ -1055,7 +1159,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
                     @Override
                     public BytesRef lookupOrd(long ord) throws IOException {
-                        return mf.mask(sortedSetDocValues.lookupOrd(ord));
+                        return ordinals.lookupOrd(ord, () -> sortedSetDocValues.lookupOrd(ord));
                     }
 
                     @Override
@@ -1206,11 +1310,11 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         return dge.hasDeletions();
     }
 
-    @SuppressWarnings("unchecked")
     private MaskedFieldsMap getRuntimeMaskedFieldInfo() {
-        final Map<String, Set<String>> maskedFieldsMap = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
+        final Map<String, Set<String>> maskedFieldsMap = restrictionResolver.getRestrictions(
             threadContext,
-            ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER
+            ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER,
+            indexService.index().getName()
         );
         final String maskedEval = SecurityUtils.evalMap(maskedFieldsMap, indexService.index().getName());
 
@@ -1225,6 +1329,16 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         return null;
     }
 
+    /**
+     * Returns the masked ordinals of the field, which are shared by all doc values of the field this reader opens,
+     * i.e. within one searcher acquisition. Requests of users with a different masking for the field get ordinals
+     * which are not shared.
+     */
+    private MaskedOrdinals getMaskedOrdinals(final String field, final MaskedField mf, final long valueCount) {
+        final MaskedOrdinals ordinals = maskedOrdinals.computeIfAbsent(field, k -> new MaskedOrdinals(mf, valueCount));
+        return ordinals.getMaskedField().equals(mf) ? ordinals : new MaskedOrdinals(mf, valueCount);
+    }
+
     private String handleKeyword(final String field) {
         if (field != null && field.endsWith(KEYWORD)) {
             return field.substring(0, field.length() - KEYWORD.length());
@@ -1235,12 +1349,12 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
     private static class MaskedTermsEnum extends TermsEnum {
 
         private final TermsEnum delegate;
-        private final MaskedField mf;
+        private final MaskedOrdinals ordinals;
 
-        public MaskedTermsEnum(TermsEnum delegate, MaskedField mf) {
+        public MaskedTermsEnum(TermsEnum delegate, MaskedOrdinals ordinals) {
             super();
             this.delegate = delegate;
-            this.mf = mf;
+            this.ordinals = ordinals;
         }
 
         @Override
@@ -1275,7 +1389,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
         @Override
         public BytesRef term() throws IOException {
-            return mf.mask(delegate.term());
+            return ordinals.lookupOrd(delegate.ord(), delegate::term);
         }
 
         @Override
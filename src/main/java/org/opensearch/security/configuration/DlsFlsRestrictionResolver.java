@@ -0,0 +1,230 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.security.securityconf.ConfigModel;
+import org.opensearch.security.securityconf.EvaluatedDlsFlsConfig;
+import org.opensearch.security.securityconf.SecurityRoles;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.HeaderHelper;
+import org.opensearch.security.support.NodeCapabilities;
+import org.opensearch.security.user.User;
+
+import org.greenrobot.eventbus.Subscribe;
+
+/**
+ * Provides the DLS queries, FLS fields and masked fields of an index to the shard level code.
+ *
+ * If the request carries a {@link DlsFlsRoleDigest}, the restrictions are evaluated locally for the requested index
+ * and cached per digest and index; otherwise, they are taken from the DLS, FLS and masked field headers. In both
+ * cases, the result has the format of these headers, so callers can use
+ * {@link org.opensearch.security.support.SecurityUtils#evalMap} on it.
+ *
+ * A digest created with another version of the roles configuration is rejected, as the restrictions would not match
+ * those the coordinating node evaluated the request with. The cache is discarded when the roles configuration
+ * changes; cached restrictions of an index are re-evaluated if the cluster metadata, and thus the indices an index
+ * pattern resolves to, has changed.
+ */
+public class DlsFlsRestrictionResolver {
+
+    static final int MAX_ROLE_DIGESTS = 1000;
+    static final int MAX_INDICES_PER_ROLE_DIGEST = 10000;
+
+    private static final Logger log = LogManager.getLogger(DlsFlsRestrictionResolver.class);
+
+    private final ClusterService clusterService;
+    private final IndexNameExpressionResolver resolver;
+    private final boolean dfmEmptyOverwritesAll;
+    private final boolean compactHeadersEnabled;
+    private volatile ConfigModel configModel;
+    private volatile Cache<String, RoleDigestRestrictions> restrictions = newCache();
+
+    public DlsFlsRestrictionResolver(
+        final Settings settings,
+        final ClusterService clusterService,
+        final IndexNameExpressionResolver resolver
+    ) {
+        this.clusterService = clusterService;
+        this.resolver = resolver;
+        this.dfmEmptyOverwritesAll = settings.getAsBoolean(ConfigConstants.SECURITY_DFM_EMPTY_OVERRIDES_ALL, false);
+        this.compactHeadersEnabled = settings.getAsBoolean(
+            ConfigConstants.SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED,
+            ConfigConstants.SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED_DEFAULT
+        );
+    }
+
+    @Subscribe
+    public void onConfigModelChanged(final ConfigModel configModel) {
+        // the model is published before the cache is replaced, see getRestrictions()
+        this.configModel = configModel;
+        this.restrictions = newCache();
+    }
+
+    /**
+     * @return true if the restrictions can be sent as {@link DlsFlsRoleDigest}, which requires that every node of the
+     * cluster can evaluate it
+     */
+    public boolean isCompactHeaderSupported() {
+        return compactHeadersEnabled
+            && NodeCapabilities.allHave(clusterService.state().nodes(), NodeCapabilities.DLS_FLS_ROLE_DIGEST);
+    }
+
+    /**
+     * @return the version of the local roles configuration the restrictions of a {@link DlsFlsRoleDigest} are evaluated
+     * with, or null if the configuration is not loaded yet
+     */
+    public String getRolesVersion() {
+        final ConfigModel configModel = this.configModel;
+        return configModel != null ? configModel.getRolesVersion() : null;
+    }
+
+    /**
+     * Returns the restrictions of the given kind for the index.
+     *
+     * @param headerName one of {@link ConfigConstants#OPENDISTRO_SECURITY_DLS_QUERY_HEADER},
+     * {@link ConfigConstants#OPENDISTRO_SECURITY_FLS_FIELDS_HEADER} or
+     * {@link ConfigConstants#OPENDISTRO_SECURITY_MASKED_FIELD_HEADER}
+     * @return the restrictions by index name or index pattern, or null if there are none
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<String>> getRestrictions(final ThreadContext threadContext, final String headerName, final String index) {
+        final String digestHeader = HeaderHelper.getSafeFromHeader(threadContext, ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER);
+
+        if (Strings.isNullOrEmpty(digestHeader)) {
+            return (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(threadContext, headerName);
+        }
+
+        final EvaluatedDlsFlsConfig evaluated = getRestrictions(digestHeader, index);
+
+        switch (headerName) {
+            case ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER:
+                return evaluated.getDlsQueriesByIndex();
+            case ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER:
+                return evaluated.getFlsByIndex();
+            case ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER:
+                return evaluated.getFieldMaskingByIndex();
+            default:
+                throw new IllegalArgumentException("Unsupported header " + headerName);
+        }
+    }
+
+    private EvaluatedDlsFlsConfig getRestrictions(final String digestHeader, final String index) {
+        // the cache must be obtained before the model, so that restrictions evaluated with an outdated model
+        // can only end up in a cache which has already been discarded
+        final Cache<String, RoleDigestRestrictions> restrictions = this.restrictions;
+        final ConfigModel configModel = this.configModel;
+
+        if (configModel == null) {
+            throw new OpenSearchSecurityException(
+                "Cannot evaluate DLS/FLS restrictions before the configuration is loaded",
+                RestStatus.SERVICE_UNAVAILABLE
+            );
+        }
+
+        final RoleDigestRestrictions roleDigestRestrictions;
+        try {
+            roleDigestRestrictions = restrictions.get(digestHeader, () -> {
+                final DlsFlsRoleDigest digest = DlsFlsRoleDigest.fromHeader(digestHeader);
+                if (!digest.getRolesVersion().equals(configModel.getRolesVersion())) {
+                    // the roles may differ from those the coordinating node evaluated; the request can be retried
+                    // once the configuration has been propagated to all nodes
+                    log.debug(
+                        "Roles version {} of {} does not match the local roles version {}",
+                        digest.getRolesVersion(),
+                        digest,
+                        configModel.getRolesVersion()
+                    );
+                    throw new OpenSearchSecurityException(
+                        "Cannot evaluate DLS/FLS restrictions, the roles configuration is being updated",
+                        RestStatus.SERVICE_UNAVAILABLE
+                    );
+                }
+                return new RoleDigestRestrictions(digest, configModel.getSecurityRoles().filter(digest.getMappedRoles()));
+            });
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            if (e.getCause() instanceof OpenSearchSecurityException) {
+                throw (OpenSearchSecurityException) e.getCause();
+            }
+            throw new OpenSearchSecurityException("Cannot evaluate DLS/FLS restrictions", e.getCause());
+        }
+
+        return roleDigestRestrictions.get(index);
+    }
+
+    private static Cache<String, RoleDigestRestrictions> newCache() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_ROLE_DIGESTS).build();
+    }
+
+    long size() {
+        return restrictions.size();
+    }
+
+    private final class RoleDigestRestrictions {
+        private final DlsFlsRoleDigest digest;
+        private final User user;
+        private final SecurityRoles securityRoles;
+        private final Map<String, IndexRestrictions> indices = new ConcurrentHashMap<>();
+
+        private RoleDigestRestrictions(final DlsFlsRoleDigest digest, final SecurityRoles securityRoles) {
+            this.digest = digest;
+            this.user = digest.toUser();
+            this.securityRoles = securityRoles;
+        }
+
+        private EvaluatedDlsFlsConfig get(final String index) {
+            final long metadataVersion = clusterService.state().metadata().version();
+            final IndexRestrictions cached = indices.get(index);
+            if (cached != null && cached.metadataVersion == metadataVersion) {
+                return cached.evaluated;
+            }
+
+            EvaluatedDlsFlsConfig evaluated = securityRoles.getDlsFls(user, index, dfmEmptyOverwritesAll, resolver, clusterService);
+            if (!digest.includesDls()) {
+                evaluated = evaluated.withoutDls();
+            }
+
+            if (indices.size() >= MAX_INDICES_PER_ROLE_DIGEST) {
+                indices.clear();
+            }
+            indices.put(index, new IndexRestrictions(metadataVersion, evaluated));
+            return evaluated;
+        }
+    }
+
+    private static final class IndexRestrictions {
+        private final long metadataVersion;
+        private final EvaluatedDlsFlsConfig evaluated;
+
+        private IndexRestrictions(final long metadataVersion, final EvaluatedDlsFlsConfig evaluated) {
+            this.metadataVersion = metadataVersion;
+            this.evaluated = evaluated;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.BytesStreamInput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.security.user.User;
+
+/**
+ * Everything a shard needs to evaluate the DLS queries, FLS fields and masked fields of its own index: the roles the
+ * user is mapped to, the user properties which can be substituted in index patterns and DLS queries, and the version
+ * of the roles configuration the coordinating node used.
+ *
+ * It is sent in {@link org.opensearch.security.support.ConfigConstants#OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER} instead
+ * of the DLS, FLS and masked field headers, which contain the restrictions of every index the user can access. Its
+ * size only depends on the number of mapped roles and user attributes, not on the number of indices.
+ *
+ * It is only sent if all nodes of the cluster advertise
+ * {@link org.opensearch.security.support.NodeCapabilities#DLS_FLS_ROLE_DIGEST}; nodes which do not know the header
+ * would not apply any restrictions.
+ */
+public final class DlsFlsRoleDigest {
+
+    private final String rolesVersion;
+    private final boolean dls;
+    private final SortedSet<String> mappedRoles;
+    private final String userName;
+    private final SortedSet<String> backendRoles;
+    private final SortedSet<String> securityRoles;
+    private final SortedMap<String, String> attributes;
+
+    private DlsFlsRoleDigest(
+        final String rolesVersion,
+        final boolean dls,
+        final SortedSet<String> mappedRoles,
+        final String userName,
+        final SortedSet<String> backendRoles,
+        final SortedSet<String> securityRoles,
+        final SortedMap<String, String> attributes
+    ) {
+        this.rolesVersion = rolesVersion;
+        this.dls = dls;
+        this.mappedRoles = mappedRoles;
+        this.userName = userName;
+        this.backendRoles = backendRoles;
+        this.securityRoles = securityRoles;
+        this.attributes = attributes;
+    }
+
+    /**
+     * @param dls false if DLS is applied on filter level; the shards then only apply FLS and field masking
+     */
+    public static DlsFlsRoleDigest of(final String rolesVersion, final boolean dls, final Set<String> mappedRoles, final User user) {
+        final Map<String, String> attributes = user.getCustomAttributesMap();
+        synchronized (attributes) {
+            return new DlsFlsRoleDigest(
+                rolesVersion,
+                dls,
+                nonNull(mappedRoles),
+                user.getName(),
+                nonNull(user.getRoles()),
+                nonNull(user.getSecurityRoles()),
+                attributes.entrySet()
+                    .stream()
+                    .filter(e -> e.getKey() != null && e.getValue() != null)
+                    .collect(ImmutableSortedMap.toImmutableSortedMap(Comparator.naturalOrder(), Map.Entry::getKey, Map.Entry::getValue))
+            );
+        }
+    }
+
+    // null values cannot be written and are ignored by the attribute substitution anyway
+    private static SortedSet<String> nonNull(final Set<String> values) {
+        return values.stream().filter(Objects::nonNull).collect(ImmutableSortedSet.toImmutableSortedSet(Comparator.naturalOrder()));
+    }
+
+    public static DlsFlsRoleDigest fromHeader(final String header) {
+        try (BytesStreamInput in = new BytesStreamInput(Base64.getDecoder().decode(header))) {
+            final DlsFlsRoleDigest digest = new DlsFlsRoleDigest(
+                in.readString(),
+                in.readBoolean(),
+                ImmutableSortedSet.copyOf(in.readStringList()),
+                in.readString(),
+                ImmutableSortedSet.copyOf(in.readStringList()),
+                ImmutableSortedSet.copyOf(in.readStringList()),
+                ImmutableSortedMap.copyOf(in.readMap(StreamInput::readString, StreamInput::readString))
+            );
+            if (in.available() != 0) {
+                throw new IllegalArgumentException("Unexpected trailing bytes");
+            }
+            return digest;
+        } catch (final Exception e) {
+            throw new OpenSearchException("Could not deserialize DLS/FLS role digest", e);
+        }
+    }
+
+    public String toHeader() {
+        try (BytesStreamOutput out = new BytesStreamOutput(128)) {
+            out.writeString(rolesVersion);
+            out.writeBoolean(dls);
+            out.writeStringCollection(mappedRoles);
+            out.writeString(userName);
+            out.writeStringCollection(backendRoles);
+            out.writeStringCollection(securityRoles);
+            out.writeMap(attributes, StreamOutput::writeString, StreamOutput::writeString);
+            return Base64.getEncoder().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (final Exception e) {
+            throw new OpenSearchException("Could not serialize DLS/FLS role digest of {}", e, userName);
+        }
+    }
+
+    public String getRolesVersion() {
+        return rolesVersion;
+    }
+
+    public boolean includesDls() {
+        return dls;
+    }
+
+    public Set<String> getMappedRoles() {
+        return mappedRoles;
+    }
+
+    /**
+     * @return a user which only carries the properties that are substituted in index patterns and DLS queries
+     */
+    public User toUser() {
+        final User user = new User(userName, backendRoles, null);
+        user.addSecurityRoles(securityRoles);
+        user.addAttributes(attributes);
+        return user;
+    }
+
+    /**
+     * @return true if both digests lead to the same FLS and field masking restrictions
+     */
+    public boolean equalsIgnoringDls(final DlsFlsRoleDigest other) {
+        return rolesVersion.equals(other.rolesVersion)
+            && mappedRoles.equals(other.mappedRoles)
+            && userName.equals(other.userName)
+            && backendRoles.equals(other.backendRoles)
+            && securityRoles.equals(other.securityRoles)
+            && attributes.equals(other.attributes);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DlsFlsRoleDigest)) {
+            return false;
+        }
+        final DlsFlsRoleDigest other = (DlsFlsRoleDigest) obj;
+        return dls == other.dls && equalsIgnoringDls(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rolesVersion, dls, mappedRoles, userName, backendRoles, securityRoles, attributes);
+    }
+
+    @Override
+    public String toString() {
+        return "DlsFlsRoleDigest [rolesVersion="
+            + rolesVersion
+            + ", dls="
+            + dls
+            + ", mappedRoles="
+            + mappedRoles
+            + ", user="
+            + userName
+            + "]";
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Node wide cache of the DLS/FLS rules the searcher wrapper applies to the shards of an index.
+ *
+ * Without the cache, every searcher a request acquires deserializes the DLS, FLS and masked field headers and parses
+ * the DLS queries again. Entries are keyed by the raw headers, the index UUID and the mapping version of the index, as
+ * the parsed DLS query depends on the mapping. If the restrictions are sent as {@link DlsFlsRoleDigest}, they are
+ * evaluated from the local roles and the cluster metadata, so the roles version and the metadata version are part of
+ * the key as well.
+ *
+ * The cache is bounded by the number of entries.
+ */
+public class DlsFlsRuleCache {
+
+    private static final Logger log = LogManager.getLogger(DlsFlsRuleCache.class);
+
+    // same as LRUQueryCache.QUERY_DEFAULT_RAM_BYTES_USED
+    private static final long QUERY_DEFAULT_RAM_BYTES_USED = 1024;
+    private static final long KEY_SHALLOW_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(Key.class);
+
+    private final Cache<Key, Rules> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong ramBytesUsed = new AtomicLong();
+
+    public DlsFlsRuleCache(final Settings settings) {
+        final int maxSize = settings.getAsInt(
+            ConfigConstants.SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE,
+            ConfigConstants.SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE_DEFAULT
+        );
+
+        if (maxSize > 0) {
+            this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).removalListener(this::onRemoval).build();
+        } else {
+            this.cache = null;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("DLS/FLS rule cache max size: {} entries", maxSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return the cached rules or null
+     */
+    Rules get(final Key key) {
+        final Rules rules = cache.getIfPresent(key);
+        if (rules != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return rules;
+    }
+
+    void put(final Key key, final Rules rules) {
+        ramBytesUsed.addAndGet(weigh(key, rules));
+        cache.put(key, rules);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return an estimate of the heap used by the cached headers and rules
+     */
+    public long getRamBytesUsed() {
+        return ramBytesUsed.get();
+    }
+
+    public long getCount() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private void onRemoval(final RemovalNotification<Key, Rules> notification) {
+        ramBytesUsed.addAndGet(-weigh(notification.getKey(), notification.getValue()));
+        if (notification.getCause() == RemovalCause.SIZE) {
+            evictions.increment();
+        }
+    }
+
+    private static long weigh(final Key key, final Rules rules) {
+        long size = KEY_SHALLOW_RAM_BYTES_USED
+            + RamUsageEstimator.sizeOf(key.indexUuid)
+            + RamUsageEstimator.sizeOf(key.headersHash)
+            + RamUsageEstimator.sizeOf(key.rolesVersion);
+        if (rules.dlsQuery != null) {
+            size += RamUsageEstimator.sizeOf(rules.dlsQuery, QUERY_DEFAULT_RAM_BYTES_USED);
+        }
+        return size + sizeOf(rules.flsFields) + sizeOf(rules.maskedFields);
+    }
+
+    private static long sizeOf(final Set<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = 0;
+        for (final String value : values) {
+            size += RamUsageEstimator.sizeOf(value);
+        }
+        return size;
+    }
+
+    /**
+     * The DLS query, FLS fields and masked fields of an index as they are passed to
+     * {@link DlsFlsFilterLeafReader.DlsFlsDirectoryReader}. Instances must not be modified.
+     */
+    static final class Rules {
+        static final Rules NONE = new Rules(null, null, null);
+
+        private final Query dlsQuery;
+        private final Set<String> flsFields;
+        private final Set<String> maskedFields;
+
+        Rules(final Query dlsQuery, final Set<String> flsFields, final Set<String> maskedFields) {
+            this.dlsQuery = dlsQuery;
+            this.flsFields = flsFields;
+            this.maskedFields = maskedFields;
+        }
+
+        Query getDlsQuery() {
+            return dlsQuery;
+        }
+
+        Set<String> getFlsFields() {
+            return flsFields;
+        }
+
+        Set<String> getMaskedFields() {
+            return maskedFields;
+        }
+    }
+
+    static final class Key {
+        private final String indexUuid;
+        private final long mappingVersion;
+        private final byte[] headersHash;
+        private final String rolesVersion;
+        private final long metadataVersion;
+        private final int hashCode;
+
+        /**
+         * @param rolesVersion the local roles version, only relevant if there is a roles header
+         * @param metadataVersion the cluster metadata version, only relevant if there is a roles header
+         */
+        Key(
+            final String indexUuid,
+            final long mappingVersion,
+            final String dlsHeader,
+            final String flsHeader,
+            final String maskedHeader,
+            final String rolesHeader,
+            final String rolesVersion,
+            final long metadataVersion
+        ) {
+            final Hasher hasher = Hashing.sha256().newHasher();
+            putHeader(hasher, dlsHeader);
+            putHeader(hasher, flsHeader);
+            putHeader(hasher, maskedHeader);
+            putHeader(hasher, rolesHeader);
+
+            this.indexUuid = indexUuid;
+            this.mappingVersion = mappingVersion;
+            this.headersHash = hasher.hash().asBytes();
+            this.rolesVersion = rolesHeader != null ? rolesVersion : null;
+            this.metadataVersion = rolesHeader != null ? metadataVersion : -1;
+            this.hashCode = Objects.hash(indexUuid, mappingVersion, Arrays.hashCode(headersHash), this.rolesVersion, this.metadataVersion);
+        }
+
+        private static void putHeader(final Hasher hasher, final String header) {
+            // the length separates the headers and distinguishes a missing header from an empty one
+            if (header == null) {
+                hasher.putInt(-1);
+            } else {
+                hasher.putInt(header.length()).putString(header, StandardCharsets.UTF_8);
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            return mappingVersion == other.mappingVersion
+                && metadataVersion == other.metadataVersion
+                && indexUuid.equals(other.indexUuid)
+                && Arrays.equals(headersHash, other.headersHash)
+                && Objects.equals(rolesVersion, other.rolesVersion);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -97,6 +97,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
     private final IndexNameExpressionResolver resolver;
     private final boolean dfmEmptyOverwritesAll;
     private final NamedXContentRegistry namedXContentRegistry;
+    private final DlsFlsRestrictionResolver restrictionResolver;
     private volatile ConfigModel configModel;
 
     public DlsFlsValveImpl(
@@ -105,7 +106,8 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         ClusterService clusterService,
         IndexNameExpressionResolver resolver,
         NamedXContentRegistry namedXContentRegistry,
-        ThreadContext threadContext
+        ThreadContext threadContext,
+        DlsFlsRestrictionResolver restrictionResolver
     ) {
         super();
         this.nodeClient = nodeClient;
@@ -116,6 +118,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         this.dlsQueryParser = new DlsQueryParser(namedXContentRegistry);
         this.dfmEmptyOverwritesAll = settings.getAsBoolean(ConfigConstants.SECURITY_DFM_EMPTY_OVERRIDES_ALL, false);
         this.namedXContentRegistry = namedXContentRegistry;
+        this.restrictionResolver = restrictionResolver;
     }
 
     @Subscribe
@@ -189,11 +192,15 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
             }
         }
 
-        if (!doFilterLevelDls) {
-            setDlsHeaders(evaluatedDlsFlsConfig, request);
-        }
+        if (canSendRoleDigest(request)) {
+            setRoleDigestHeader(context, !doFilterLevelDls);
+        } else {
+            if (!doFilterLevelDls) {
+                setDlsHeaders(evaluatedDlsFlsConfig, request);
+            }
 
-        setFlsHeaders(evaluatedDlsFlsConfig, request);
+            setFlsHeaders(evaluatedDlsFlsConfig, request);
+        }
 
         if (filteredDlsFlsConfig.isEmpty()) {
             return true;
@@ -357,13 +364,14 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
     @Override
     public void handleSearchContext(SearchContext context, ThreadPool threadPool, NamedXContentRegistry namedXContentRegistry) {
         try {
-            @SuppressWarnings("unchecked")
-            final Map<String, Set<String>> queries = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
+            final String indexName = context.indexShard().indexSettings().getIndex().getName();
+            final Map<String, Set<String>> queries = restrictionResolver.getRestrictions(
                 threadPool.getThreadContext(),
-                ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER
+                ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER,
+                indexName
             );
 
-            final String dlsEval = SecurityUtils.evalMap(queries, context.indexShard().indexSettings().getIndex().getName());
+            final String dlsEval = SecurityUtils.evalMap(queries, indexName);
 
             if (dlsEval != null) {
 
@@ -477,6 +485,48 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         }
     }
 
+    /**
+     * The role digest is only sent if all nodes can evaluate it and the request does not already carry the
+     * restrictions as maps. Remote clusters get the maps as they cannot evaluate the roles of this cluster.
+     */
+    private boolean canSendRoleDigest(ActionRequest request) {
+        if (request instanceof ClusterSearchShardsRequest && HeaderHelper.isTrustedClusterRequest(threadContext)) {
+            return false;
+        }
+
+        if (threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER) != null
+            || threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER) != null
+            || threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER) != null) {
+            return false;
+        }
+
+        return restrictionResolver.isCompactHeaderSupported();
+    }
+
+    private void setRoleDigestHeader(PrivilegesEvaluationContext context, boolean includeDls) {
+        final DlsFlsRoleDigest digest = DlsFlsRoleDigest.of(
+            configModel.getRolesVersion(),
+            includeDls,
+            context.getMappedRoles(),
+            context.getUser()
+        );
+        final String existing = threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER);
+
+        if (existing != null) {
+            // like the DLS header, the digest of an outer request decides whether DLS is applied on lucene level
+            if (!digest.equalsIgnoringDls(DlsFlsRoleDigest.fromHeader(existing))) {
+                throw new OpenSearchSecurityException(
+                    ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER + " does not match (SG 902D)"
+                );
+            }
+        } else {
+            threadContext.putHeader(ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER, digest.toHeader());
+            if (log.isDebugEnabled()) {
+                log.debug("attach DLS/FLS role digest for roles {}", context.getMappedRoles());
+            }
+        }
+    }
+
     private void setDlsModeHeader(Mode mode) {
         String modeString = mode.name();
 
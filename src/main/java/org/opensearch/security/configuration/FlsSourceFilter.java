@@ -0,0 +1,317 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+
+import org.opensearch.common.regex.Regex;
+
+/**
+ * Applies field level security to a JSON _source without materializing it as a map.
+ *
+ * The permitted fields are copied token by token from the parser to the generator, all other fields are skipped
+ * without being decoded. The filtering rules are the same as the ones of
+ * {@link org.opensearch.common.xcontent.support.XContentMapValues#filter(String[], String[])}: a pattern matches the
+ * full dotted path of a field and all of its sub fields, objects and arrays which become empty by filtering are removed
+ * unless they were matched themselves.
+ */
+abstract class FlsSourceFilter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Creates a filter which only considers the top level fields of the source; the field names must not contain
+     * dots or wildcards.
+     */
+    static FlsSourceFilter forTopLevelFields(final Set<String> includes, final Set<String> excludes) {
+        return new TopLevelFields(includes, excludes);
+    }
+
+    /**
+     * Creates a filter for dotted paths and wildcard patterns. Either includes or excludes may be null or empty.
+     */
+    static FlsSourceFilter forPaths(final String[] includes, final String[] excludes) {
+        return new Paths(includes, excludes);
+    }
+
+    /**
+     * @param source the _source as JSON bytes
+     * @return the filtered _source as JSON bytes
+     */
+    byte[] filter(final byte[] source) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(source.length);
+
+        try (JsonParser parser = JSON_FACTORY.createParser(source); JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "_source is not a JSON object");
+            }
+
+            generator.writeStartObject();
+            filterObject(parser, new Output(generator));
+            generator.writeEndObject();
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Called with the parser positioned on the START_OBJECT token of the source, must consume the tokens up to and
+     * including the matching END_OBJECT token.
+     */
+    abstract void filterObject(JsonParser parser, Output output) throws IOException;
+
+    private static final class TopLevelFields extends FlsSourceFilter {
+
+        private final Set<String> includes;
+        private final Set<String> excludes;
+
+        private TopLevelFields(final Set<String> includes, final Set<String> excludes) {
+            this.includes = includes;
+            this.excludes = excludes;
+        }
+
+        @Override
+        void filterObject(final JsonParser parser, final Output output) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                parser.nextToken();
+
+                if (!excludes.isEmpty() ? !excludes.contains(name) : includes.contains(name)) {
+                    output.generator.writeFieldName(name);
+                    output.generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static final class Paths extends FlsSourceFilter {
+
+        private static final CharacterRunAutomaton MATCH_ALL = new CharacterRunAutomaton(Automata.makeAnyString());
+
+        private final CharacterRunAutomaton include;
+        private final CharacterRunAutomaton exclude;
+
+        private Paths(final String[] includes, final String[] excludes) {
+            this.include = includes == null || includes.length == 0 ? MATCH_ALL : toAutomaton(includes);
+            this.exclude = excludes == null || excludes.length == 0
+                ? new CharacterRunAutomaton(Automata.makeEmpty())
+                : toAutomaton(excludes);
+        }
+
+        @Override
+        void filterObject(final JsonParser parser, final Output output) throws IOException {
+            filterObject(parser, output, include, 0, 0);
+        }
+
+        private void filterObject(
+            final JsonParser parser,
+            final Output output,
+            final CharacterRunAutomaton include,
+            final int includeState,
+            final int excludeState
+        ) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                final JsonToken token = parser.nextToken();
+
+                final int nameIncludeState = step(include, name, includeState);
+                if (nameIncludeState == -1) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                final int nameExcludeState = step(exclude, name, excludeState);
+                if (nameExcludeState != -1 && exclude.isAccept(nameExcludeState)) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                final boolean included = include.isAccept(nameIncludeState);
+                CharacterRunAutomaton subInclude = include;
+                int subIncludeState = nameIncludeState;
+
+                if (included) {
+                    if (nameExcludeState == -1 || exclude.step(nameExcludeState, '.') == -1) {
+                        // no exclude can match a sub field
+                        output.fieldName(name);
+                        output.generator.copyCurrentStructure(parser);
+                        continue;
+                    }
+                    // only the excludes matter for the sub fields
+                    subInclude = MATCH_ALL;
+                    subIncludeState = 0;
+                }
+
+                if (token == JsonToken.START_OBJECT) {
+                    subIncludeState = subInclude.step(subIncludeState, '.');
+                    if (subIncludeState == -1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    output.startObject(name, included);
+                    filterObject(parser, output, subInclude, subIncludeState, stepDot(nameExcludeState));
+                    output.end();
+                } else if (token == JsonToken.START_ARRAY) {
+                    output.startArray(name, included);
+                    filterArray(parser, output, subInclude, subIncludeState, nameExcludeState);
+                    output.end();
+                } else if (included) {
+                    output.fieldName(name);
+                    output.generator.copyCurrentEvent(parser);
+                }
+            }
+        }
+
+        private void filterArray(
+            final JsonParser parser,
+            final Output output,
+            final CharacterRunAutomaton include,
+            final int includeState,
+            final int excludeState
+        ) throws IOException {
+            final boolean included = include.isAccept(includeState);
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_OBJECT) {
+                    final int elementIncludeState = include.step(includeState, '.');
+                    if (elementIncludeState == -1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    output.startObject(null, false);
+                    filterObject(parser, output, include, elementIncludeState, stepDot(excludeState));
+                    output.end();
+                } else if (token == JsonToken.START_ARRAY) {
+                    output.startArray(null, false);
+                    filterArray(parser, output, include, includeState, excludeState);
+                    output.end();
+                } else if (included) {
+                    output.value(parser);
+                }
+            }
+        }
+
+        private int stepDot(final int excludeState) {
+            return excludeState == -1 ? -1 : exclude.step(excludeState, '.');
+        }
+
+        private static int step(final CharacterRunAutomaton automaton, final String name, int state) {
+            for (int i = 0; state != -1 && i < name.length(); i++) {
+                state = automaton.step(state, name.charAt(i));
+            }
+            return state;
+        }
+
+        private static CharacterRunAutomaton toAutomaton(final String[] patterns) {
+            final Automaton automaton = Regex.simpleMatchToAutomaton(patterns);
+            // a pattern also matches all sub fields of the fields it matches
+            final Automaton withSubFields = Operations.union(
+                List.of(automaton, Operations.concatenate(List.of(automaton, Automata.makeChar('.'), Automata.makeAnyString())))
+            );
+            return new CharacterRunAutomaton(Operations.determinize(withSubFields, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT));
+        }
+    }
+
+    /**
+     * Writes objects and arrays lazily, so that the ones which stay empty after filtering can be omitted.
+     */
+    static final class Output {
+
+        private final JsonGenerator generator;
+        private final List<Container> pending = new ArrayList<>();
+        private int written = 0;
+
+        private Output(final JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        private void startObject(final String name, final boolean keepIfEmpty) {
+            pending.add(new Container(name, true, keepIfEmpty));
+        }
+
+        private void startArray(final String name, final boolean keepIfEmpty) {
+            pending.add(new Container(name, false, keepIfEmpty));
+        }
+
+        private void end() throws IOException {
+            final Container container = pending.get(pending.size() - 1);
+
+            if (written < pending.size() && container.keepIfEmpty) {
+                writePending();
+            }
+
+            if (written == pending.size()) {
+                if (container.object) {
+                    generator.writeEndObject();
+                } else {
+                    generator.writeEndArray();
+                }
+                written--;
+            }
+
+            pending.remove(pending.size() - 1);
+        }
+
+        private void fieldName(final String name) throws IOException {
+            writePending();
+            generator.writeFieldName(name);
+        }
+
+        private void value(final JsonParser parser) throws IOException {
+            writePending();
+            generator.copyCurrentEvent(parser);
+        }
+
+        private void writePending() throws IOException {
+            for (; written < pending.size(); written++) {
+                final Container container = pending.get(written);
+                if (container.name != null) {
+                    generator.writeFieldName(container.name);
+                }
+                if (container.object) {
+                    generator.writeStartObject();
+                } else {
+                    generator.writeStartArray();
+                }
+            }
+        }
+
+        private static final class Container {
+            private final String name;
+            private final boolean object;
+            private final boolean keepIfEmpty;
+
+            private Container(final String name, final boolean object, final boolean keepIfEmpty) {
+                this.name = name;
+                this.object = object;
+                this.keepIfEmpty = keepIfEmpty;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.lucene.util.BytesRef;
+
+import org.opensearch.common.CheckedSupplier;
+
+/**
+ * The masked values of the ordinals of a doc values field in one segment.
+ *
+ * Aggregations look up the same ordinals for many documents, so every ordinal is only masked once. Ordinals up to
+ * {@link #MAX_CACHED_ORDINALS} are cached, higher ordinals are masked on every lookup. Instances are held by a
+ * {@link DlsFlsFilterLeafReader}, which is created every time a searcher of the shard is acquired, so the masked
+ * values are only shared by the lookups of one searcher acquisition and released with it. The cache is allocated on
+ * the first lookup, as many doc values are opened without looking up any ordinal.
+ */
+final class MaskedOrdinals {
+
+    static final int MAX_CACHED_ORDINALS = 1 << 16;
+
+    private final MaskedField maskedField;
+    private final int cachedOrdinals;
+    private volatile AtomicReferenceArray<BytesRef> values;
+
+    MaskedOrdinals(final MaskedField maskedField, final long valueCount) {
+        this.maskedField = maskedField;
+        this.cachedOrdinals = (int) Math.max(0, Math.min(valueCount, MAX_CACHED_ORDINALS));
+    }
+
+    MaskedField getMaskedField() {
+        return maskedField;
+    }
+
+    /**
+     * Returns the masked value of the ordinal, the unmasked value is only read if it has not been masked yet.
+     */
+    BytesRef lookupOrd(final long ord, final CheckedSupplier<BytesRef, IOException> value) throws IOException {
+        if (ord < 0 || ord >= cachedOrdinals) {
+            return maskedField.mask(value.get());
+        }
+
+        final AtomicReferenceArray<BytesRef> values = values();
+        BytesRef masked = values.get((int) ord);
+        if (masked == null) {
+            masked = maskedField.mask(value.get());
+            values.set((int) ord, masked);
+        }
+        return masked;
+    }
+
+    private AtomicReferenceArray<BytesRef> values() {
+        AtomicReferenceArray<BytesRef> values = this.values;
+        if (values == null) {
+            synchronized (this) {
+                values = this.values;
+                if (values == null) {
+                    values = new AtomicReferenceArray<>(cachedOrdinals);
+                    this.values = values;
+                }
+            }
+        }
+        return values;
+    }
+
+    boolean isAllocated() {
+        return values != null;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.LongSupplier;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,6 +56,10 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
     private final LongSupplier nowInMillis;
     private final DlsQueryParser dlsQueryParser;
     private final Salt salt;
+    private final DlsBitsetCache dlsBitsetCache;
+    private final DlsFlsRestrictionResolver restrictionResolver;
+    private final DlsFlsRuleCache ruleCache;
+    private final boolean cacheRules;
 
     public SecurityFlsDlsIndexSearcherWrapper(
         final IndexService indexService,
@@ -64,7 +69,10 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
         final AuditLog auditlog,
         final ComplianceIndexingOperationListener ciol,
         final PrivilegesEvaluator evaluator,
-        final Salt salt
+        final Salt salt,
+        final DlsBitsetCache dlsBitsetCache,
+        final DlsFlsRestrictionResolver restrictionResolver,
+        final DlsFlsRuleCache ruleCache
     ) {
         super(indexService, settings, adminDNs, evaluator);
         Set<String> metadataFieldsCopy;
@@ -96,69 +104,106 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
         }
         log.debug("FLS/DLS {} enabled for index {}", this, indexService.index().getName());
         this.salt = salt;
+        this.dlsBitsetCache = dlsBitsetCache;
+        this.restrictionResolver = restrictionResolver;
+        this.ruleCache = ruleCache;
+        // with 'now' allowed, the parsed DLS query depends on the time it was parsed
+        this.cacheRules = ruleCache != null && ruleCache.isEnabled() && !allowNowinDlsQueries;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected DirectoryReader dlsFlsWrap(final DirectoryReader reader, boolean isAdmin) throws IOException {
 
         final ShardId shardId = ShardUtils.extractShardId(reader);
 
+        final DlsFlsRuleCache.Rules rules = isAdmin ? DlsFlsRuleCache.Rules.NONE : getRules(shardId);
+
+        return new DlsFlsFilterLeafReader.DlsFlsDirectoryReader(
+            reader,
+            rules.getFlsFields(),
+            rules.getDlsQuery(),
+            indexService,
+            threadContext,
+            clusterService,
+            auditlog,
+            rules.getMaskedFields(),
+            shardId,
+            salt,
+            dlsBitsetCache,
+            restrictionResolver
+        );
+    }
+
+    private DlsFlsRuleCache.Rules getRules(final ShardId shardId) {
+        if (!cacheRules) {
+            return evaluateRules(shardId);
+        }
+
+        final String rolesHeader = HeaderHelper.getSafeFromHeader(threadContext, ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER);
+        final DlsFlsRuleCache.Key key = new DlsFlsRuleCache.Key(
+            index.getUUID(),
+            indexService.getMetadata().getMappingVersion(),
+            HeaderHelper.getSafeFromHeader(threadContext, ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER),
+            HeaderHelper.getSafeFromHeader(threadContext, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER),
+            HeaderHelper.getSafeFromHeader(threadContext, ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER),
+            rolesHeader,
+            rolesHeader != null ? restrictionResolver.getRolesVersion() : null,
+            rolesHeader != null ? clusterService.state().metadata().version() : -1
+        );
+
+        DlsFlsRuleCache.Rules rules = ruleCache.get(key);
+        if (rules == null) {
+            rules = evaluateRules(shardId);
+            ruleCache.put(key, rules);
+        }
+        return rules;
+    }
+
+    private DlsFlsRuleCache.Rules evaluateRules(final ShardId shardId) {
         Set<String> flsFields = null;
         Set<String> maskedFields = null;
         Query dlsQuery = null;
 
-        if (!isAdmin) {
-
-            final Map<String, Set<String>> allowedFlsFields = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
-                threadContext,
-                ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER
-            );
-            final Map<String, Set<String>> queries = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
-                threadContext,
-                ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER
-            );
-            final Map<String, Set<String>> maskedFieldsMap = (Map<String, Set<String>>) HeaderHelper.deserializeSafeFromHeader(
-                threadContext,
-                ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER
-            );
-
-            final String flsEval = SecurityUtils.evalMap(allowedFlsFields, index.getName());
-            final String dlsEval = SecurityUtils.evalMap(queries, index.getName());
-            final String maskedEval = SecurityUtils.evalMap(maskedFieldsMap, index.getName());
-
-            if (flsEval != null) {
-                flsFields = Sets.union(metaFields, allowedFlsFields.get(flsEval));
-            }
+        final Map<String, Set<String>> allowedFlsFields = restrictionResolver.getRestrictions(
+            threadContext,
+            ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER,
+            index.getName()
+        );
+        final Map<String, Set<String>> queries = restrictionResolver.getRestrictions(
+            threadContext,
+            ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER,
+            index.getName()
+        );
+        final Map<String, Set<String>> maskedFieldsMap = restrictionResolver.getRestrictions(
+            threadContext,
+            ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER,
+            index.getName()
+        );
 
-            if (dlsEval != null) {
-                Set<String> unparsedDlsQueries = queries.get(dlsEval);
+        final String flsEval = SecurityUtils.evalMap(allowedFlsFields, index.getName());
+        final String dlsEval = SecurityUtils.evalMap(queries, index.getName());
+        final String maskedEval = SecurityUtils.evalMap(maskedFieldsMap, index.getName());
 
-                if (unparsedDlsQueries != null && !unparsedDlsQueries.isEmpty()) {
-                    QueryShardContext queryShardContext = this.indexService.newQueryShardContext(shardId.getId(), null, nowInMillis, null);
-                    // no need for scoring here, so its possible to wrap this in a
-                    // ConstantScoreQuery
-                    dlsQuery = new ConstantScoreQuery(dlsQueryParser.parse(unparsedDlsQueries, queryShardContext).build());
-                }
-            }
+        if (flsEval != null) {
+            // copied, as the rules may be cached
+            flsFields = ImmutableSet.copyOf(Sets.union(metaFields, allowedFlsFields.get(flsEval)));
+        }
 
-            if (maskedEval != null) {
-                maskedFields = new HashSet<>();
-                maskedFields.addAll(maskedFieldsMap.get(maskedEval));
+        if (dlsEval != null) {
+            Set<String> unparsedDlsQueries = queries.get(dlsEval);
+
+            if (unparsedDlsQueries != null && !unparsedDlsQueries.isEmpty()) {
+                QueryShardContext queryShardContext = this.indexService.newQueryShardContext(shardId.getId(), null, nowInMillis, null);
+                // no need for scoring here, so its possible to wrap this in a
+                // ConstantScoreQuery
+                dlsQuery = new ConstantScoreQuery(dlsQueryParser.parse(unparsedDlsQueries, queryShardContext).build());
             }
         }
 
-        return new DlsFlsFilterLeafReader.DlsFlsDirectoryReader(
-            reader,
-            flsFields,
-            dlsQuery,
-            indexService,
-            threadContext,
-            clusterService,
-            auditlog,
-            maskedFields,
-            shardId,
-            salt
-        );
+        if (maskedEval != null) {
+            maskedFields = ImmutableSet.copyOf(maskedFieldsMap.get(maskedEval));
+        }
+
+        return new DlsFlsRuleCache.Rules(dlsQuery, flsFields, maskedFields);
     }
 }
@@ -12,7 +12,6 @@
 package org.opensearch.security.dlic.rest.api;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +38,7 @@ import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.configuration.ConfigurationRepository;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
 import org.opensearch.threadpool.ThreadPool;
@@ -58,7 +58,7 @@ public class PermissionsInfoAction extends BaseRestHandler {
 
     protected PermissionsInfoAction(
         final Settings settings,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         final RestController controller,
         final Client client,
         final AdminDNs adminDNs,
@@ -77,7 +77,7 @@ public class PermissionsInfoAction extends BaseRestHandler {
             adminDNs,
             privilegesEvaluator,
             principalExtractor,
-            configPath,
+            revocationService,
             threadPool
         );
         this.configurationRepository = configurationRepository;
@@ -12,7 +12,6 @@
 package org.opensearch.security.dlic.rest.api;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -39,6 +38,7 @@ import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.filter.SecurityRequestFactory;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
@@ -52,7 +52,7 @@ public class RestApiPrivilegesEvaluator {
     private final AdminDNs adminDNs;
     private final PrivilegesEvaluator privilegesEvaluator;
     private final PrincipalExtractor principalExtractor;
-    private final Path configPath;
+    private final CertificateRevocationService revocationService;
     private final ThreadPool threadPool;
     private final Settings settings;
 
@@ -79,14 +79,14 @@ public class RestApiPrivilegesEvaluator {
         final AdminDNs adminDNs,
         final PrivilegesEvaluator privilegesEvaluator,
         final PrincipalExtractor principalExtractor,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         ThreadPool threadPool
     ) {
 
         this.adminDNs = adminDNs;
         this.privilegesEvaluator = privilegesEvaluator;
         this.principalExtractor = principalExtractor;
-        this.configPath = configPath;
+        this.revocationService = revocationService;
         this.threadPool = threadPool;
         this.settings = settings;
         // set up
@@ -449,7 +449,7 @@ public class RestApiPrivilegesEvaluator {
 
         // Certificate based access, Check if we have an admin TLS certificate
         final SecurityRequest securityRequest = SecurityRequestFactory.from(request);
-        SSLRequestHelper.SSLInfo sslInfo = SSLRequestHelper.getSSLInfo(settings, configPath, securityRequest, principalExtractor);
+        SSLRequestHelper.SSLInfo sslInfo = SSLRequestHelper.getSSLInfo(settings, revocationService, securityRequest, principalExtractor);
 
         if (sslInfo == null) {
             // here we log on error level, since authentication finally failed
@@ -11,7 +11,6 @@
 
 package org.opensearch.security.dlic.rest.api;
 
-import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 
@@ -27,6 +26,7 @@ import org.opensearch.security.hasher.PasswordHasher;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.ssl.SecurityKeyStore;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.user.UserService;
 import org.opensearch.threadpool.ThreadPool;
 
@@ -36,7 +36,7 @@ public class SecurityRestApiActions {
 
     public static Collection<RestHandler> getHandler(
         final Settings settings,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         final RestController controller,
         final Client client,
         final AdminDNs adminDns,
@@ -55,7 +55,7 @@ public class SecurityRestApiActions {
             adminDns,
             configurationRepository,
             evaluator,
-            new RestApiPrivilegesEvaluator(settings, adminDns, evaluator, principalExtractor, configPath, threadPool),
+            new RestApiPrivilegesEvaluator(settings, adminDns, evaluator, principalExtractor, revocationService, threadPool),
             new RestApiAdminPrivilegesEvaluator(
                 threadPool.getThreadContext(),
                 evaluator,
@@ -75,7 +75,7 @@ public class SecurityRestApiActions {
             // FIXME Change inheritance for PermissionsInfoAction
             new PermissionsInfoAction(
                 settings,
-                configPath,
+                revocationService,
                 controller,
                 client,
                 adminDns,
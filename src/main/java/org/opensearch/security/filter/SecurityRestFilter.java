@@ -26,7 +26,6 @@
 
 package org.opensearch.security.filter;
 
-import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -57,6 +56,7 @@ import org.opensearch.security.securityconf.impl.AllowlistingSettings;
 import org.opensearch.security.securityconf.impl.WhitelistingSettings;
 import org.opensearch.security.ssl.http.netty.Netty4HttpRequestHeaderVerifier;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.ExceptionUtils;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
 import org.opensearch.security.ssl.util.SSLRequestHelper.SSLInfo;
@@ -80,7 +80,7 @@ public class SecurityRestFilter {
     private final ThreadContext threadContext;
     private final PrincipalExtractor principalExtractor;
     private final Settings settings;
-    private final Path configPath;
+    private final CertificateRevocationService revocationService;
     private final CompatConfig compatConfig;
 
     private WhitelistingSettings whitelistingSettings;
@@ -99,7 +99,7 @@ public class SecurityRestFilter {
         final ThreadPool threadPool,
         final PrincipalExtractor principalExtractor,
         final Settings settings,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         final CompatConfig compatConfig
     ) {
         super();
@@ -109,7 +109,7 @@ public class SecurityRestFilter {
         this.threadContext = threadPool.getThreadContext();
         this.principalExtractor = principalExtractor;
         this.settings = settings;
-        this.configPath = configPath;
+        this.revocationService = revocationService;
         this.compatConfig = compatConfig;
         this.whitelistingSettings = new WhitelistingSettings();
         this.allowlistingSettings = new AllowlistingSettings();
@@ -281,7 +281,7 @@ public class SecurityRestFilter {
 
         final SSLInfo sslInfo;
         try {
-            if ((sslInfo = SSLRequestHelper.getSSLInfo(settings, configPath, requestChannel, principalExtractor)) != null) {
+            if ((sslInfo = SSLRequestHelper.getSSLInfo(settings, revocationService, requestChannel, principalExtractor)) != null) {
                 if (sslInfo.getPrincipal() != null) {
                     threadContext.putTransient("_opendistro_security_ssl_principal", sslInfo.getPrincipal());
                 }
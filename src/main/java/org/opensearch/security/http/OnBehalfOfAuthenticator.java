@@ -38,6 +38,7 @@ import org.opensearch.security.filter.SecurityResponse;
 import org.opensearch.security.ssl.util.ExceptionUtils;
 import org.opensearch.security.user.AuthCredentials;
 import org.opensearch.security.util.KeyUtils;
+import org.opensearch.security.util.VerifiedJwtCache;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtParser;
@@ -48,7 +49,7 @@ import static org.opensearch.security.OpenSearchSecurityPlugin.LEGACY_OPENDISTRO
 import static org.opensearch.security.OpenSearchSecurityPlugin.PLUGINS_PREFIX;
 import static org.opensearch.security.util.AuthTokenUtils.isAccessToRestrictedEndpoints;
 
-public class OnBehalfOfAuthenticator implements HTTPAuthenticator {
+public class OnBehalfOfAuthenticator implements HTTPAuthenticator, VerifiedJwtCache.Provider {
 
     private static final int MINIMUM_SIGNING_KEY_BIT_LENGTH = 512;
     private static final String REGEX_PATH_PREFIX = "/(" + LEGACY_OPENDISTRO_PREFIX + "|" + PLUGINS_PREFIX + ")/" + "(.*)";
@@ -60,6 +61,7 @@ public class OnBehalfOfAuthenticator implements HTTPAuthenticator {
     private static final String BEARER_PREFIX = "bearer ";
 
     private final JwtParser jwtParser;
+    private final VerifiedJwtCache<Claims> verifiedJwtCache;
     private final String encryptionKey;
     private final Boolean oboEnabled;
     private final String clusterName;
@@ -83,6 +85,7 @@ public class OnBehalfOfAuthenticator implements HTTPAuthenticator {
                 return builder.build();
             }
         });
+        verifiedJwtCache = new VerifiedJwtCache<>(settings, Claims::getExpiration);
         this.clusterName = clusterName;
         this.encryptionUtil = new EncryptionDecryptionUtil(encryptionKey);
     }
@@ -178,7 +181,7 @@ public class OnBehalfOfAuthenticator implements HTTPAuthenticator {
         }
 
         try {
-            final Claims claims = jwtParser.parseClaimsJws(jwtToken).getBody();
+            final Claims claims = verifiedJwtCache.verify(jwtToken, token -> jwtParser.parseClaimsJws(token).getBody());
 
             final String subject = claims.getSubject();
             if (subject == null) {
@@ -271,4 +274,9 @@ public class OnBehalfOfAuthenticator implements HTTPAuthenticator {
     public boolean supportsImpersonation() {
         return false;
     }
+
+    @Override
+    public VerifiedJwtCache<?> getVerifiedJwtCache() {
+        return verifiedJwtCache;
+    }
 }
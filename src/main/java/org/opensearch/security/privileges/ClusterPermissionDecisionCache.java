@@ -0,0 +1,144 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.securityconf.SecurityRoles;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Memoizes the cluster permission decisions of the security roles per set of mapped roles and action.
+ *
+ * Cluster permission checks only depend on the mapped roles and the action name, and most requests come from a
+ * small number of distinct role sets which use a small number of actions. Thus, after the first request, the
+ * decision is a lookup in two hash maps instead of matching the action against the cluster permissions of all roles.
+ *
+ * The cache does not use locks. It is bounded by the number of role sets and the number of actions per role set;
+ * if a bound is exceeded, the affected map is cleared. {@link #clear()} must be called after the new role
+ * configuration has been published. Callers must obtain the {@link RoleSetDecisions} before they obtain the
+ * security roles the decisions are computed from; this way, decisions which are computed from an outdated
+ * configuration end up in a map which has already been discarded.
+ */
+public class ClusterPermissionDecisionCache {
+
+    static final int MAX_ACTIONS_PER_ROLE_SET = 1024;
+
+    private final int maxRoleSets;
+    private volatile Map<Set<String>, RoleSetDecisions> decisions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ClusterPermissionDecisionCache(final Settings settings) {
+        this.maxRoleSets = settings.getAsInt(
+            ConfigConstants.SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS,
+            ConfigConstants.SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS_DEFAULT
+        );
+    }
+
+    /**
+     * Returns the decisions for the given set of mapped roles.
+     */
+    public RoleSetDecisions get(final Set<String> mappedRoles) {
+        if (maxRoleSets <= 0) {
+            return new RoleSetDecisions(null, null);
+        }
+
+        final Map<Set<String>, RoleSetDecisions> decisions = this.decisions;
+        final RoleSetDecisions existing = decisions.get(mappedRoles);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (decisions.size() >= maxRoleSets) {
+            decisions.clear();
+        }
+        // the key is copied so that it cannot be modified after it has been put into the map
+        return decisions.computeIfAbsent(
+            ImmutableSet.copyOf(mappedRoles),
+            k -> new RoleSetDecisions(new ConcurrentHashMap<>(), new ConcurrentHashMap<>())
+        );
+    }
+
+    public void clear() {
+        decisions = new ConcurrentHashMap<>();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return decisions.size();
+    }
+
+    public final class RoleSetDecisions {
+        private final Map<String, Boolean> implied;
+        private final Map<String, Boolean> explicit;
+
+        private RoleSetDecisions(final Map<String, Boolean> implied, final Map<String, Boolean> explicit) {
+            this.implied = implied;
+            this.explicit = explicit;
+        }
+
+        /**
+         * Returns the memoized result of {@link SecurityRoles#impliesClusterPermissionPermission(String)}.
+         */
+        public boolean impliesClusterPermission(final SecurityRoles securityRoles, final String action) {
+            final Boolean cached = implied != null ? implied.get(action) : null;
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+
+            final boolean result = securityRoles.impliesClusterPermissionPermission(action);
+            put(implied, action, result);
+            return result;
+        }
+
+        /**
+         * Returns the memoized result of {@link SecurityRoles#hasExplicitClusterPermissionPermission(String)}.
+         */
+        public boolean hasExplicitClusterPermission(final SecurityRoles securityRoles, final String action) {
+            final Boolean cached = explicit != null ? explicit.get(action) : null;
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+
+            final boolean result = securityRoles.hasExplicitClusterPermissionPermission(action);
+            put(explicit, action, result);
+            return result;
+        }
+
+        private void put(final Map<String, Boolean> decisions, final String action, final boolean result) {
+            misses.increment();
+            if (decisions == null) {
+                return;
+            }
+            if (decisions.size() >= MAX_ACTIONS_PER_ROLE_SET) {
+                decisions.clear();
+            }
+            decisions.put(action, result);
+        }
+    }
+}
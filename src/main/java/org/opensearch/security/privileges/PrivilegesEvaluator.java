@@ -142,6 +142,7 @@ public class PrivilegesEvaluator {
     private final PitPrivilegesEvaluator pitPrivilegesEvaluator;
     private DynamicConfigModel dcm;
     private final NamedXContentRegistry namedXContentRegistry;
+    private final ClusterPermissionDecisionCache clusterPermissionDecisionCache;
 
     public PrivilegesEvaluator(
         final ClusterService clusterService,
@@ -177,11 +178,13 @@ public class PrivilegesEvaluator {
         termsAggregationEvaluator = new TermsAggregationEvaluator();
         pitPrivilegesEvaluator = new PitPrivilegesEvaluator();
         this.namedXContentRegistry = namedXContentRegistry;
+        this.clusterPermissionDecisionCache = new ClusterPermissionDecisionCache(settings);
     }
 
     @Subscribe
     public void onConfigModelChanged(ConfigModel configModel) {
         this.configModel = configModel;
+        this.clusterPermissionDecisionCache.clear();
     }
 
     @Subscribe
@@ -199,8 +202,13 @@ public class PrivilegesEvaluator {
     }
 
     private boolean hasRestAdminPermissions(final Set<String> roles, String permission) {
+        final ClusterPermissionDecisionCache.RoleSetDecisions decisions = clusterPermissionDecisionCache.get(roles);
         final SecurityRoles securityRoles = getSecurityRoles(roles);
-        return securityRoles.hasExplicitClusterPermissionPermission(permission);
+        return decisions.hasExplicitClusterPermission(securityRoles, permission);
+    }
+
+    public ClusterPermissionDecisionCache getClusterPermissionDecisionCache() {
+        return clusterPermissionDecisionCache;
     }
 
     public boolean isInitialized() {
@@ -279,6 +287,8 @@ public class PrivilegesEvaluator {
             context.setMappedRoles(mappedRoles);
         }
         presponse.resolvedSecurityRoles.addAll(mappedRoles);
+        // must be obtained before the security roles, see ClusterPermissionDecisionCache
+        final ClusterPermissionDecisionCache.RoleSetDecisions clusterPermissionDecisions = clusterPermissionDecisionCache.get(mappedRoles);
         final SecurityRoles securityRoles = getSecurityRoles(mappedRoles);
 
         // Add the security roles for this user so that they can be used for DLS parameter substitution.
@@ -300,7 +310,7 @@ public class PrivilegesEvaluator {
             // No further access check for the default tenant is necessary, as access will be also checked on the TransportShardBulkAction
             // level.
 
-            if (!securityRoles.impliesClusterPermissionPermission(action0)) {
+            if (!clusterPermissionDecisions.impliesClusterPermission(securityRoles, action0)) {
                 presponse.missingPrivileges.add(action0);
                 presponse.allowed = false;
                 log.info(
@@ -368,7 +378,7 @@ public class PrivilegesEvaluator {
                 return presponse;
             }
 
-            if (!securityRoles.impliesClusterPermissionPermission(action0)) {
+            if (!clusterPermissionDecisions.impliesClusterPermission(securityRoles, action0)) {
                 presponse.missingPrivileges.add(action0);
                 presponse.allowed = false;
                 log.info(
@@ -10,6 +10,8 @@
  */
 package org.opensearch.security.privileges;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,35 +32,39 @@ public class UserAttributes {
             return orig;
         }
 
-        orig = orig.replace("${user.name}", user.getName()).replace("${user_name}", user.getName());
-        orig = replaceRoles(orig, user);
-        orig = replaceSecurityRoles(orig, user);
-        for (Map.Entry<String, String> entry : user.getCustomAttributesMap().entrySet()) {
-            if (entry == null || entry.getKey() == null || entry.getValue() == null) {
-                continue;
-            }
-            orig = orig.replace("${" + entry.getKey() + "}", entry.getValue());
-            orig = orig.replace("${" + entry.getKey().replace('.', '_') + "}", entry.getValue());
-        }
-        return orig;
+        return Template.compile(orig).expand(user);
     }
 
-    private static String replaceRoles(final String orig, final User user) {
-        String retVal = orig;
-        if (orig.contains("${user.roles}") || orig.contains("${user_roles}")) {
-            final String commaSeparatedRoles = toQuotedCommaSeparatedString(user.getRoles());
-            retVal = orig.replace("${user.roles}", commaSeparatedRoles).replace("${user_roles}", commaSeparatedRoles);
+    /**
+     * Resolves the value of a variable, or returns null if the variable is unknown.
+     */
+    private static String resolve(final String variable, final User user) {
+        switch (variable) {
+            case "user.name":
+            case "user_name":
+                return user.getName();
+            case "user.roles":
+            case "user_roles":
+                return toQuotedCommaSeparatedString(user.getRoles());
+            case "user.securityRoles":
+            case "user_securityRoles":
+                return toQuotedCommaSeparatedString(user.getSecurityRoles());
+            default:
+                final Map<String, String> attributes = user.getCustomAttributesMap();
+                final String value = attributes.get(variable);
+                if (value != null || variable.indexOf('_') < 0) {
+                    return value;
+                }
+                // custom attributes can also be referenced with '_' instead of '.'
+                synchronized (attributes) {
+                    for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                        if (entry.getKey() != null && entry.getValue() != null && entry.getKey().replace('.', '_').equals(variable)) {
+                            return entry.getValue();
+                        }
+                    }
+                }
+                return null;
         }
-        return retVal;
-    }
-
-    private static String replaceSecurityRoles(final String orig, final User user) {
-        String retVal = orig;
-        if (orig.contains("${user.securityRoles}") || orig.contains("${user_securityRoles}")) {
-            final String commaSeparatedRoles = toQuotedCommaSeparatedString(user.getSecurityRoles());
-            retVal = orig.replace("${user.securityRoles}", commaSeparatedRoles).replace("${user_securityRoles}", commaSeparatedRoles);
-        }
-        return retVal;
     }
 
     private static String toQuotedCommaSeparatedString(final Set<String> roles) {
@@ -66,4 +72,76 @@ public class UserAttributes {
             return new StringBuilder(s.length() + 2).append('"').append(s).append('"').toString();
         }));
     }
+
+    /**
+     * An index pattern or DLS query which is parsed once into its literal parts and the ${...} variables between them.
+     * Variables which are unknown for a user are kept as they are. Substituted values are not expanded again.
+     */
+    public static final class Template {
+        private final String source;
+        // the literal parts around the variables, one more than the variables; null if there are no variables
+        private final String[] literals;
+        private final String[] variables;
+
+        private Template(final String source, final String[] literals, final String[] variables) {
+            this.source = source;
+            this.literals = literals;
+            this.variables = variables;
+        }
+
+        public static Template compile(final String source) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> variables = new ArrayList<>();
+            int start = 0;
+            int begin;
+            while ((begin = source.indexOf("${", start)) >= 0) {
+                final int end = source.indexOf('}', begin + 2);
+                if (end < 0) {
+                    break;
+                }
+                // the innermost variable, as in "${a${b}"
+                begin = source.lastIndexOf("${", end - 2);
+                literals.add(source.substring(start, begin));
+                variables.add(source.substring(begin + 2, end));
+                start = end + 1;
+            }
+
+            if (variables.isEmpty()) {
+                return new Template(source, null, null);
+            }
+            literals.add(source.substring(start));
+            return new Template(source, literals.toArray(new String[0]), variables.toArray(new String[0]));
+        }
+
+        public boolean hasVariables() {
+            return variables != null;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String expand(final User user) {
+            if (user == null || variables == null) {
+                return source;
+            }
+
+            final StringBuilder result = new StringBuilder(source.length() + 32);
+            for (int i = 0; i < variables.length; i++) {
+                result.append(literals[i]);
+                final String value = resolve(variables[i], user);
+                if (value != null) {
+                    result.append(value);
+                } else {
+                    result.append("${").append(variables[i]).append('}');
+                }
+            }
+            return result.append(literals[variables.length]).toString();
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
 }
@@ -12,7 +12,6 @@
 package org.opensearch.security.rest;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.util.List;
 
 import com.google.common.collect.ImmutableList;
@@ -31,6 +30,7 @@ import org.opensearch.security.action.configupdate.ConfigUpdateRequest;
 import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.filter.SecurityRequestFactory;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
@@ -46,7 +46,7 @@ public class SecurityConfigUpdateAction extends BaseRestHandler {
     private final ThreadContext threadContext;
     private final AdminDNs adminDns;
     private final Settings settings;
-    private final Path configPath;
+    private final CertificateRevocationService revocationService;
     private final PrincipalExtractor principalExtractor;
 
     public SecurityConfigUpdateAction(
@@ -54,14 +54,14 @@ public class SecurityConfigUpdateAction extends BaseRestHandler {
         final RestController controller,
         final ThreadPool threadPool,
         final AdminDNs adminDns,
-        Path configPath,
+        CertificateRevocationService revocationService,
         PrincipalExtractor principalExtractor
     ) {
         super();
         this.threadContext = threadPool.getThreadContext();
         this.adminDns = adminDns;
         this.settings = settings;
-        this.configPath = configPath;
+        this.revocationService = revocationService;
         this.principalExtractor = principalExtractor;
     }
 
@@ -76,7 +76,7 @@ public class SecurityConfigUpdateAction extends BaseRestHandler {
 
         SSLRequestHelper.SSLInfo sslInfo = SSLRequestHelper.getSSLInfo(
             settings,
-            configPath,
+            revocationService,
             SecurityRequestFactory.from(request),
             principalExtractor
         );
@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.rest;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions.NodesResponseRestListener;
+import org.opensearch.security.action.stats.StatsAction;
+import org.opensearch.security.action.stats.StatsRequest;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+import static org.opensearch.security.dlic.rest.support.Utils.PLUGIN_ROUTE_PREFIX;
+import static org.opensearch.security.dlic.rest.support.Utils.addRoutesPrefix;
+
+/**
+ * Returns the statistics of the caches of the security plugin per node, see
+ * {@link org.opensearch.security.action.stats.SecurityStats}.
+ */
+public class SecurityStatsAction extends BaseRestHandler {
+    private static final List<Route> routes = addRoutesPrefix(
+        ImmutableList.of(new Route(GET, "/stats"), new Route(GET, "/stats/{nodeId}")),
+        PLUGIN_ROUTE_PREFIX
+    );
+
+    @Override
+    public List<Route> routes() {
+        return routes;
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(final RestRequest request, final NodeClient client) throws IOException {
+        final String[] nodeIds = request.paramAsStringArrayOrEmptyIfAll("nodeId");
+        return channel -> client.execute(StatsAction.INSTANCE, new StatsRequest(nodeIds), new NodesResponseRestListener<>(channel));
+    }
+
+    @Override
+    public String getName() {
+        return "Security Plugin Stats";
+    }
+}
@@ -12,7 +12,6 @@
 package org.opensearch.security.rest;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -34,6 +33,7 @@ import org.opensearch.rest.RestRequest;
 import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.filter.SecurityRequestFactory;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
 import org.opensearch.security.ssl.util.SSLRequestHelper.SSLInfo;
 import org.opensearch.security.support.ConfigConstants;
@@ -62,7 +62,7 @@ public class SecurityWhoAmIAction extends BaseRestHandler {
     private final Logger log = LogManager.getLogger(this.getClass());
     private final AdminDNs adminDns;
     private final Settings settings;
-    private final Path configPath;
+    private final CertificateRevocationService revocationService;
     private final PrincipalExtractor principalExtractor;
     private final List<String> nodesDn;
 
@@ -71,13 +71,13 @@ public class SecurityWhoAmIAction extends BaseRestHandler {
         final RestController controller,
         final ThreadPool threadPool,
         final AdminDNs adminDns,
-        Path configPath,
+        CertificateRevocationService revocationService,
         PrincipalExtractor principalExtractor
     ) {
         super();
         this.adminDns = adminDns;
         this.settings = settings;
-        this.configPath = configPath;
+        this.revocationService = revocationService;
         this.principalExtractor = principalExtractor;
 
         nodesDn = settings.getAsList(ConfigConstants.SECURITY_NODES_DN, Collections.emptyList());
@@ -100,7 +100,7 @@ public class SecurityWhoAmIAction extends BaseRestHandler {
                 try {
                     SSLInfo sslInfo = SSLRequestHelper.getSSLInfo(
                         settings,
-                        configPath,
+                        revocationService,
                         SecurityRequestFactory.from(request),
                         principalExtractor
                     );
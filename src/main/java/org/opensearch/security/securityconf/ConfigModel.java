@@ -40,5 +40,10 @@ public abstract class ConfigModel {
 
     public abstract SecurityRoles getSecurityRoles();
 
+    /**
+     * @return the version of the roles configuration this model was built from
+     */
+    public abstract String getRolesVersion();
+
     public abstract Set<String> getAllConfiguredTenantNames();
 }
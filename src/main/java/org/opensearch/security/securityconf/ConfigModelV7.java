@@ -17,7 +17,9 @@
 
 package org.opensearch.security.securityconf;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,6 +40,8 @@ import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
@@ -48,6 +52,7 @@ import org.apache.logging.log4j.Logger;
 
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.collect.Tuple;
@@ -72,8 +77,14 @@ import static org.opensearch.cluster.metadata.IndexAbstraction.Type.DATA_STREAM;
 
 public class ConfigModelV7 extends ConfigModel {
 
+    private static final int MAPPED_ROLES_CACHE_SIZE = 10000;
+    private static final long MAPPED_ROLES_CACHE_TTL_MINUTES = 10;
+
     protected final Logger log = LogManager.getLogger(this.getClass());
     private ConfigConstants.RolesMappingResolution rolesMappingResolution;
+    private final boolean precomputedIndexMatrixEnabled;
+    private final IndexPatternResolutionCache indexPatternResolutionCache;
+    private final ReverseDnsResolver reverseDnsResolver;
     private FlattenedActionGroups actionGroups;
     private SecurityRoles securityRoles = null;
     private TenantHolder tenantHolder;
@@ -89,9 +100,36 @@ public class ConfigModelV7 extends ConfigModel {
         DynamicConfigModel dcm,
         Settings opensearchSettings
     ) {
+        this(roles, rolemappings, actiongroups, tenants, dcm, opensearchSettings, null);
+    }
+
+    public ConfigModelV7(
+        SecurityDynamicConfiguration<RoleV7> roles,
+        SecurityDynamicConfiguration<RoleMappingsV7> rolemappings,
+        SecurityDynamicConfiguration<ActionGroupsV7> actiongroups,
+        SecurityDynamicConfiguration<TenantV7> tenants,
+        DynamicConfigModel dcm,
+        Settings opensearchSettings,
+        IndexPatternResolutionCache indexPatternResolutionCache
+    ) {
+        this(roles, rolemappings, actiongroups, tenants, dcm, opensearchSettings, indexPatternResolutionCache, null);
+    }
+
+    public ConfigModelV7(
+        SecurityDynamicConfiguration<RoleV7> roles,
+        SecurityDynamicConfiguration<RoleMappingsV7> rolemappings,
+        SecurityDynamicConfiguration<ActionGroupsV7> actiongroups,
+        SecurityDynamicConfiguration<TenantV7> tenants,
+        DynamicConfigModel dcm,
+        Settings opensearchSettings,
+        IndexPatternResolutionCache indexPatternResolutionCache,
+        ReverseDnsResolver reverseDnsResolver
+    ) {
 
         this.roles = roles;
         this.tenants = tenants;
+        this.indexPatternResolutionCache = indexPatternResolutionCache;
+        this.reverseDnsResolver = reverseDnsResolver;
 
         try {
             rolesMappingResolution = ConfigConstants.RolesMappingResolution.valueOf(
@@ -105,6 +143,11 @@ public class ConfigModelV7 extends ConfigModel {
             rolesMappingResolution = ConfigConstants.RolesMappingResolution.MAPPING_ONLY;
         }
 
+        precomputedIndexMatrixEnabled = opensearchSettings.getAsBoolean(
+            ConfigConstants.SECURITY_PRIVILEGES_PRECOMPUTED_INDEX_MATRIX_ENABLED,
+            ConfigConstants.SECURITY_PRIVILEGES_PRECOMPUTED_INDEX_MATRIX_ENABLED_DEFAULT
+        );
+
         actionGroups = actiongroups != null ? new FlattenedActionGroups(actiongroups) : FlattenedActionGroups.EMPTY;
         securityRoles = reload(roles);
         tenantHolder = new TenantHolder(roles, tenants);
@@ -119,6 +162,10 @@ public class ConfigModelV7 extends ConfigModel {
         return securityRoles;
     }
 
+    public String getRolesVersion() {
+        return roles.getPrimaryTerm() + "/" + roles.getSeqNo();
+    }
+
     private SecurityRoles reload(SecurityDynamicConfiguration<RoleV7> settings) {
 
         final Set<Future<SecurityRole>> futures = new HashSet<>(5000);
@@ -164,6 +211,7 @@ public class ConfigModelV7 extends ConfigModel {
                             _indexPattern.addFlsFields(fls);
                             _indexPattern.addMaskedFields(maskedFields);
                             _indexPattern.addPerm(actionGroups.resolve(permittedAliasesIndex.getAllowed_actions()));
+                            _indexPattern.setResolutionCache(indexPatternResolutionCache);
 
                             /*for(Entry<String, List<String>> type: permittedAliasesIndex.getValue().getTypes(-).entrySet()) {
                                 TypePerm typePerm = new TypePerm(type.getKey());
@@ -195,9 +243,20 @@ public class ConfigModelV7 extends ConfigModel {
         }
 
         try {
-            SecurityRoles _securityRoles = new SecurityRoles(futures.size());
+            final Set<SecurityRole> _roles = new HashSet<>(futures.size());
             for (Future<SecurityRole> future : futures) {
-                _securityRoles.addSecurityRole(future.get());
+                final SecurityRole securityRole = future.get();
+                if (securityRole != null) {
+                    _roles.add(securityRole);
+                }
+            }
+
+            final SecurityRoles _securityRoles = new SecurityRoles(
+                futures.size(),
+                precomputedIndexMatrixEnabled ? new IndexPermissionMatrix(_roles) : null
+            );
+            for (SecurityRole securityRole : _roles) {
+                _securityRoles.addSecurityRole(securityRole);
             }
 
             return _securityRoles;
@@ -218,9 +277,16 @@ public class ConfigModelV7 extends ConfigModel {
         protected final Logger log = LogManager.getLogger(this.getClass());
 
         final Set<SecurityRole> roles;
+        // shared by all SecurityRoles instances derived from the same roles configuration; null if disabled
+        private final IndexPermissionMatrix indexPermissionMatrix;
 
         private SecurityRoles(int roleCount) {
-            roles = new HashSet<>(roleCount);
+            this(roleCount, null);
+        }
+
+        private SecurityRoles(int roleCount, IndexPermissionMatrix indexPermissionMatrix) {
+            this.roles = new HashSet<>(roleCount);
+            this.indexPermissionMatrix = indexPermissionMatrix;
         }
 
         private SecurityRoles addSecurityRole(SecurityRole securityRole) {
@@ -264,7 +330,7 @@ public class ConfigModelV7 extends ConfigModel {
         }
 
         public SecurityRoles filter(Set<String> keep) {
-            final SecurityRoles retVal = new SecurityRoles(roles.size());
+            final SecurityRoles retVal = new SecurityRoles(roles.size(), indexPermissionMatrix);
             for (SecurityRole sr : roles) {
                 if (keep.contains(sr.getName())) {
                     retVal.addSecurityRole(sr);
@@ -377,6 +443,78 @@ public class ConfigModelV7 extends ConfigModel {
             return new EvaluatedDlsFlsConfig(dlsQueriesByIndex, flsFields, maskedFieldsMap);
         }
 
+        @Override
+        public EvaluatedDlsFlsConfig getDlsFls(
+            User user,
+            String index,
+            boolean dfmEmptyOverwritesAll,
+            IndexNameExpressionResolver resolver,
+            ClusterService cs
+        ) {
+
+            if (!containsDlsFlsConfig()) {
+                return EvaluatedDlsFlsConfig.EMPTY;
+            }
+
+            final Set<String> dlsQueries = new HashSet<>();
+            final Set<String> flsFields = new HashSet<>();
+            final Set<String> maskedFields = new HashSet<>();
+            boolean noDls = false;
+            boolean noFls = false;
+            boolean noMaskedFields = false;
+
+            for (SecurityRole role : roles) {
+                for (IndexPattern ip : role.getIpatterns()) {
+                    if (!appliesTo(ip.concreteIndexNames(user, resolver, cs, true), index)) {
+                        continue;
+                    }
+
+                    final String dls = ip.getDlsQuery(user);
+                    if (dls != null && dls.length() > 0) {
+                        dlsQueries.add(dls);
+                    } else {
+                        noDls = true;
+                    }
+
+                    if (ip.hasFlsFields()) {
+                        flsFields.addAll(ip.getFls());
+                    } else {
+                        noFls = true;
+                    }
+
+                    if (ip.hasMaskedFields()) {
+                        maskedFields.addAll(ip.getMaskedFields());
+                    } else {
+                        noMaskedFields = true;
+                    }
+                }
+            }
+
+            return new EvaluatedDlsFlsConfig(
+                restrictionOf(index, dlsQueries, dfmEmptyOverwritesAll && noDls),
+                restrictionOf(index, flsFields, dfmEmptyOverwritesAll && noFls),
+                restrictionOf(index, maskedFields, dfmEmptyOverwritesAll && noMaskedFields)
+            );
+        }
+
+        /**
+         * Mirrors SecurityUtils.evalMap() on the result of getDlsFls(): an index pattern which could not be resolved
+         * is kept as is and matches the index by wildcard.
+         */
+        private static boolean appliesTo(final Set<String> concreteIndices, final String index) {
+            if (concreteIndices.contains(index)) {
+                return true;
+            }
+            return concreteIndices.size() == 1 && WildcardMatcher.from(concreteIndices.iterator().next()).test(index);
+        }
+
+        private static Map<String, Set<String>> restrictionOf(final String index, final Set<String> values, final boolean overwritten) {
+            if (values.isEmpty() || overwritten) {
+                return Collections.emptyMap();
+            }
+            return Collections.singletonMap(index, Collections.unmodifiableSet(values));
+        }
+
         // opensearchDashboards special only, terms eval
         public Set<String> getAllPermittedIndicesForDashboards(
             Resolved resolved,
@@ -395,9 +533,14 @@ public class ConfigModelV7 extends ConfigModel {
 
         // dnfof only
         public Set<String> reduce(Resolved resolved, User user, String[] actions, IndexNameExpressionResolver resolver, ClusterService cs) {
-            Set<String> retVal = new HashSet<>();
-            for (SecurityRole sr : roles) {
-                retVal.addAll(sr.getAllResolvedPermittedIndices(resolved, user, actions, resolver, cs, Function.identity()));
+            Set<String> retVal = indexPermissionMatrix != null
+                ? indexPermissionMatrix.reduce(roles, resolved, user, actions, resolver, cs)
+                : null;
+            if (retVal == null) {
+                retVal = new HashSet<>();
+                for (SecurityRole sr : roles) {
+                    retVal.addAll(sr.getAllResolvedPermittedIndices(resolved, user, actions, resolver, cs, Function.identity()));
+                }
             }
             if (log.isDebugEnabled()) {
                 log.debug("Reduced requested resolved indices {} to permitted indices {}.", resolved, retVal.toString());
@@ -407,6 +550,12 @@ public class ConfigModelV7 extends ConfigModel {
 
         // return true on success
         public boolean get(Resolved resolved, User user, String[] actions, IndexNameExpressionResolver resolver, ClusterService cs) {
+            if (indexPermissionMatrix != null) {
+                final Boolean implied = indexPermissionMatrix.impliesTypePerm(roles, false, resolved, user, actions, resolver, cs);
+                if (implied != null) {
+                    return implied;
+                }
+            }
             for (SecurityRole sr : roles) {
                 if (ConfigModelV7.impliesTypePerm(sr.getIpatterns(), resolved, user, actions, resolver, cs)) {
                     return true;
@@ -469,6 +618,12 @@ public class ConfigModelV7 extends ConfigModel {
             IndexNameExpressionResolver resolver,
             ClusterService cs
         ) {
+            if (indexPermissionMatrix != null) {
+                final Boolean implied = indexPermissionMatrix.impliesTypePerm(roles, true, resolved, user, actions, resolver, cs);
+                if (implied != null) {
+                    return implied;
+                }
+            }
             Set<IndexPattern> ipatterns = new HashSet<ConfigModelV7.IndexPattern>();
             roles.stream().forEach(p -> ipatterns.addAll(p.getIpatterns()));
             return ConfigModelV7.impliesTypePerm(ipatterns, resolved, user, actions, resolver, cs);
@@ -569,22 +724,7 @@ public class ConfigModelV7 extends ConfigModel {
                 // }
                 // }
                 if (patternMatch) {
-                    // resolved but can contain patterns for nonexistent indices
-                    final WildcardMatcher permitted = WildcardMatcher.from(p.attemptResolveIndexNames(user, resolver, cs)); // maybe they do
-                                                                                                                            // not exist
-                    final Set<String> res = new HashSet<>();
-                    if (!resolved.isLocalAll() && !resolved.getAllIndices().contains("*") && !resolved.getAllIndices().contains("_all")) {
-                        // resolved but can contain patterns for nonexistent indices
-                        resolved.getAllIndices().stream().filter(permitted).forEach(res::add);
-                    } else {
-                        // we want all indices so just return what's permitted
-
-                        // #557
-                        // final String[] allIndices = resolver.concreteIndexNames(cs.state(), IndicesOptions.lenientExpandOpen(), "*");
-                        final String[] allIndices = cs.state().metadata().getConcreteAllOpenIndices();
-                        Arrays.stream(allIndices).filter(permitted).forEach(res::add);
-                    }
-                    retVal.addAll(res);
+                    retVal.addAll(resolvePermittedIndices(p, resolved, user, resolver, cs));
                 }
             }
 
@@ -592,6 +732,32 @@ public class ConfigModelV7 extends ConfigModel {
             return Collections.unmodifiableSet(retVal);
         }
 
+        // get the requested indices which are covered by the given index pattern
+        static Set<String> resolvePermittedIndices(
+            IndexPattern p,
+            Resolved resolved,
+            User user,
+            IndexNameExpressionResolver resolver,
+            ClusterService cs
+        ) {
+            // resolved but can contain patterns for nonexistent indices
+            final WildcardMatcher permitted = WildcardMatcher.from(p.attemptResolveIndexNames(user, resolver, cs)); // maybe they do
+                                                                                                                    // not exist
+            final Set<String> res = new HashSet<>();
+            if (!resolved.isLocalAll() && !resolved.getAllIndices().contains("*") && !resolved.getAllIndices().contains("_all")) {
+                // resolved but can contain patterns for nonexistent indices
+                resolved.getAllIndices().stream().filter(permitted).forEach(res::add);
+            } else {
+                // we want all indices so just return what's permitted
+
+                // #557
+                // final String[] allIndices = resolver.concreteIndexNames(cs.state(), IndicesOptions.lenientExpandOpen(), "*");
+                final String[] allIndices = cs.state().metadata().getConcreteAllOpenIndices();
+                Arrays.stream(allIndices).filter(permitted).forEach(res::add);
+            }
+            return res;
+        }
+
         /*private SecurityRole addTenant(Tenant tenant) {
             if (tenant != null) {
                 this.tenants.add(tenant);
@@ -664,14 +830,23 @@ public class ConfigModelV7 extends ConfigModel {
     // sg roles
     public static class IndexPattern {
         private final String indexPattern;
+        private final UserAttributes.Template indexPatternTemplate;
         private String dlsQuery;
+        private UserAttributes.Template dlsQueryTemplate;
         private final Set<String> fls = new HashSet<>();
         private final Set<String> maskedFields = new HashSet<>();
         private final Set<String> perms = new HashSet<>();
+        private IndexPatternResolutionCache resolutionCache;
 
         public IndexPattern(String indexPattern) {
             super();
             this.indexPattern = Objects.requireNonNull(indexPattern);
+            this.indexPatternTemplate = UserAttributes.Template.compile(indexPattern);
+        }
+
+        IndexPattern setResolutionCache(IndexPatternResolutionCache resolutionCache) {
+            this.resolutionCache = resolutionCache;
+            return this;
         }
 
         public IndexPattern addFlsFields(List<String> flsFields) {
@@ -698,6 +873,7 @@ public class ConfigModelV7 extends ConfigModel {
         public IndexPattern setDlsQuery(String dlsQuery) {
             if (dlsQuery != null) {
                 this.dlsQuery = dlsQuery;
+                this.dlsQueryTemplate = UserAttributes.Template.compile(dlsQuery);
             }
             return this;
         }
@@ -754,8 +930,12 @@ public class ConfigModelV7 extends ConfigModel {
                 + perms;
         }
 
+        public String getRawIndexPattern() {
+            return indexPattern;
+        }
+
         public String getUnresolvedIndexPattern(User user) {
-            return UserAttributes.replaceProperties(indexPattern, user);
+            return indexPatternTemplate.expand(user);
         }
 
         /** Finds the indices accessible to the user and resolves them to concrete names */
@@ -786,14 +966,35 @@ public class ConfigModelV7 extends ConfigModel {
             final boolean includeClosed
         ) {
             final String unresolved = getUnresolvedIndexPattern(user);
+            final ClusterState state = cs.state();
+            final Set<String> resolved = resolutionCache != null
+                ? resolutionCache.get(
+                    unresolved,
+                    includeClosed,
+                    state.metadata().version(),
+                    () -> resolveIndexPattern(unresolved, resolver, state, includeClosed)
+                )
+                : resolveIndexPattern(unresolved, resolver, state, includeClosed);
+
+            if (appendUnresolved || resolved.isEmpty()) {
+                return new ImmutableSet.Builder<String>().addAll(resolved).add(unresolved).build();
+            }
+            return resolved;
+        }
+
+        private static Set<String> resolveIndexPattern(
+            final String unresolved,
+            final IndexNameExpressionResolver resolver,
+            final ClusterState state,
+            final boolean includeClosed
+        ) {
             final ImmutableSet.Builder<String> resolvedIndices = new ImmutableSet.Builder<>();
             final IndicesOptions expansionMode = includeClosed ? IndicesOptions.lenientExpand() : IndicesOptions.lenientExpandOpen();
 
             final WildcardMatcher matcher = WildcardMatcher.from(unresolved);
             boolean includeDataStreams = true;
             if (!(matcher instanceof WildcardMatcher.Exact)) {
-                final String[] aliasesAndDataStreamsForPermittedPattern = cs.state()
-                    .getMetadata()
+                final String[] aliasesAndDataStreamsForPermittedPattern = state.getMetadata()
                     .getIndicesLookup()
                     .entrySet()
                     .stream()
@@ -803,7 +1004,7 @@ public class ConfigModelV7 extends ConfigModel {
                     .toArray(String[]::new);
                 if (aliasesAndDataStreamsForPermittedPattern.length > 0) {
                     final String[] resolvedAliasesAndDataStreamIndices = resolver.concreteIndexNames(
-                        cs.state(),
+                        state,
                         expansionMode,
                         includeDataStreams,
                         aliasesAndDataStreamsForPermittedPattern
@@ -814,7 +1015,7 @@ public class ConfigModelV7 extends ConfigModel {
 
             if (!(unresolved == null || unresolved.isBlank())) {
                 final String[] resolvedIndicesFromPattern = resolver.concreteIndexNames(
-                    cs.state(),
+                    state,
                     expansionMode,
                     includeDataStreams,
                     unresolved
@@ -822,14 +1023,11 @@ public class ConfigModelV7 extends ConfigModel {
                 resolvedIndices.addAll(Arrays.asList(resolvedIndicesFromPattern));
             }
 
-            if (appendUnresolved || resolvedIndices.build().isEmpty()) {
-                resolvedIndices.add(unresolved);
-            }
             return resolvedIndices.build();
         }
 
         public String getDlsQuery(User user) {
-            return UserAttributes.replaceProperties(dlsQuery, user);
+            return dlsQueryTemplate == null ? null : dlsQueryTemplate.expand(user);
         }
 
         public boolean hasDlsQuery() {
@@ -1153,15 +1351,18 @@ public class ConfigModelV7 extends ConfigModel {
 
     private class RoleMappingHolder {
 
-        private ListMultimap<String, String> users;
-        private ListMultimap<List<WildcardMatcher>, String> abars;
-        private ListMultimap<String, String> bars;
-        private ListMultimap<String, String> hosts;
+        private PatternIndex<String> users;
+        private PatternIndex<Integer> abarPatterns;
+        private List<BitSet> abarRequirements;
+        private List<List<String>> abarRoles;
+        private PatternIndex<String> bars;
+        private PatternIndex<String> hosts;
         private final String hostResolverMode;
-
-        private List<WildcardMatcher> userMatchers;
-        private List<WildcardMatcher> barMatchers;
-        private List<WildcardMatcher> hostMatchers;
+        // the mapped roles only depend on the user, the caller and the mappings of this holder
+        private final Cache<MappingKey, Set<String>> mappedRoles = CacheBuilder.newBuilder()
+            .maximumSize(MAPPED_ROLES_CACHE_SIZE)
+            .expireAfterWrite(MAPPED_ROLES_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
 
         private RoleMappingHolder(final SecurityDynamicConfiguration<RoleMappingsV7> rolemappings, final String hostResolverMode) {
 
@@ -1169,10 +1370,10 @@ public class ConfigModelV7 extends ConfigModel {
 
             if (roles != null) {
 
-                users = ArrayListMultimap.create();
-                abars = ArrayListMultimap.create();
-                bars = ArrayListMultimap.create();
-                hosts = ArrayListMultimap.create();
+                final ListMultimap<String, String> users = ArrayListMultimap.create();
+                final ListMultimap<Set<String>, String> abars = ArrayListMultimap.create();
+                final ListMultimap<String, String> bars = ArrayListMultimap.create();
+                final ListMultimap<String, String> hosts = ArrayListMultimap.create();
 
                 for (final Entry<String, RoleMappingsV7> roleMap : rolemappings.getCEntries().entrySet()) {
                     final String roleMapKey = roleMap.getKey();
@@ -1185,7 +1386,7 @@ public class ConfigModelV7 extends ConfigModel {
                     final Set<String> abar = new HashSet<>(roleMapValue.getAnd_backend_roles());
 
                     if (!abar.isEmpty()) {
-                        abars.put(WildcardMatcher.matchers(abar), roleMapKey);
+                        abars.put(abar, roleMapKey);
                     }
 
                     for (String bar : roleMapValue.getBackend_roles()) {
@@ -1197,67 +1398,97 @@ public class ConfigModelV7 extends ConfigModel {
                     }
                 }
 
-                userMatchers = WildcardMatcher.matchers(users.keySet());
-                barMatchers = WildcardMatcher.matchers(bars.keySet());
-                hostMatchers = WildcardMatcher.matchers(hosts.keySet());
+                // every distinct and_backend_roles pattern gets a bit, a mapping applies if the user roles match all its bits
+                final Map<String, Integer> abarPatternIds = new HashMap<>();
+                final ListMultimap<String, Integer> abarPatternsById = ArrayListMultimap.create();
+                abarRequirements = new ArrayList<>(abars.keySet().size());
+                abarRoles = new ArrayList<>(abars.keySet().size());
+                for (final Set<String> abar : abars.keySet()) {
+                    final BitSet requirement = new BitSet();
+                    for (final String pattern : abar) {
+                        requirement.set(abarPatternIds.computeIfAbsent(pattern, k -> {
+                            abarPatternsById.put(k, abarPatternIds.size());
+                            return abarPatternIds.size();
+                        }));
+                    }
+                    abarRequirements.add(requirement);
+                    abarRoles.add(abars.get(abar));
+                }
+
+                this.users = new PatternIndex<>(users);
+                this.abarPatterns = new PatternIndex<>(abarPatternsById);
+                this.bars = new PatternIndex<>(bars);
+                this.hosts = new PatternIndex<>(hosts);
             }
         }
 
         private Set<String> map(final User user, final TransportAddress caller) {
 
-            if (user == null || users == null || abars == null || bars == null || hosts == null) {
+            if (user == null || users == null || abarPatterns == null || bars == null || hosts == null) {
                 return Collections.emptySet();
             }
 
-            final Set<String> securityRoles = new HashSet<>(user.getSecurityRoles());
+            // with a resolver the host name is part of the key, so that roles mapped while the lookup was pending are replaced
+            String callerHostName = null;
+            if (reverseDnsResolver != null
+                && caller != null
+                && caller.address() != null
+                && "ip-hostname-lookup".equalsIgnoreCase(hostResolverMode)) {
+                callerHostName = reverseDnsResolver.resolve(caller.address().getAddress());
+            }
+            final MappingKey key = new MappingKey(user, caller, hostResolverMode, callerHostName);
+            try {
+                return mappedRoles.get(key, () -> map(key));
+            } catch (ExecutionException e) {
+                throw ExceptionsHelper.convertToOpenSearchException(e);
+            }
+        }
+
+        private Set<String> map(final MappingKey key) {
+
+            final Set<String> securityRoles = new HashSet<>(key.securityRoles);
 
             if (rolesMappingResolution == ConfigConstants.RolesMappingResolution.BOTH
                 || rolesMappingResolution == ConfigConstants.RolesMappingResolution.BACKENDROLES_ONLY) {
                 if (log.isDebugEnabled()) {
-                    log.debug("Pass backendroles from {}", user);
+                    log.debug("Pass backendroles {} from {}", key.backendRoles, key.userName);
                 }
-                securityRoles.addAll(user.getRoles());
+                securityRoles.addAll(key.backendRoles);
             }
 
             if (((rolesMappingResolution == ConfigConstants.RolesMappingResolution.BOTH
                 || rolesMappingResolution == ConfigConstants.RolesMappingResolution.MAPPING_ONLY))) {
 
-                for (String p : WildcardMatcher.getAllMatchingPatterns(userMatchers, user.getName())) {
-                    securityRoles.addAll(users.get(p));
-                }
-                for (String p : WildcardMatcher.getAllMatchingPatterns(barMatchers, user.getRoles())) {
-                    securityRoles.addAll(bars.get(p));
-                }
+                users.forEachMatch(key.userName, securityRoles::add);
+                bars.forEachMatch(key.backendRoles, securityRoles::add);
 
-                for (List<WildcardMatcher> patterns : abars.keySet()) {
-                    if (patterns.stream().allMatch(p -> p.matchAny(user.getRoles()))) {
-                        securityRoles.addAll(abars.get(patterns));
+                if (!abarRequirements.isEmpty()) {
+                    final BitSet matchedPatterns = new BitSet();
+                    abarPatterns.forEachMatch(key.backendRoles, matchedPatterns::set);
+
+                    for (int i = 0; i < abarRequirements.size(); i++) {
+                        final BitSet missing = (BitSet) abarRequirements.get(i).clone();
+                        missing.andNot(matchedPatterns);
+                        if (missing.isEmpty()) {
+                            securityRoles.addAll(abarRoles.get(i));
+                        }
                     }
                 }
 
-                if (caller != null) {
+                if (key.caller != null) {
                     // IPV4 or IPv6 (compressed and without scope identifiers)
-                    final String ipAddress = caller.getAddress();
+                    hosts.forEachMatch(key.caller.getAddress(), securityRoles::add);
 
-                    for (String p : WildcardMatcher.getAllMatchingPatterns(hostMatchers, ipAddress)) {
-                        securityRoles.addAll(hosts.get(p));
-                    }
-
-                    if (caller.address() != null
+                    if (key.caller.address() != null
                         && (hostResolverMode.equalsIgnoreCase("ip-hostname") || hostResolverMode.equalsIgnoreCase("ip-hostname-lookup"))) {
-                        final String hostName = caller.address().getHostString();
-
-                        for (String p : WildcardMatcher.getAllMatchingPatterns(hostMatchers, hostName)) {
-                            securityRoles.addAll(hosts.get(p));
-                        }
+                        hosts.forEachMatch(key.caller.address().getHostString(), securityRoles::add);
                     }
 
-                    if (caller.address() != null && hostResolverMode.equalsIgnoreCase("ip-hostname-lookup")) {
-
-                        final String resolvedHostName = caller.address().getHostName();
-
-                        for (String p : WildcardMatcher.getAllMatchingPatterns(hostMatchers, resolvedHostName)) {
-                            securityRoles.addAll(hosts.get(p));
+                    if (key.caller.address() != null && hostResolverMode.equalsIgnoreCase("ip-hostname-lookup")) {
+                        if (reverseDnsResolver == null) {
+                            hosts.forEachMatch(key.caller.address().getHostName(), securityRoles::add);
+                        } else if (key.callerHostName != null) {
+                            hosts.forEachMatch(key.callerHostName, securityRoles::add);
                         }
                     }
                 }
@@ -1268,6 +1499,58 @@ public class ConfigModelV7 extends ConfigModel {
         }
     }
 
+    /**
+     * The properties of a user and a caller which the mapped security roles depend on.
+     */
+    private static final class MappingKey {
+        private final String userName;
+        private final Set<String> backendRoles;
+        private final Set<String> securityRoles;
+        // not part of the key, the ports of the callers do not matter
+        private final TransportAddress caller;
+        private final String callerAddress;
+        // the host name the caller was connected with, only relevant if host names are mapped
+        private final String callerHostString;
+        // the resolved host name of the caller, only set in ip-hostname-lookup mode
+        private final String callerHostName;
+        private final int hashCode;
+
+        private MappingKey(final User user, final TransportAddress caller, final String hostResolverMode, final String callerHostName) {
+            this.userName = user.getName();
+            this.backendRoles = ImmutableSet.copyOf(user.getRoles());
+            this.securityRoles = ImmutableSet.copyOf(user.getSecurityRoles());
+            this.caller = caller;
+            this.callerAddress = caller != null ? caller.getAddress() : null;
+            this.callerHostString = caller != null && caller.address() != null && !"ip-only".equalsIgnoreCase(hostResolverMode)
+                ? caller.address().getHostString()
+                : null;
+            this.callerHostName = callerHostName;
+            this.hashCode = Objects.hash(userName, backendRoles, securityRoles, callerAddress, callerHostString, callerHostName);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MappingKey)) {
+                return false;
+            }
+            final MappingKey that = (MappingKey) o;
+            return Objects.equals(userName, that.userName)
+                && backendRoles.equals(that.backendRoles)
+                && securityRoles.equals(that.securityRoles)
+                && Objects.equals(callerAddress, that.callerAddress)
+                && Objects.equals(callerHostString, that.callerHostString)
+                && Objects.equals(callerHostName, that.callerHostName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     public Map<String, Boolean> mapTenants(User user, Set<String> roles) {
         return tenantHolder.mapTenants(user, roles);
     }
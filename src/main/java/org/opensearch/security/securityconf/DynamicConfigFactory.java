@@ -127,6 +127,8 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
     private final Path configPath;
     private final InternalAuthenticationBackend iab;
     private final ClusterInfoHolder cih;
+    private final IndexPatternResolutionCache indexPatternResolutionCache;
+    private final ReverseDnsResolver reverseDnsResolver;
 
     SecurityDynamicConfiguration<?> config;
 
@@ -137,13 +139,17 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
         Client client,
         ThreadPool threadPool,
         ClusterInfoHolder cih,
-        PasswordHasher passwordHasher
+        PasswordHasher passwordHasher,
+        IndexPatternResolutionCache indexPatternResolutionCache,
+        ReverseDnsResolver reverseDnsResolver
     ) {
         super();
         this.cr = cr;
         this.opensearchSettings = opensearchSettings;
         this.configPath = configPath;
         this.cih = cih;
+        this.indexPatternResolutionCache = indexPatternResolutionCache;
+        this.reverseDnsResolver = reverseDnsResolver;
         this.iab = new InternalAuthenticationBackend(passwordHasher);
 
         if (opensearchSettings.getAsBoolean(ConfigConstants.SECURITY_UNSUPPORTED_LOAD_STATIC_RESOURCES, true)) {
@@ -271,7 +277,16 @@ public class DynamicConfigFactory implements Initializable, ConfigurationChangeL
         // rebuild v7 Models
         dcm = new DynamicConfigModelV7(getConfigV7(config), opensearchSettings, configPath, iab, this.cih);
         ium = new InternalUsersModelV7(internalusers, roles, rolesmapping);
-        cm = new ConfigModelV7(roles, rolesmapping, actionGroups, tenants, dcm, opensearchSettings);
+        cm = new ConfigModelV7(
+            roles,
+            rolesmapping,
+            actionGroups,
+            tenants,
+            dcm,
+            opensearchSettings,
+            indexPatternResolutionCache,
+            reverseDnsResolver
+        );
 
         // notify subscribers
         eventBus.post(cm);
@@ -0,0 +1,139 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Caches the concrete indices an index pattern of a role resolves to.
+ *
+ * Entries are keyed by the index pattern after the user attributes have been replaced, the expansion mode and the
+ * version of the cluster metadata they were resolved against. Thus, a pattern like {@code ${user.name}-*} is only
+ * resolved once per user and metadata version. All entries are dropped when the metadata changes. The cache is bounded
+ * by the estimated memory footprint of its entries.
+ */
+public class IndexPatternResolutionCache implements ClusterStateListener {
+
+    private static final Logger log = LogManager.getLogger(IndexPatternResolutionCache.class);
+
+    private final Cache<Key, Set<String>> cache;
+
+    public IndexPatternResolutionCache(final Settings settings) {
+        final long maxSize = settings.getAsMemory(
+            ConfigConstants.SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE,
+            ConfigConstants.SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE_DEFAULT
+        ).getBytes();
+
+        if (maxSize > 0) {
+            this.cache = CacheBuilder.newBuilder().maximumWeight(maxSize).weigher(IndexPatternResolutionCache::weigh).build();
+        } else {
+            this.cache = null;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Index pattern resolution cache max size: {} bytes", maxSize);
+        }
+    }
+
+    /**
+     * Returns the cached indices for the pattern or resolves and caches them.
+     *
+     * @param pattern the index pattern with all user attributes replaced
+     * @param includeClosed whether closed indices are part of the expansion
+     * @param metadataVersion the version of the metadata the resolver operates on
+     * @param resolver resolves the pattern against the metadata with the given version
+     */
+    public Set<String> get(
+        final String pattern,
+        final boolean includeClosed,
+        final long metadataVersion,
+        final Supplier<Set<String>> resolver
+    ) {
+        if (cache == null) {
+            return resolver.get();
+        }
+
+        try {
+            return cache.get(new Key(pattern, includeClosed, metadataVersion), resolver::get);
+        } catch (UncheckedExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        } catch (ExecutionException e) {
+            throw ExceptionsHelper.convertToOpenSearchException(e);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    long size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    @Override
+    public void clusterChanged(final ClusterChangedEvent event) {
+        if (event.metadataChanged()) {
+            invalidateAll();
+        }
+    }
+
+    private static int weigh(final Key key, final Set<String> indices) {
+        // rough estimate of the retained heap: object headers and references plus two bytes per char
+        long weight = 64 + 2L * key.pattern.length();
+        for (String index : indices) {
+            weight += 48 + 2L * index.length();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static final class Key {
+        private final String pattern;
+        private final boolean includeClosed;
+        private final long metadataVersion;
+
+        private Key(final String pattern, final boolean includeClosed, final long metadataVersion) {
+            this.pattern = pattern;
+            this.includeClosed = includeClosed;
+            this.metadataVersion = metadataVersion;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            return includeClosed == other.includeClosed && metadataVersion == other.metadataVersion && pattern.equals(other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pattern, includeClosed, metadataVersion);
+        }
+    }
+}
@@ -0,0 +1,627 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.cluster.metadata.DataStream;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
+import org.opensearch.security.securityconf.ConfigModelV7.IndexPattern;
+import org.opensearch.security.securityconf.ConfigModelV7.SecurityRole;
+import org.opensearch.security.support.WildcardMatcher;
+import org.opensearch.security.user.User;
+
+/**
+ * A denormalized view of the index permissions of all configured roles: for every role and action, a bitmap over
+ * the concrete indices of the cluster which are covered by that role. The index permission checks of
+ * {@link ConfigModelV7.SecurityRoles} can then be answered with bitmap operations instead of re-resolving all index
+ * patterns of all roles against the cluster state for every request.
+ *
+ * The index patterns of a role are split into two groups:
+ * <ul>
+ *     <li>Static patterns, which do not depend on the user. These are resolved once per cluster state metadata version
+ *     into a bitmap over the concrete indices.</li>
+ *     <li>Dynamic patterns, which contain user attribute placeholders (like <code>${user.name}</code>), date math
+ *     expressions or other constructs which cannot be resolved up-front. These are still evaluated for each request,
+ *     but only for the indices which are not already covered by the static patterns.</li>
+ * </ul>
+ *
+ * The bitmaps are kept up-to-date with the cluster state metadata. If indices without aliases are just created or
+ * deleted, the existing bitmaps are updated incrementally. Any other change which might affect the resolution of
+ * index patterns (like alias or data stream changes, or indices being opened or closed) triggers a complete rebuild.
+ *
+ * Instances of this class are bound to one roles configuration. If the roles configuration is updated, a new instance
+ * needs to be created.
+ */
+public class IndexPermissionMatrix {
+
+    private static final Logger log = LogManager.getLogger(IndexPermissionMatrix.class);
+
+    /**
+     * Once more than this fraction of the index ordinals belong to deleted indices, the next update will do a full rebuild
+     * to compact the bitmaps.
+     */
+    private static final double MAX_RETIRED_ORDINALS_RATIO = 0.5;
+
+    private final ImmutableMap<String, RoleEntry> roleEntries;
+    private final String[] staticPatterns;
+    private final WildcardMatcher[] staticPatternMatchers;
+
+    private volatile Snapshot snapshot;
+
+    IndexPermissionMatrix(Collection<SecurityRole> roles) {
+        final Map<String, Integer> patternIds = new HashMap<>();
+        final List<String> patterns = new ArrayList<>();
+        final ImmutableMap.Builder<String, RoleEntry> roleEntries = ImmutableMap.builder();
+
+        for (SecurityRole role : roles) {
+            final List<Integer> rolePatternIds = new ArrayList<>();
+            final List<WildcardMatcher> rolePatternPerms = new ArrayList<>();
+            final List<IndexPattern> dynamicPatterns = new ArrayList<>();
+            final List<WildcardMatcher> dynamicPatternPerms = new ArrayList<>();
+
+            for (IndexPattern indexPattern : role.getIpatterns()) {
+                final String pattern = indexPattern.getRawIndexPattern();
+
+                if (isStatic(pattern)) {
+                    rolePatternIds.add(patternIds.computeIfAbsent(pattern, (k) -> {
+                        patterns.add(k);
+                        return patterns.size() - 1;
+                    }));
+                    rolePatternPerms.add(indexPattern.getPerms());
+                } else {
+                    dynamicPatterns.add(indexPattern);
+                    dynamicPatternPerms.add(indexPattern.getPerms());
+                }
+            }
+
+            roleEntries.put(
+                role.getName(),
+                new RoleEntry(
+                    role,
+                    rolePatternIds.stream().mapToInt(Integer::intValue).toArray(),
+                    rolePatternPerms.toArray(new WildcardMatcher[0]),
+                    dynamicPatterns.toArray(new IndexPattern[0]),
+                    dynamicPatternPerms.toArray(new WildcardMatcher[0])
+                )
+            );
+        }
+
+        this.roleEntries = roleEntries.build();
+        this.staticPatterns = patterns.toArray(new String[0]);
+        this.staticPatternMatchers = patterns.stream().map(WildcardMatcher::from).toArray(WildcardMatcher[]::new);
+    }
+
+    /**
+     * Checks whether the given roles grant all the given actions on all the requested indices.
+     *
+     * @param roles the roles to check
+     * @param rolespan if true, the permissions of all roles are combined. If false, a single role must grant all the
+     *                 actions on all the indices.
+     * @return the result of the check or null if the matrix cannot answer the check for the given request. In that case,
+     * the caller needs to fall back to the non-precomputed evaluation.
+     */
+    Boolean impliesTypePerm(
+        Collection<SecurityRole> roles,
+        boolean rolespan,
+        Resolved resolved,
+        User user,
+        String[] actions,
+        IndexNameExpressionResolver resolver,
+        ClusterService cs
+    ) {
+        if (resolved.isLocalAll() || resolved.getAllIndices().isEmpty()) {
+            return null;
+        }
+
+        final List<RoleEntry> entries = entries(roles);
+
+        if (entries == null) {
+            return null;
+        }
+
+        final Snapshot snapshot = snapshot(resolver, cs);
+        final BitSet requested = snapshot.ordinals(resolved.getAllIndices());
+
+        if (requested == null) {
+            // At least one of the requested indices does not exist (yet)
+            return null;
+        }
+
+        final Map<IndexPattern, WildcardMatcher> dynamicPatternMatchers = new IdentityHashMap<>();
+
+        if (rolespan) {
+            return snapshot.implies(entries, requested, user, actions, resolver, cs, dynamicPatternMatchers);
+        }
+
+        for (RoleEntry entry : entries) {
+            if (snapshot.implies(Collections.singletonList(entry), requested, user, actions, resolver, cs, dynamicPatternMatchers)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reduces the requested indices to the ones for which at least one index pattern of the given roles grants all the
+     * given actions.
+     *
+     * @return the permitted indices or null if the matrix cannot answer the check for the given roles.
+     */
+    Set<String> reduce(
+        Collection<SecurityRole> roles,
+        Resolved resolved,
+        User user,
+        String[] actions,
+        IndexNameExpressionResolver resolver,
+        ClusterService cs
+    ) {
+        final List<RoleEntry> entries = entries(roles);
+
+        if (entries == null) {
+            return null;
+        }
+
+        final Snapshot snapshot = snapshot(resolver, cs);
+        final Set<String> retVal = new HashSet<>();
+        final BitSet permitted = new BitSet();
+        final BitSet permittedPatternIds = new BitSet();
+
+        for (RoleEntry entry : entries) {
+            for (int i = 0; i < entry.patternIds.length; i++) {
+                if (entry.patternPerms[i].matchAll(actions)) {
+                    permitted.or(snapshot.patternIndices[entry.patternIds[i]]);
+                    permittedPatternIds.set(entry.patternIds[i]);
+                }
+            }
+
+            for (int i = 0; i < entry.dynamicPatterns.length; i++) {
+                if (entry.dynamicPatternPerms[i].matchAll(actions)) {
+                    retVal.addAll(SecurityRole.resolvePermittedIndices(entry.dynamicPatterns[i], resolved, user, resolver, cs));
+                }
+            }
+        }
+
+        if (!resolved.isLocalAll() && !resolved.getAllIndices().contains("*") && !resolved.getAllIndices().contains("_all")) {
+            for (String index : resolved.getAllIndices()) {
+                final Integer ordinal = snapshot.ordinals.get(index);
+
+                if (ordinal != null ? permitted.get(ordinal) : matchesAnyPattern(permittedPatternIds, index)) {
+                    retVal.add(index);
+                }
+            }
+        } else {
+            permitted.and(snapshot.open);
+
+            for (int ordinal = permitted.nextSetBit(0); ordinal >= 0; ordinal = permitted.nextSetBit(ordinal + 1)) {
+                retVal.add(snapshot.names[ordinal]);
+            }
+        }
+
+        return retVal;
+    }
+
+    private boolean matchesAnyPattern(BitSet patternIds, String index) {
+        // Indices which are not known to the cluster state can be only matched by the literal pattern
+        for (int id = patternIds.nextSetBit(0); id >= 0; id = patternIds.nextSetBit(id + 1)) {
+            if (staticPatternMatchers[id].test(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<RoleEntry> entries(Collection<SecurityRole> roles) {
+        final List<RoleEntry> result = new ArrayList<>(roles.size());
+
+        for (SecurityRole role : roles) {
+            final RoleEntry entry = roleEntries.get(role.getName());
+
+            if (entry == null || entry.role != role) {
+                // The role does not belong to the configuration this matrix was built for
+                return null;
+            }
+
+            result.add(entry);
+        }
+
+        return result;
+    }
+
+    private Snapshot snapshot(IndexNameExpressionResolver resolver, ClusterService cs) {
+        final Metadata metadata = cs.state().metadata();
+        final Snapshot current = this.snapshot;
+
+        if (current != null && current.metadataVersion == metadata.version()) {
+            return current;
+        }
+
+        synchronized (this) {
+            Snapshot previous = this.snapshot;
+
+            if (previous == null || previous.metadataVersion != metadata.version()) {
+                previous = update(previous, metadata, resolver, cs);
+                this.snapshot = previous;
+            }
+
+            return previous;
+        }
+    }
+
+    private Snapshot update(Snapshot previous, Metadata metadata, IndexNameExpressionResolver resolver, ClusterService cs) {
+        if (previous == null || !previous.dataStreams.equals(metadata.dataStreams())) {
+            return build(metadata, resolver, cs);
+        }
+
+        final Map<String, IndexMetadata> indices = metadata.getIndices();
+        final List<String> added = new ArrayList<>();
+
+        for (Map.Entry<String, IndexMetadata> entry : indices.entrySet()) {
+            final Integer ordinal = previous.ordinals.get(entry.getKey());
+            final IndexMetadata indexMetadata = entry.getValue();
+
+            if (ordinal == null) {
+                if (!indexMetadata.getAliases().isEmpty() || isDataStreamBackingIndex(metadata, entry.getKey())) {
+                    return build(metadata, resolver, cs);
+                }
+                added.add(entry.getKey());
+            } else if (previous.aliasesVersions[ordinal] != indexMetadata.getAliasesVersion()
+                || previous.states[ordinal] != indexMetadata.getState()) {
+                return build(metadata, resolver, cs);
+            }
+        }
+
+        final List<Integer> removed = new ArrayList<>();
+
+        if (previous.ordinals.size() + added.size() != indices.size()) {
+            for (Map.Entry<String, Integer> entry : previous.ordinals.entrySet()) {
+                if (!indices.containsKey(entry.getKey())) {
+                    removed.add(entry.getValue());
+                }
+            }
+        }
+
+        if (added.isEmpty() && removed.isEmpty()) {
+            return previous.withMetadataVersion(metadata.version());
+        }
+
+        final int retired = previous.names.length - previous.ordinals.size() + removed.size();
+
+        if (retired > (previous.names.length + added.size()) * MAX_RETIRED_ORDINALS_RATIO) {
+            return build(metadata, resolver, cs);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Incrementally updating index permission matrix; added: {}; removed: {}", added, removed.size());
+        }
+
+        final int size = previous.names.length + added.size();
+        final Map<String, Integer> ordinals = new HashMap<>(previous.ordinals);
+        final String[] names = Arrays.copyOf(previous.names, size);
+        final long[] aliasesVersions = Arrays.copyOf(previous.aliasesVersions, size);
+        final IndexMetadata.State[] states = Arrays.copyOf(previous.states, size);
+        final BitSet open = (BitSet) previous.open.clone();
+        final BitSet[] patternIndices = new BitSet[staticPatterns.length];
+
+        for (int id = 0; id < staticPatterns.length; id++) {
+            patternIndices[id] = (BitSet) previous.patternIndices[id].clone();
+        }
+
+        for (int ordinal : removed) {
+            ordinals.remove(names[ordinal]);
+            names[ordinal] = null;
+            open.clear(ordinal);
+
+            for (BitSet bitSet : patternIndices) {
+                bitSet.clear(ordinal);
+            }
+        }
+
+        int ordinal = previous.names.length;
+
+        for (String index : added) {
+            final IndexMetadata indexMetadata = indices.get(index);
+            ordinals.put(index, ordinal);
+            names[ordinal] = index;
+            aliasesVersions[ordinal] = indexMetadata.getAliasesVersion();
+            states[ordinal] = indexMetadata.getState();
+
+            if (indexMetadata.getState() == IndexMetadata.State.OPEN) {
+                open.set(ordinal);
+            }
+
+            // A new index without aliases and outside of any data stream can be only matched by the literal pattern
+            for (int id = 0; id < staticPatterns.length; id++) {
+                if (staticPatternMatchers[id].test(index)) {
+                    patternIndices[id].set(ordinal);
+                }
+            }
+
+            ordinal++;
+        }
+
+        return new Snapshot(
+            metadata.version(),
+            metadata.dataStreams(),
+            ordinals,
+            names,
+            aliasesVersions,
+            states,
+            open,
+            patternIndices,
+            new ConcurrentHashMap<>()
+        );
+    }
+
+    private Snapshot build(Metadata metadata, IndexNameExpressionResolver resolver, ClusterService cs) {
+        final long start = System.currentTimeMillis();
+        final Map<String, IndexMetadata> indices = metadata.getIndices();
+        final int size = indices.size();
+        final Map<String, Integer> ordinals = new HashMap<>(size);
+        final String[] names = new String[size];
+        final long[] aliasesVersions = new long[size];
+        final IndexMetadata.State[] states = new IndexMetadata.State[size];
+        final BitSet open = new BitSet(size);
+
+        int ordinal = 0;
+
+        for (Map.Entry<String, IndexMetadata> entry : indices.entrySet()) {
+            ordinals.put(entry.getKey(), ordinal);
+            names[ordinal] = entry.getKey();
+            aliasesVersions[ordinal] = entry.getValue().getAliasesVersion();
+            states[ordinal] = entry.getValue().getState();
+
+            if (entry.getValue().getState() == IndexMetadata.State.OPEN) {
+                open.set(ordinal);
+            }
+
+            ordinal++;
+        }
+
+        final BitSet[] patternIndices = new BitSet[staticPatterns.length];
+
+        for (int id = 0; id < staticPatterns.length; id++) {
+            // Static patterns do not depend on user attributes, thus we can resolve them without a user
+            final WildcardMatcher permitted = WildcardMatcher.from(
+                new IndexPattern(staticPatterns[id]).attemptResolveIndexNames(null, resolver, cs)
+            );
+            final BitSet bitSet = new BitSet(size);
+
+            for (int i = 0; i < size; i++) {
+                if (permitted.test(names[i])) {
+                    bitSet.set(i);
+                }
+            }
+
+            patternIndices[id] = bitSet;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(
+                "Built index permission matrix for {} indices and {} static index patterns in {} ms",
+                size,
+                staticPatterns.length,
+                System.currentTimeMillis() - start
+            );
+        }
+
+        return new Snapshot(
+            metadata.version(),
+            metadata.dataStreams(),
+            ordinals,
+            names,
+            aliasesVersions,
+            states,
+            open,
+            patternIndices,
+            new ConcurrentHashMap<>()
+        );
+    }
+
+    private static boolean isDataStreamBackingIndex(Metadata metadata, String index) {
+        final IndexAbstraction indexAbstraction = metadata.getIndicesLookup().get(index);
+        return indexAbstraction != null && indexAbstraction.getParentDataStream() != null;
+    }
+
+    /**
+     * Static patterns can be resolved without knowing the user. Besides user attribute placeholders, we also exclude
+     * date math expressions, exclusions and the _all keyword, as these are resolved by the index name expression
+     * resolver and can thus not be maintained incrementally by just matching new index names against the pattern.
+     */
+    static boolean isStatic(String pattern) {
+        return !pattern.isEmpty()
+            && !pattern.contains("${")
+            && pattern.charAt(0) != '<'
+            && pattern.charAt(0) != '-'
+            && !pattern.equals("_all");
+    }
+
+    private static final class RoleEntry {
+        private final SecurityRole role;
+        private final int[] patternIds;
+        private final WildcardMatcher[] patternPerms;
+        private final IndexPattern[] dynamicPatterns;
+        private final WildcardMatcher[] dynamicPatternPerms;
+
+        private RoleEntry(
+            SecurityRole role,
+            int[] patternIds,
+            WildcardMatcher[] patternPerms,
+            IndexPattern[] dynamicPatterns,
+            WildcardMatcher[] dynamicPatternPerms
+        ) {
+            this.role = role;
+            this.patternIds = patternIds;
+            this.patternPerms = patternPerms;
+            this.dynamicPatterns = dynamicPatterns;
+            this.dynamicPatternPerms = dynamicPatternPerms;
+        }
+    }
+
+    /**
+     * The state of the matrix for one cluster state metadata version. Instances are immutable, with the exception of the
+     * lazily populated role/action cache. Bitmaps stored in the snapshot must never be modified by callers.
+     */
+    private static final class Snapshot {
+        private final long metadataVersion;
+        private final Map<String, DataStream> dataStreams;
+        private final Map<String, Integer> ordinals;
+        private final String[] names;
+        private final long[] aliasesVersions;
+        private final IndexMetadata.State[] states;
+        private final BitSet open;
+        private final BitSet[] patternIndices;
+        private final ConcurrentHashMap<String, ConcurrentHashMap<String, BitSet>> roleActionIndices;
+
+        private Snapshot(
+            long metadataVersion,
+            Map<String, DataStream> dataStreams,
+            Map<String, Integer> ordinals,
+            String[] names,
+            long[] aliasesVersions,
+            IndexMetadata.State[] states,
+            BitSet open,
+            BitSet[] patternIndices,
+            ConcurrentHashMap<String, ConcurrentHashMap<String, BitSet>> roleActionIndices
+        ) {
+            this.metadataVersion = metadataVersion;
+            this.dataStreams = dataStreams;
+            this.ordinals = ordinals;
+            this.names = names;
+            this.aliasesVersions = aliasesVersions;
+            this.states = states;
+            this.open = open;
+            this.patternIndices = patternIndices;
+            this.roleActionIndices = roleActionIndices;
+        }
+
+        private Snapshot withMetadataVersion(long metadataVersion) {
+            return new Snapshot(
+                metadataVersion,
+                dataStreams,
+                ordinals,
+                names,
+                aliasesVersions,
+                states,
+                open,
+                patternIndices,
+                roleActionIndices
+            );
+        }
+
+        /**
+         * Returns the ordinals of the given indices or null if at least one of them is not a concrete index
+         */
+        private BitSet ordinals(Set<String> indices) {
+            final BitSet result = new BitSet(names.length);
+
+            for (String index : indices) {
+                final Integer ordinal = ordinals.get(index);
+
+                if (ordinal == null) {
+                    return null;
+                }
+
+                result.set(ordinal);
+            }
+
+            return result;
+        }
+
+        private BitSet staticIndices(RoleEntry entry, String action) {
+            return roleActionIndices.computeIfAbsent(entry.role.getName(), (k) -> new ConcurrentHashMap<>())
+                .computeIfAbsent(action, (k) -> {
+                    final BitSet result = new BitSet(names.length);
+                    for (int i = 0; i < entry.patternIds.length; i++) {
+                        if (entry.patternPerms[i].test(action)) {
+                            result.or(patternIndices[entry.patternIds[i]]);
+                        }
+                    }
+                    return result;
+                });
+        }
+
+        private boolean implies(
+            List<RoleEntry> entries,
+            BitSet requested,
+            User user,
+            String[] actions,
+            IndexNameExpressionResolver resolver,
+            ClusterService cs,
+            Map<IndexPattern, WildcardMatcher> dynamicPatternMatchers
+        ) {
+            for (String action : actions) {
+                final BitSet missing = (BitSet) requested.clone();
+
+                for (RoleEntry entry : entries) {
+                    missing.andNot(staticIndices(entry, action));
+
+                    if (missing.isEmpty()) {
+                        break;
+                    }
+                }
+
+                for (int ordinal = missing.nextSetBit(0); ordinal >= 0; ordinal = missing.nextSetBit(ordinal + 1)) {
+                    if (!impliedByDynamicPattern(entries, names[ordinal], action, user, resolver, cs, dynamicPatternMatchers)) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        private boolean impliedByDynamicPattern(
+            List<RoleEntry> entries,
+            String index,
+            String action,
+            User user,
+            IndexNameExpressionResolver resolver,
+            ClusterService cs,
+            Map<IndexPattern, WildcardMatcher> dynamicPatternMatchers
+        ) {
+            for (RoleEntry entry : entries) {
+                for (int i = 0; i < entry.dynamicPatterns.length; i++) {
+                    if (entry.dynamicPatternPerms[i].test(action)
+                        && dynamicPatternMatchers.computeIfAbsent(
+                            entry.dynamicPatterns[i],
+                            (p) -> WildcardMatcher.from(p.attemptResolveIndexNames(user, resolver, cs))
+                        ).test(index)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
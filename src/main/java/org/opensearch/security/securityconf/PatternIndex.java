@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ListMultimap;
+
+import org.opensearch.security.support.WildcardMatcher;
+
+/**
+ * Values which are mapped to user names, backend roles or hosts by patterns.
+ *
+ * Literal patterns are looked up in a hash map, only patterns with wildcards or regular expressions are matched one by
+ * one. This keeps the lookup cheap for configurations with thousands of literal patterns.
+ */
+final class PatternIndex<V> {
+
+    private final Map<String, List<V>> literals;
+    private final List<WildcardMatcher> matchers;
+    private final List<List<V>> matcherValues;
+
+    PatternIndex(final ListMultimap<String, V> mappings) {
+        final Map<String, List<V>> literals = new HashMap<>();
+        final List<WildcardMatcher> matchers = new ArrayList<>();
+        final List<List<V>> matcherValues = new ArrayList<>();
+
+        for (final String pattern : mappings.keySet()) {
+            final List<V> values = Collections.unmodifiableList(new ArrayList<>(mappings.get(pattern)));
+            final WildcardMatcher matcher = WildcardMatcher.from(pattern);
+            if (matcher instanceof WildcardMatcher.Exact) {
+                literals.put(pattern, values);
+            } else {
+                matchers.add(matcher);
+                matcherValues.add(values);
+            }
+        }
+
+        this.literals = literals;
+        this.matchers = matchers;
+        this.matcherValues = matcherValues;
+    }
+
+    /**
+     * Passes the values of all patterns which match the candidate to the consumer. Values of a pattern which matches
+     * several candidates are passed several times.
+     */
+    void forEachMatch(final String candidate, final Consumer<V> consumer) {
+        if (candidate == null) {
+            return;
+        }
+
+        final List<V> literalValues = literals.get(candidate);
+        if (literalValues != null) {
+            literalValues.forEach(consumer);
+        }
+
+        for (int i = 0; i < matchers.size(); i++) {
+            if (matchers.get(i).test(candidate)) {
+                matcherValues.get(i).forEach(consumer);
+            }
+        }
+    }
+
+    void forEachMatch(final Collection<String> candidates, final Consumer<V> consumer) {
+        for (final String candidate : candidates) {
+            forEachMatch(candidate, consumer);
+        }
+    }
+}
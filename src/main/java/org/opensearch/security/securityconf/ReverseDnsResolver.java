@@ -0,0 +1,284 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Resolves the host names of callers for the {@code ip-hostname-lookup} hosts resolver mode of the role mappings.
+ *
+ * Reverse lookups are done by a small dedicated executor, so that a slow or unreachable DNS server does not block the
+ * threads which evaluate requests. Its queue is bounded; if it is full, the lookup is retried by the next request from
+ * the address. Host names are cached for the configured TTL, addresses without a
+ * host name for the usually shorter negative TTL. Once an entry has expired, the address is looked up again in the
+ * background and the previous result is returned until that lookup completes, so that the roles mapped by host name
+ * do not change while it is pending. While the first lookup of an address is pending, {@link #resolve(InetAddress)}
+ * waits at most the configured pending wait time and then treats the address as having no host name, so that only the
+ * host patterns matching the IP address apply until the lookup completes.
+ */
+public class ReverseDnsResolver implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(ReverseDnsResolver.class);
+
+    private final Cache<InetAddress, Lookup> cache;
+    private final ExecutorService executor;
+    private final Function<InetAddress, String> lookup;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final long pendingWaitMillis;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder failedLookups = new LongAdder();
+    private final LongAdder rejectedLookups = new LongAdder();
+    private final LongAdder lookupTimeNanos = new LongAdder();
+
+    public ReverseDnsResolver(final Settings settings) {
+        this(settings, newExecutor(settings), InetAddress::getHostName, Clock.systemUTC());
+    }
+
+    ReverseDnsResolver(
+        final Settings settings,
+        final ExecutorService executor,
+        final Function<InetAddress, String> lookup,
+        final Clock clock
+    ) {
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(
+                settings.getAsInt(
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_MAX_SIZE,
+                    ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_MAX_SIZE_DEFAULT
+                )
+            )
+            .build();
+        this.executor = executor;
+        this.lookup = lookup;
+        this.ttlMillis = getMillis(
+            settings,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL_DEFAULT
+        );
+        this.negativeTtlMillis = getMillis(
+            settings,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL_DEFAULT
+        );
+        this.pendingWaitMillis = getMillis(
+            settings,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_PENDING_WAIT,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_PENDING_WAIT_DEFAULT
+        );
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the host name of the address, or null if the address has no host name or its first lookup is still
+     * pending. The host name of an expired entry is returned until the lookup which refreshes it has completed.
+     */
+    public String resolve(final InetAddress address) {
+        Lookup entry = cache.getIfPresent(address);
+        if (entry == null) {
+            final Lookup newEntry = new Lookup();
+            entry = cache.asMap().putIfAbsent(address, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                misses.increment();
+                submit(address, newEntry, null);
+            } else {
+                hits.increment();
+            }
+        } else {
+            hits.increment();
+        }
+
+        if (entry.hostName.isDone()) {
+            if (entry.isExpired(clock.millis()) && entry.startRefresh()) {
+                submit(address, new Lookup(), entry);
+            }
+            return entry.hostName.getNow(null);
+        }
+
+        pending.increment();
+        if (pendingWaitMillis > 0) {
+            try {
+                return entry.hostName.get(pendingWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // fall through, the address is treated as having no host name
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the host name of the address for the entry; if the entry refreshes an expired one, it replaces the
+     * expired entry in the cache once the lookup has completed.
+     */
+    private void submit(final InetAddress address, final Lookup entry, final Lookup expired) {
+        try {
+            executor.execute(() -> {
+                final long start = System.nanoTime();
+                String hostName = null;
+                try {
+                    hostName = lookup.apply(address);
+                    // the JDK returns the textual IP address if the address cannot be resolved
+                    if (hostName != null && hostName.equals(address.getHostAddress())) {
+                        hostName = null;
+                    }
+                } catch (Exception e) {
+                    log.debug("Reverse lookup of {} failed", address, e);
+                } finally {
+                    lookups.increment();
+                    lookupTimeNanos.add(System.nanoTime() - start);
+                    if (hostName == null) {
+                        failedLookups.increment();
+                    }
+                    entry.complete(hostName, clock.millis() + (hostName != null ? ttlMillis : negativeTtlMillis));
+                    if (expired != null) {
+                        cache.asMap().replace(address, expired, entry);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Reverse lookup of {} rejected, too many lookups are queued", address);
+            rejectedLookups.increment();
+            if (expired != null) {
+                // the expired host name is kept, the next request from the address retries the refresh
+                expired.refreshing.set(false);
+            } else {
+                cache.asMap().remove(address, entry);
+                entry.complete(null, 0);
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests answered by a cached or pending lookup
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of requests which found the lookup of the address still pending
+     */
+    public long getPending() {
+        return pending.sum();
+    }
+
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return the number of lookups which did not yield a host name
+     */
+    public long getFailedLookups() {
+        return failedLookups.sum();
+    }
+
+    /**
+     * @return the number of lookups which were not done, because the queue of the executor was full
+     */
+    public long getRejectedLookups() {
+        return rejectedLookups.sum();
+    }
+
+    public long getLookupTimeNanos() {
+        return lookupTimeNanos.sum();
+    }
+
+    public long getCount() {
+        return cache.size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        cache.invalidateAll();
+    }
+
+    private static ExecutorService newExecutor(final Settings settings) {
+        final int threads = settings.getAsInt(
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_THREADS,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_THREADS_DEFAULT
+        );
+        final int queueSize = settings.getAsInt(
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_QUEUE_SIZE,
+            ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_QUEUE_SIZE_DEFAULT
+        );
+        return new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            OpenSearchExecutors.daemonThreadFactory("security_reverse_dns")
+        );
+    }
+
+    private static long getMillis(final Settings settings, final String key, final TimeValue defaultValue) {
+        return settings.getAsTime(key, defaultValue).millis();
+    }
+
+    private static final class Lookup {
+        private final CompletableFuture<String> hostName = new CompletableFuture<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private void complete(final String hostName, final long expiresAt) {
+            this.expiresAt = expiresAt;
+            this.hostName.complete(hostName);
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+
+        /**
+         * @return true if the caller is the first to refresh the entry
+         */
+        private boolean startRefresh() {
+            return refreshing.compareAndSet(false, true);
+        }
+    }
+}
@@ -87,6 +87,19 @@ public interface SecurityRoles {
         NamedXContentRegistry namedXContentRegistry
     );
 
+    /**
+     * Evaluates the DLS queries, FLS fields and masked fields of a single index. The result is equal to the entries
+     * of {@link #getDlsFls(User, boolean, IndexNameExpressionResolver, ClusterService, NamedXContentRegistry)} which
+     * apply to that index, but does not need to evaluate the restrictions of all other indices.
+     */
+    EvaluatedDlsFlsConfig getDlsFls(
+        User user,
+        String index,
+        boolean dfmEmptyOverwritesAll,
+        IndexNameExpressionResolver resolver,
+        ClusterService clusterService
+    );
+
     Set<String> getAllPermittedIndicesForDashboards(
         Resolved resolved,
         User user,
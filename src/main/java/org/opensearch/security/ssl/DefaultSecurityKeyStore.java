@@ -76,6 +76,7 @@ import org.opensearch.security.ssl.util.CertFromTruststore;
 import org.opensearch.security.ssl.util.ExceptionUtils;
 import org.opensearch.security.ssl.util.KeystoreProps;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
+import org.opensearch.security.ssl.util.TlsSessionStats;
 import org.opensearch.transport.NettyAllocator;
 
 import io.netty.handler.codec.http2.Http2SecurityUtil;
@@ -134,6 +135,10 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
     public final SslProvider sslTransportClientProvider;
     private final boolean httpSSLEnabled;
     private final boolean transportSSLEnabled;
+    private final long httpSessionCacheSize;
+    private final long httpSessionTimeout;
+    private final long transportSessionCacheSize;
+    private final long transportSessionTimeout;
 
     private ArrayList<String> enabledHttpCiphersJDKProvider;
     private ArrayList<String> enabledHttpCiphersOpenSSLProvider;
@@ -170,6 +175,11 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
             SSLConfigConstants.SECURITY_SSL_TRANSPORT_ENABLED,
             SSLConfigConstants.SECURITY_SSL_TRANSPORT_ENABLED_DEFAULT
         );
+        // 0 keeps the default of the SSL provider
+        httpSessionCacheSize = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_HTTP_SESSION_CACHE_SIZE, 0L);
+        httpSessionTimeout = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_HTTP_SESSION_TIMEOUT, 0L);
+        transportSessionCacheSize = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_TRANSPORT_SESSION_CACHE_SIZE, 0L);
+        transportSessionTimeout = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_TRANSPORT_SESSION_TIMEOUT, 0L);
         final boolean useOpenSSLForHttpIfAvailable = OpenSearchSecuritySSLPlugin.OPENSSL_SUPPORTED
             && settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_ENABLE_OPENSSL_IF_AVAILABLE, true);
         final boolean useOpenSSLForTransportIfAvailable = OpenSearchSecuritySSLPlugin.OPENSSL_SUPPORTED
@@ -429,7 +439,9 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
                     certFromTruststore.getServerTrustedCerts(),
                     getEnabledSSLCiphers(this.sslTransportServerProvider, false),
                     this.sslTransportServerProvider,
-                    ClientAuth.REQUIRE
+                    ClientAuth.REQUIRE,
+                    transportSessionCacheSize,
+                    transportSessionTimeout
                 );
                 transportClientSslContext = buildSSLClientContext(
                     certFromKeystore.getClientKey(),
@@ -481,7 +493,9 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
                     certFromFile.getServerPemKeyPassword(),
                     getEnabledSSLCiphers(this.sslTransportServerProvider, false),
                     this.sslTransportServerProvider,
-                    ClientAuth.REQUIRE
+                    ClientAuth.REQUIRE,
+                    transportSessionCacheSize,
+                    transportSessionTimeout
                 );
                 transportClientSslContext = buildSSLClientContext(
                     certFromFile.getClientPemKey(),
@@ -578,7 +592,9 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
                     certFromTruststore.getServerTrustedCerts(),
                     getEnabledSSLCiphers(this.sslHTTPProvider, true),
                     sslHTTPProvider,
-                    httpClientAuthMode
+                    httpClientAuthMode,
+                    httpSessionCacheSize,
+                    httpSessionTimeout
                 );
                 setHttpSSLCerts(certFromKeystore.getCerts());
 
@@ -610,7 +626,9 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
                     SECURITY_SSL_HTTP_PEMKEY_PASSWORD.getSetting(settings),
                     getEnabledSSLCiphers(this.sslHTTPProvider, true),
                     sslHTTPProvider,
-                    httpClientAuthMode
+                    httpClientAuthMode,
+                    httpSessionCacheSize,
+                    httpSessionTimeout
                 );
                 setHttpSSLCerts(certFromFile.getCerts());
 
@@ -755,6 +773,18 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
 
     }
 
+    public TlsSessionStats getHttpSessionStats() {
+        return TlsSessionStats.of(httpSslContext);
+    }
+
+    public TlsSessionStats getTransportServerSessionStats() {
+        return TlsSessionStats.of(transportServerSslContext);
+    }
+
+    public TlsSessionStats getTransportClientSessionStats() {
+        return TlsSessionStats.of(transportClientSslContext);
+    }
+
     @Override
     public String getHTTPProviderName() {
         return sslHTTPProvider == null ? null : sslHTTPProvider.toString();
@@ -982,14 +1012,23 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
         final X509Certificate[] _trustedCerts,
         final Iterable<String> ciphers,
         final SslProvider sslProvider,
-        final ClientAuth authMode
+        final ClientAuth authMode,
+        final long sessionCacheSize,
+        final long sessionTimeout
     ) throws SSLException {
 
         try {
             final SslContextBuilder _sslContextBuilder = AccessController.doPrivileged(new PrivilegedExceptionAction<SslContextBuilder>() {
                 @Override
                 public SslContextBuilder run() throws Exception {
-                    return configureSSLServerContextBuilder(SslContextBuilder.forServer(_key, _cert), sslProvider, ciphers, authMode);
+                    return configureSSLServerContextBuilder(
+                        SslContextBuilder.forServer(_key, _cert),
+                        sslProvider,
+                        ciphers,
+                        authMode,
+                        sessionCacheSize,
+                        sessionTimeout
+                    );
                 }
             });
 
@@ -1015,7 +1054,9 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
         final String pwd,
         final Iterable<String> ciphers,
         final SslProvider sslProvider,
-        final ClientAuth authMode
+        final ClientAuth authMode,
+        final long sessionCacheSize,
+        final long sessionTimeout
     ) throws SSLException {
         final SecurityManager sm = System.getSecurityManager();
 
@@ -1027,7 +1068,14 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
             final SslContextBuilder _sslContextBuilder = AccessController.doPrivileged(new PrivilegedExceptionAction<SslContextBuilder>() {
                 @Override
                 public SslContextBuilder run() throws Exception {
-                    return configureSSLServerContextBuilder(SslContextBuilder.forServer(_cert, _key, pwd), sslProvider, ciphers, authMode);
+                    return configureSSLServerContextBuilder(
+                        SslContextBuilder.forServer(_cert, _key, pwd),
+                        sslProvider,
+                        ciphers,
+                        authMode,
+                        sessionCacheSize,
+                        sessionTimeout
+                    );
                 }
             });
 
@@ -1049,7 +1097,9 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
         final SslContextBuilder builder,
         final SslProvider sslProvider,
         final Iterable<String> ciphers,
-        final ClientAuth authMode
+        final ClientAuth authMode,
+        final long sessionCacheSize,
+        final long sessionTimeout
     ) {
         return builder.ciphers(
             Stream.concat(Http2SecurityUtil.CIPHERS.stream(), StreamSupport.stream(ciphers.spliterator(), false))
@@ -1057,8 +1107,8 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
             SupportedCipherSuiteFilter.INSTANCE
         )
             .clientAuth(Objects.requireNonNull(authMode))
-            .sessionCacheSize(0)
-            .sessionTimeout(0)
+            .sessionCacheSize(sessionCacheSize)
+            .sessionTimeout(sessionTimeout)
             .sslProvider(sslProvider)
             .applicationProtocolConfig(
                 new ApplicationProtocolConfig(
@@ -1084,8 +1134,8 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
         final SslContextBuilder _sslClientContextBuilder = SslContextBuilder.forClient()
             .ciphers(ciphers)
             .applicationProtocolConfig(ApplicationProtocolConfig.DISABLED)
-            .sessionCacheSize(0)
-            .sessionTimeout(0)
+            .sessionCacheSize(transportSessionCacheSize)
+            .sessionTimeout(transportSessionTimeout)
             .sslProvider(sslProvider)
             .trustManager(_trustedCerts)
             .keyManager(_key, _cert);
@@ -1106,8 +1156,8 @@ public class DefaultSecurityKeyStore implements SecurityKeyStore {
         final SslContextBuilder _sslClientContextBuilder = SslContextBuilder.forClient()
             .ciphers(ciphers)
             .applicationProtocolConfig(ApplicationProtocolConfig.DISABLED)
-            .sessionCacheSize(0)
-            .sessionTimeout(0)
+            .sessionCacheSize(transportSessionCacheSize)
+            .sessionTimeout(transportSessionTimeout)
             .sslProvider(sslProvider)
             .trustManager(_trustedCerts)
             .keyManager(_cert, _key, pwd);
@@ -81,6 +81,7 @@ import org.opensearch.security.ssl.transport.DefaultPrincipalExtractor;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.ssl.transport.SSLConfig;
 import org.opensearch.security.ssl.transport.SecuritySSLTransportInterceptor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
 import org.opensearch.security.support.SecuritySettings;
 import org.opensearch.telemetry.tracing.Tracer;
@@ -127,6 +128,7 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
     protected volatile SecurityRestFilter securityRestHandler;
     protected final SharedGroupFactory sharedGroupFactory;
     protected final SecurityKeyStore sks;
+    protected final CertificateRevocationService certificateRevocationService;
     protected PrincipalExtractor principalExtractor;
     protected final Path configPath;
     private final static SslExceptionHandler NOOP_SSL_EXCEPTION_HANDLER = new SslExceptionHandler() {
@@ -145,6 +147,7 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
             this.transportSSLEnabled = false;
             this.extendedKeyUsageEnabled = false;
             this.sks = null;
+            this.certificateRevocationService = null;
             this.configPath = null;
             SSLConfig = new SSLConfig(false, false);
 
@@ -251,6 +254,8 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
         } else {
             this.sks = new DefaultSecurityKeyStore(settings, configPath);
         }
+
+        this.certificateRevocationService = new CertificateRevocationService(settings, configPath);
     }
 
     @Override
@@ -274,7 +279,7 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
                 threadPool.getThreadContext(),
                 dispatcher,
                 settings,
-                configPath,
+                certificateRevocationService,
                 NOOP_SSL_EXCEPTION_HANDLER
             );
             final SecureNetty4HttpServerTransport sgsnht = new SecureNetty4HttpServerTransport(
@@ -311,7 +316,15 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
         final List<RestHandler> handlers = new ArrayList<RestHandler>(1);
 
         if (!client) {
-            handlers.add(new SecuritySSLInfoAction(settings, configPath, restController, sks, Objects.requireNonNull(principalExtractor)));
+            handlers.add(
+                new SecuritySSLInfoAction(
+                    settings,
+                    certificateRevocationService,
+                    restController,
+                    sks,
+                    Objects.requireNonNull(principalExtractor)
+                )
+            );
         }
 
         return handlers;
@@ -637,6 +650,28 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
         settings.add(
             Setting.longSetting(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATION_DATE, -1, -1, Property.NodeScope, Property.Filtered)
         );
+        settings.add(
+            Setting.longSetting(
+                SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATION_CACHE_TTL,
+                CertificateRevocationService.DEFAULT_CACHE_TTL_MS,
+                0,
+                Property.NodeScope,
+                Property.Filtered
+            )
+        );
+
+        settings.add(
+            Setting.longSetting(SSLConfigConstants.SECURITY_SSL_HTTP_SESSION_CACHE_SIZE, 0, 0, Property.NodeScope, Property.Filtered)
+        );
+        settings.add(
+            Setting.longSetting(SSLConfigConstants.SECURITY_SSL_HTTP_SESSION_TIMEOUT, 0, 0, Property.NodeScope, Property.Filtered)
+        );
+        settings.add(
+            Setting.longSetting(SSLConfigConstants.SECURITY_SSL_TRANSPORT_SESSION_CACHE_SIZE, 0, 0, Property.NodeScope, Property.Filtered)
+        );
+        settings.add(
+            Setting.longSetting(SSLConfigConstants.SECURITY_SSL_TRANSPORT_SESSION_TIMEOUT, 0, 0, Property.NodeScope, Property.Filtered)
+        );
 
         return settings;
     }
@@ -17,7 +17,6 @@
 
 package org.opensearch.security.ssl.http.netty;
 
-import java.nio.file.Path;
 import javax.net.ssl.SSLPeerUnverifiedException;
 
 import org.apache.logging.log4j.LogManager;
@@ -35,6 +34,7 @@ import org.opensearch.rest.RestRequest;
 import org.opensearch.security.filter.SecurityRequestChannel;
 import org.opensearch.security.filter.SecurityRequestFactory;
 import org.opensearch.security.ssl.SslExceptionHandler;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.ExceptionUtils;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
 
@@ -46,20 +46,20 @@ public class ValidatingDispatcher implements Dispatcher {
     private final Dispatcher originalDispatcher;
     private final SslExceptionHandler errorHandler;
     private final Settings settings;
-    private final Path configPath;
+    private final CertificateRevocationService revocationService;
 
     public ValidatingDispatcher(
         final ThreadContext threadContext,
         final Dispatcher originalDispatcher,
         final Settings settings,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         final SslExceptionHandler errorHandler
     ) {
         super();
         this.threadContext = threadContext;
         this.originalDispatcher = originalDispatcher;
         this.settings = settings;
-        this.configPath = configPath;
+        this.revocationService = revocationService;
         this.errorHandler = errorHandler;
     }
 
@@ -84,7 +84,7 @@ public class ValidatingDispatcher implements Dispatcher {
         }
 
         try {
-            if (SSLRequestHelper.getSSLInfo(settings, configPath, request, null) == null) {
+            if (SSLRequestHelper.getSSLInfo(settings, revocationService, request, null) == null) {
                 logger.error("Not an SSL request");
                 throw new OpenSearchSecurityException("Not an SSL request", RestStatus.INTERNAL_SERVER_ERROR);
             }
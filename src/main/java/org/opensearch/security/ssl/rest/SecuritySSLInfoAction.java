@@ -18,7 +18,6 @@
 package org.opensearch.security.ssl.rest;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Collections;
@@ -41,6 +40,7 @@ import org.opensearch.rest.RestRequest.Method;
 import org.opensearch.security.filter.SecurityRequestFactory;
 import org.opensearch.security.ssl.SecurityKeyStore;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
 import org.opensearch.security.ssl.util.SSLRequestHelper.SSLInfo;
 
@@ -52,12 +52,12 @@ public class SecuritySSLInfoAction extends BaseRestHandler {
     private final Logger log = LogManager.getLogger(this.getClass());
     private final SecurityKeyStore sks;
     final PrincipalExtractor principalExtractor;
-    private final Path configPath;
+    private final CertificateRevocationService revocationService;
     private final Settings settings;
 
     public SecuritySSLInfoAction(
         final Settings settings,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         final RestController controller,
         final SecurityKeyStore sks,
         final PrincipalExtractor principalExtractor
@@ -66,7 +66,7 @@ public class SecuritySSLInfoAction extends BaseRestHandler {
         this.settings = settings;
         this.sks = sks;
         this.principalExtractor = principalExtractor;
-        this.configPath = configPath;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -88,7 +88,7 @@ public class SecuritySSLInfoAction extends BaseRestHandler {
                 try {
                     SSLInfo sslInfo = SSLRequestHelper.getSSLInfo(
                         settings,
-                        configPath,
+                        revocationService,
                         SecurityRequestFactory.from(request),
                         principalExtractor
                     );
@@ -23,6 +23,7 @@ import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Set;
 import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -54,6 +55,7 @@ public class SecuritySSLRequestHandler<T extends TransportRequest> implements Tr
     private final SSLConfig SSLConfig;
 
     private static final Set<String> DEFAULT_CHANNEL_TYPES = Set.of("direct", "transport");
+    private static final String TRANSPORT_PEER_SESSION_VALUE = "opensearch.security.transport_peer";
 
     public SecuritySSLRequestHandler(
         String action,
@@ -123,34 +125,21 @@ public class SecuritySSLRequestHandler<T extends TransportRequest> implements Tr
                 throw exception;
             }
 
-            final Certificate[] peerCerts = sslhandler.engine().getSession().getPeerCertificates();
-            final Certificate[] localCerts = sslhandler.engine().getSession().getLocalCertificates();
-
-            if (peerCerts != null
-                && peerCerts.length > 0
-                && peerCerts[0] instanceof X509Certificate
-                && localCerts != null
-                && localCerts.length > 0
-                && localCerts[0] instanceof X509Certificate) {
-                final X509Certificate[] x509PeerCerts = Arrays.copyOf(peerCerts, peerCerts.length, X509Certificate[].class);
-                final X509Certificate[] x509LocalCerts = Arrays.copyOf(localCerts, localCerts.length, X509Certificate[].class);
-                final String principal = principalExtractor == null
-                    ? null
-                    : principalExtractor.extractPrincipal(x509PeerCerts[0], PrincipalExtractor.Type.TRANSPORT);
+            final SSLSession session = sslhandler.engine().getSession();
+            final TransportPeer peer = getTransportPeer(session);
+
+            if (peer != null) {
+                final X509Certificate[] x509PeerCerts = peer.peerCerts;
+                final X509Certificate[] x509LocalCerts = peer.localCerts;
+                final String principal = peer.principal;
                 addAdditionalContextValues(action, request, x509LocalCerts, x509PeerCerts, principal);
                 if (threadContext != null) {
                     // in the case of ssl plugin only: threadContext and principalExtractor are null
                     threadContext.putTransient("_opendistro_security_ssl_transport_principal", principal);
                     threadContext.putTransient("_opendistro_security_ssl_transport_peer_certificates", x509PeerCerts);
                     threadContext.putTransient("_opendistro_security_ssl_transport_local_certificates", x509LocalCerts);
-                    threadContext.putTransient(
-                        "_opendistro_security_ssl_transport_protocol",
-                        sslhandler.engine().getSession().getProtocol()
-                    );
-                    threadContext.putTransient(
-                        "_opendistro_security_ssl_transport_cipher",
-                        sslhandler.engine().getSession().getCipherSuite()
-                    );
+                    threadContext.putTransient("_opendistro_security_ssl_transport_protocol", session.getProtocol());
+                    threadContext.putTransient("_opendistro_security_ssl_transport_cipher", session.getCipherSuite());
                 }
                 messageReceivedDecorate(request, actualHandler, channel, task);
             } else {
@@ -174,6 +163,37 @@ public class SecuritySSLRequestHandler<T extends TransportRequest> implements Tr
 
     }
 
+    /**
+     * Returns the certificates and the principal of the peer, which are extracted once per TLS session and attached to it,
+     * or null if the peer did not present X509 certificates.
+     */
+    private TransportPeer getTransportPeer(final SSLSession session) throws SSLPeerUnverifiedException {
+        final Object attached = session.getValue(TRANSPORT_PEER_SESSION_VALUE);
+        if (attached instanceof TransportPeer) {
+            return (TransportPeer) attached;
+        }
+
+        final Certificate[] peerCerts = session.getPeerCertificates();
+        final Certificate[] localCerts = session.getLocalCertificates();
+
+        if (peerCerts != null
+            && peerCerts.length > 0
+            && peerCerts[0] instanceof X509Certificate
+            && localCerts != null
+            && localCerts.length > 0
+            && localCerts[0] instanceof X509Certificate) {
+            final X509Certificate[] x509PeerCerts = Arrays.copyOf(peerCerts, peerCerts.length, X509Certificate[].class);
+            final X509Certificate[] x509LocalCerts = Arrays.copyOf(localCerts, localCerts.length, X509Certificate[].class);
+            final String principal = principalExtractor == null
+                ? null
+                : principalExtractor.extractPrincipal(x509PeerCerts[0], PrincipalExtractor.Type.TRANSPORT);
+            final TransportPeer peer = new TransportPeer(x509PeerCerts, x509LocalCerts, principal);
+            session.putValue(TRANSPORT_PEER_SESSION_VALUE, peer);
+            return peer;
+        }
+        return null;
+    }
+
     protected TransportChannel getInnerChannel(TransportChannel transportChannel) throws Exception {
         try {
             Class<?> wrappedChannelCls = transportChannel.getClass();
@@ -198,6 +218,18 @@ public class SecuritySSLRequestHandler<T extends TransportRequest> implements Tr
         // no-op
     }
 
+    private static final class TransportPeer {
+        private final X509Certificate[] peerCerts;
+        private final X509Certificate[] localCerts;
+        private final String principal;
+
+        private TransportPeer(final X509Certificate[] peerCerts, final X509Certificate[] localCerts, final String principal) {
+            this.peerCerts = peerCerts;
+            this.localCerts = localCerts;
+            this.principal = principal;
+        }
+    }
+
     protected void messageReceivedDecorate(
         final T request,
         final TransportRequestHandler<T> actualHandler,
@@ -0,0 +1,267 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.ssl.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.CRL;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+
+import static org.opensearch.security.ssl.SecureSSLSettings.SSLSetting.SECURITY_SSL_HTTP_TRUSTSTORE_PASSWORD;
+
+/**
+ * Validates HTTP client certificate chains against the configured CRL file, CRL distribution points and OCSP.
+ *
+ * The CRL file and the trusted certificates are parsed once and only reloaded when one of the files changes. Chains
+ * which have been validated successfully are cached by their fingerprint, so requests on the same or a resumed
+ * connection are not validated again. Cached results expire after {@link SSLConfigConstants#SECURITY_SSL_HTTP_CRL_VALIDATION_CACHE_TTL}
+ * milliseconds, at the next update of the CRLs, or when the CRL file changes. Failed validations are not cached.
+ *
+ * The service is created once per node by {@link org.opensearch.security.ssl.OpenSearchSecuritySSLPlugin} and passed
+ * to the REST handlers which call {@link SSLRequestHelper#getSSLInfo}.
+ */
+public class CertificateRevocationService {
+
+    public static final long DEFAULT_CACHE_TTL_MS = 5 * 60 * 1000L;
+    static final int MAX_CACHED_CHAINS = 10000;
+    static final long FILE_CHECK_INTERVAL_MS = 1000L;
+
+    private static final Logger log = LogManager.getLogger(CertificateRevocationService.class);
+
+    private final Settings settings;
+    private final Path configPath;
+    private Environment env;
+    private final Clock clock;
+    private final long cacheTtlMs;
+    private final Cache<HashCode, ValidatedChain> validatedChains;
+    private final AtomicInteger loads = new AtomicInteger();
+    private volatile Material material;
+
+    public CertificateRevocationService(final Settings settings, final Path configPath) {
+        this(settings, configPath, Clock.systemUTC());
+    }
+
+    CertificateRevocationService(final Settings settings, final Path configPath, final Clock clock) {
+        this.settings = settings;
+        this.configPath = configPath;
+        this.clock = clock;
+        this.cacheTtlMs = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATION_CACHE_TTL, DEFAULT_CACHE_TTL_MS);
+        this.validatedChains = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_CHAINS).build();
+    }
+
+    /**
+     * @return true if the chain is valid and none of its certificates has been revoked
+     */
+    public boolean validate(final X509Certificate[] x509Certs) {
+        try {
+            final Material current = getMaterial();
+            final long now = clock.millis();
+            final HashCode fingerprint = fingerprint(x509Certs);
+
+            final ValidatedChain cached = validatedChains.getIfPresent(fingerprint);
+            if (cached != null && cached.material == current && now < cached.expiresAt) {
+                return true;
+            }
+
+            current.validator.validate(x509Certs);
+
+            final long expiresAt = Math.min(now + cacheTtlMs, current.nextUpdate);
+            if (now < expiresAt) {
+                validatedChains.put(fingerprint, new ValidatedChain(current, expiresAt));
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Unable to validate CRL: ", ExceptionUtils.getRootCause(e));
+        }
+
+        return false;
+    }
+
+    int getLoads() {
+        return loads.get();
+    }
+
+    long getCachedChains() {
+        return validatedChains.size();
+    }
+
+    private Material getMaterial() throws Exception {
+        Material current = material;
+        final long now = clock.millis();
+        if (current != null && now - current.checkedAt < FILE_CHECK_INTERVAL_MS) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = material;
+            if (current != null && now - current.checkedAt < FILE_CHECK_INTERVAL_MS) {
+                return current;
+            }
+            final File crlFile = getFile(settings.get(SSLConfigConstants.SSECURITY_SSL_HTTP_CRL_FILE));
+            final File trustFile = getTrustFile();
+            final long crlModified = crlFile == null ? 0 : crlFile.lastModified();
+            final long trustModified = trustFile.lastModified();
+
+            if (current == null || current.crlModified != crlModified || current.trustModified != trustModified) {
+                current = load(crlFile, crlModified, trustFile, trustModified, now);
+                validatedChains.invalidateAll();
+            } else {
+                current.checkedAt = now;
+            }
+            material = current;
+            return current;
+        }
+    }
+
+    private Material load(final File crlFile, final long crlModified, final File trustFile, final long trustModified, final long now)
+        throws Exception {
+        loads.incrementAndGet();
+        final boolean isTraceEnabled = log.isTraceEnabled();
+
+        Collection<? extends CRL> crls = null;
+        long nextUpdate = Long.MAX_VALUE;
+
+        if (crlFile != null) {
+            try (FileInputStream crlin = new FileInputStream(crlFile)) {
+                crls = CertificateFactory.getInstance("X.509").generateCRLs(crlin);
+            }
+
+            for (final CRL crl : crls) {
+                if (crl instanceof X509CRL && ((X509CRL) crl).getNextUpdate() != null) {
+                    nextUpdate = Math.min(nextUpdate, ((X509CRL) crl).getNextUpdate().getTime());
+                }
+            }
+
+            if (isTraceEnabled) {
+                log.trace("crls from file: {}", crls.size());
+            }
+        } else {
+            if (isTraceEnabled) {
+                log.trace("no crl file configured");
+            }
+        }
+
+        final CertificateValidator validator;
+
+        if (settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_FILEPATH) != null) {
+            final String truststoreType = settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_TYPE, "JKS");
+            final String truststorePassword = SECURITY_SSL_HTTP_TRUSTSTORE_PASSWORD.getSetting(settings);
+
+            final KeyStore ts = KeyStore.getInstance(truststoreType);
+            try (FileInputStream fin = new FileInputStream(trustFile)) {
+                ts.load(fin, (truststorePassword == null || truststorePassword.length() == 0) ? null : truststorePassword.toCharArray());
+            }
+            validator = new CertificateValidator(ts, crls);
+        } else {
+            try (FileInputStream trin = new FileInputStream(trustFile)) {
+                @SuppressWarnings("unchecked")
+                Collection<? extends Certificate> cert = (Collection<? extends Certificate>) CertificateFactory.getInstance("X.509")
+                    .generateCertificates(trin);
+                validator = new CertificateValidator(cert.toArray(new X509Certificate[0]), crls);
+            }
+        }
+
+        validator.setEnableCRLDP(!settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_DISABLE_CRLDP, false));
+        validator.setEnableOCSP(!settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_DISABLE_OCSP, false));
+        validator.setCheckOnlyEndEntities(settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_CHECK_ONLY_END_ENTITIES, true));
+        validator.setPreferCrl(settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_PREFER_CRLFILE_OVER_OCSP, false));
+        Long dateTimestamp = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATION_DATE, null);
+        if (dateTimestamp != null && dateTimestamp.longValue() < 0) {
+            dateTimestamp = null;
+        }
+        validator.setDate(dateTimestamp == null ? null : new Date(dateTimestamp.longValue()));
+
+        // with a fixed validation date, the next update of the CRLs does not limit how long results are valid
+        return new Material(validator, crlModified, trustModified, dateTimestamp == null ? nextUpdate : Long.MAX_VALUE, now);
+    }
+
+    private File getTrustFile() {
+        final String truststore = settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_FILEPATH);
+        if (truststore != null) {
+            return getFile(truststore);
+        }
+        return getFile(settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_PEMTRUSTEDCAS_FILEPATH, ""));
+    }
+
+    private File getFile(final String path) {
+        if (path == null) {
+            return null;
+        }
+        // created on first use, as the node settings of clients and tests do not always contain path.home
+        if (env == null) {
+            env = new Environment(settings, configPath);
+        }
+        return env.configDir().resolve(path).toAbsolutePath().toFile();
+    }
+
+    private static HashCode fingerprint(final X509Certificate[] x509Certs) throws CertificateEncodingException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final X509Certificate cert : x509Certs) {
+            final byte[] encoded = cert.getEncoded();
+            hasher.putInt(encoded.length).putBytes(encoded);
+        }
+        return hasher.hash();
+    }
+
+    private static final class Material {
+        private final CertificateValidator validator;
+        private final long crlModified;
+        private final long trustModified;
+        private final long nextUpdate;
+        private volatile long checkedAt;
+
+        private Material(
+            final CertificateValidator validator,
+            final long crlModified,
+            final long trustModified,
+            final long nextUpdate,
+            final long checkedAt
+        ) {
+            this.validator = validator;
+            this.crlModified = crlModified;
+            this.trustModified = trustModified;
+            this.nextUpdate = nextUpdate;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    private static final class ValidatedChain {
+        private final Material material;
+        private final long expiresAt;
+
+        private ValidatedChain(final Material material, final long expiresAt) {
+            this.material = material;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
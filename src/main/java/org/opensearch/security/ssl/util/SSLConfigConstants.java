@@ -91,6 +91,12 @@ public final class SSLConfigConstants {
     public static final String SECURITY_SSL_HTTP_CRL_DISABLE_OCSP = "plugins.security.ssl.http.crl.disable_ocsp";
     public static final String SECURITY_SSL_HTTP_CRL_DISABLE_CRLDP = "plugins.security.ssl.http.crl.disable_crldp";
     public static final String SECURITY_SSL_HTTP_CRL_VALIDATION_DATE = "plugins.security.ssl.http.crl.validation_date";
+    public static final String SECURITY_SSL_HTTP_CRL_VALIDATION_CACHE_TTL = "plugins.security.ssl.http.crl.validation_cache_ttl_ms";
+
+    public static final String SECURITY_SSL_HTTP_SESSION_CACHE_SIZE = "plugins.security.ssl.http.session_cache_size";
+    public static final String SECURITY_SSL_HTTP_SESSION_TIMEOUT = "plugins.security.ssl.http.session_timeout_seconds";
+    public static final String SECURITY_SSL_TRANSPORT_SESSION_CACHE_SIZE = "plugins.security.ssl.transport.session_cache_size";
+    public static final String SECURITY_SSL_TRANSPORT_SESSION_TIMEOUT = "plugins.security.ssl.transport.session_timeout_seconds";
 
     public static final String SECURITY_SSL_ALLOW_CLIENT_INITIATED_RENEGOTIATION =
         "plugins.security.ssl.allow_client_initiated_renegotiation";
@@ -17,19 +17,11 @@
 
 package org.opensearch.security.ssl.util;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.nio.file.Path;
 import java.security.AccessController;
-import java.security.KeyStore;
 import java.security.PrivilegedAction;
-import java.security.cert.CRL;
 import java.security.cert.Certificate;
-import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Date;
 import java.util.Map.Entry;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLPeerUnverifiedException;
@@ -42,13 +34,10 @@ import org.opensearch.OpenSearchException;
 import org.opensearch.SpecialPermission;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
-import org.opensearch.env.Environment;
 import org.opensearch.security.filter.SecurityRequest;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.ssl.transport.PrincipalExtractor.Type;
 
-import static org.opensearch.security.ssl.SecureSSLSettings.SSLSetting.SECURITY_SSL_HTTP_TRUSTSTORE_PASSWORD;
-
 public class SSLRequestHelper {
 
     private static final Logger log = LogManager.getLogger(SSLRequestHelper.class);
@@ -117,7 +106,7 @@ public class SSLRequestHelper {
     @SuppressWarnings("removal")
     public static SSLInfo getSSLInfo(
         final Settings settings,
-        final Path configPath,
+        final CertificateRevocationService revocationService,
         final SecurityRequest request,
         PrincipalExtractor principalExtractor
     ) throws SSLPeerUnverifiedException {
@@ -152,7 +141,7 @@ public class SSLRequestHelper {
                     validationFailure = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
                         @Override
                         public Boolean run() {
-                            return !validate(x509CertsF, settings, configPath);
+                            return !validate(x509CertsF, settings, revocationService);
                         }
                     });
 
@@ -193,7 +182,11 @@ public class SSLRequestHelper {
         return false;
     }
 
-    private static boolean validate(X509Certificate[] x509Certs, final Settings settings, final Path configPath) {
+    private static boolean validate(
+        X509Certificate[] x509Certs,
+        final Settings settings,
+        final CertificateRevocationService revocationService
+    ) {
 
         final boolean validateCrl = settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATE, false);
 
@@ -206,75 +199,6 @@ public class SSLRequestHelper {
             return true;
         }
 
-        final Environment env = new Environment(settings, configPath);
-
-        try {
-
-            Collection<? extends CRL> crls = null;
-            final String crlFile = settings.get(SSLConfigConstants.SSECURITY_SSL_HTTP_CRL_FILE);
-
-            if (crlFile != null) {
-                final File crl = env.configDir().resolve(crlFile).toAbsolutePath().toFile();
-                try (FileInputStream crlin = new FileInputStream(crl)) {
-                    crls = CertificateFactory.getInstance("X.509").generateCRLs(crlin);
-                }
-
-                if (isTraceEnabled) {
-                    log.trace("crls from file: {}", crls.size());
-                }
-            } else {
-                if (isTraceEnabled) {
-                    log.trace("no crl file configured");
-                }
-            }
-
-            final String truststore = settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_FILEPATH);
-            CertificateValidator validator = null;
-
-            if (truststore != null) {
-                final String truststoreType = settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_TYPE, "JKS");
-                final String truststorePassword = SECURITY_SSL_HTTP_TRUSTSTORE_PASSWORD.getSetting(settings);
-                // final String truststoreAlias = settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_ALIAS, null);
-
-                final KeyStore ts = KeyStore.getInstance(truststoreType);
-                try (FileInputStream fin = new FileInputStream(new File(env.configDir().resolve(truststore).toAbsolutePath().toString()))) {
-                    ts.load(
-                        fin,
-                        (truststorePassword == null || truststorePassword.length() == 0) ? null : truststorePassword.toCharArray()
-                    );
-                }
-                validator = new CertificateValidator(ts, crls);
-            } else {
-                final File trustedCas = env.configDir()
-                    .resolve(settings.get(SSLConfigConstants.SECURITY_SSL_HTTP_PEMTRUSTEDCAS_FILEPATH, ""))
-                    .toAbsolutePath()
-                    .toFile();
-                try (FileInputStream trin = new FileInputStream(trustedCas)) {
-                    Collection<? extends Certificate> cert = (Collection<? extends Certificate>) CertificateFactory.getInstance("X.509")
-                        .generateCertificates(trin);
-                    validator = new CertificateValidator(cert.toArray(new X509Certificate[0]), crls);
-                }
-            }
-
-            validator.setEnableCRLDP(!settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_DISABLE_CRLDP, false));
-            validator.setEnableOCSP(!settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_DISABLE_OCSP, false));
-            validator.setCheckOnlyEndEntities(
-                settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_CHECK_ONLY_END_ENTITIES, true)
-            );
-            validator.setPreferCrl(settings.getAsBoolean(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_PREFER_CRLFILE_OVER_OCSP, false));
-            Long dateTimestamp = settings.getAsLong(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATION_DATE, null);
-            if (dateTimestamp != null && dateTimestamp.longValue() < 0) {
-                dateTimestamp = null;
-            }
-            validator.setDate(dateTimestamp == null ? null : new Date(dateTimestamp.longValue()));
-            validator.validate(x509Certs);
-
-            return true;
-
-        } catch (Exception e) {
-            log.warn("Unable to validate CRL: ", ExceptionUtils.getRootCause(e));
-        }
-
-        return false;
+        return revocationService.validate(x509Certs);
     }
 }
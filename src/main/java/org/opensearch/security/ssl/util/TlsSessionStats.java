@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.ssl.util;
+
+import java.util.Collections;
+import javax.net.ssl.SSLSessionContext;
+
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.OpenSslSessionStats;
+import io.netty.handler.ssl.SslContext;
+
+/**
+ * Snapshot of the TLS session cache of an SSL context.
+ *
+ * Resumption hits and misses are only counted by the OpenSSL provider, they are -1 for contexts of the JDK provider.
+ */
+public final class TlsSessionStats {
+
+    private final long sessionCacheSize;
+    private final long sessionTimeout;
+    private final long cachedSessions;
+    private final long hits;
+    private final long misses;
+    private final long timeouts;
+    private final long ticketResumes;
+
+    private TlsSessionStats(
+        final long sessionCacheSize,
+        final long sessionTimeout,
+        final long cachedSessions,
+        final long hits,
+        final long misses,
+        final long timeouts,
+        final long ticketResumes
+    ) {
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeout = sessionTimeout;
+        this.cachedSessions = cachedSessions;
+        this.hits = hits;
+        this.misses = misses;
+        this.timeouts = timeouts;
+        this.ticketResumes = ticketResumes;
+    }
+
+    /**
+     * @return the stats of the session cache of the context, or null if the context is null
+     */
+    public static TlsSessionStats of(final SslContext sslContext) {
+        if (sslContext == null) {
+            return null;
+        }
+
+        final SSLSessionContext sessionContext = sslContext.sessionContext();
+        if (sessionContext == null) {
+            return new TlsSessionStats(0, 0, 0, -1, -1, -1, -1);
+        }
+        final long sessionCacheSize = sessionContext.getSessionCacheSize();
+        final long sessionTimeout = sessionContext.getSessionTimeout();
+        if (sessionContext instanceof OpenSslSessionContext) {
+            final OpenSslSessionStats stats = ((OpenSslSessionContext) sessionContext).stats();
+            return new TlsSessionStats(
+                sessionCacheSize,
+                sessionTimeout,
+                stats.number(),
+                stats.hits(),
+                stats.misses(),
+                stats.timeouts(),
+                stats.ticketKeyResume()
+            );
+        }
+        final long cachedSessions = Collections.list(sessionContext.getIds()).size();
+        return new TlsSessionStats(sessionCacheSize, sessionTimeout, cachedSessions, -1, -1, -1, -1);
+    }
+
+    /**
+     * @return the maximum number of cached sessions, 0 if the number is not limited
+     */
+    public long getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    /**
+     * @return the number of seconds a session stays in the cache, 0 if sessions do not expire
+     */
+    public long getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    public long getCachedSessions() {
+        return cachedSessions;
+    }
+
+    /**
+     * @return the number of handshakes which resumed a session from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return the number of handshakes which resumed a session from a session ticket
+     */
+    public long getTicketResumes() {
+        return ticketResumes;
+    }
+
+    @Override
+    public String toString() {
+        return "TlsSessionStats [sessionCacheSize="
+            + sessionCacheSize
+            + ", sessionTimeout="
+            + sessionTimeout
+            + ", cachedSessions="
+            + cachedSessions
+            + ", hits="
+            + hits
+            + ", misses="
+            + misses
+            + ", timeouts="
+            + timeouts
+            + ", ticketResumes="
+            + ticketResumes
+            + "]";
+    }
+}
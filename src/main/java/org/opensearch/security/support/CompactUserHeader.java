@@ -0,0 +1,195 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.lucene.util.BytesRef;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.BytesStreamInput;
+import org.opensearch.security.user.User;
+
+/**
+ * Serializes the {@link User} transport header in a compact binary form.
+ *
+ * The header consists of a prefix which cannot occur in a Base64 encoded header followed by the bytes written by
+ * {@link User#writeTo}, each byte being carried by one char. Thus, no Base64 encoding and no JDK serialization is
+ * needed. Only plain {@link User} instances are serialized this way; subclasses and injected users as well as
+ * connections to nodes which do not support the format (see {@link SerializationFormat#supportsCompactUserHeader})
+ * use {@link Base64Helper}.
+ *
+ * As a single request is usually sent to many shards with the same user, the encoded header is cached per user
+ * instance and the decoded user is cached per header value.
+ */
+public class CompactUserHeader {
+
+    static final String PREFIX = "~1";
+
+    private static final int MAX_CACHED_USERS = 1000;
+
+    // weak keys are compared by identity, so users which are equal by name but differ in their roles have their own entries
+    private static final Cache<User, Encoded> encodedUsers = CacheBuilder.newBuilder().weakKeys().maximumSize(MAX_CACHED_USERS).build();
+    private static final Cache<String, Snapshot> decodedUsers = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_USERS).build();
+
+    public static String serialize(final User user, final DiscoveryNode target, final boolean useJDKSerialization) {
+        if (!SerializationFormat.supportsCompactUserHeader(target) || user.getClass() != User.class || user.isInjected()) {
+            return Base64Helper.serializeObject(user, useJDKSerialization);
+        }
+
+        final Encoded cached = encodedUsers.getIfPresent(user);
+        if (cached != null && cached.snapshot.matches(user)) {
+            return cached.header;
+        }
+
+        final Snapshot snapshot = Snapshot.of(user);
+        if (snapshot == null) {
+            return Base64Helper.serializeObject(user, useJDKSerialization);
+        }
+        final String header = encode(snapshot.toUser());
+        encodedUsers.put(user, new Encoded(snapshot, header));
+        return header;
+    }
+
+    public static User deserialize(final String header, final boolean useJDKSerialization) {
+        if (!isCompact(header)) {
+            return (User) Base64Helper.deserializeObject(header, useJDKSerialization);
+        }
+
+        try {
+            return decodedUsers.get(header, () -> Snapshot.of(decode(header))).toUser();
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            throw new OpenSearchException("Could not deserialize user header", e.getCause());
+        }
+    }
+
+    /**
+     * Converts a compact header into a Base64 encoded one for nodes which do not support the compact format.
+     * Other headers are returned as is.
+     */
+    public static String ensureSupported(final String header, final DiscoveryNode target, final boolean useJDKSerialization) {
+        if (!isCompact(header) || SerializationFormat.supportsCompactUserHeader(target)) {
+            return header;
+        }
+        return Base64Helper.serializeObject(deserialize(header, useJDKSerialization), useJDKSerialization);
+    }
+
+    public static boolean isCompact(final String header) {
+        return header != null && header.startsWith(PREFIX);
+    }
+
+    private static String encode(final User user) {
+        try (BytesStreamOutput out = new BytesStreamOutput(128)) {
+            user.writeTo(out);
+            final BytesRef bytes = out.bytes().toBytesRef();
+            return PREFIX + new String(bytes.bytes, bytes.offset, bytes.length, StandardCharsets.ISO_8859_1);
+        } catch (final Exception e) {
+            throw new OpenSearchException("Could not serialize user {}", e, user.getName());
+        }
+    }
+
+    private static User decode(final String header) throws Exception {
+        final byte[] bytes = header.substring(PREFIX.length()).getBytes(StandardCharsets.ISO_8859_1);
+        try (BytesStreamInput in = new BytesStreamInput(bytes)) {
+            final User user = new User(in);
+            if (in.available() != 0) {
+                throw new IllegalArgumentException("Unexpected trailing bytes in user header");
+            }
+            return user;
+        }
+    }
+
+    private static final class Encoded {
+        private final Snapshot snapshot;
+        private final String header;
+
+        private Encoded(final Snapshot snapshot, final String header) {
+            this.snapshot = snapshot;
+            this.header = header;
+        }
+    }
+
+    /**
+     * Immutable copy of the state of a user which is part of the header. As users are mutable, decoded users are
+     * never shared; each call gets its own instance.
+     */
+    private static final class Snapshot {
+        private final String name;
+        private final Set<String> roles;
+        private final Set<String> securityRoles;
+        private final String requestedTenant;
+        private final Map<String, String> attributes;
+
+        private Snapshot(
+            final String name,
+            final Set<String> roles,
+            final Set<String> securityRoles,
+            final String requestedTenant,
+            final Map<String, String> attributes
+        ) {
+            this.name = name;
+            this.roles = roles;
+            this.securityRoles = securityRoles;
+            this.requestedTenant = requestedTenant;
+            this.attributes = attributes;
+        }
+
+        /**
+         * @return the snapshot or null if the user has null roles or attributes, which User.writeTo() cannot write
+         */
+        private static Snapshot of(final User user) {
+            final Map<String, String> attributes = user.getCustomAttributesMap();
+            synchronized (attributes) {
+                if (user.getRoles().contains(null)
+                    || user.getSecurityRoles().contains(null)
+                    || attributes.containsKey(null)
+                    || attributes.containsValue(null)) {
+                    return null;
+                }
+                return new Snapshot(
+                    user.getName(),
+                    ImmutableSet.copyOf(user.getRoles()),
+                    ImmutableSet.copyOf(user.getSecurityRoles()),
+                    user.getRequestedTenant(),
+                    ImmutableMap.copyOf(attributes)
+                );
+            }
+        }
+
+        private boolean matches(final User user) {
+            return name.equals(user.getName())
+                && roles.equals(user.getRoles())
+                && securityRoles.equals(user.getSecurityRoles())
+                && Objects.equals(requestedTenant, user.getRequestedTenant())
+                && attributes.equals(user.getCustomAttributesMap());
+        }
+
+        private User toUser() {
+            final User user = new User(name, roles, null);
+            user.addSecurityRoles(securityRoles);
+            user.setRequestedTenant(requestedTenant);
+            user.addAttributes(attributes);
+            return user;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.security.auditlog.impl.AuditCategory;
 
 import com.password4j.types.Hmac;
@@ -63,6 +64,8 @@ public class ConfigConstants {
 
     public static final String OPENDISTRO_SECURITY_MASKED_FIELD_HEADER = OPENDISTRO_SECURITY_CONFIG_PREFIX + "masked_fields";
 
+    public static final String OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER = OPENDISTRO_SECURITY_CONFIG_PREFIX + "dls_fls_roles";
+
     public static final String OPENDISTRO_SECURITY_DOC_ALLOWLIST_HEADER = OPENDISTRO_SECURITY_CONFIG_PREFIX + "doc_allowlist";
     public static final String OPENDISTRO_SECURITY_DOC_ALLOWLIST_TRANSIENT = OPENDISTRO_SECURITY_CONFIG_PREFIX + "doc_allowlist_t";
 
@@ -202,6 +205,14 @@ public class ConfigConstants {
     public static final String SECURITY_AUDIT_OPENSEARCH_INDEX = "index";
     public static final String SECURITY_AUDIT_OPENSEARCH_TYPE = "type";
 
+    // Internal OpenSearch bulk writes
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_ENABLED = "bulk.enabled";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS = "bulk.max_actions";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_SIZE = "bulk.max_size";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_FLUSH_INTERVAL = "bulk.flush_interval";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_PENDING_ACTIONS = "bulk.max_pending_actions";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_RETRIES = "bulk.max_retries";
+
     // External OpenSearch
     public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_HTTP_ENDPOINTS = "http_endpoints";
     public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_USERNAME = "username";
@@ -282,6 +293,9 @@ public class ConfigConstants {
     public static final String SECURITY_COMPLIANCE_SALT_DEFAULT = "e1ukloTsQlOgPquJ";// 16 chars
     public static final String SECURITY_COMPLIANCE_HISTORY_INTERNAL_CONFIG_ENABLED =
         "opendistro_security.compliance.history.internal_config_enabled";
+    public static final String SECURITY_COMPLIANCE_HISTORY_READ_AGGREGATE_DOCUMENTS =
+        "plugins.security.compliance.history.read.aggregate_documents";
+    public static final boolean SECURITY_COMPLIANCE_HISTORY_READ_AGGREGATE_DOCUMENTS_DEFAULT = false;
     public static final String SECURITY_SSL_ONLY = "plugins.security.ssl_only";
     public static final String SECURITY_CONFIG_SSL_DUAL_MODE_ENABLED = "plugins.security_config.ssl_dual_mode_enabled";
     public static final String SECURITY_SSL_DUAL_MODE_SKIP_SECURITY = OPENDISTRO_SECURITY_CONFIG_PREFIX + "passive_security";
@@ -289,6 +303,35 @@ public class ConfigConstants {
     public static final String SECURITY_SSL_CERT_RELOAD_ENABLED = "plugins.security.ssl_cert_reload_enabled";
     public static final String SECURITY_DISABLE_ENVVAR_REPLACEMENT = "plugins.security.disable_envvar_replacement";
     public static final String SECURITY_DFM_EMPTY_OVERRIDES_ALL = "plugins.security.dfm_empty_overrides_all";
+    public static final String SECURITY_PRIVILEGES_PRECOMPUTED_INDEX_MATRIX_ENABLED =
+        "plugins.security.privileges_evaluation.precomputed_index_matrix.enabled";
+    public static final boolean SECURITY_PRIVILEGES_PRECOMPUTED_INDEX_MATRIX_ENABLED_DEFAULT = true;
+    public static final String SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE =
+        "plugins.security.privileges_evaluation.resolved_index_pattern_cache.max_size";
+    public static final String SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE_DEFAULT = "10mb";
+    public static final String SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS =
+        "plugins.security.privileges_evaluation.cluster_permission_cache.max_role_sets";
+    public static final int SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS_DEFAULT = 1000;
+    public static final String SECURITY_DLS_BITSET_CACHE_MAX_SIZE = "plugins.security.dls.bitset_cache.max_size";
+    public static final String SECURITY_DLS_BITSET_CACHE_MAX_SIZE_DEFAULT = "1%";
+    public static final String SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED = "plugins.security.dls_fls.compact_headers.enabled";
+    public static final boolean SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED_DEFAULT = false;
+    public static final String SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE = "plugins.security.dls_fls.rule_cache.max_size";
+    public static final int SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE_DEFAULT = 1000;
+    public static final String SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_MAX_SIZE =
+        "plugins.security.roles_mapping.reverse_dns.cache.max_size";
+    public static final int SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_MAX_SIZE_DEFAULT = 10000;
+    public static final String SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL = "plugins.security.roles_mapping.reverse_dns.cache.ttl";
+    public static final TimeValue SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL_DEFAULT = TimeValue.timeValueMinutes(10);
+    public static final String SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL =
+        "plugins.security.roles_mapping.reverse_dns.cache.negative_ttl";
+    public static final TimeValue SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL_DEFAULT = TimeValue.timeValueMinutes(1);
+    public static final String SECURITY_ROLES_MAPPING_REVERSE_DNS_THREADS = "plugins.security.roles_mapping.reverse_dns.threads";
+    public static final int SECURITY_ROLES_MAPPING_REVERSE_DNS_THREADS_DEFAULT = 2;
+    public static final String SECURITY_ROLES_MAPPING_REVERSE_DNS_QUEUE_SIZE = "plugins.security.roles_mapping.reverse_dns.queue_size";
+    public static final int SECURITY_ROLES_MAPPING_REVERSE_DNS_QUEUE_SIZE_DEFAULT = 1000;
+    public static final String SECURITY_ROLES_MAPPING_REVERSE_DNS_PENDING_WAIT = "plugins.security.roles_mapping.reverse_dns.pending_wait";
+    public static final TimeValue SECURITY_ROLES_MAPPING_REVERSE_DNS_PENDING_WAIT_DEFAULT = TimeValue.ZERO;
 
     public enum RolesMappingResolution {
         MAPPING_ONLY,
@@ -34,6 +34,15 @@ public class JsonFlattener {
         }
     }
 
+    /**
+     * Flattens a value which has been read from JSON, using the path of the value as prefix.
+     */
+    public static Map<String, Object> flattenAsMap(final String path, final Object value) {
+        final Map<String, Object> flattenMap = new LinkedHashMap<>();
+        flattenElement(path, value, flattenMap);
+        return flattenMap;
+    }
+
     private static void flattenEntries(String prefix, final Iterable<Map.Entry<String, Object>> entries, final Map<String, Object> result) {
         if (!Strings.isNullOrEmpty(prefix)) {
             prefix += ".";
@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.List;
+
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.common.settings.Settings;
+
+/**
+ * Wire formats of the security plugin which a node must only use if the receiving node supports them.
+ *
+ * Nodes with the same OpenSearch version can run different builds of the security plugin, so the version of a node
+ * does not tell whether it understands a format. Instead, every node advertises the formats it supports as node
+ * attributes, which are part of the {@link DiscoveryNode} the other nodes know.
+ */
+public final class NodeCapabilities {
+
+    /**
+     * The node can read the user header in the format of {@link CompactUserHeader}.
+     */
+    public static final String COMPACT_USER_HEADER = "security.compact_user_header";
+
+    /**
+     * The node can evaluate the DLS/FLS restrictions of a
+     * {@link org.opensearch.security.configuration.DlsFlsRoleDigest} on its own.
+     */
+    public static final String DLS_FLS_ROLE_DIGEST = "security.dls_fls_role_digest";
+
+    private static final List<String> SUPPORTED = List.of(COMPACT_USER_HEADER, DLS_FLS_ROLE_DIGEST);
+
+    private NodeCapabilities() {}
+
+    /**
+     * @return the node attributes which advertise the capabilities of this node
+     */
+    public static Settings nodeAttributes() {
+        final Settings.Builder builder = Settings.builder();
+        for (final String capability : SUPPORTED) {
+            builder.put("node.attr." + capability, true);
+        }
+        return builder.build();
+    }
+
+    public static boolean has(final DiscoveryNode node, final String capability) {
+        return node != null && Boolean.parseBoolean(node.getAttributes().get(capability));
+    }
+
+    /**
+     * @return true if every node of the cluster has the capability
+     */
+    public static boolean allHave(final DiscoveryNodes nodes, final String capability) {
+        for (final DiscoveryNode node : nodes) {
+            if (!has(node, capability)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
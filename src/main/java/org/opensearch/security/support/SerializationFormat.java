@@ -12,6 +12,7 @@
 package org.opensearch.security.support;
 
 import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
 
 public enum SerializationFormat {
     /** Uses Java's native serialization system */
@@ -32,4 +33,13 @@ public enum SerializationFormat {
         }
         return SerializationFormat.JDK;
     }
+
+    /**
+     * Determines whether the user header can be sent to the node in the format of {@link CompactUserHeader}. This
+     * depends on the build of the security plugin of the node, not on its version, see {@link NodeCapabilities}.
+     * Other headers are not affected and use the format returned by {@link #determineFormat(Version)}.
+     */
+    public static boolean supportsCompactUserHeader(final DiscoveryNode node) {
+        return NodeCapabilities.has(node, NodeCapabilities.COMPACT_USER_HEADER);
+    }
 }
@@ -26,6 +26,7 @@
 
 package org.opensearch.security.support;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -167,7 +168,6 @@ public abstract class WildcardMatcher implements Predicate<String> {
         return from(pattern, true);
     }
 
-    // This may in future use more optimized techniques to combine multiple WildcardMatchers in a single automaton
     public static <T> WildcardMatcher from(Stream<T> stream, boolean caseSensitive) {
         Collection<WildcardMatcher> matchers = stream.map(t -> {
             if (t == null) {
@@ -460,20 +460,72 @@ public abstract class WildcardMatcher implements Predicate<String> {
     // MatcherCombiner is a combination of a set of matchers
     // matches if any of the set do
     // Empty MultiMatcher always returns false
+    // Exact and simple wildcard patterns are merged into one trie per case sensitivity
+    // and tested in a single pass, all other matchers are tested one after the other
     private static final class MatcherCombiner extends WildcardMatcher {
 
         private final Collection<WildcardMatcher> wildcardMatchers;
         private final int hashCode;
+        private final WildcardPatternTrie caseSensitivePatterns;
+        private final WildcardPatternTrie caseInsensitivePatterns;
+        private final WildcardMatcher[] otherMatchers;
 
         MatcherCombiner(Collection<WildcardMatcher> wildcardMatchers) {
             Preconditions.checkArgument(wildcardMatchers.size() > 1);
             this.wildcardMatchers = wildcardMatchers;
             hashCode = wildcardMatchers.hashCode();
+
+            final List<String> caseSensitive = new ArrayList<>();
+            final List<String> caseInsensitive = new ArrayList<>();
+            final List<WildcardMatcher> others = new ArrayList<>();
+            partition(wildcardMatchers, caseSensitive, caseInsensitive, others);
+
+            caseSensitivePatterns = caseSensitive.isEmpty() ? null : WildcardPatternTrie.of(caseSensitive);
+            caseInsensitivePatterns = caseInsensitive.isEmpty() ? null : WildcardPatternTrie.of(caseInsensitive);
+            otherMatchers = others.toArray(new WildcardMatcher[0]);
+        }
+
+        private static void partition(
+            Collection<WildcardMatcher> matchers,
+            List<String> caseSensitive,
+            List<String> caseInsensitive,
+            List<WildcardMatcher> others
+        ) {
+            for (WildcardMatcher matcher : matchers) {
+                if (isPattern(matcher)) {
+                    caseSensitive.add(matcher.toString());
+                } else if (matcher instanceof CasefoldingMatcher && isPattern(((CasefoldingMatcher) matcher).inner)) {
+                    caseInsensitive.add(matcher.toString());
+                } else if (matcher instanceof MatcherCombiner) {
+                    partition(((MatcherCombiner) matcher).wildcardMatchers, caseSensitive, caseInsensitive, others);
+                } else {
+                    others.add(matcher);
+                }
+            }
+        }
+
+        private static boolean isPattern(WildcardMatcher matcher) {
+            return matcher instanceof Exact || matcher instanceof SimpleMatcher;
         }
 
         @Override
         public boolean test(String candidate) {
-            return wildcardMatchers.stream().anyMatch(m -> m.test(candidate));
+            if (candidate == null) {
+                // keep the null handling of the individual matchers
+                return wildcardMatchers.stream().anyMatch(m -> m.test(candidate));
+            }
+            if (caseSensitivePatterns != null && caseSensitivePatterns.test(candidate)) {
+                return true;
+            }
+            if (caseInsensitivePatterns != null && caseInsensitivePatterns.test(candidate.toLowerCase())) {
+                return true;
+            }
+            for (WildcardMatcher matcher : otherMatchers) {
+                if (matcher.test(candidate)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         @Override
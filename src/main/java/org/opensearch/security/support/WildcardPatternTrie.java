@@ -0,0 +1,180 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Matches a string against a set of simple wildcard patterns ({@code *} and {@code ?}) in a single pass.
+ *
+ * The patterns are merged into a trie, so patterns with common prefixes share their nodes. The trie is run as a
+ * non-deterministic automaton: while the candidate is consumed char by char, only the nodes which can still lead to
+ * a match are tracked. A node that ends a pattern with a trailing {@code *} matches every remainder, so the typical
+ * {@code prefix*} patterns are decided as soon as the prefix has been read.
+ */
+final class WildcardPatternTrie {
+
+    private final Node root;
+
+    private WildcardPatternTrie(final Node root) {
+        this.root = root;
+    }
+
+    static WildcardPatternTrie of(final Collection<String> patterns) {
+        final Node root = new Node(false);
+
+        for (final String pattern : patterns) {
+            Node node = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = pattern.charAt(i);
+                if (c == '*') {
+                    // consecutive stars are equivalent to a single one
+                    if (!node.star) {
+                        node = node.starChild();
+                    }
+                } else if (c == '?') {
+                    node = node.anyCharChild();
+                } else {
+                    node = node.child(c);
+                }
+            }
+            node.terminal = true;
+        }
+
+        root.freeze();
+        return new WildcardPatternTrie(root);
+    }
+
+    boolean test(final String candidate) {
+        List<Node> active = new ArrayList<>(4);
+        List<Node> next = new ArrayList<>(4);
+
+        if (add(active, root)) {
+            return true;
+        }
+
+        for (int i = 0; i < candidate.length() && !active.isEmpty(); i++) {
+            final char c = candidate.charAt(i);
+
+            for (int n = 0; n < active.size(); n++) {
+                final Node node = active.get(n);
+                if (node.star && add(next, node)) {
+                    return true;
+                }
+                final Node child = node.get(c);
+                if (child != null && add(next, child)) {
+                    return true;
+                }
+                if (node.anyChar != null && add(next, node.anyChar)) {
+                    return true;
+                }
+            }
+
+            final List<Node> tmp = active;
+            active = next;
+            next = tmp;
+            next.clear();
+        }
+
+        for (int n = 0; n < active.size(); n++) {
+            if (active.get(n).terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the node and the star node which can be reached from it without consuming a char.
+     *
+     * @return true if a node was reached which matches any remainder of the candidate
+     */
+    private static boolean add(final List<Node> nodes, final Node node) {
+        if (node.star && node.terminal) {
+            return true;
+        }
+        if (!contains(nodes, node)) {
+            nodes.add(node);
+        }
+        return node.starChild != null && add(nodes, node.starChild);
+    }
+
+    private static boolean contains(final List<Node> nodes, final Node node) {
+        for (int n = 0; n < nodes.size(); n++) {
+            if (nodes.get(n) == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final boolean star;
+        private boolean terminal;
+        private Node anyChar;
+        private Node starChild;
+        private Map<Character, Node> building = new TreeMap<>();
+        private char[] chars;
+        private Node[] children;
+
+        private Node(final boolean star) {
+            this.star = star;
+        }
+
+        private Node child(final char c) {
+            return building.computeIfAbsent(c, k -> new Node(false));
+        }
+
+        private Node anyCharChild() {
+            if (anyChar == null) {
+                anyChar = new Node(false);
+            }
+            return anyChar;
+        }
+
+        private Node starChild() {
+            if (starChild == null) {
+                starChild = new Node(true);
+            }
+            return starChild;
+        }
+
+        private Node get(final char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void freeze() {
+            chars = new char[building.size()];
+            children = new Node[building.size()];
+            int i = 0;
+            for (Map.Entry<Character, Node> entry : building.entrySet()) {
+                chars[i] = entry.getKey();
+                children[i++] = entry.getValue();
+                entry.getValue().freeze();
+            }
+            building = null;
+
+            if (anyChar != null) {
+                anyChar.freeze();
+            }
+            if (starChild != null) {
+                starChild.freeze();
+            }
+        }
+    }
+}
@@ -35,6 +35,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -55,6 +57,7 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
     private final WildcardMatcher staticNodesDnFromEsYml;
     private boolean dynamicNodesDnConfigEnabled;
     private volatile Map<String, WildcardMatcher> dynamicNodesDn;
+    private volatile NodesDn nodesDnToEvaluate;
 
     public DefaultInterClusterRequestEvaluator(final Settings settings) {
         this.certOid = settings.get(ConfigConstants.SECURITY_CERT_OID, "1.2.3.4.5.5");
@@ -64,6 +67,7 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
         );
         this.dynamicNodesDnConfigEnabled = settings.getAsBoolean(ConfigConstants.SECURITY_NODES_DN_DYNAMIC_CONFIG_ENABLED, false);
         this.dynamicNodesDn = Collections.emptyMap();
+        this.nodesDnToEvaluate = new NodesDn(staticNodesDnFromEsYml);
     }
 
     public void subscribeForChanges(DynamicConfigFactory dynamicConfigFactory) {
@@ -79,6 +83,10 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
         return staticNodesDnFromEsYml;
     }
 
+    /**
+     * The verdict only depends on the peer certificate and the principal extracted from it, so it is computed once
+     * per certificate until the nodes DN configuration changes.
+     */
     @Override
     public boolean isInterClusterRequest(
         TransportRequest request,
@@ -86,6 +94,23 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
         X509Certificate[] peerCerts,
         final String principal
     ) {
+        final NodesDn nodesDn = this.nodesDnToEvaluate;
+
+        if (peerCerts == null || peerCerts.length == 0) {
+            return evaluate(nodesDn.matcher, peerCerts, principal);
+        }
+
+        final Boolean cached = nodesDn.verdicts.getIfPresent(peerCerts[0]);
+        if (cached != null) {
+            return cached;
+        }
+
+        final boolean isInterClusterRequest = evaluate(nodesDn.matcher, peerCerts, principal);
+        nodesDn.verdicts.put(peerCerts[0], isInterClusterRequest);
+        return isInterClusterRequest;
+    }
+
+    private boolean evaluate(final WildcardMatcher nodesDn, X509Certificate[] peerCerts, final String principal) {
 
         String[] principals = new String[2];
 
@@ -94,8 +119,6 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
             principals[1] = principal.replace(" ", "");
         }
 
-        WildcardMatcher nodesDn = this.getNodesDnToEvaluate();
-
         final boolean isTraceEnabled = log.isTraceEnabled();
         if (principals[0] != null && nodesDn.matchAny(principals)) {
 
@@ -179,5 +202,19 @@ public final class DefaultInterClusterRequestEvaluator implements InterClusterRe
     @Subscribe
     public void onNodesDnModelChanged(NodesDnModel nm) {
         this.dynamicNodesDn = nm.getNodesDn();
+        this.nodesDnToEvaluate = new NodesDn(getNodesDnToEvaluate());
+    }
+
+    /**
+     * The combined nodes DN matcher and the verdicts computed with it. Peer certificates are attached to the TLS session,
+     * so their identity is stable for all requests of a connection and the verdicts are held by weak references to them.
+     */
+    private static final class NodesDn {
+        private final WildcardMatcher matcher;
+        private final Cache<X509Certificate, Boolean> verdicts = CacheBuilder.newBuilder().weakKeys().build();
+
+        private NodesDn(final WildcardMatcher matcher) {
+            this.matcher = matcher;
+        }
     }
 }
@@ -61,6 +61,7 @@ import org.opensearch.security.ssl.SslExceptionHandler;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.ssl.transport.SSLConfig;
 import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.CompactUserHeader;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.SerializationFormat;
@@ -171,6 +172,7 @@ public class SecurityInterceptor {
                             || k.equals(ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER)
                             || k.equals(ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER)
                             || k.equals(ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER)
+                            || k.equals(ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER)
                             || k.equals(ConfigConstants.OPENDISTRO_SECURITY_DOC_ALLOWLIST_HEADER)
                             || k.equals(ConfigConstants.OPENDISTRO_SECURITY_FILTER_LEVEL_DLS_DONE)
                             || k.equals(ConfigConstants.OPENDISTRO_SECURITY_DLS_MODE_HEADER)
@@ -194,6 +196,7 @@ public class SecurityInterceptor {
                 headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_DLS_MODE_HEADER);
                 headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER);
                 headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER);
+                headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER);
                 headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_FILTER_LEVEL_DLS_DONE);
                 headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_DLS_FILTER_LEVEL_QUERY_HEADER);
                 headerMap.remove(ConfigConstants.OPENDISTRO_SECURITY_DOC_ALLOWLIST_HEADER);
@@ -231,20 +234,29 @@ public class SecurityInterceptor {
                 );
             }
 
+            final String userHeader = headerMap.get(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER);
+            if (userHeader != null) {
+                // the user header might have been received in the compact format, which the target node possibly does not support
+                headerMap.put(
+                    ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER,
+                    CompactUserHeader.ensureSupported(userHeader, connection.getNode(), serializationFormat == SerializationFormat.JDK)
+                );
+            }
+
             try {
                 if (clusterInfoHolder.getMinNodeVersion() == null || clusterInfoHolder.getMinNodeVersion().before(Version.V_2_14_0)) {
                     if (serializationFormat == SerializationFormat.JDK) {
                         Map<String, String> jdkSerializedHeaders = new HashMap<>();
                         HeaderHelper.getAllSerializedHeaderNames()
                             .stream()
-                            .filter(k -> headerMap.get(k) != null)
+                            .filter(k -> headerMap.get(k) != null && !CompactUserHeader.isCompact(headerMap.get(k)))
                             .forEach(k -> jdkSerializedHeaders.put(k, Base64Helper.ensureJDKSerialized(headerMap.get(k))));
                         headerMap.putAll(jdkSerializedHeaders);
                     } else if (serializationFormat == SerializationFormat.CustomSerializer_2_11) {
                         Map<String, String> customSerializedHeaders = new HashMap<>();
                         HeaderHelper.getAllSerializedHeaderNames()
                             .stream()
-                            .filter(k -> headerMap.get(k) != null)
+                            .filter(k -> headerMap.get(k) != null && !CompactUserHeader.isCompact(headerMap.get(k)))
                             .forEach(k -> customSerializedHeaders.put(k, Base64Helper.ensureCustomSerialized(headerMap.get(k))));
                         headerMap.putAll(customSerializedHeaders);
                     }
@@ -261,7 +273,8 @@ public class SecurityInterceptor {
                 injectedUserString,
                 injectedRolesString,
                 isSameNodeRequest,
-                serializationFormat
+                serializationFormat,
+                connection.getNode()
             );
 
             if (actionTraceEnabled.get()) {
@@ -290,7 +303,8 @@ public class SecurityInterceptor {
         final String injectedUserString,
         final String injectedRolesString,
         final boolean isSameNodeRequest,
-        final SerializationFormat format
+        final SerializationFormat format,
+        final DiscoveryNode target
     ) {
         // keep original address
 
@@ -342,7 +356,7 @@ public class SecurityInterceptor {
                 if (origUser != null) {
                     getThreadContext().putHeader(
                         ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER,
-                        Base64Helper.serializeObject(origUser, useJDKSerialization)
+                        CompactUserHeader.serialize(origUser, target, useJDKSerialization)
                     );
                 } else if (StringUtils.isNotEmpty(injectedRolesString)) {
                     getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_INJECTED_ROLES_HEADER, injectedRolesString);
@@ -53,9 +53,9 @@ import org.opensearch.security.ssl.transport.SSLConfig;
 import org.opensearch.security.ssl.transport.SecuritySSLRequestHandler;
 import org.opensearch.security.ssl.util.ExceptionUtils;
 import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.CompactUserHeader;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
-import org.opensearch.security.user.User;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportChannel;
@@ -183,7 +183,7 @@ public class SecurityRequestHandler<T extends TransportRequest> extends Security
                 } else {
                     getThreadContext().putTransient(
                         ConfigConstants.OPENDISTRO_SECURITY_USER,
-                        Objects.requireNonNull((User) Base64Helper.deserializeObject(userHeader, useJDKSerialization))
+                        Objects.requireNonNull(CompactUserHeader.deserialize(userHeader, useJDKSerialization))
                     );
                 }
 
@@ -53,10 +53,7 @@ public class KeyUtils {
                     try {
                         PublicKey key = null;
 
-                        final String minimalKeyFormat = signingKey.replace("-----BEGIN PUBLIC KEY-----\n", "")
-                            .replace("-----END PUBLIC KEY-----", "")
-                            .trim();
-                        final byte[] decoded = Base64.getDecoder().decode(minimalKeyFormat);
+                        final byte[] decoded = decodeSigningKey(signingKey);
 
                         try {
                             key = getPublicKey(decoded, "RSA");
@@ -87,6 +84,38 @@ public class KeyUtils {
         return jwtParserBuilder;
     }
 
+    /**
+     * Returns the type of a signing key as it is used by {@link #createJwtParserBuilderFromSigningKey(String, Logger)}:
+     * "RSA" or "EC" for public keys, "HMAC" for secrets, or null if the key is missing or not base64 encoded.
+     */
+    public static String getSigningKeyType(final String signingKey) {
+        if (Strings.isNullOrEmpty(signingKey)) {
+            return null;
+        }
+        final byte[] decoded;
+        try {
+            decoded = decodeSigningKey(signingKey);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        for (final String algo : new String[] { "RSA", "EC" }) {
+            try {
+                getPublicKey(decoded, algo);
+                return algo;
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                // try the next type
+            }
+        }
+        return "HMAC";
+    }
+
+    private static byte[] decodeSigningKey(final String signingKey) {
+        final String minimalKeyFormat = signingKey.replace("-----BEGIN PUBLIC KEY-----\n", "")
+            .replace("-----END PUBLIC KEY-----", "")
+            .trim();
+        return Base64.getDecoder().decode(minimalKeyFormat);
+    }
+
     private static PublicKey getPublicKey(final byte[] keyBytes, final String algo) throws NoSuchAlgorithmException,
         InvalidKeySpecException {
         X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
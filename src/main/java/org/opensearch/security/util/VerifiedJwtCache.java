@@ -0,0 +1,140 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.opensearch.common.CheckedFunction;
+import org.opensearch.common.settings.Settings;
+
+/**
+ * Cache of the claims of JWTs whose signature and claims have already been verified by an authenticator.
+ *
+ * Clients usually send the same bearer token with every request until it expires, so verifying the signature again
+ * for every request is wasted work. Entries are keyed by the SHA-256 hash of the token and expire at the expiration
+ * time of the token, but at the latest {@link #MAX_TTL_MINUTES} minutes after they were verified, so that tokens
+ * signed by a key that has been removed are not accepted for long. Tokens which fail verification are not cached.
+ *
+ * Checks which do not depend on the signature, like the required audience, must be applied to the cached claims by
+ * the caller or be part of the verification.
+ */
+public class VerifiedJwtCache<T> {
+
+    public static final String MAX_SIZE = "jwt_cache_max_size";
+    public static final int MAX_SIZE_DEFAULT = 1000;
+    static final long MAX_TTL_MINUTES = 5;
+
+    private final Cache<HashCode, Entry<T>> cache;
+    private final Function<T, Date> expirationTime;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param settings the settings of the authenticator
+     * @param expirationTime returns the expiration time of the verified claims, or null if the token does not expire
+     */
+    public VerifiedJwtCache(final Settings settings, final Function<T, Date> expirationTime) {
+        this(settings.getAsInt(MAX_SIZE, MAX_SIZE_DEFAULT), expirationTime, Clock.systemUTC());
+    }
+
+    VerifiedJwtCache(final int maxSize, final Function<T, Date> expirationTime, final Clock clock) {
+        if (maxSize > 0) {
+            this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(MAX_TTL_MINUTES, TimeUnit.MINUTES).build();
+        } else {
+            this.cache = null;
+        }
+        this.expirationTime = expirationTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached claims of the token, or verifies the token with the verifier and caches its claims.
+     */
+    public <E extends Exception> T verify(final String token, final CheckedFunction<String, T, E> verifier) throws E {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+
+        final HashCode key = Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+        final Entry<T> entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (clock.millis() < entry.expiresAt) {
+                hits.increment();
+                return entry.claims;
+            }
+            cache.invalidate(key);
+        }
+
+        misses.increment();
+        final T claims = verifier.apply(token);
+        final Date expiration = expirationTime.apply(claims);
+        final long expiresAt = expiration == null ? Long.MAX_VALUE : expiration.getTime();
+        if (clock.millis() < expiresAt) {
+            cache.put(key, new Entry<>(claims, expiresAt));
+        }
+        return claims;
+    }
+
+    /**
+     * @return the number of signature verifications saved by the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getCount() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Implemented by authenticators which verify JWTs through a cache, so that the statistics of the caches of all
+     * configured authenticators can be reported.
+     */
+    public interface Provider {
+
+        /**
+         * @return the cache, or null if the authenticator has no cache
+         */
+        VerifiedJwtCache<?> getVerifiedJwtCache();
+    }
+
+    private static final class Entry<T> {
+        private final T claims;
+        private final long expiresAt;
+
+        private Entry(final T claims, final long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
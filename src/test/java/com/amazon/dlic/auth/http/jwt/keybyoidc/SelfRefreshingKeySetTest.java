@@ -11,15 +11,20 @@
 
 package com.amazon.dlic.auth.http.jwt.keybyoidc;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
 
@@ -101,6 +106,67 @@ public class SelfRefreshingKeySetTest {
         Assert.assertThrows(BadCredentialsException.class, () -> selfRefreshingKeySet.getKeyAfterRefresh("kid/X"));
     }
 
+    @Test
+    public void getKey_afterMaxAgeShouldRefreshInBackground() throws Exception {
+        final AtomicInteger fetches = new AtomicInteger();
+        final SelfRefreshingKeySet keySet = new SelfRefreshingKeySet(new KeySetProvider() {
+            @Override
+            public JWKSet get() {
+                fetches.incrementAndGet();
+                return TestJwk.OCT_1_2_3;
+            }
+
+            @Override
+            public long getMaxAgeMs() {
+                return 1;
+            }
+        });
+        keySet.setRefreshRateLimitTimeWindowMs(1);
+
+        assertThat(keySet.getKey("kid/a"), is(notNullValue()));
+        assertThat(fetches.get(), is(1));
+
+        Thread.sleep(10);
+        assertThat(keySet.getKey("kid/a"), is(notNullValue()));
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (fetches.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(fetches.get(), is(greaterThan(1)));
+        assertThat(keySet.getRefreshCount(), is(1L));
+    }
+
+    @Test
+    public void getKey_concurrentLookupsOfUnknownKidShouldRefreshOnce() throws Exception {
+        final AtomicInteger fetches = new AtomicInteger();
+        final SelfRefreshingKeySet keySet = new SelfRefreshingKeySet(() -> {
+            fetches.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TestJwk.OCT_1_2_3;
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Future<JWK>> keys = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                keys.add(executor.submit(() -> keySet.getKey("kid/a")));
+            }
+            for (final Future<JWK> key : keys) {
+                assertThat(key.get(5, TimeUnit.SECONDS), is(notNullValue()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(fetches.get(), is(1));
+        assertThat(keySet.getRefreshCount(), is(1L));
+    }
+
     static class MockKeySetProvider implements KeySetProvider {
 
         @Override
@@ -0,0 +1,339 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package com.amazon.dlic.auth.ldap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.WildcardMatcher;
+
+import com.amazon.dlic.auth.ldap.backend.LDAPAuthorizationBackend;
+import com.amazon.dlic.auth.ldap.srv.EmbeddedLDAPServer;
+import com.amazon.dlic.auth.ldap.util.ConfigConstants;
+import com.amazon.dlic.auth.ldap.util.LdapHelper;
+import com.amazon.dlic.auth.ldap.util.NestedRoleResolver;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchEntry;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.Entry;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.ReadOnlySearchRequest;
+import org.ldaptive.Connection;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchFilter;
+import org.ldaptive.SearchScope;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class NestedRoleResolverTest {
+
+    static {
+        System.setProperty("security.display_lic_none", "true");
+    }
+
+    private static final String ROLE_BASE = "ou=groups,o=TEST";
+    private static final String SIMPLE_FILTER = "(uniqueMember={0})";
+    private static final String COMPLEX_FILTER = "(&(objectClass=groupOfUniqueNames)(uniqueMember={0}))";
+    private static final String USER_ROLE_NAME = "description";
+    private static final String[] RETURN_ATTRIBUTES = ReturnAttributes.ALL.value();
+
+    private static final SearchRecorder searches = new SearchRecorder();
+    private static EmbeddedLDAPServer ldapServer = null;
+    private static int ldapPort;
+
+    private Connection connection;
+
+    @BeforeClass
+    public static void startLdapServer() throws Exception {
+        ldapServer = new EmbeddedLDAPServer();
+        ldapServer.addOperationInterceptor(searches);
+        ldapServer.start();
+        ldapServer.applyLdif("nested.ldif");
+        ldapPort = ldapServer.getLdapPort();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        connection = LDAPAuthorizationBackend.getConnection(
+            Settings.builder().putList(ConfigConstants.LDAP_HOSTS, "localhost:" + ldapPort).build(),
+            null
+        );
+        searches.reset();
+    }
+
+    @After
+    public void tearDownConnection() {
+        searches.stripBatchMembers = false;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testResolvesAllLevels() throws Exception {
+        final NestedRoleResolver resolver = resolver(Settings.EMPTY, WildcardMatcher.NONE, SIMPLE_FILTER);
+
+        assertThat(
+            resolve(resolver, SIMPLE_FILTER),
+            equalTo(names("dept1", "dept2", "cycle-b", "project", "division", "cycle-a", "company", "board"))
+        );
+    }
+
+    @Test
+    public void testBatchedSearch() throws Exception {
+        final NestedRoleResolver resolver = resolver(noCache(), WildcardMatcher.NONE, SIMPLE_FILTER);
+
+        final Set<LdapName> roles = resolve(resolver, SIMPLE_FILTER);
+
+        // one search for each of the first three levels with more than one group, one search each for company and board
+        assertThat(searches.orFilters(), is(3L));
+        assertThat(searches.roleSearches.size(), is(5));
+        assertThat(roles, equalTo(resolve(resolver(noCache(), WildcardMatcher.NONE, COMPLEX_FILTER), COMPLEX_FILTER)));
+    }
+
+    @Test
+    public void testSingleSearchForComplexFilter() throws Exception {
+        final NestedRoleResolver resolver = resolver(noCache(), WildcardMatcher.NONE, COMPLEX_FILTER);
+
+        resolve(resolver, COMPLEX_FILTER);
+
+        // one search per group
+        assertThat(searches.orFilters(), is(0L));
+        assertThat(searches.roleSearches.size(), is(10));
+    }
+
+    @Test
+    public void testFallsBackToSingleSearchesIfMembersCannotBeAttributed() throws Exception {
+        final Set<LdapName> expected = resolve(resolver(noCache(), WildcardMatcher.NONE, SIMPLE_FILTER), SIMPLE_FILTER);
+        searches.reset();
+        searches.stripBatchMembers = true;
+
+        final Set<LdapName> roles = resolve(resolver(noCache(), WildcardMatcher.NONE, SIMPLE_FILTER), SIMPLE_FILTER);
+
+        assertThat(roles, equalTo(expected));
+        assertThat(searches.orFilters(), is(3L));
+        // every group of the three batches is searched again on its own
+        assertThat(searches.roleSearches.size() - searches.orFilters(), is(10L));
+    }
+
+    @Test
+    public void testCacheHits() throws Exception {
+        final NestedRoleResolver resolver = resolver(Settings.EMPTY, WildcardMatcher.NONE, SIMPLE_FILTER);
+        final Set<LdapName> roles = resolve(resolver, SIMPLE_FILTER);
+        searches.reset();
+
+        assertThat(resolve(resolver, SIMPLE_FILTER), equalTo(roles));
+        assertThat(searches.roleSearches.size(), is(0));
+        assertThat(searches.lookups.get(), is(0));
+    }
+
+    @Test
+    public void testCacheExpiry() throws Exception {
+        final Settings settings = Settings.builder().put(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL, 200).build();
+        final NestedRoleResolver resolver = resolver(settings, WildcardMatcher.NONE, SIMPLE_FILTER);
+        final Set<LdapName> roles = resolve(resolver, SIMPLE_FILTER);
+
+        Thread.sleep(300);
+        searches.reset();
+
+        assertThat(resolve(resolver, SIMPLE_FILTER), equalTo(roles));
+        assertThat(searches.roleSearches.size(), is(5));
+    }
+
+    @Test
+    public void testMaxDepth() throws Exception {
+        final Settings settings = Settings.builder().put(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, 2).build();
+
+        assertThat(
+            resolve(resolver(settings, WildcardMatcher.NONE, SIMPLE_FILTER), SIMPLE_FILTER),
+            equalTo(names("dept1", "dept2", "cycle-b", "project", "division", "cycle-a"))
+        );
+    }
+
+    @Test
+    public void testNestedRoleFilter() throws Exception {
+        final WildcardMatcher nestedRoleMatcher = WildcardMatcher.from("cn=division,*");
+
+        assertThat(
+            resolve(resolver(Settings.EMPTY, nestedRoleMatcher, SIMPLE_FILTER), SIMPLE_FILTER),
+            equalTo(names("dept1", "dept2", "cycle-b", "project", "division", "cycle-a"))
+        );
+    }
+
+    @Test
+    public void testSameRolesAsRecursiveResolution() throws Exception {
+        for (final String filter : List.of(SIMPLE_FILTER, COMPLEX_FILTER)) {
+            for (final int maxDepth : new int[] { 1, 2, 3, 4, ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT }) {
+                for (final WildcardMatcher nestedRoleMatcher : List.of(
+                    WildcardMatcher.NONE,
+                    WildcardMatcher.from("cn=dept2,*"),
+                    WildcardMatcher.from("cn=cycle*")
+                )) {
+                    final Settings settings = Settings.builder()
+                        .put(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, maxDepth)
+                        .put(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL, 0)
+                        .build();
+                    final String reason = filter + ", max depth " + maxDepth + ", filter " + nestedRoleMatcher;
+
+                    final Set<LdapName> expected = new HashSet<>();
+                    for (final LdapName role : names("team1", "team2")) {
+                        expected.addAll(resolveRecursively(role, 0, maxDepth, nestedRoleMatcher, filter));
+                    }
+
+                    assertThat(reason, resolve(resolver(settings, nestedRoleMatcher, filter), filter), equalTo(expected));
+                }
+            }
+        }
+    }
+
+    private Set<LdapName> resolve(final NestedRoleResolver resolver, final String filter) throws Exception {
+        final SetMultimap<LdapName, Map.Entry<String, Settings>> roleSearchBaseKeys = HashMultimap.create();
+        for (final LdapName role : names("team1", "team2")) {
+            roleSearchBaseKeys.putAll(role, roleBases(filter));
+        }
+        return resolver.resolve(connection, names("team1", "team2"), roleSearchBaseKeys, USER_ROLE_NAME, true);
+    }
+
+    /**
+     * The recursive resolution the resolver replaced: every group is expanded on its own, up to the max depth.
+     */
+    private Set<LdapName> resolveRecursively(
+        final LdapName role,
+        int depth,
+        final int maxDepth,
+        final WildcardMatcher nestedRoleMatcher,
+        final String filter
+    ) throws Exception {
+        if (nestedRoleMatcher.test(role.toString())) {
+            return new HashSet<>();
+        }
+
+        depth++;
+
+        final Set<LdapName> result = new HashSet<>();
+        final LdapEntry entry = LdapHelper.lookup(connection, role.toString(), RETURN_ATTRIBUTES, false);
+        final LdapAttribute attribute = entry.getAttribute(USER_ROLE_NAME);
+        if (attribute != null) {
+            for (final String parent : attribute.getStringValues()) {
+                result.add(new LdapName(parent));
+            }
+        }
+
+        final SearchFilter f = new SearchFilter(filter);
+        f.setParameter(0, role.toString());
+        for (final LdapEntry parent : LdapHelper.search(connection, ROLE_BASE, f, SearchScope.SUBTREE, RETURN_ATTRIBUTES, false)) {
+            result.add(new LdapName(parent.getDn()));
+        }
+
+        if (depth < maxDepth) {
+            for (final LdapName parent : new HashSet<>(result)) {
+                result.addAll(resolveRecursively(parent, depth, maxDepth, nestedRoleMatcher, filter));
+            }
+        }
+
+        return result;
+    }
+
+    private static NestedRoleResolver resolver(final Settings settings, final WildcardMatcher nestedRoleMatcher, final String filter) {
+        return new NestedRoleResolver(settings, nestedRoleMatcher, roleBases(filter), ROLE_BASE, filter, RETURN_ATTRIBUTES, false);
+    }
+
+    private static List<Map.Entry<String, Settings>> roleBases(final String filter) {
+        return List.of(
+            Map.entry(
+                "rb1",
+                Settings.builder().put(ConfigConstants.LDAP_AUTHCZ_BASE, ROLE_BASE).put(ConfigConstants.LDAP_AUTHCZ_SEARCH, filter).build()
+            )
+        );
+    }
+
+    private static Settings noCache() {
+        return Settings.builder().put(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL, 0).build();
+    }
+
+    private static Set<LdapName> names(final String... groups) {
+        return Arrays.stream(groups).map(group -> {
+            try {
+                return new LdapName("cn=" + group + "," + ROLE_BASE);
+            } catch (InvalidNameException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }).collect(Collectors.toSet());
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (ldapServer != null) {
+            ldapServer.stop();
+        }
+    }
+
+    /**
+     * Records the searches the server receives. Lookups of single entries are counted separately from role searches.
+     */
+    private static final class SearchRecorder extends InMemoryOperationInterceptor {
+        private final Collection<Filter> roleSearches = new CopyOnWriteArrayList<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+        // simulates a server which does not return the complete members, e.g. because of range retrieval
+        private volatile boolean stripBatchMembers;
+
+        @Override
+        public void processSearchRequest(final InMemoryInterceptedSearchRequest request) {
+            final ReadOnlySearchRequest searchRequest = request.getRequest();
+            if (searchRequest.getScope().equals(com.unboundid.ldap.sdk.SearchScope.BASE)) {
+                lookups.incrementAndGet();
+            } else {
+                roleSearches.add(searchRequest.getFilter());
+            }
+        }
+
+        @Override
+        public void processSearchEntry(final InMemoryInterceptedSearchEntry entry) {
+            if (stripBatchMembers && entry.getRequest().getFilter().getFilterType() == Filter.FILTER_TYPE_OR) {
+                final Entry stripped = entry.getSearchEntry().duplicate();
+                stripped.removeAttribute("uniqueMember");
+                entry.setSearchEntry(stripped);
+            }
+        }
+
+        private long orFilters() {
+            return roleSearches.stream().filter(filter -> filter.getFilterType() == Filter.FILTER_TYPE_OR).count();
+        }
+
+        private void reset() {
+            roleSearches.clear();
+            lookups.set(0);
+        }
+    }
+}
@@ -11,6 +11,8 @@
 
 package com.amazon.dlic.auth.ldap.srv;
 
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+
 public class EmbeddedLDAPServer {
 
     LdapServer s = new LdapServer();
@@ -19,6 +21,10 @@ public class EmbeddedLDAPServer {
         return s.start(ldifFile);
     }
 
+    public void addOperationInterceptor(final InMemoryOperationInterceptor interceptor) {
+        s.addOperationInterceptor(interceptor);
+    }
+
     public void start() throws Exception {
 
     }
@@ -20,6 +20,7 @@ import java.net.BindException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
@@ -38,6 +39,7 @@ import org.opensearch.security.test.helper.network.SocketUtils;
 import com.unboundid.ldap.listener.InMemoryDirectoryServer;
 import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
 import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
 import com.unboundid.ldap.sdk.DN;
 import com.unboundid.ldap.sdk.Entry;
 import com.unboundid.ldap.sdk.LDAPException;
@@ -61,6 +63,7 @@ final class LdapServer {
     private static final String SERVER_ALREADY_STARTED = "The LDAP server is already started.";
 
     private InMemoryDirectoryServer server;
+    private final List<InMemoryOperationInterceptor> interceptors = new ArrayList<>();
     private final AtomicBoolean isStarted = new AtomicBoolean(Boolean.FALSE);
     private final ReentrantLock serverStateLock = new ReentrantLock();
 
@@ -81,6 +84,13 @@ final class LdapServer {
         return ldapsPort;
     }
 
+    /**
+     * Adds an interceptor for the operations of the server; must be called before the server is started.
+     */
+    public void addOperationInterceptor(final InMemoryOperationInterceptor interceptor) {
+        interceptors.add(interceptor);
+    }
+
     public int start(String... ldifFiles) throws Exception {
         boolean hasLock = false;
         try {
@@ -158,6 +168,7 @@ final class LdapServer {
 
         config.setLDAPDebugLogHandler(new ServerLogger());
         config.setAccessLogHandler(new ServerLogger());
+        interceptors.forEach(config::addInMemoryOperationInterceptor);
 
         server = new InMemoryDirectoryServer(config);
 
@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.test.DynamicSecurityConfig;
+import org.opensearch.security.test.SingleClusterTest;
+import org.opensearch.security.test.helper.rest.RestHelper;
+import org.opensearch.security.test.helper.rest.RestHelper.HttpResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SecurityStatsTests extends SingleClusterTest {
+
+    @Test
+    public void testStats() throws Exception {
+        setup(Settings.EMPTY, new DynamicSecurityConfig(), Settings.EMPTY);
+
+        final RestHelper rh = nonSslRestHelper();
+        final HttpResponse res = rh.executeGetRequest("_plugins/_security/stats?pretty", encodeBasicHeader("nagilum", "nagilum"));
+        assertThat(res.getStatusCode(), is(HttpStatus.SC_OK));
+        assertContains(res, "*_nodes*");
+        assertContains(res, "*cluster_permission_cache*");
+        assertContains(res, "*dls_bitset_cache*");
+        assertContains(res, "*dls_fls_rule_cache*");
+        assertContains(res, "*jwt_cache*");
+        assertContains(res, "*reverse_dns*");
+        assertContains(res, "*tls_transport_server_sessions*");
+    }
+
+    @Test
+    public void testStatsRequireAuthentication() throws Exception {
+        setup(Settings.EMPTY, new DynamicSecurityConfig(), Settings.EMPTY);
+
+        final RestHelper rh = nonSslRestHelper();
+        assertThat(rh.executeGetRequest("_plugins/_security/stats").getStatusCode(), is(HttpStatus.SC_UNAUTHORIZED));
+    }
+}
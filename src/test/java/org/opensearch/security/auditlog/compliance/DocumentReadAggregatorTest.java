@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.compliance;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.security.auditlog.AuditLog;
+import org.opensearch.security.compliance.DocumentReadAggregator;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.user.User;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class DocumentReadAggregatorTest {
+
+    private final AuditLog auditLog = mock(AuditLog.class);
+    private final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+    private final ShardId shardId = new ShardId("index", "uuid", 0);
+
+    @Test
+    public void testLogsDocumentsOnFlush() {
+        threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, new User("alice"));
+        final DocumentReadAggregator aggregator = new DocumentReadAggregator(auditLog, threadContext, shardId);
+
+        aggregator.add("1", Map.of("a", "1"));
+        aggregator.add("2", Map.of("a", "2"));
+        verifyNoInteractions(auditLog);
+
+        aggregator.flush();
+        verify(auditLog).logDocumentsRead("index", shardId, Map.of("1", Map.of("a", "1"), "2", Map.of("a", "2")));
+
+        aggregator.flush();
+        verify(auditLog, times(1)).logDocumentsRead(eq("index"), eq(shardId), anyMap());
+    }
+
+    @Test
+    public void testFlushesWhenUserChanges() {
+        final DocumentReadAggregator aggregator = new DocumentReadAggregator(auditLog, threadContext, shardId);
+
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, new User("alice"));
+            aggregator.add("1", Map.of());
+        }
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            threadContext.putTransient(ConfigConstants.OPENDISTRO_SECURITY_USER, new User("bob"));
+            aggregator.add("2", Map.of());
+        }
+        verify(auditLog).logDocumentsRead("index", shardId, Map.of("1", Map.of()));
+        verify(auditLog, never()).logDocumentsRead("index", shardId, Map.of("2", Map.of()));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.compliance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.security.compliance.WatchedReadFields;
+import org.opensearch.security.support.JsonFlattener;
+import org.opensearch.security.support.WildcardMatcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class WatchedReadFieldsTest {
+
+    private static final String SOURCE = "{\"a\":{\"b\":1,\"c\":null,\"d\":[false,{\"i\":{\"j\":[false,true,\"xy\"]}}]},"
+        + "\"e\":\"f\",\"g\":2.3,\"z\":[],\"n\":[[1,2],[3]],\"x.y\":{\"w\":12345678901234}}";
+
+    @Test
+    public void testSameFieldsAsFlattenedSource() throws IOException {
+        assertSameFieldsAsFlattenedSource(List.of("*"));
+        assertSameFieldsAsFlattenedSource(List.of("e"));
+        assertSameFieldsAsFlattenedSource(List.of("a"));
+        assertSameFieldsAsFlattenedSource(List.of("a.b", "g"));
+        assertSameFieldsAsFlattenedSource(List.of("a.d[1].i.j[2]"));
+        assertSameFieldsAsFlattenedSource(List.of("a.d[*]"));
+        assertSameFieldsAsFlattenedSource(List.of("a.d"));
+        assertSameFieldsAsFlattenedSource(List.of("*.j*"));
+        assertSameFieldsAsFlattenedSource(List.of("n[?]"));
+        assertSameFieldsAsFlattenedSource(List.of("n[0][1]", "z"));
+        assertSameFieldsAsFlattenedSource(List.of("x.y.w"));
+        assertSameFieldsAsFlattenedSource(List.of("/a\\.d.*/"));
+        assertSameFieldsAsFlattenedSource(List.of("ab", "a.bc", "q*"));
+    }
+
+    @Test
+    public void testNoWatchedFields() throws IOException {
+        final WatchedReadFields watchedFields = WatchedReadFields.from(List.of());
+
+        assertThat(watchedFields.isEmpty(), is(true));
+        assertThat(extract(watchedFields), is(anEmptyMap()));
+    }
+
+    private static void assertSameFieldsAsFlattenedSource(final List<String> patterns) throws IOException {
+        final WildcardMatcher matcher = WildcardMatcher.from(patterns);
+        final Map<String, Object> expected = new HashMap<>();
+        JsonFlattener.flattenAsMap(SOURCE).forEach((k, v) -> {
+            if (matcher.test(k)) {
+                expected.put(k, v);
+            }
+        });
+
+        assertThat(patterns.toString(), extract(WatchedReadFields.from(patterns)), equalTo(expected));
+    }
+
+    private static Map<String, Object> extract(final WatchedReadFields watchedFields) throws IOException {
+        final Map<String, Object> fields = new HashMap<>();
+        watchedFields.extract(SOURCE.getBytes(StandardCharsets.UTF_8), fields::put);
+        return fields;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.impl;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.security.DefaultObjectMapper;
+
+import com.flipkart.zjsonpatch.JsonPatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class StreamingJsonDiffTest {
+
+    @Test
+    public void testEqualDocuments() throws IOException {
+        assertThat(StreamingJsonDiff.diff("{\"a\":1,\"b\":[1,2]}", "{\"a\":1,\"b\":[1,2]}"), is(""));
+        assertThat(StreamingJsonDiff.diff("{\"a\":1,\"b\":[1,2]}", "{ \"b\" : [1, 2], \"a\" : 1 }"), is(""));
+        assertThat(StreamingJsonDiff.diff("{\"a\":1.0}", "{\"a\":1.00}"), is(""));
+        assertThat(StreamingJsonDiff.diff(new BytesArray("{\"a\":\"b\"}"), new BytesArray("{\"a\":\"b\"}")), is(""));
+    }
+
+    @Test
+    public void testReplace() throws IOException {
+        assertThat(
+            StreamingJsonDiff.diff("{\"a\":1,\"b\":\"x\"}", "{\"a\":1,\"b\":\"y\"}"),
+            equalTo("[{\"op\":\"replace\",\"path\":\"/b\",\"value\":\"y\"}]")
+        );
+        assertThat(
+            StreamingJsonDiff.diff("{\"a\":{\"b\":1}}", "{\"a\":[1]}"),
+            equalTo("[{\"op\":\"replace\",\"path\":\"/a\",\"value\":[1]}]")
+        );
+    }
+
+    @Test
+    public void testAddAndRemove() throws IOException {
+        assertThat(
+            StreamingJsonDiff.diff("{\"a\":1,\"b\":2}", "{\"a\":1,\"c\":{\"d\":3}}"),
+            equalTo("[{\"op\":\"remove\",\"path\":\"/b\"},{\"op\":\"add\",\"path\":\"/c\",\"value\":{\"d\":3}}]")
+        );
+    }
+
+    @Test
+    public void testEscapesPaths() throws IOException {
+        assertThat(
+            StreamingJsonDiff.diff("{\"a/b\":{\"c~d\":1}}", "{\"a/b\":{\"c~d\":2}}"),
+            equalTo("[{\"op\":\"replace\",\"path\":\"/a~1b/c~0d\",\"value\":2}]")
+        );
+    }
+
+    @Test
+    public void testNonJsonSources() throws IOException {
+        for (final XContentType type : new XContentType[] { XContentType.SMILE, XContentType.CBOR, XContentType.YAML }) {
+            assertThat(
+                type.toString(),
+                StreamingJsonDiff.diff(source(type, "x"), source(type, "y")),
+                equalTo("[{\"op\":\"replace\",\"path\":\"/b\",\"value\":\"y\"}]")
+            );
+            assertThat(type.toString(), StreamingJsonDiff.diff(source(XContentType.JSON, "x"), source(type, "x")), is(""));
+        }
+    }
+
+    @Test
+    public void testPatchTurnsOriginalIntoCurrent() throws IOException {
+        assertPatchApplies("{\"a\":[1,2,3],\"b\":{\"c\":true}}", "{\"a\":[1,5],\"b\":{\"c\":false,\"d\":null}}");
+        assertPatchApplies("{\"a\":[1],\"b\":{\"c\":true}}", "{\"b\":{\"c\":true},\"a\":[1,{\"x\":[2,3]},4]}");
+        assertPatchApplies("{\"a\":[[1,2],{\"b\":1}]}", "{\"a\":[[1],{\"b\":1,\"c\":2}],\"z\":\"z\"}");
+        assertPatchApplies("{\"z\":1,\"y\":2,\"x\":3}", "{\"x\":4,\"w\":5}");
+        assertPatchApplies("{\"a\":1}", "[1,2]");
+    }
+
+    private static BytesReference source(final XContentType type, final String value) throws IOException {
+        try (XContentBuilder builder = XContentFactory.contentBuilder(type)) {
+            builder.startObject().field("a", 1).field("b", value).endObject();
+            return BytesReference.bytes(builder);
+        }
+    }
+
+    private static void assertPatchApplies(final String original, final String current) throws IOException {
+        final String patch = StreamingJsonDiff.diff(original, current);
+        final JsonNode patched = JsonPatch.apply(
+            DefaultObjectMapper.objectMapper.readTree(patch),
+            DefaultObjectMapper.objectMapper.readTree(original)
+        );
+        assertThat(patch, patched, equalTo(DefaultObjectMapper.objectMapper.readTree(current)));
+    }
+}
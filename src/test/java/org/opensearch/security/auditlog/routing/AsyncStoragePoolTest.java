@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.routing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.auditlog.config.ThreadPoolConfig;
+import org.opensearch.security.auditlog.helper.MockAuditMessageFactory;
+import org.opensearch.security.auditlog.impl.AuditCategory;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.auditlog.sink.AuditLogSink;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class AsyncStoragePoolTest {
+
+    @Test
+    public void testPriorityCategoriesUseReservedCapacity() throws Exception {
+        final AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(1, 10));
+        final BlockingSink sink = new BlockingSink();
+
+        pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.AUTHENTICATED), sink);
+        assertThat(sink.entered.await(10, TimeUnit.SECONDS), is(true));
+
+        for (int i = 0; i < 20; i++) {
+            pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.COMPLIANCE_DOC_READ), sink);
+        }
+        for (int i = 0; i < 2; i++) {
+            pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.FAILED_LOGIN), sink);
+        }
+        assertThat(pool.getQueuedMessages(sink), is(10));
+        pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.FAILED_LOGIN), sink);
+
+        sink.release.countDown();
+        pool.close();
+
+        assertThat(pool.getDroppedMessages(), is(Map.of(AuditCategory.COMPLIANCE_DOC_READ, 11L, AuditCategory.FAILED_LOGIN, 1L)));
+        assertThat(sink.stored.size(), is(12));
+        // queued security critical messages are stored first
+        assertThat(sink.stored.get(1).getCategory(), is(AuditCategory.FAILED_LOGIN));
+        assertThat(sink.stored.get(2).getCategory(), is(AuditCategory.FAILED_LOGIN));
+        assertThat(sink.stored.get(11).getCategory(), is(AuditCategory.COMPLIANCE_DOC_READ));
+    }
+
+    @Test
+    public void testStoredOnPoolThreadsAndDrainedOnClose() {
+        final AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(2, 100_000));
+        final BlockingSink sink = new BlockingSink();
+        sink.release.countDown();
+
+        for (int i = 0; i < 1000; i++) {
+            pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.COMPLIANCE_DOC_READ), sink);
+        }
+        pool.close();
+
+        assertThat(sink.stored.size(), is(1000));
+        assertThat(sink.threads, everyItem(not(Thread.currentThread().getName())));
+        assertThat(pool.getDroppedMessages().isEmpty(), is(true));
+
+        pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.FAILED_LOGIN), sink);
+        assertThat(sink.stored.size(), is(1000));
+        assertThat(pool.getDroppedMessages(), is(Map.of(AuditCategory.FAILED_LOGIN, 1L)));
+    }
+
+    private static class BlockingSink extends AuditLogSink {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<AuditMessage> stored = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        BlockingSink() {
+            super("blocking", Settings.EMPTY, null, null);
+        }
+
+        @Override
+        protected boolean doStore(AuditMessage msg) {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stored.add(msg);
+            threads.add(Thread.currentThread().getName());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.WriteRequest.RefreshPolicy;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.security.auditlog.helper.LoggingSink;
+import org.opensearch.security.auditlog.helper.MockAuditMessageFactory;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkAuditWriterTest {
+
+    private final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+    private final List<BulkRequest> requests = new ArrayList<>();
+    private final List<ActionListener<BulkResponse>> listeners = new ArrayList<>();
+    private final List<String> confRequestHeaders = new ArrayList<>();
+
+    private Client client;
+    private ThreadPool threadPool;
+    private LoggingSink fallbackSink;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        client = mock(Client.class);
+        threadPool = mock(ThreadPool.class);
+        fallbackSink = new LoggingSink("fallback", Settings.EMPTY, null, null);
+
+        when(threadPool.getThreadContext()).thenReturn(threadContext);
+        when(threadPool.scheduleWithFixedDelay(any(Runnable.class), any(), anyString())).thenReturn(mock(Scheduler.Cancellable.class));
+        doAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            listeners.add(invocation.getArgument(1));
+            confRequestHeaders.add(threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_CONF_REQUEST_HEADER));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any(ActionListener.class));
+    }
+
+    @Test
+    public void testBatchesMessagesWithoutRefresh() {
+        final BulkAuditWriter writer = writer(Settings.builder().put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS, 3));
+
+        assertThat(writer.add("audit", message()), is(true));
+        assertThat(writer.add("audit", message()), is(true));
+        assertThat(requests, empty());
+
+        assertThat(writer.add("audit", message()), is(true));
+        assertThat(requests.size(), is(1));
+        assertThat(requests.get(0).numberOfActions(), is(3));
+        assertThat(requests.get(0).getRefreshPolicy(), is(RefreshPolicy.NONE));
+        assertThat(confRequestHeaders, contains("true"));
+        assertThat(threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_CONF_REQUEST_HEADER), nullValue());
+
+        listeners.get(0).onResponse(response(RestStatus.OK, RestStatus.OK, RestStatus.OK));
+        assertThat(writer.getPendingActions(), is(0));
+        assertThat(fallbackSink.messages, empty());
+    }
+
+    @Test
+    public void testRetriesRejectedAndFallsBackOnFailedItems() {
+        final BulkAuditWriter writer = writer(Settings.builder().put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS, 3));
+        final AuditMessage rejected = message();
+        final AuditMessage failed = message();
+
+        writer.add("audit", message());
+        writer.add("audit", rejected);
+        writer.add("audit", failed);
+        listeners.get(0).onResponse(response(RestStatus.OK, RestStatus.TOO_MANY_REQUESTS, RestStatus.BAD_REQUEST));
+
+        assertThat(fallbackSink.messages, contains(failed));
+        assertThat(writer.getPendingActions(), is(1));
+
+        writer.flush();
+        assertThat(requests.size(), is(2));
+        assertThat(requests.get(1).numberOfActions(), is(1));
+
+        listeners.get(1).onResponse(response(RestStatus.OK));
+        assertThat(writer.getPendingActions(), is(0));
+        assertThat(fallbackSink.messages, contains(failed));
+    }
+
+    @Test
+    public void testFallsBackAfterMaxRetries() {
+        final BulkAuditWriter writer = writer(Settings.builder().put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_RETRIES, 1));
+        final AuditMessage msg = message();
+
+        writer.add("audit", msg);
+        writer.flush();
+        listeners.get(0).onFailure(new IllegalStateException("cluster unavailable"));
+        assertThat(fallbackSink.messages, empty());
+
+        writer.flush();
+        listeners.get(1).onFailure(new IllegalStateException("cluster unavailable"));
+        assertThat(fallbackSink.messages, contains(msg));
+        assertThat(writer.getPendingActions(), is(0));
+    }
+
+    @Test
+    public void testRejectsMessagesWhenTooManyArePending() {
+        final BulkAuditWriter writer = writer(
+            Settings.builder()
+                .put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS, 1)
+                .put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_PENDING_ACTIONS, 2)
+        );
+
+        assertThat(writer.add("audit", message()), is(true));
+        assertThat(writer.add("audit", message()), is(true));
+        assertThat(writer.add("audit", message()), is(false));
+        // only one bulk request is in flight at a time
+        assertThat(requests.size(), is(1));
+
+        listeners.get(0).onResponse(response(RestStatus.OK));
+        assertThat(requests.size(), is(2));
+        assertThat(writer.add("audit", message()), is(true));
+    }
+
+    @Test
+    public void testCloseFlushesBufferedMessages() {
+        final BulkAuditWriter writer = writer(Settings.builder());
+        doAnswer(invocation -> {
+            final ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            listener.onResponse(response(RestStatus.OK, RestStatus.OK));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+
+        writer.add("audit", message());
+        writer.add("audit", message());
+        writer.close();
+
+        assertThat(writer.getPendingActions(), is(0));
+        assertThat(fallbackSink.messages, empty());
+        assertThat(writer.add("audit", message()), is(false));
+    }
+
+    private BulkAuditWriter writer(Settings.Builder settings) {
+        return new BulkAuditWriter(settings.build(), client, threadPool, DocWriteRequest.OpType.CREATE, fallbackSink);
+    }
+
+    private static AuditMessage message() {
+        return MockAuditMessageFactory.validAuditMessage();
+    }
+
+    private static BulkResponse response(RestStatus... statuses) {
+        final BulkItemResponse[] items = new BulkItemResponse[statuses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] == RestStatus.OK) {
+                items[i] = new BulkItemResponse(
+                    i,
+                    DocWriteRequest.OpType.CREATE,
+                    new IndexResponse(new ShardId("audit", "_na_", 0), String.valueOf(i), 1, 1, 1, true)
+                );
+            } else {
+                items[i] = new BulkItemResponse(
+                    i,
+                    DocWriteRequest.OpType.CREATE,
+                    new BulkItemResponse.Failure("audit", String.valueOf(i), new RuntimeException("failure " + i), statuses[i])
+                );
+            }
+        }
+        return new BulkResponse(items, 1);
+    }
+}
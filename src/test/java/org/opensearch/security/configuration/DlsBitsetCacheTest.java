@@ -0,0 +1,127 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.FixedBitSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.ConfigConstants;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DlsBitsetCacheTest {
+
+    private final Query dlsQuery = new TermQuery(new Term("tenant", "a"));
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private LeafReader segment;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < 10; i++) {
+                final Document document = new Document();
+                document.add(new StringField("tenant", i % 2 == 0 ? "a" : "b", Field.Store.NO));
+                writer.addDocument(document);
+            }
+        }
+        reader = DirectoryReader.open(directory);
+        segment = reader.leaves().get(0).reader();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Test
+    public void testCachedPerSegmentAndDlsConfiguration() {
+        final DlsBitsetCache cache = new DlsBitsetCache(Settings.EMPTY);
+        final DlsBitsetCache.Key key = cache.key(segment, dlsQuery, null, null);
+        final FixedBitSet bits = new FixedBitSet(segment.maxDoc());
+
+        assertThat(cache.get(key), nullValue());
+        cache.put(key, bits);
+
+        assertThat(cache.get(cache.key(segment, new TermQuery(new Term("tenant", "a")), null, null)), sameInstance(bits));
+        assertThat(cache.get(cache.key(segment, new TermQuery(new Term("tenant", "b")), null, null)), nullValue());
+        assertThat(cache.get(cache.key(segment, dlsQuery, Set.of("tenant"), null)), nullValue());
+        assertThat(cache.get(cache.key(segment, dlsQuery, null, Set.of("tenant"))), nullValue());
+
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(4L));
+        assertThat(cache.getCount(), is(1L));
+        assertThat(cache.getRamBytesUsed(), greaterThan(bits.ramBytesUsed()));
+    }
+
+    @Test
+    public void testRemovedWhenSegmentIsClosed() throws IOException {
+        final DlsBitsetCache cache = new DlsBitsetCache(Settings.EMPTY);
+        cache.put(cache.key(segment, dlsQuery, null, null), new FixedBitSet(segment.maxDoc()));
+        assertThat(cache.getCount(), is(1L));
+
+        reader.close();
+        assertThat(cache.getCount(), is(0L));
+        assertThat(cache.getRamBytesUsed(), is(0L));
+    }
+
+    @Test
+    public void testBounded() {
+        final DlsBitsetCache cache = new DlsBitsetCache(
+            Settings.builder().put(ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE, "64kb").build()
+        );
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(cache.key(segment, new TermQuery(new Term("tenant", "t" + i)), null, null), new FixedBitSet(segment.maxDoc()));
+        }
+
+        assertThat(cache.getCount(), not(100L));
+        assertThat(cache.getEvictions(), greaterThan(0L));
+        assertThat(cache.getRamBytesUsed() <= 64 * 1024, is(true));
+    }
+
+    @Test
+    public void testDisabled() {
+        final DlsBitsetCache cache = new DlsBitsetCache(
+            Settings.builder().put(ConfigConstants.SECURITY_DLS_BITSET_CACHE_MAX_SIZE, "0b").build()
+        );
+
+        assertThat(cache.key(segment, dlsQuery, null, null), nullValue());
+        assertThat(cache.getCount(), is(0L));
+    }
+}
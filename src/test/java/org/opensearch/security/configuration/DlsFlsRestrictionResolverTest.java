@@ -0,0 +1,319 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.common.transport.TransportAddress;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.securityconf.ConfigModel;
+import org.opensearch.security.securityconf.ConfigModelV7;
+import org.opensearch.security.securityconf.DynamicConfigModel;
+import org.opensearch.security.securityconf.EvaluatedDlsFlsConfig;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.NodeCapabilities;
+import org.opensearch.security.support.SecurityUtils;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DlsFlsRestrictionResolverTest {
+
+    private static final Set<String> MAPPED_ROLES = ImmutableSet.of("dls_role", "fls_role", "attr_role", "plain_role");
+    private static final List<String> INDICES = List.of("logs-1", "logs-2", "metrics-1", "blue-1", "red-1");
+
+    private final IndexNameExpressionResolver indexNameExpressionResolver = new IndexNameExpressionResolver(
+        new ThreadContext(Settings.EMPTY)
+    );
+    private final ClusterService clusterService = mock(ClusterService.class);
+    private ThreadContext threadContext;
+    private DiscoveryNodes nodes;
+    private ConfigModel configModel;
+    private User user;
+
+    @Before
+    public void setUp() throws IOException {
+        threadContext = new ThreadContext(Settings.EMPTY);
+        nodes = DiscoveryNodes.builder().add(node("node-1", true)).add(node("node-2", true)).build();
+        setClusterState(1, INDICES.toArray(new String[0]));
+        configModel = configModel(1);
+
+        user = new User("bob", ImmutableSet.of("backend_role"), null);
+        user.addAttributes(ImmutableMap.of("attr.internal.team", "blue"));
+    }
+
+    @Test
+    public void testDigestRoundTrip() {
+        final DlsFlsRoleDigest digest = DlsFlsRoleDigest.of("1/2", true, MAPPED_ROLES, user);
+        final DlsFlsRoleDigest parsed = DlsFlsRoleDigest.fromHeader(digest.toHeader());
+
+        assertThat(parsed, equalTo(digest));
+        assertThat(parsed.toHeader(), equalTo(digest.toHeader()));
+        assertThat(parsed.getMappedRoles(), equalTo(MAPPED_ROLES));
+        assertThat(parsed.toUser().getName(), equalTo("bob"));
+        assertThat(parsed.toUser().getCustomAttributesMap(), equalTo(ImmutableMap.of("attr.internal.team", "blue")));
+    }
+
+    @Test
+    public void testDigestIgnoresOrder() {
+        final User other = new User("bob", ImmutableSet.of("backend_role"), null);
+        other.addAttributes(ImmutableMap.of("attr.internal.team", "blue"));
+
+        final String header = DlsFlsRoleDigest.of("1/2", true, MAPPED_ROLES, user).toHeader();
+        final Set<String> reordered = ImmutableSet.of("plain_role", "attr_role", "fls_role", "dls_role");
+
+        assertThat(DlsFlsRoleDigest.of("1/2", true, reordered, other).toHeader(), equalTo(header));
+    }
+
+    @Test
+    public void testDigestEqualsIgnoringDls() {
+        final DlsFlsRoleDigest withDls = DlsFlsRoleDigest.of("1/2", true, MAPPED_ROLES, user);
+        final DlsFlsRoleDigest withoutDls = DlsFlsRoleDigest.of("1/2", false, MAPPED_ROLES, user);
+
+        assertThat(withDls, not(equalTo(withoutDls)));
+        assertThat(withDls.equalsIgnoringDls(withoutDls), is(true));
+        assertThat(withDls.equalsIgnoringDls(DlsFlsRoleDigest.of("1/3", true, MAPPED_ROLES, user)), is(false));
+    }
+
+    @Test
+    public void testSameRestrictionsAsHeaderMaps() {
+        assertSameRestrictionsAsHeaderMaps(false);
+    }
+
+    @Test
+    public void testSameRestrictionsAsHeaderMapsWithDfmEmptyOverridesAll() {
+        assertSameRestrictionsAsHeaderMaps(true);
+    }
+
+    @Test
+    public void testDlsExcludedForFilterLevelDls() {
+        final DlsFlsRestrictionResolver resolver = resolver(Settings.EMPTY);
+        threadContext.putHeader(
+            ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER,
+            DlsFlsRoleDigest.of(configModel.getRolesVersion(), false, MAPPED_ROLES, user).toHeader()
+        );
+
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER, "logs-1"), is(nullValue()));
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER, "logs-1"), containsInAnyOrder("~secret"));
+    }
+
+    @Test
+    public void testFallsBackToHeaderMaps() {
+        final DlsFlsRestrictionResolver resolver = resolver(Settings.EMPTY);
+        threadContext.putHeader(
+            ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER,
+            Base64Helper.serializeObject(new HashMap<>(Map.of("logs-*", new HashSet<>(Set.of("field_a")))))
+        );
+
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER, "logs-1"), containsInAnyOrder("field_a"));
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER, "logs-1"), is(nullValue()));
+    }
+
+    @Test
+    public void testClusterStateChange() {
+        final DlsFlsRestrictionResolver resolver = resolver(Settings.EMPTY);
+        threadContext.putHeader(
+            ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER,
+            DlsFlsRoleDigest.of(configModel.getRolesVersion(), true, MAPPED_ROLES, user).toHeader()
+        );
+
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER, "blue-2"), is(nullValue()));
+
+        setClusterState(2, "logs-1", "blue-1", "blue-2");
+
+        assertThat(
+            get(resolver, ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER, "blue-2"),
+            containsInAnyOrder("{\"term\":{\"team\":\"blue\"}}")
+        );
+    }
+
+    @Test
+    public void testConfigChange() throws IOException {
+        final DlsFlsRestrictionResolver resolver = resolver(Settings.EMPTY);
+        threadContext.putHeader(
+            ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER,
+            DlsFlsRoleDigest.of(configModel.getRolesVersion(), true, MAPPED_ROLES, user).toHeader()
+        );
+
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER, "logs-1"), containsInAnyOrder("~secret"));
+        assertThat(resolver.size(), is(1L));
+
+        resolver.onConfigModelChanged(configModel(2));
+
+        assertThat(resolver.size(), is(0L));
+        assertThat(get(resolver, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER, "logs-1"), containsInAnyOrder("~secret"));
+    }
+
+    @Test
+    public void testRolesVersionMismatch() throws IOException {
+        final DlsFlsRestrictionResolver resolver = resolver(Settings.EMPTY);
+        threadContext.putHeader(
+            ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER,
+            DlsFlsRoleDigest.of(configModel(2).getRolesVersion(), true, MAPPED_ROLES, user).toHeader()
+        );
+
+        final OpenSearchSecurityException exception = assertThrows(
+            OpenSearchSecurityException.class,
+            () -> get(resolver, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER, "logs-1")
+        );
+        assertThat(exception.status(), is(RestStatus.SERVICE_UNAVAILABLE));
+        assertThat(resolver.size(), is(0L));
+    }
+
+    @Test
+    public void testCompactHeaderSupported() {
+        final Settings enabled = Settings.builder().put(ConfigConstants.SECURITY_DLS_FLS_COMPACT_HEADERS_ENABLED, true).build();
+
+        assertThat(resolver(Settings.EMPTY).isCompactHeaderSupported(), is(false));
+        assertThat(resolver(enabled).isCompactHeaderSupported(), is(true));
+
+        nodes = DiscoveryNodes.builder(nodes).add(node("node-3", false)).build();
+        setClusterState(2, INDICES.toArray(new String[0]));
+
+        assertThat(resolver(enabled).isCompactHeaderSupported(), is(false));
+    }
+
+    private void assertSameRestrictionsAsHeaderMaps(final boolean dfmEmptyOverridesAll) {
+        final Settings settings = Settings.builder().put(ConfigConstants.SECURITY_DFM_EMPTY_OVERRIDES_ALL, dfmEmptyOverridesAll).build();
+        final DlsFlsRestrictionResolver resolver = resolver(settings);
+        threadContext.putHeader(
+            ConfigConstants.OPENDISTRO_SECURITY_DLS_FLS_ROLES_HEADER,
+            DlsFlsRoleDigest.of(configModel.getRolesVersion(), true, MAPPED_ROLES, user).toHeader()
+        );
+
+        final EvaluatedDlsFlsConfig headerMaps = configModel.getSecurityRoles()
+            .filter(MAPPED_ROLES)
+            .getDlsFls(user, dfmEmptyOverridesAll, indexNameExpressionResolver, clusterService, NamedXContentRegistry.EMPTY);
+
+        for (final String index : INDICES) {
+            assertThat(
+                index,
+                get(resolver, ConfigConstants.OPENDISTRO_SECURITY_DLS_QUERY_HEADER, index),
+                equalTo(eval(headerMaps.getDlsQueriesByIndex(), index))
+            );
+            assertThat(
+                index,
+                get(resolver, ConfigConstants.OPENDISTRO_SECURITY_FLS_FIELDS_HEADER, index),
+                equalTo(eval(headerMaps.getFlsByIndex(), index))
+            );
+            assertThat(
+                index,
+                get(resolver, ConfigConstants.OPENDISTRO_SECURITY_MASKED_FIELD_HEADER, index),
+                equalTo(eval(headerMaps.getFieldMaskingByIndex(), index))
+            );
+        }
+    }
+
+    private Set<String> get(final DlsFlsRestrictionResolver resolver, final String headerName, final String index) {
+        return eval(resolver.getRestrictions(threadContext, headerName, index), index);
+    }
+
+    private static Set<String> eval(final Map<String, Set<String>> restrictions, final String index) {
+        final String key = SecurityUtils.evalMap(restrictions, index);
+        return key != null ? restrictions.get(key) : null;
+    }
+
+    private DlsFlsRestrictionResolver resolver(final Settings settings) {
+        final DlsFlsRestrictionResolver resolver = new DlsFlsRestrictionResolver(settings, clusterService, indexNameExpressionResolver);
+        resolver.onConfigModelChanged(configModel);
+        return resolver;
+    }
+
+    private static ConfigModel configModel(final long seqNo) throws IOException {
+        final Map<String, Object> roles = ImmutableMap.<String, Object>builder()
+            .put("_meta", ImmutableMap.of("type", "roles", "config_version", 2))
+            .put("dls_role", role("logs-*", ImmutableMap.of("dls", "{\"term\":{\"owner\":\"${user.name}\"}}")))
+            .put("fls_role", role("logs-1", ImmutableMap.of("fls", List.of("~secret"), "masked_fields", List.of("ssn"))))
+            .put("attr_role", role("${attr.internal.team}-*", ImmutableMap.of("dls", "{\"term\":{\"team\":\"${attr.internal.team}\"}}")))
+            .put("plain_role", role("logs-2", ImmutableMap.of()))
+            .put("other_role", role("*", ImmutableMap.of("fls", List.of("other"))))
+            .build();
+
+        return new ConfigModelV7(
+            SecurityDynamicConfiguration.fromJson(DefaultObjectMapper.writeValueAsString(roles, false), CType.ROLES, 2, seqNo, 1),
+            SecurityDynamicConfiguration.empty(CType.ROLESMAPPING),
+            SecurityDynamicConfiguration.empty(CType.ACTIONGROUPS),
+            SecurityDynamicConfiguration.empty(CType.TENANTS),
+            mock(DynamicConfigModel.class),
+            Settings.EMPTY
+        );
+    }
+
+    private static Map<String, Object> role(final String indexPattern, final Map<String, Object> restrictions) {
+        final ImmutableMap.Builder<String, Object> indexPermissions = ImmutableMap.<String, Object>builder()
+            .put("index_patterns", List.of(indexPattern))
+            .put("allowed_actions", List.of("indices:data/read/*"))
+            .putAll(restrictions);
+        return ImmutableMap.of("index_permissions", List.of(indexPermissions.build()));
+    }
+
+    private void setClusterState(final long version, final String... indices) {
+        final Metadata.Builder metadata = Metadata.builder().version(version);
+
+        for (final String index : indices) {
+            metadata.put(
+                IndexMetadata.builder(index)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+            );
+        }
+
+        when(clusterService.state()).thenReturn(ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).nodes(nodes).build());
+    }
+
+    private static DiscoveryNode node(final String id, final boolean roleDigestCapable) {
+        return new DiscoveryNode(
+            id,
+            new TransportAddress(InetAddress.getLoopbackAddress(), 9300),
+            roleDigestCapable ? Map.of(NodeCapabilities.DLS_FLS_ROLE_DIGEST, "true") : Map.of(),
+            Set.of(),
+            Version.CURRENT
+        );
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.ConfigConstants;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DlsFlsRuleCacheTest {
+
+    private final DlsFlsRuleCache.Rules rules = new DlsFlsRuleCache.Rules(
+        new ConstantScoreQuery(new TermQuery(new Term("tenant", "a"))),
+        ImmutableSet.of("_id", "field_a"),
+        ImmutableSet.of("field_b")
+    );
+
+    @Test
+    public void testCachedPerHeadersAndMappingVersion() {
+        final DlsFlsRuleCache cache = new DlsFlsRuleCache(Settings.EMPTY);
+        final DlsFlsRuleCache.Key key = new DlsFlsRuleCache.Key("uuid", 1, "dls", "fls", null, null, null, -1);
+
+        assertThat(cache.get(key), nullValue());
+        cache.put(key, rules);
+
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, "dls", "fls", null, null, null, -1)), sameInstance(rules));
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 2, "dls", "fls", null, null, null, -1)), nullValue());
+        assertThat(cache.get(new DlsFlsRuleCache.Key("other", 1, "dls", "fls", null, null, null, -1)), nullValue());
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, "dls", "fls", "masked", null, null, -1)), nullValue());
+
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(4L));
+        assertThat(cache.getCount(), is(1L));
+        assertThat(cache.getRamBytesUsed(), greaterThan(0L));
+    }
+
+    @Test
+    public void testHeadersAreDistinguished() {
+        final DlsFlsRuleCache cache = new DlsFlsRuleCache(Settings.EMPTY);
+        cache.put(new DlsFlsRuleCache.Key("uuid", 1, "a", null, null, null, null, -1), rules);
+
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, "a", null, null, null, null, -1)), sameInstance(rules));
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, null, "a", null, null, null, -1)), nullValue());
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, "a", "", null, null, null, -1)), nullValue());
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, "", "a", null, null, null, -1)), nullValue());
+    }
+
+    @Test
+    public void testRolesHeaderDependsOnRolesAndMetadataVersion() {
+        final DlsFlsRuleCache cache = new DlsFlsRuleCache(Settings.EMPTY);
+        cache.put(new DlsFlsRuleCache.Key("uuid", 1, null, null, null, "roles", "1/1", 5), rules);
+
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, null, null, null, "roles", "1/1", 5)), sameInstance(rules));
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, null, null, null, "roles", "1/2", 5)), nullValue());
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, null, null, null, "roles", "1/1", 6)), nullValue());
+    }
+
+    @Test
+    public void testVersionsIgnoredWithoutRolesHeader() {
+        final DlsFlsRuleCache cache = new DlsFlsRuleCache(Settings.EMPTY);
+        cache.put(new DlsFlsRuleCache.Key("uuid", 1, "dls", null, null, null, "1/1", 5), rules);
+
+        assertThat(cache.get(new DlsFlsRuleCache.Key("uuid", 1, "dls", null, null, null, "1/2", 6)), sameInstance(rules));
+    }
+
+    @Test
+    public void testEvictionAndInvalidation() {
+        final DlsFlsRuleCache cache = new DlsFlsRuleCache(
+            Settings.builder().put(ConfigConstants.SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE, 1).build()
+        );
+        cache.put(new DlsFlsRuleCache.Key("uuid", 1, "dls_1", null, null, null, null, -1), rules);
+        cache.put(new DlsFlsRuleCache.Key("uuid", 1, "dls_2", null, null, null, null, -1), rules);
+
+        assertThat(cache.getCount(), is(1L));
+        assertThat(cache.getEvictions(), is(1L));
+
+        cache.invalidateAll();
+
+        assertThat(cache.getCount(), is(0L));
+        assertThat(cache.getRamBytesUsed(), is(0L));
+    }
+
+    @Test
+    public void testDisabled() {
+        final DlsFlsRuleCache cache = new DlsFlsRuleCache(
+            Settings.builder().put(ConfigConstants.SECURITY_DLS_FLS_RULE_CACHE_MAX_SIZE, 0).build()
+        );
+
+        assertThat(cache.isEnabled(), is(false));
+        assertThat(cache.getCount(), is(0L));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.Test;
+
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.security.dlic.rest.support.Utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class FlsSourceFilterTest {
+
+    private static final String SOURCE = "{"
+        + "\"a\":1,"
+        + "\"b\":{\"c\":2,\"d\":{\"e\":3}},"
+        + "\"arr\":[1,{\"x\":1,\"y\":2},[{\"x\":3}],{\"z\":1}],"
+        + "\"empty\":{},"
+        + "\"b2\":[{\"q\":1.5}],"
+        + "\"n\":null,"
+        + "\"s\":\"text\""
+        + "}";
+
+    @Test
+    public void testTopLevelFields() throws IOException {
+        assertThat(filter(FlsSourceFilter.forTopLevelFields(Set.of("a", "n"), Set.of()), SOURCE), is("{\"a\":1,\"n\":null}"));
+        assertThat(
+            filter(FlsSourceFilter.forTopLevelFields(Set.of(), Set.of("a", "b", "arr")), SOURCE),
+            is("{\"empty\":{},\"b2\":[{\"q\":1.5}],\"n\":null,\"s\":\"text\"}")
+        );
+    }
+
+    @Test
+    public void testIncludes() throws IOException {
+        assertThat(filter(FlsSourceFilter.forPaths(new String[] { "b.c" }, null), SOURCE), is("{\"b\":{\"c\":2}}"));
+        assertThat(filter(FlsSourceFilter.forPaths(new String[] { "arr.x" }, null), SOURCE), is("{\"arr\":[{\"x\":1},[{\"x\":3}]]}"));
+        assertThat(filter(FlsSourceFilter.forPaths(new String[] { "empty" }, null), SOURCE), is("{\"empty\":{}}"));
+        assertThat(filter(FlsSourceFilter.forPaths(new String[] { "empty.x" }, null), SOURCE), is("{}"));
+    }
+
+    @Test
+    public void testExcludes() throws IOException {
+        assertThat(
+            filter(FlsSourceFilter.forPaths(null, new String[] { "arr.x", "a", "b.*" }), SOURCE),
+            is("{\"b\":{},\"arr\":[1,{\"y\":2},{\"z\":1}],\"empty\":{},\"b2\":[{\"q\":1.5}],\"n\":null,\"s\":\"text\"}")
+        );
+    }
+
+    @Test
+    public void testSameResultAsMapFiltering() throws IOException {
+        final String[][] patterns = {
+            { "a" },
+            { "b" },
+            { "b.c" },
+            { "b.d.e" },
+            { "arr" },
+            { "arr.x" },
+            { "b*" },
+            { "*" },
+            { "*.x", "s" },
+            { "empty" },
+            { "b.d", "arr.y" } };
+
+        for (String[] p : patterns) {
+            assertSameAsMapFiltering(p, null);
+            assertSameAsMapFiltering(null, p);
+        }
+    }
+
+    @Test
+    public void testNotAnObject() {
+        assertThrows(JsonParseException.class, () -> filter(FlsSourceFilter.forPaths(new String[] { "a" }, null), "[1,2]"));
+    }
+
+    private static void assertSameAsMapFiltering(String[] includes, String[] excludes) throws IOException {
+        final Map<String, Object> expected = XContentMapValues.filter(includes, excludes)
+            .apply(Utils.byteArrayToMutableJsonMap(SOURCE.getBytes(StandardCharsets.UTF_8)));
+        final Map<String, Object> actual = Utils.byteArrayToMutableJsonMap(
+            FlsSourceFilter.forPaths(includes, excludes).filter(SOURCE.getBytes(StandardCharsets.UTF_8))
+        );
+        assertThat(actual, equalTo(expected));
+    }
+
+    private static String filter(FlsSourceFilter filter, String source) throws IOException {
+        return new String(filter.filter(source.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+}
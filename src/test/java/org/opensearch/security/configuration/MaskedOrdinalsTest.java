@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.util.BytesRef;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MaskedOrdinalsTest {
+
+    private final MaskedField maskedField = new MaskedField("ip", Salt.from(Settings.EMPTY), null);
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    public void testMasksOrdinalOnce() throws Exception {
+        final MaskedOrdinals ordinals = new MaskedOrdinals(maskedField, 10);
+
+        final BytesRef masked = ordinals.lookupOrd(3, () -> lookup("10.0.0.1"));
+        assertThat(masked, equalTo(maskedField.mask(new BytesRef("10.0.0.1"))));
+        assertThat(ordinals.lookupOrd(3, () -> lookup("10.0.0.1")), sameInstance(masked));
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void testAllocatesCacheOnFirstLookup() throws Exception {
+        final MaskedOrdinals ordinals = new MaskedOrdinals(maskedField, MaskedOrdinals.MAX_CACHED_ORDINALS);
+        assertThat(ordinals.isAllocated(), is(false));
+
+        ordinals.lookupOrd(0, () -> lookup("10.0.0.1"));
+        assertThat(ordinals.isAllocated(), is(true));
+    }
+
+    @Test
+    public void testDoesNotCacheOrdinalsAboveLimit() throws Exception {
+        final MaskedOrdinals ordinals = new MaskedOrdinals(maskedField, MaskedOrdinals.MAX_CACHED_ORDINALS + 1L);
+
+        ordinals.lookupOrd(MaskedOrdinals.MAX_CACHED_ORDINALS, () -> lookup("10.0.0.1"));
+        ordinals.lookupOrd(MaskedOrdinals.MAX_CACHED_ORDINALS, () -> lookup("10.0.0.1"));
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void testMissingValue() throws Exception {
+        final MaskedOrdinals ordinals = new MaskedOrdinals(maskedField, 1);
+
+        assertThat(ordinals.lookupOrd(0, () -> null), nullValue());
+    }
+
+    private BytesRef lookup(final String value) {
+        lookups.incrementAndGet();
+        return new BytesRef(value);
+    }
+}
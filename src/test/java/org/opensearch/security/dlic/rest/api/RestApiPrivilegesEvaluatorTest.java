@@ -12,7 +12,6 @@
 package org.opensearch.security.dlic.rest.api;
 
 import java.io.IOException;
-import java.nio.file.Path;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -22,6 +21,7 @@ import org.opensearch.rest.RestRequest;
 import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.threadpool.ThreadPool;
 
 import static org.junit.Assert.assertNotNull;
@@ -39,7 +39,7 @@ public class RestApiPrivilegesEvaluatorTest {
             mock(AdminDNs.class),
             mock(PrivilegesEvaluator.class),
             mock(PrincipalExtractor.class),
-            mock(Path.class),
+            mock(CertificateRevocationService.class),
             mock(ThreadPool.class)
         );
     }
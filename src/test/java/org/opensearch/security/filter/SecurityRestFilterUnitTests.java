@@ -11,8 +11,6 @@
 
 package org.opensearch.security.filter;
 
-import java.nio.file.Path;
-
 import org.junit.Before;
 import org.junit.Test;
 
@@ -31,6 +29,7 @@ import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.configuration.CompatConfig;
 import org.opensearch.security.privileges.RestLayerPrivilegesEvaluator;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
+import org.opensearch.security.ssl.util.CertificateRevocationService;
 import org.opensearch.threadpool.ThreadPool;
 
 import static org.junit.Assert.assertFalse;
@@ -68,7 +67,7 @@ public class SecurityRestFilterUnitTests {
             tp,
             mock(PrincipalExtractor.class),
             Settings.EMPTY,
-            mock(Path.class),
+            mock(CertificateRevocationService.class),
             mock(CompatConfig.class)
         );
     }
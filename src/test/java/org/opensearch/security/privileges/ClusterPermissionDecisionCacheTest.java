@@ -0,0 +1,126 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.securityconf.SecurityRoles;
+import org.opensearch.security.support.ConfigConstants;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClusterPermissionDecisionCacheTest {
+
+    private static final String ACTION = "cluster:monitor/health";
+
+    @Test
+    public void testDecisionsAreMemoized() {
+        final ClusterPermissionDecisionCache cache = new ClusterPermissionDecisionCache(Settings.EMPTY);
+        final SecurityRoles securityRoles = mock(SecurityRoles.class);
+        when(securityRoles.impliesClusterPermissionPermission(ACTION)).thenReturn(true);
+        when(securityRoles.hasExplicitClusterPermissionPermission(ACTION)).thenReturn(false);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get(Set.of("role1", "role2")).impliesClusterPermission(securityRoles, ACTION), is(true));
+            assertThat(cache.get(Set.of("role2", "role1")).hasExplicitClusterPermission(securityRoles, ACTION), is(false));
+        }
+
+        verify(securityRoles, times(1)).impliesClusterPermissionPermission(ACTION);
+        verify(securityRoles, times(1)).hasExplicitClusterPermissionPermission(ACTION);
+        assertThat(cache.getMisses(), is(2L));
+        assertThat(cache.getHits(), is(4L));
+    }
+
+    @Test
+    public void testRoleSetsAreSeparated() {
+        final ClusterPermissionDecisionCache cache = new ClusterPermissionDecisionCache(Settings.EMPTY);
+        final SecurityRoles allowed = mock(SecurityRoles.class);
+        final SecurityRoles denied = mock(SecurityRoles.class);
+        when(allowed.impliesClusterPermissionPermission(ACTION)).thenReturn(true);
+
+        assertThat(cache.get(Set.of("admin")).impliesClusterPermission(allowed, ACTION), is(true));
+        assertThat(cache.get(Set.of("reader")).impliesClusterPermission(denied, ACTION), is(false));
+        assertThat(cache.get(Set.of("admin")).impliesClusterPermission(denied, ACTION), is(true));
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void testKeyIsCopied() {
+        final ClusterPermissionDecisionCache cache = new ClusterPermissionDecisionCache(Settings.EMPTY);
+        final Set<String> roles = new HashSet<>(Set.of("role1"));
+        final ClusterPermissionDecisionCache.RoleSetDecisions decisions = cache.get(roles);
+
+        roles.add("role2");
+        assertThat(cache.get(Set.of("role1")), sameInstance(decisions));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void testClear() {
+        final ClusterPermissionDecisionCache cache = new ClusterPermissionDecisionCache(Settings.EMPTY);
+        final SecurityRoles before = mock(SecurityRoles.class);
+        final SecurityRoles after = mock(SecurityRoles.class);
+        when(before.impliesClusterPermissionPermission(ACTION)).thenReturn(true);
+
+        final ClusterPermissionDecisionCache.RoleSetDecisions outdated = cache.get(Set.of("role1"));
+        cache.clear();
+        assertThat(outdated.impliesClusterPermission(before, ACTION), is(true));
+
+        // decisions computed from the outdated configuration must not be visible after clearing the cache
+        assertThat(cache.get(Set.of("role1")).impliesClusterPermission(after, ACTION), is(false));
+        assertThat(cache.get(Set.of("role1")).impliesClusterPermission(after, ACTION), is(false));
+    }
+
+    @Test
+    public void testBounded() {
+        final ClusterPermissionDecisionCache cache = new ClusterPermissionDecisionCache(
+            Settings.builder().put(ConfigConstants.SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS, 10).build()
+        );
+        final SecurityRoles securityRoles = mock(SecurityRoles.class);
+
+        for (int i = 0; i < 25; i++) {
+            cache.get(Set.of("role" + i)).impliesClusterPermission(securityRoles, ACTION);
+            assertThat(cache.size() <= 10, is(true));
+        }
+
+        final ClusterPermissionDecisionCache.RoleSetDecisions decisions = cache.get(Set.of("role"));
+        for (int i = 0; i < ClusterPermissionDecisionCache.MAX_ACTIONS_PER_ROLE_SET * 2; i++) {
+            decisions.impliesClusterPermission(securityRoles, ACTION + i);
+        }
+        assertThat(cache.getMisses(), is(25L + ClusterPermissionDecisionCache.MAX_ACTIONS_PER_ROLE_SET * 2));
+    }
+
+    @Test
+    public void testDisabled() {
+        final ClusterPermissionDecisionCache cache = new ClusterPermissionDecisionCache(
+            Settings.builder().put(ConfigConstants.SECURITY_PRIVILEGES_CLUSTER_PERMISSION_CACHE_MAX_ROLE_SETS, 0).build()
+        );
+        final SecurityRoles securityRoles = mock(SecurityRoles.class);
+
+        cache.get(Set.of("role1")).impliesClusterPermission(securityRoles, ACTION);
+        cache.get(Set.of("role1")).impliesClusterPermission(securityRoles, ACTION);
+
+        verify(securityRoles, times(2)).impliesClusterPermissionPermission(ACTION);
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.size(), is(0));
+    }
+}
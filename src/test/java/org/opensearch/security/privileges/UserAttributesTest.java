@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class UserAttributesTest {
+
+    private final User user = createUser();
+
+    @Test
+    public void testTemplateWithoutVariables() {
+        final String source = "logs-*";
+        final UserAttributes.Template template = UserAttributes.Template.compile(source);
+
+        assertThat(template.hasVariables(), is(false));
+        assertThat(template.expand(user), sameInstance(source));
+    }
+
+    @Test
+    public void testExpandsVariables() {
+        final UserAttributes.Template template = UserAttributes.Template.compile(
+            "${user.name}-${user_roles}-${attr.ldap.dept}-${attr_ldap_dept}"
+        );
+
+        assertThat(template.hasVariables(), is(true));
+        assertThat(template.expand(user), equalTo("alice-\"admin\"-sales-sales"));
+        assertThat(
+            UserAttributes.replaceProperties("{\"term\": {\"owner\": \"${user_name}\"}}", user),
+            equalTo("{\"term\": {\"owner\": \"alice\"}}")
+        );
+    }
+
+    @Test
+    public void testKeepsUnknownAndIncompleteVariables() {
+        assertThat(UserAttributes.Template.compile("${unknown}-${user.name").expand(user), equalTo("${unknown}-${user.name"));
+        assertThat(UserAttributes.Template.compile("${a${user.name}").expand(user), equalTo("${aalice"));
+    }
+
+    @Test
+    public void testDoesNotExpandSubstitutedValues() {
+        user.addAttributes(Map.of("attr.inject", "${user.name}"));
+
+        assertThat(UserAttributes.Template.compile("${attr.inject}").expand(user), equalTo("${user.name}"));
+    }
+
+    private static User createUser() {
+        final User user = new User("alice");
+        user.addRoles(Set.of("admin"));
+        user.addAttributes(Map.of("attr.ldap.dept", "sales"));
+        return user;
+    }
+}
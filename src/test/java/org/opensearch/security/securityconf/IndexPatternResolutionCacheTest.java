@@ -0,0 +1,122 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.security.securityconf.ConfigModelV7.IndexPattern;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexPatternResolutionCacheTest {
+
+    private final IndexNameExpressionResolver resolver = new IndexNameExpressionResolver(new ThreadContext(Settings.EMPTY));
+
+    @Test
+    public void testCachesPerPatternAndMetadataVersion() {
+        final IndexPatternResolutionCache cache = new IndexPatternResolutionCache(Settings.EMPTY);
+        final AtomicInteger resolutions = new AtomicInteger();
+
+        assertThat(cache.get("logs-*", false, 1, () -> resolve(resolutions, "logs-1")), containsInAnyOrder("logs-1"));
+        assertThat(cache.get("logs-*", false, 1, () -> resolve(resolutions, "logs-2")), containsInAnyOrder("logs-1"));
+        assertThat(resolutions.get(), is(1));
+
+        assertThat(cache.get("logs-*", true, 1, () -> resolve(resolutions, "logs-closed")), containsInAnyOrder("logs-closed"));
+        assertThat(cache.get("logs-*", false, 2, () -> resolve(resolutions, "logs-2")), containsInAnyOrder("logs-2"));
+        assertThat(resolutions.get(), is(3));
+    }
+
+    @Test
+    public void testInvalidatedOnMetadataChange() {
+        final IndexPatternResolutionCache cache = new IndexPatternResolutionCache(Settings.EMPTY);
+        final ClusterState previous = state(1, "logs-1");
+        final ClusterState current = state(2, "logs-1", "logs-2");
+
+        cache.get("logs-*", false, 1, () -> Set.of("logs-1"));
+        cache.clusterChanged(new ClusterChangedEvent("test", previous, previous));
+        assertThat(cache.size(), is(1L));
+
+        cache.clusterChanged(new ClusterChangedEvent("test", current, previous));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void testDisabled() {
+        final IndexPatternResolutionCache cache = new IndexPatternResolutionCache(
+            Settings.builder().put(ConfigConstants.SECURITY_PRIVILEGES_RESOLVED_INDEX_PATTERN_CACHE_MAX_SIZE, "0b").build()
+        );
+        final AtomicInteger resolutions = new AtomicInteger();
+
+        cache.get("logs-*", false, 1, () -> resolve(resolutions, "logs-1"));
+        cache.get("logs-*", false, 1, () -> resolve(resolutions, "logs-1"));
+        assertThat(resolutions.get(), is(2));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void testIndexPatternWithUserAttributes() {
+        final IndexPatternResolutionCache cache = new IndexPatternResolutionCache(Settings.EMPTY);
+        final ClusterService clusterService = mock(ClusterService.class);
+        final IndexPattern pattern = new IndexPattern("${user.name}-*").setResolutionCache(cache);
+
+        when(clusterService.state()).thenReturn(state(1, "alice-1", "bob-1", "bob-2"));
+        assertThat(pattern.concreteIndexNames(new User("bob"), resolver, clusterService), containsInAnyOrder("bob-1", "bob-2"));
+        assertThat(pattern.concreteIndexNames(new User("alice"), resolver, clusterService), containsInAnyOrder("alice-1"));
+        assertThat(cache.size(), is(2L));
+
+        when(clusterService.state()).thenReturn(state(2, "alice-1", "bob-1", "bob-2", "bob-3"));
+        assertThat(pattern.concreteIndexNames(new User("bob"), resolver, clusterService), containsInAnyOrder("bob-1", "bob-2", "bob-3"));
+        assertThat(
+            pattern.attemptResolveIndexNames(new User("carol"), resolver, clusterService),
+            containsInAnyOrder("carol-*")
+        );
+    }
+
+    private static Set<String> resolve(AtomicInteger resolutions, String... indices) {
+        resolutions.incrementAndGet();
+        return Set.of(indices);
+    }
+
+    private static ClusterState state(long version, String... indices) {
+        final Metadata.Builder metadata = Metadata.builder().version(version);
+
+        for (String index : indices) {
+            metadata.put(
+                IndexMetadata.builder(index)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+            );
+        }
+
+        return ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.security.resolver.IndexResolverReplacer.Resolved;
+import org.opensearch.security.securityconf.ConfigModelV7.IndexPattern;
+import org.opensearch.security.securityconf.ConfigModelV7.SecurityRole;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexPermissionMatrixTest {
+
+    private static final String READ = "indices:data/read/search";
+    private static final String WRITE = "indices:data/write/index";
+
+    private final IndexNameExpressionResolver resolver = new IndexNameExpressionResolver(new ThreadContext(Settings.EMPTY));
+    private final ClusterService clusterService = mock(ClusterService.class);
+
+    private SecurityRole readRole;
+    private SecurityRole writeRole;
+    private SecurityRole userRole;
+    private IndexPermissionMatrix matrix;
+
+    @Before
+    public void setUp() {
+        readRole = new SecurityRole.Builder("read_role").addIndexPattern(
+            new IndexPattern("logs-*").addPerm(ImmutableSet.of("indices:data/read/*"))
+        ).addIndexPattern(new IndexPattern("alias_a").addPerm(ImmutableSet.of("indices:data/read/*"))).build();
+        writeRole = new SecurityRole.Builder("write_role").addIndexPattern(
+            new IndexPattern("logs-*").addPerm(ImmutableSet.of("indices:data/write/*"))
+        ).build();
+        userRole = new SecurityRole.Builder("user_role").addIndexPattern(
+            new IndexPattern("${user.name}-*").addPerm(ImmutableSet.of("indices:data/read/*"))
+        ).build();
+        matrix = new IndexPermissionMatrix(List.of(readRole, writeRole, userRole));
+
+        setClusterState(1, index("logs-1"), index("logs-2"), index("metrics-1"), index("bob-1"), index("other-1", "alias_a"));
+    }
+
+    @Test
+    public void testStaticPatterns() {
+        assertThat(implies(List.of(readRole), false, READ, "logs-1", "logs-2"), is(true));
+        assertThat(implies(List.of(readRole), false, READ, "logs-1", "metrics-1"), is(false));
+        assertThat(implies(List.of(readRole), false, WRITE, "logs-1"), is(false));
+        assertThat(implies(List.of(readRole), false, READ, "other-1"), is(true));
+    }
+
+    @Test
+    public void testRolespan() {
+        assertThat(implies(List.of(readRole, writeRole), false, new String[] { READ, WRITE }, "logs-1"), is(false));
+        assertThat(implies(List.of(readRole, writeRole), true, new String[] { READ, WRITE }, "logs-1"), is(true));
+    }
+
+    @Test
+    public void testDynamicPatterns() {
+        assertThat(implies(List.of(userRole), false, READ, "bob-1"), is(true));
+        assertThat(implies(List.of(userRole), false, READ, "logs-1"), is(false));
+        assertThat(implies(List.of(readRole, userRole), true, READ, "bob-1", "logs-1"), is(true));
+    }
+
+    @Test
+    public void testUnknownIndex() {
+        assertThat(implies(List.of(readRole), false, READ, "logs-3"), is(nullValue()));
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        assertThat(implies(List.of(readRole), false, READ, "logs-1"), is(true));
+
+        setClusterState(2, index("logs-2"), index("logs-3"), index("metrics-1"), index("bob-1"), index("other-1", "alias_a"));
+
+        assertThat(implies(List.of(readRole), false, READ, "logs-3"), is(true));
+        assertThat(implies(List.of(readRole), false, READ, "logs-1"), is(nullValue()));
+        assertThat(reduce(List.of(readRole), READ, "logs-2", "logs-3", "metrics-1"), containsInAnyOrder("logs-2", "logs-3"));
+    }
+
+    @Test
+    public void testAliasChangeRebuild() {
+        assertThat(implies(List.of(readRole), false, READ, "metrics-1"), is(false));
+
+        setClusterState(2, index("logs-1"), index("logs-2"), index("metrics-1", "alias_a"), index("bob-1"), index("other-1"));
+
+        assertThat(implies(List.of(readRole), false, READ, "metrics-1"), is(true));
+        assertThat(implies(List.of(readRole), false, READ, "other-1"), is(false));
+    }
+
+    @Test
+    public void testReduce() {
+        assertThat(reduce(List.of(readRole, userRole), READ, "logs-1", "metrics-1", "bob-1"), containsInAnyOrder("logs-1", "bob-1"));
+        assertThat(reduce(List.of(readRole), READ, "logs-new"), containsInAnyOrder("logs-new"));
+        assertThat(
+            matrix.reduce(List.of(readRole), Resolved._LOCAL_ALL, user(), new String[] { READ }, resolver, clusterService),
+            containsInAnyOrder("logs-1", "logs-2", "other-1")
+        );
+    }
+
+    @Test
+    public void testForeignRole() {
+        final SecurityRole foreignRole = new SecurityRole.Builder("read_role").addIndexPattern(
+            new IndexPattern("*").addPerm(ImmutableSet.of("*"))
+        ).build();
+
+        assertThat(implies(List.of(foreignRole), false, READ, "logs-1"), is(nullValue()));
+    }
+
+    private Boolean implies(List<SecurityRole> roles, boolean rolespan, String action, String... indices) {
+        return implies(roles, rolespan, new String[] { action }, indices);
+    }
+
+    private Boolean implies(List<SecurityRole> roles, boolean rolespan, String[] actions, String... indices) {
+        return matrix.impliesTypePerm(roles, rolespan, resolved(indices), user(), actions, resolver, clusterService);
+    }
+
+    private Set<String> reduce(List<SecurityRole> roles, String action, String... indices) {
+        return matrix.reduce(roles, resolved(indices), user(), new String[] { action }, resolver, clusterService);
+    }
+
+    private static Resolved resolved(String... indices) {
+        return new Resolved(
+            ImmutableSet.of(),
+            ImmutableSet.copyOf(indices),
+            ImmutableSet.copyOf(indices),
+            ImmutableSet.of(),
+            IndicesOptions.lenientExpandOpen()
+        );
+    }
+
+    private static User user() {
+        return new User("bob");
+    }
+
+    private void setClusterState(long version, IndexMetadata.Builder... indices) {
+        final Metadata.Builder metadata = Metadata.builder().version(version);
+
+        for (IndexMetadata.Builder index : indices) {
+            metadata.put(index);
+        }
+
+        when(clusterService.state()).thenReturn(ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build());
+    }
+
+    private static IndexMetadata.Builder index(String name, String... aliases) {
+        final IndexMetadata.Builder builder = IndexMetadata.builder(name)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(0);
+
+        for (String alias : aliases) {
+            builder.putAlias(AliasMetadata.builder(alias));
+        }
+
+        if (aliases.length > 0) {
+            // distinguishes the alias state from an index without aliases, like a real alias update would
+            builder.aliasesVersion(2);
+        }
+
+        return builder;
+    }
+}
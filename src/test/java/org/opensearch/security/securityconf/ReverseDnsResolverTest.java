@@ -0,0 +1,161 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.security.support.ConfigConstants;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReverseDnsResolverTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final Settings settings = Settings.builder()
+        .put(ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_TTL, "10s")
+        .put(ConfigConstants.SECURITY_ROLES_MAPPING_REVERSE_DNS_CACHE_NEGATIVE_TTL, "1s")
+        .build();
+
+    @Test
+    public void testCachesHostNamesUntilExpiration() throws Exception {
+        final ReverseDnsResolver resolver = new ReverseDnsResolver(
+            settings,
+            OpenSearchExecutors.newDirectExecutorService(),
+            this::lookup,
+            clock
+        );
+        final InetAddress address = InetAddress.getByAddress(new byte[] { 10, 0, 0, 1 });
+        when(clock.millis()).thenReturn(0L);
+
+        assertThat(resolver.resolve(address), equalTo("host-1.example.com"));
+        assertThat(resolver.resolve(address), equalTo("host-1.example.com"));
+        assertThat(lookups.get(), is(1));
+        assertThat(resolver.getHits(), is(1L));
+        assertThat(resolver.getMisses(), is(1L));
+        assertThat(resolver.getLookups(), is(1L));
+
+        when(clock.millis()).thenReturn(10_000L);
+        resolver.resolve(address);
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void testCachesAddressesWithoutHostNameForNegativeTtl() throws Exception {
+        final ReverseDnsResolver resolver = new ReverseDnsResolver(
+            settings,
+            OpenSearchExecutors.newDirectExecutorService(),
+            this::lookup,
+            clock
+        );
+        final InetAddress address = InetAddress.getByAddress(new byte[] { 10, 0, 0, 2 });
+        when(clock.millis()).thenReturn(0L);
+
+        assertThat(resolver.resolve(address), nullValue());
+        assertThat(resolver.resolve(address), nullValue());
+        assertThat(lookups.get(), is(1));
+        assertThat(resolver.getFailedLookups(), is(1L));
+
+        when(clock.millis()).thenReturn(1_000L);
+        resolver.resolve(address);
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void testReturnsNullWhileLookupIsPending() throws Exception {
+        final ExecutorService executor = mock(ExecutorService.class);
+        final ReverseDnsResolver resolver = new ReverseDnsResolver(settings, executor, this::lookup, clock);
+        final InetAddress address = InetAddress.getByAddress(new byte[] { 10, 0, 0, 1 });
+        when(clock.millis()).thenReturn(0L);
+
+        assertThat(resolver.resolve(address), nullValue());
+        assertThat(resolver.resolve(address), nullValue());
+        assertThat(resolver.getPending(), is(2L));
+
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(task.capture());
+        task.getValue().run();
+
+        assertThat(resolver.resolve(address), equalTo("host-1.example.com"));
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void testReturnsExpiredHostNameWhileRefreshIsPending() throws Exception {
+        final ExecutorService executor = mock(ExecutorService.class);
+        final AtomicReference<String> hostName = new AtomicReference<>("old.example.com");
+        final ReverseDnsResolver resolver = new ReverseDnsResolver(settings, executor, ignored -> hostName.get(), clock);
+        final InetAddress address = InetAddress.getByAddress(new byte[] { 10, 0, 0, 1 });
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        when(clock.millis()).thenReturn(0L);
+
+        resolver.resolve(address);
+        verify(executor).execute(task.capture());
+        task.getValue().run();
+        assertThat(resolver.resolve(address), equalTo("old.example.com"));
+
+        hostName.set("new.example.com");
+        when(clock.millis()).thenReturn(10_000L);
+        assertThat(resolver.resolve(address), equalTo("old.example.com"));
+        assertThat(resolver.resolve(address), equalTo("old.example.com"));
+        assertThat(resolver.getPending(), is(0L));
+
+        verify(executor, times(2)).execute(task.capture());
+        task.getValue().run();
+        assertThat(resolver.resolve(address), equalTo("new.example.com"));
+        assertThat(resolver.getLookups(), is(2L));
+    }
+
+    @Test
+    public void testRetriesLookupRejectedByExecutor() throws Exception {
+        final ExecutorService executor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException()).doNothing().when(executor).execute(any(Runnable.class));
+        final ReverseDnsResolver resolver = new ReverseDnsResolver(settings, executor, this::lookup, clock);
+        final InetAddress address = InetAddress.getByAddress(new byte[] { 10, 0, 0, 1 });
+        when(clock.millis()).thenReturn(0L);
+
+        assertThat(resolver.resolve(address), nullValue());
+        assertThat(resolver.getRejectedLookups(), is(1L));
+        assertThat(resolver.getCount(), is(0L));
+
+        assertThat(resolver.resolve(address), nullValue());
+        verify(executor, times(2)).execute(any(Runnable.class));
+        assertThat(resolver.getRejectedLookups(), is(1L));
+        assertThat(resolver.getMisses(), is(2L));
+    }
+
+    private String lookup(final InetAddress address) {
+        lookups.incrementAndGet();
+        final byte last = address.getAddress()[3];
+        // like the JDK, return the textual address if there is no host name
+        return last == 1 ? "host-1.example.com" : address.getHostAddress();
+    }
+}
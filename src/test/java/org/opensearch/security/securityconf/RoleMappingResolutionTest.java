@@ -0,0 +1,95 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.securityconf;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.transport.TransportAddress;
+import org.opensearch.security.DefaultObjectMapper;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.securityconf.impl.v7.RoleMappingsV7;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.security.securityconf.SecurityRolesPermissionsTest.createActionGroupsConfig;
+import static org.opensearch.security.securityconf.SecurityRolesPermissionsTest.createRolesConfig;
+import static org.opensearch.security.securityconf.SecurityRolesPermissionsTest.createTenantsConfig;
+import static org.opensearch.security.securityconf.SecurityRolesPermissionsTest.meta;
+
+public class RoleMappingResolutionTest {
+
+    @Test
+    public void testMapsUsersBackendRolesAndHosts() throws Exception {
+        final ConfigModel configModel = createConfigModel();
+
+        assertThat(configModel.mapSecurityRoles(user("alice"), null), containsInAnyOrder("by_user", "by_user_pattern"));
+        assertThat(configModel.mapSecurityRoles(user("bob", "dev-team"), null), containsInAnyOrder("by_backend_role"));
+        assertThat(configModel.mapSecurityRoles(user("bob", "ops", "admin-eu"), null), containsInAnyOrder("by_and_backend_roles"));
+        assertThat(configModel.mapSecurityRoles(user("bob", "ops"), null), empty());
+
+        final TransportAddress caller = new TransportAddress(InetAddress.getByName("10.0.0.12"), 9200);
+        assertThat(configModel.mapSecurityRoles(user("bob"), caller), containsInAnyOrder("by_host"));
+    }
+
+    @Test
+    public void testMemoizedResultsDependOnUser() throws Exception {
+        final ConfigModel configModel = createConfigModel();
+
+        assertThat(configModel.mapSecurityRoles(user("bob", "dev-team"), null), containsInAnyOrder("by_backend_role"));
+        assertThat(configModel.mapSecurityRoles(user("bob"), null), empty());
+        assertThat(configModel.mapSecurityRoles(user("bob", "dev-team"), null), containsInAnyOrder("by_backend_role"));
+    }
+
+    private static User user(final String name, final String... backendRoles) {
+        final User user = new User(name);
+        user.addRoles(Set.of(backendRoles));
+        return user;
+    }
+
+    private static ConfigModel createConfigModel() throws Exception {
+        final ObjectNode node = DefaultObjectMapper.objectMapper.createObjectNode();
+        node.set("_meta", meta("rolesmapping"));
+        node.set("by_user", mapping("users", List.of("alice")));
+        node.set("by_user_pattern", mapping("users", List.of("al*")));
+        node.set("by_backend_role", mapping("backend_roles", List.of("dev-*")));
+        node.set("by_and_backend_roles", mapping("and_backend_roles", List.of("ops", "admin-*")));
+        node.set("by_host", mapping("hosts", List.of("10.0.0.*")));
+        final SecurityDynamicConfiguration<RoleMappingsV7> roleMappings = SecurityDynamicConfiguration.fromNode(
+            node,
+            CType.ROLESMAPPING,
+            2,
+            0,
+            0
+        );
+
+        final DynamicConfigModel dcm = mock(DynamicConfigModel.class);
+        when(dcm.getHostsResolverMode()).thenReturn("ip-only");
+        return new ConfigModelV7(createRolesConfig(), roleMappings, createActionGroupsConfig(), createTenantsConfig(), dcm, Settings.EMPTY);
+    }
+
+    private static ObjectNode mapping(final String field, final List<String> values) {
+        final ObjectNode mapping = DefaultObjectMapper.objectMapper.createObjectNode();
+        values.forEach(mapping.putArray(field)::add);
+        return mapping;
+    }
+}
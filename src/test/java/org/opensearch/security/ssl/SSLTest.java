@@ -239,6 +239,49 @@ public class SSLTest extends SingleClusterTest {
         }
     }
 
+    @Test
+    public void testSessionCacheSettings() throws Exception {
+        final Settings settings = Settings.builder()
+            .put(SSLConfigConstants.SECURITY_SSL_TRANSPORT_ENABLED, true)
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_ENABLED, true)
+            .put(ConfigConstants.SECURITY_SSL_ONLY, true)
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_ENABLE_OPENSSL_IF_AVAILABLE, allowOpenSSL)
+            .put(SSLConfigConstants.SECURITY_SSL_TRANSPORT_ENABLE_OPENSSL_IF_AVAILABLE, allowOpenSSL)
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_KEYSTORE_ALIAS, "node-0")
+            .put(
+                SSLConfigConstants.SECURITY_SSL_HTTP_KEYSTORE_FILEPATH,
+                FileHelper.getAbsoluteFilePathFromClassPath("ssl/node-0-keystore.jks")
+            )
+            .put(
+                SSLConfigConstants.SECURITY_SSL_HTTP_TRUSTSTORE_FILEPATH,
+                FileHelper.getAbsoluteFilePathFromClassPath("ssl/truststore.jks")
+            )
+            .put(
+                SSLConfigConstants.SECURITY_SSL_TRANSPORT_KEYSTORE_FILEPATH,
+                FileHelper.getAbsoluteFilePathFromClassPath("ssl/node-0-keystore.jks")
+            )
+            .put(
+                SSLConfigConstants.SECURITY_SSL_TRANSPORT_TRUSTSTORE_FILEPATH,
+                FileHelper.getAbsoluteFilePathFromClassPath("ssl/truststore.jks")
+            )
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_SESSION_CACHE_SIZE, 1000)
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_SESSION_TIMEOUT, 300)
+            .put(SSLConfigConstants.SECURITY_SSL_TRANSPORT_SESSION_CACHE_SIZE, 2000)
+            .put(SSLConfigConstants.SECURITY_SSL_TRANSPORT_SESSION_TIMEOUT, 600)
+            .put("client.type", "node")
+            .put("path.home", ".")
+            .build();
+
+        final DefaultSecurityKeyStore sks = new DefaultSecurityKeyStore(settings, Paths.get("."));
+
+        assertThat(sks.getHttpSessionStats().getSessionCacheSize(), is(1000L));
+        assertThat(sks.getHttpSessionStats().getSessionTimeout(), is(300L));
+        assertThat(sks.getTransportServerSessionStats().getSessionCacheSize(), is(2000L));
+        assertThat(sks.getTransportServerSessionStats().getSessionTimeout(), is(600L));
+        assertThat(sks.getTransportClientSessionStats().getSessionCacheSize(), is(2000L));
+        assertThat(sks.getTransportClientSessionStats().getSessionTimeout(), is(600L));
+    }
+
     @Test
     public void testHttpsOptionalAuth() throws Exception {
 
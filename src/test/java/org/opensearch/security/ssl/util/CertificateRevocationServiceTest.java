@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.ssl.util;
+
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.test.helper.file.FileHelper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CertificateRevocationServiceTest {
+
+    private static final long CRL_DATE = 1525546426000L;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Clock clock = mock(Clock.class);
+    private Path crlFile;
+    private CertificateRevocationService service;
+
+    @Before
+    public void setUp() throws Exception {
+        crlFile = folder.newFile("revoked.crl").toPath();
+        Files.copy(FileHelper.getAbsoluteFilePathFromClassPath("ssl/crl/revoked.crl"), crlFile, StandardCopyOption.REPLACE_EXISTING);
+
+        final Settings settings = Settings.builder()
+            .put("path.home", folder.getRoot().getAbsolutePath())
+            .put(SSLConfigConstants.SSECURITY_SSL_HTTP_CRL_FILE, crlFile.toString())
+            .put(
+                SSLConfigConstants.SECURITY_SSL_HTTP_PEMTRUSTEDCAS_FILEPATH,
+                FileHelper.getAbsoluteFilePathFromClassPath("ssl/chain-ca.pem").toString()
+            )
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_DISABLE_CRLDP, true)
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_DISABLE_OCSP, true)
+            .put(SSLConfigConstants.SECURITY_SSL_HTTP_CRL_VALIDATION_DATE, CRL_DATE)
+            .build();
+        when(clock.millis()).thenReturn(1000L);
+        service = new CertificateRevocationService(settings, null, clock);
+    }
+
+    @Test
+    public void testCachesValidatedChains() throws Exception {
+        final X509Certificate[] chain = loadChain("ssl/node-0.crt.pem");
+
+        assertThat(service.validate(chain), is(true));
+        assertThat(service.validate(chain), is(true));
+        assertThat(service.validate(loadChain("ssl/crl/revoked.crt.pem")), is(false));
+        assertThat(service.getLoads(), is(1));
+        assertThat(service.getCachedChains(), is(1L));
+
+        when(clock.millis()).thenReturn(1000L + CertificateRevocationService.DEFAULT_CACHE_TTL_MS);
+        assertThat(service.validate(chain), is(true));
+        assertThat(service.getLoads(), is(1));
+    }
+
+    @Test
+    public void testReloadsChangedCrlFile() throws Exception {
+        assertThat(service.validate(loadChain("ssl/node-0.crt.pem")), is(true));
+
+        Files.setLastModifiedTime(crlFile, FileTime.fromMillis(Files.getLastModifiedTime(crlFile).toMillis() + 60000));
+        when(clock.millis()).thenReturn(1000L + CertificateRevocationService.FILE_CHECK_INTERVAL_MS);
+
+        assertThat(service.validate(loadChain("ssl/node-0.crt.pem")), is(true));
+        assertThat(service.getLoads(), is(2));
+    }
+
+    private static X509Certificate[] loadChain(final String path) throws Exception {
+        try (FileInputStream in = new FileInputStream(FileHelper.getAbsoluteFilePathFromClassPath(path).toFile())) {
+            return CertificateFactory.getInstance("X.509").generateCertificates(in).toArray(new X509Certificate[0]);
+        }
+    }
+}
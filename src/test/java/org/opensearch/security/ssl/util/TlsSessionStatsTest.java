@@ -0,0 +1,47 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.ssl.util;
+
+import org.junit.Test;
+
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class TlsSessionStatsTest {
+
+    @Test
+    public void testJdkContext() throws Exception {
+        final SslContext sslContext = SslContextBuilder.forClient()
+            .sslProvider(SslProvider.JDK)
+            .sessionCacheSize(100)
+            .sessionTimeout(60)
+            .build();
+
+        final TlsSessionStats stats = TlsSessionStats.of(sslContext);
+
+        assertThat(stats.getSessionCacheSize(), is(100L));
+        assertThat(stats.getSessionTimeout(), is(60L));
+        assertThat(stats.getCachedSessions(), is(0L));
+        assertThat(stats.getHits(), is(-1L));
+        assertThat(stats.getMisses(), is(-1L));
+    }
+
+    @Test
+    public void testNoContext() {
+        assertThat(TlsSessionStats.of(null), nullValue());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.transport.TransportAddress;
+import org.opensearch.security.auth.UserInjector;
+import org.opensearch.security.user.AuthCredentials;
+import org.opensearch.security.user.User;
+
+import com.amazon.dlic.auth.ldap.LdapUser;
+import org.ldaptive.LdapEntry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+public class CompactUserHeaderTest {
+
+    private static final DiscoveryNode CAPABLE_NODE = node("capable", Map.of(NodeCapabilities.COMPACT_USER_HEADER, "true"));
+    // same version, but a security plugin which does not advertise the format
+    private static final DiscoveryNode OTHER_NODE = node("other", Map.of());
+
+    @Test
+    public void testRoundTrip() {
+        final User user = user("alice");
+
+        final String header = CompactUserHeader.serialize(user, CAPABLE_NODE, true);
+        assertThat(CompactUserHeader.isCompact(header), is(true));
+
+        final User deserialized = CompactUserHeader.deserialize(header, true);
+        assertThat(deserialized, is(user));
+        assertThat(deserialized.getRoles(), containsInAnyOrder("backend_role1", "backend_role2"));
+        assertThat(deserialized.getSecurityRoles(), containsInAnyOrder("security_role"));
+        assertThat(deserialized.getRequestedTenant(), is("tenant"));
+        assertThat(deserialized.getCustomAttributesMap(), is(Map.of("attr.internal.dept", "engineering \u00e4\u20ac")));
+    }
+
+    @Test
+    public void testDeserializedUsersAreNotShared() {
+        final String header = CompactUserHeader.serialize(user("bob"), CAPABLE_NODE, true);
+
+        final User first = CompactUserHeader.deserialize(header, true);
+        first.addSecurityRoles(List.of("added_later"));
+
+        final User second = CompactUserHeader.deserialize(header, true);
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getSecurityRoles(), containsInAnyOrder("security_role"));
+    }
+
+    @Test
+    public void testEncodingIsCachedUntilUserChanges() {
+        final User user = user("carol");
+
+        final String header = CompactUserHeader.serialize(user, CAPABLE_NODE, true);
+        assertThat(CompactUserHeader.serialize(user, CAPABLE_NODE, true), sameInstance(header));
+
+        user.addSecurityRoles(List.of("another_role"));
+        final String changed = CompactUserHeader.serialize(user, CAPABLE_NODE, true);
+        assertThat(changed, not(header));
+        assertThat(CompactUserHeader.deserialize(changed, true).getSecurityRoles(), containsInAnyOrder("security_role", "another_role"));
+    }
+
+    @Test
+    public void testNodesWithoutCapabilityUseBase64() {
+        final User user = user("dave");
+
+        final String jdk = CompactUserHeader.serialize(user, OTHER_NODE, true);
+        assertThat(CompactUserHeader.isCompact(jdk), is(false));
+        assertThat(Base64Helper.deserializeObject(jdk, true), is(user));
+
+        final String compact = CompactUserHeader.serialize(user, CAPABLE_NODE, true);
+        assertThat(CompactUserHeader.ensureSupported(compact, CAPABLE_NODE, true), sameInstance(compact));
+        assertThat(Base64Helper.deserializeObject(CompactUserHeader.ensureSupported(compact, OTHER_NODE, true), true), is(user));
+        assertThat(CompactUserHeader.deserialize(jdk, true), is(user));
+    }
+
+    @Test
+    public void testSubclassesUseBase64() {
+        final LdapUser ldapUser = new LdapUser(
+            "eve",
+            "eve",
+            new LdapEntry("dn"),
+            new AuthCredentials("eve", "12345"),
+            34,
+            WildcardMatcher.ANY
+        );
+        final String ldapHeader = CompactUserHeader.serialize(ldapUser, CAPABLE_NODE, true);
+        assertThat(CompactUserHeader.isCompact(ldapHeader), is(false));
+        assertThat(CompactUserHeader.deserialize(ldapHeader, true), instanceOf(LdapUser.class));
+
+        final User injected = new UserInjector.InjectedUser("frank");
+        injected.setInjected(true);
+        assertThat(CompactUserHeader.isCompact(CompactUserHeader.serialize(injected, CAPABLE_NODE, true)), is(false));
+    }
+
+    @Test
+    public void testInvalidHeader() {
+        final String header = CompactUserHeader.serialize(user("grace"), CAPABLE_NODE, true);
+        assertThrows(Exception.class, () -> CompactUserHeader.deserialize(header + "x", true));
+        assertThat(CompactUserHeader.isCompact(null), is(false));
+        assertThat(CompactUserHeader.isCompact(Base64Helper.serializeObject(user("grace"), true)), is(false));
+    }
+
+    @Test
+    public void testNullAttributesUseBase64() {
+        final User user = user("heidi");
+        user.getCustomAttributesMap().put("attr.null", null);
+
+        final String header = CompactUserHeader.serialize(user, CAPABLE_NODE, true);
+        assertThat(CompactUserHeader.isCompact(header), is(false));
+        assertThat(CompactUserHeader.deserialize(header, true).getCustomAttributesMap().get("attr.null"), nullValue());
+    }
+
+    private static DiscoveryNode node(final String id, final Map<String, String> attributes) {
+        return new DiscoveryNode(id, new TransportAddress(InetAddress.getLoopbackAddress(), 9300), attributes, Set.of(), Version.CURRENT);
+    }
+
+    private static User user(String name) {
+        final User user = new User(name, List.of("backend_role1", "backend_role2"), null);
+        user.addSecurityRoles(List.of("security_role"));
+        user.setRequestedTenant("tenant");
+        user.addAttributes(Map.of("attr.internal.dept", "engineering \u00e4\u20ac"));
+        return user;
+    }
+}
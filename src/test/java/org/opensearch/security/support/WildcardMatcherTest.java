@@ -0,0 +1,96 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WildcardMatcherTest {
+
+    @Test
+    public void testCombinedPatterns() {
+        final WildcardMatcher matcher = WildcardMatcher.from(
+            List.of("indices:data/read/*", "cluster:monitor/*", "indices:admin/get", "indices:*/mapping?/*", "/^foo.+bar$/")
+        );
+
+        assertThat(matcher.test("indices:data/read/search"), is(true));
+        assertThat(matcher.test("indices:data/read/"), is(true));
+        assertThat(matcher.test("indices:data/write/index"), is(false));
+        assertThat(matcher.test("indices:admin/get"), is(true));
+        assertThat(matcher.test("indices:admin/get/"), is(false));
+        assertThat(matcher.test("indices:admin/mappings/get"), is(true));
+        assertThat(matcher.test("indices:admin/mapping/get"), is(false));
+        assertThat(matcher.test("foo-bar"), is(true));
+        assertThat(matcher.test("CLUSTER:monitor/health"), is(false));
+        assertThat(matcher.test(""), is(false));
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        final WildcardMatcher matcher = WildcardMatcher.from(List.of("Logs-*", "AUDIT", "/Metrics-.*/"), false);
+
+        assertThat(matcher.test("logs-2024"), is(true));
+        assertThat(matcher.test("LOGS-2024"), is(true));
+        assertThat(matcher.test("audit"), is(true));
+        assertThat(matcher.test("metrics-1"), is(true));
+        assertThat(matcher.test("other"), is(false));
+    }
+
+    @Test
+    public void testConcat() {
+        final WildcardMatcher matcher = WildcardMatcher.from("a*", "b").concat(WildcardMatcher.from("c?", "d"), WildcardMatcher.ANY);
+
+        assertThat(matcher.test("anything"), is(true));
+        assertThat(WildcardMatcher.from("a*", "b").concat(WildcardMatcher.from("c?", "d")).test("cx"), is(true));
+        assertThat(WildcardMatcher.from("a*", "b").concat(WildcardMatcher.from("c?", "d")).test("cxx"), is(false));
+    }
+
+    @Test
+    public void testSameResultAsIndividualMatchers() {
+        final Random random = new Random(1);
+
+        for (int round = 0; round < 1000; round++) {
+            final boolean caseSensitive = random.nextBoolean();
+            final List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 2 + random.nextInt(10); i++) {
+                patterns.add(randomString(random, "ab?*A", 6));
+            }
+
+            final WildcardMatcher combined = WildcardMatcher.from(patterns, caseSensitive);
+            final List<WildcardMatcher> individual = new ArrayList<>();
+            for (String pattern : patterns) {
+                individual.add(WildcardMatcher.from(pattern, caseSensitive));
+            }
+
+            for (int i = 0; i < 50; i++) {
+                final String candidate = randomString(random, "abAB", 8);
+                final boolean expected = individual.stream().anyMatch(m -> m.test(candidate));
+                assertThat(patterns + " " + candidate, combined.test(candidate), is(expected));
+            }
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        final StringBuilder sb = new StringBuilder();
+        final int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.transport;
+
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.securityconf.NodesDnModel;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.WildcardMatcher;
+import org.opensearch.transport.TransportRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultInterClusterRequestEvaluatorTest {
+
+    private static final String NODE_DN = "CN=node-1.example.com,OU=SSL,O=Test,L=Test,C=DE";
+
+    private final TransportRequest request = mock(TransportRequest.class);
+
+    @Test
+    public void testCachesVerdictPerPeerCertificate() throws Exception {
+        final DefaultInterClusterRequestEvaluator evaluator = new DefaultInterClusterRequestEvaluator(
+            Settings.builder().putList(ConfigConstants.SECURITY_NODES_DN, "CN=node-*").build()
+        );
+        final X509Certificate[] nodeCerts = { mock(X509Certificate.class) };
+        final X509Certificate[] clientCerts = { mock(X509Certificate.class) };
+
+        assertThat(evaluator.isInterClusterRequest(request, null, nodeCerts, NODE_DN), is(true));
+        assertThat(evaluator.isInterClusterRequest(request, null, clientCerts, "CN=client"), is(false));
+        assertThat(evaluator.isInterClusterRequest(request, null, clientCerts, "CN=client"), is(false));
+        verify(clientCerts[0], times(1)).getSubjectAlternativeNames();
+    }
+
+    @Test
+    public void testReevaluatesWhenNodesDnChange() throws Exception {
+        final DefaultInterClusterRequestEvaluator evaluator = new DefaultInterClusterRequestEvaluator(
+            Settings.builder().put(ConfigConstants.SECURITY_NODES_DN_DYNAMIC_CONFIG_ENABLED, true).build()
+        );
+        final X509Certificate[] nodeCerts = { mock(X509Certificate.class) };
+        when(nodeCerts[0].getSubjectAlternativeNames()).thenReturn(List.of());
+
+        assertThat(evaluator.isInterClusterRequest(request, null, nodeCerts, NODE_DN), is(false));
+
+        evaluator.onNodesDnModelChanged(new NodesDnModel() {
+            @Override
+            public Map<String, WildcardMatcher> getNodesDn() {
+                return Map.of("cluster", WildcardMatcher.from("CN=node-*"));
+            }
+        });
+        assertThat(evaluator.isInterClusterRequest(request, null, nodeCerts, NODE_DN), is(true));
+    }
+}
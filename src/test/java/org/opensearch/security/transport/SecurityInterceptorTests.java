@@ -12,6 +12,8 @@ package org.opensearch.security.transport;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -38,7 +40,9 @@ import org.opensearch.security.ssl.SslExceptionHandler;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.ssl.transport.SSLConfig;
 import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.CompactUserHeader;
 import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.NodeCapabilities;
 import org.opensearch.security.user.User;
 import org.opensearch.telemetry.tracing.noop.NoopTracer;
 import org.opensearch.test.transport.MockTransport;
@@ -358,6 +362,86 @@ public class SecurityInterceptorTests {
         );
     }
 
+    @Test
+    public void testSendRequestDecorateRemoteConnectionUsesCompactUserHeader() {
+        final DiscoveryNode capableNode = new DiscoveryNode(
+            "remote-node-compact-user-header",
+            new TransportAddress(localAddress, 5678),
+            Map.of(NodeCapabilities.COMPACT_USER_HEADER, "true"),
+            Set.of(),
+            Version.CURRENT
+        );
+        final AsyncSender compactSerializedSender = new AsyncSender() {
+            @Override
+            public <T extends TransportResponse> void sendRequest(
+                Connection connection,
+                String action,
+                TransportRequest request,
+                TransportRequestOptions options,
+                TransportResponseHandler<T> handler
+            ) {
+                String serializedUserHeader = threadPool.getThreadContext().getHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER);
+                assertThat(CompactUserHeader.isCompact(serializedUserHeader), is(true));
+                assertThat(CompactUserHeader.deserialize(serializedUserHeader, true), is(user));
+                senderLatch.get().countDown();
+            }
+        };
+
+        completableRequestDecorate(
+            compactSerializedSender,
+            transportService.getConnection(capableNode),
+            action,
+            request,
+            options,
+            handler,
+            localNode
+        );
+    }
+
+    @Test
+    public void testSendRequestDecorateRemoteConnectionWithoutCapabilityUsesBase64UserHeader() {
+        // same version as this node, but its security plugin does not advertise the compact user header
+        final DiscoveryNode currentVersionNode = new DiscoveryNode(
+            "remote-node-current-version",
+            new TransportAddress(localAddress, 5679),
+            Version.CURRENT
+        );
+        completableRequestDecorate(
+            jdkSerializedSender,
+            transportService.getConnection(currentVersionNode),
+            action,
+            request,
+            options,
+            handler,
+            localNode
+        );
+    }
+
+    @Test
+    public void testSendRequestDecorateRemoteConnectionConvertsCompactUserHeader() {
+        threadPool.getThreadContext()
+            .putHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER, CompactUserHeader.serialize(user, capableNode(), true));
+        completableRequestDecorateWithPreviouslyPopulatedHeaders(
+            jdkSerializedSender,
+            connection3,
+            action,
+            request,
+            options,
+            handler,
+            localNode
+        );
+    }
+
+    private DiscoveryNode capableNode() {
+        return new DiscoveryNode(
+            "capable-node",
+            new TransportAddress(localAddress, 5680),
+            Map.of(NodeCapabilities.COMPACT_USER_HEADER, "true"),
+            Set.of(),
+            Version.CURRENT
+        );
+    }
+
     @Test
     public void testSendNoOriginNodeCausesSerialization() {
 
@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.util;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class VerifiedJwtCacheTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    public void testVerifiesTokenOnceUntilExpiration() {
+        final VerifiedJwtCache<Date> cache = new VerifiedJwtCache<>(10, expiration -> expiration, clock);
+        when(clock.millis()).thenReturn(1000L);
+
+        assertThat(cache.verify("token", this::verify), equalTo(new Date(2000)));
+        assertThat(cache.verify("token", this::verify), equalTo(new Date(2000)));
+        assertThat(verifications.get(), is(1));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+
+        when(clock.millis()).thenReturn(2000L);
+        cache.verify("token", this::verify);
+        assertThat(verifications.get(), is(2));
+    }
+
+    @Test
+    public void testDoesNotCacheFailedOrExpiredTokens() {
+        final VerifiedJwtCache<Date> cache = new VerifiedJwtCache<>(10, expiration -> expiration, clock);
+        when(clock.millis()).thenReturn(3000L);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.verify("token", token -> {
+            throw new IllegalArgumentException("invalid signature");
+        }));
+        cache.verify("token", this::verify);
+        assertThat(cache.getCount(), is(0L));
+    }
+
+    @Test
+    public void testDisabled() {
+        final VerifiedJwtCache<Date> cache = new VerifiedJwtCache<>(0, expiration -> expiration, clock);
+        when(clock.millis()).thenReturn(1000L);
+
+        cache.verify("token", this::verify);
+        cache.verify("token", this::verify);
+        assertThat(verifications.get(), is(2));
+        assertThat(cache.getHits(), is(0L));
+    }
+
+    private Date verify(final String token) {
+        verifications.incrementAndGet();
+        return new Date(2000);
+    }
+}